@@ -0,0 +1,99 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.GcjOffsetGrid;
+import ceneax.app.lib.locationx.LocationUtil;
+
+/**
+ * <ul>
+ *     <li>Description: LocationUtil 批量坐标转换基准，吞吐量按单个点计</li>
+ *     <li>Date: 2026-10-18 11:16</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(BenchmarkData.POINT_COUNT)
+public class BatchCoordConvertBenchmark {
+    private static final int N = BenchmarkData.POINT_COUNT;
+
+    private double[] mLatLngs;
+    private double[] mOut;
+
+    @Setup
+    public void setup() {
+        mLatLngs = BenchmarkData.chinaLatLngs(N);
+        mOut = new double[N * 2];
+    }
+
+    @Benchmark
+    public double[] wgs84ToGcj02() {
+        LocationUtil.wgs84ToGcj02(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] wgs84ToBd09() {
+        LocationUtil.wgs84ToBd09(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] gcj02ToBd09() {
+        LocationUtil.gcj02ToBd09(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] gcj02ToWgs84Fuzzy() {
+        LocationUtil.gcj02ToWgs84Fuzzy(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] gcj02ToWgs84Precise() {
+        LocationUtil.gcj02ToWgs84Precise(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] bd09ToGcj02() {
+        LocationUtil.bd09ToGcj02(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] bd09ToWgs84Fuzzy() {
+        LocationUtil.bd09ToWgs84(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] bd09ToWgs84Precise() {
+        LocationUtil.bd09ToWgs84Precise(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] gridWgs84ToGcj02() {
+        GcjOffsetGrid.getDefault().wgs84ToGcj02(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+
+    @Benchmark
+    public double[] gridGcj02ToWgs84() {
+        GcjOffsetGrid.getDefault().gcj02ToWgs84(mLatLngs, 0, N, mOut, 0);
+        return mOut;
+    }
+}
@@ -0,0 +1,47 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import java.util.Random;
+
+/**
+ * <ul>
+ *     <li>Description: 基准测试的合成数据</li>
+ *     <li>Date: 2026-10-18 11:08</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+final class BenchmarkData {
+    // 点数，必须为 2 的幂，便于循环取下标
+    static final int POINT_COUNT = 1024;
+
+    private BenchmarkData() {}
+
+    /**
+     * 在国内范围内均匀随机的维经交错数组，固定随机种子保证每次运行数据一致
+     */
+    static double[] chinaLatLngs(int count) {
+        Random random = new Random(20221018);
+        double[] latLngs = new double[count * 2];
+        for (int i = 0; i < count; i ++) {
+            latLngs[i * 2] = 18 + random.nextDouble() * 35;
+            latLngs[i * 2 + 1] = 75 + random.nextDouble() * 60;
+        }
+        return latLngs;
+    }
+
+    /**
+     * 模拟 1Hz 步行轨迹：航向随机游走，叠加约 1 米的定位噪声，维经交错存储
+     */
+    static double[] syntheticTrack(int count) {
+        Random random = new Random(20221018);
+        double[] latLngs = new double[count * 2];
+        double lat = 31.2304, lng = 121.4737, heading = 0;
+        for (int i = 0; i < count; i ++) {
+            heading += random.nextGaussian() * 0.1;
+            lat += Math.cos(heading) * 1.3e-5;
+            lng += Math.sin(heading) * 1.5e-5;
+            latLngs[i * 2] = lat + random.nextGaussian() * 1e-5;
+            latLngs[i * 2 + 1] = lng + random.nextGaussian() * 1e-5;
+        }
+        return latLngs;
+    }
+}
@@ -0,0 +1,93 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.GcjOffsetGrid;
+import ceneax.app.lib.locationx.LocationUtil;
+
+/**
+ * <ul>
+ *     <li>Description: LocationUtil 单点坐标转换基准，覆盖所有 CoordType 组合的粗略与精确转换</li>
+ *     <li>Date: 2026-10-18 11:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CoordConvertBenchmark {
+    private double[] mLatLngs;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mLatLngs = BenchmarkData.chinaLatLngs(BenchmarkData.POINT_COUNT);
+    }
+
+    @Benchmark
+    public double[] wgs84ToGcj02() {
+        int i = next();
+        return LocationUtil.wgs84ToGcj02(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] wgs84ToBd09() {
+        int i = next();
+        return LocationUtil.wgs84ToBd09(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] gcj02ToBd09() {
+        int i = next();
+        return LocationUtil.gcj02ToBd09(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] gcj02ToWgs84Fuzzy() {
+        int i = next();
+        return LocationUtil.gcj02ToWgs84Fuzzy(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] gcj02ToWgs84Precise() {
+        int i = next();
+        return LocationUtil.gcj02ToWgs84Precise(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] bd09ToGcj02() {
+        int i = next();
+        return LocationUtil.bd09ToGcj02(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] bd09ToWgs84Fuzzy() {
+        int i = next();
+        return LocationUtil.bd09ToWgs84(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] bd09ToWgs84Precise() {
+        int i = next();
+        return LocationUtil.bd09ToWgs84Precise(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    @Benchmark
+    public double[] gridWgs84ToGcj02() {
+        int i = next();
+        return GcjOffsetGrid.getDefault().wgs84ToGcj02(mLatLngs[i], mLatLngs[i + 1]);
+    }
+
+    private int next() {
+        mIndex = (mIndex + 2) & (BenchmarkData.POINT_COUNT * 2 - 1);
+        return mIndex;
+    }
+}
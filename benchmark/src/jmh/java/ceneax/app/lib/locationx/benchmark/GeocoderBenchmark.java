@@ -0,0 +1,107 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.CachingGeocoder;
+import ceneax.app.lib.locationx.GeoAddress;
+import ceneax.app.lib.locationx.OfflineGeocoder;
+import ceneax.app.lib.locationx.OfflineGeocoderBuilder;
+
+/**
+ * <ul>
+ *     <li>Description: 离线反向地址编码查询耗时基准</li>
+ *     <li>Date: 2026-10-18 22:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 在国内范围内铺满 1 度见方的合成行政区，每个行政区的边界按 vertexCount 个顶点的锯齿多边形生成，
+ * 模拟真实区县边界的顶点数量。decodeCached 沿 1Hz 步行轨迹查询，经 {@link CachingGeocoder} 缓存
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GeocoderBenchmark {
+    private static final int TRACK_POINT_COUNT = 1 << 16;
+
+    @Param({"64", "1024"})
+    public int vertexCount;
+
+    private File mFile;
+    private OfflineGeocoder mGeocoder;
+    private CachingGeocoder mCachingGeocoder;
+    private double[] mLatLngs;
+    private double[] mTrack;
+    private int mIndex;
+    private int mTrackIndex;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        OfflineGeocoderBuilder builder = new OfflineGeocoderBuilder(0.1);
+        int side = vertexCount / 4;
+        for (int lat = 18; lat < 53; lat ++) {
+            for (int lng = 75; lng < 135; lng ++) {
+                double[] polygon = new double[vertexCount * 2];
+                int k = 0;
+                // 四条边依次等分，偶数顶点向外凸出、奇数顶点向内凹进，形成锯齿边界
+                for (int edge = 0; edge < 4; edge ++) {
+                    for (int i = 0; i < side; i ++) {
+                        double t = (double) i / side;
+                        double jitter = (k / 2 % 2 == 0 ? 1 : -1) * 0.002;
+                        double pLat, pLng;
+                        if (edge == 0) {
+                            pLat = lat + jitter;
+                            pLng = lng + t;
+                        } else if (edge == 1) {
+                            pLat = lat + t;
+                            pLng = lng + 1 + jitter;
+                        } else if (edge == 2) {
+                            pLat = lat + 1 + jitter;
+                            pLng = lng + 1 - t;
+                        } else {
+                            pLat = lat + 1 - t;
+                            pLng = lng + jitter;
+                        }
+                        polygon[k ++] = pLat;
+                        polygon[k ++] = pLng;
+                    }
+                }
+                builder.addRegion("P" + lat, "C" + lng, null, lat * 1000 + lng, polygon);
+            }
+        }
+        mFile = File.createTempFile("geocoder", ".lxgc");
+        builder.write(mFile);
+        mGeocoder = new OfflineGeocoder(mFile);
+        mCachingGeocoder = new CachingGeocoder(mGeocoder);
+        mLatLngs = BenchmarkData.chinaLatLngs(BenchmarkData.POINT_COUNT);
+        mTrack = BenchmarkData.syntheticTrack(TRACK_POINT_COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Benchmark
+    public GeoAddress decode() {
+        int i = mIndex = (mIndex + 1) & (BenchmarkData.POINT_COUNT - 1);
+        return mGeocoder.decode(mLatLngs[i * 2], mLatLngs[i * 2 + 1]);
+    }
+
+    @Benchmark
+    public GeoAddress decodeCached() {
+        int i = mTrackIndex = (mTrackIndex + 1) & (TRACK_POINT_COUNT - 1);
+        return mCachingGeocoder.decode(mTrack[i * 2], mTrack[i * 2 + 1]);
+    }
+}
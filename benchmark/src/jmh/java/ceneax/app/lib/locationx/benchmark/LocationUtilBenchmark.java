@@ -0,0 +1,75 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import android.location.Location;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.CoordType;
+import ceneax.app.lib.locationx.LocationUtil;
+
+/**
+ * <ul>
+ *     <li>Description: getDistance / isBetterLocation / transCoord 基准</li>
+ *     <li>Date: 2026-10-18 11:22</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocationUtilBenchmark {
+    @Param({"WGS84", "GCJ02", "BD09"})
+    public CoordType coordType;
+
+    private double[] mLatLngs;
+    private Location[] mLocations;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mLatLngs = BenchmarkData.chinaLatLngs(BenchmarkData.POINT_COUNT);
+        mLocations = new Location[BenchmarkData.POINT_COUNT];
+        String[] providers = {"gps", "network"};
+        for (int i = 0; i < mLocations.length; i ++) {
+            Location location = new Location(providers[i & 1]);
+            location.setLatitude(mLatLngs[i * 2]);
+            location.setLongitude(mLatLngs[i * 2 + 1]);
+            location.setTime(1_660_000_000_000L + i * 1000L);
+            location.setAccuracy(5 + (i * 37) % 300);
+            mLocations[i] = location;
+        }
+    }
+
+    @Benchmark
+    public double getDistance() {
+        int i = next();
+        int j = (i + 1) & (BenchmarkData.POINT_COUNT - 1);
+        return LocationUtil.getDistance(mLatLngs[i * 2], mLatLngs[i * 2 + 1], mLatLngs[j * 2], mLatLngs[j * 2 + 1]);
+    }
+
+    @Benchmark
+    public boolean isBetterLocation() {
+        int i = next();
+        return LocationUtil.isBetterLocation(mLocations[i], mLocations[(i + 7) & (BenchmarkData.POINT_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public Location transCoord() {
+        // transCoord 返回新的 Location，包含一次复制
+        return LocationUtil.transCoord(coordType, mLocations[next()]);
+    }
+
+    private int next() {
+        mIndex = (mIndex + 1) & (BenchmarkData.POINT_COUNT - 1);
+        return mIndex;
+    }
+}
@@ -0,0 +1,116 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.NmeaParser;
+
+/**
+ * <ul>
+ *     <li>Description: NMEA 日志解析基准，每个历元 GGA、RMC、GSA 各一条与 GSV 三条，吞吐量单位为 语句/秒</li>
+ *     <li>Date: 2026-10-18 09:25</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * parse 为 {@link NmeaParser} 直接解析字节，split 为按行读取后 String.split 再逐字段解析的对照实现
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(NmeaBenchmark.SENTENCE_COUNT)
+public class NmeaBenchmark {
+    static final int EPOCH_COUNT = 10_000;
+    static final int SENTENCE_COUNT = EPOCH_COUNT * 6;
+
+    private byte[] mLog;
+    private ByteBuffer mBuffer;
+    private NmeaParser mParser;
+    private long mFixes;
+
+    @Setup
+    public void setup() {
+        double[] track = BenchmarkData.syntheticTrack(EPOCH_COUNT);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < EPOCH_COUNT; i ++) {
+            int second = i % 86400;
+            String time = String.format("%02d%02d%02d.00", second / 3600, second / 60 % 60, second % 60);
+            String lat = nmeaCoordinate(track[i * 2], 2);
+            String lng = nmeaCoordinate(track[i * 2 + 1], 3);
+            appendSentence(builder, "GPGGA," + time + "," + lat + ",N," + lng + ",E,1,08,0.9,545.4,M,46.9,M,,");
+            appendSentence(builder, "GPRMC," + time + ",A," + lat + ",N," + lng + ",E,022.4,084.4,181026,003.1,W,A");
+            appendSentence(builder, "GPGSA,A,3,04,05,,09,12,,,24,,,,,2.5,1.3,2.1");
+            appendSentence(builder, "GPGSV,3,1,11,03,03,111,00,04,15,270,00,06,01,010,00,13,06,292,00");
+            appendSentence(builder, "GPGSV,3,2,11,14,25,170,00,16,57,208,39,18,67,296,40,19,40,246,00");
+            appendSentence(builder, "GPGSV,3,3,11,22,42,067,42,24,14,311,43,27,05,244,00");
+        }
+        mLog = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        mBuffer = ByteBuffer.wrap(mLog);
+        mParser = new NmeaParser((sentence, parser) -> {
+            if (sentence == NmeaParser.SENTENCE_RMC) {
+                mFixes ++;
+            }
+        });
+    }
+
+    private static String nmeaCoordinate(double degrees, int degreeDigits) {
+        int whole = (int) degrees;
+        double minutes = (degrees - whole) * 60;
+        return String.format(degreeDigits == 2 ? "%02d%07.4f" : "%03d%07.4f", whole, minutes);
+    }
+
+    private static void appendSentence(StringBuilder builder, String body) {
+        int checksum = 0;
+        for (int i = 0; i < body.length(); i ++) {
+            checksum ^= body.charAt(i);
+        }
+        builder.append('$').append(body).append('*').append(String.format("%02X", checksum)).append("\r\n");
+    }
+
+    @Benchmark
+    public long parse() {
+        mBuffer.clear();
+        mParser.parse(mBuffer);
+        return mFixes;
+    }
+
+    @Benchmark
+    public double split() throws IOException {
+        double sum = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(mLog), StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int star = line.indexOf('*');
+            int checksum = 0;
+            for (int i = 1; i < star; i ++) {
+                checksum ^= line.charAt(i);
+            }
+            if (checksum != Integer.parseInt(line.substring(star + 1), 16)) {
+                continue;
+            }
+            String[] fields = line.substring(1, star).split(",", -1);
+            if (fields[0].endsWith("GGA") || fields[0].endsWith("RMC")) {
+                sum += Double.parseDouble(fields[fields[0].endsWith("GGA") ? 2 : 3]);
+            } else if (fields[0].endsWith("GSA")) {
+                sum += Double.parseDouble(fields[16]);
+            } else {
+                for (int i = 4; i + 3 < fields.length; i += 4) {
+                    sum += Integer.parseInt(fields[i]) + Integer.parseInt(fields[i + 3]);
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.CoordType;
+import ceneax.app.lib.locationx.ParallelCoordConverter;
+
+/**
+ * <ul>
+ *     <li>Description: 并行批量坐标转换的线程扩展性基准，200 万点，吞吐量单位为 点/秒</li>
+ *     <li>Date: 2026-10-18 09:38</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * threads 为线程池并行度，1 即单线程，超过 CPU 核数的取值可用 -p threads=... 指定。
+ * pair 为源与目标坐标系，BD09_WGS84 是最慢的精确逆转换，WGS84_GCJ02 是正向转换
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ParallelCoordConvertBenchmark.POINT_COUNT)
+public class ParallelCoordConvertBenchmark {
+    static final int POINT_COUNT = 2_000_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"WGS84_GCJ02", "BD09_WGS84"})
+    public String pair;
+
+    private ForkJoinPool mPool;
+    private CoordType mFrom;
+    private CoordType mTo;
+    private double[] mLatLngs;
+    private double[] mOut;
+
+    @Setup
+    public void setup() {
+        mPool = new ForkJoinPool(threads);
+        String[] types = pair.split("_");
+        mFrom = CoordType.valueOf(types[0]);
+        mTo = CoordType.valueOf(types[1]);
+        mLatLngs = BenchmarkData.chinaLatLngs(POINT_COUNT);
+        mOut = new double[POINT_COUNT * 2];
+    }
+
+    @TearDown
+    public void tearDown() {
+        mPool.shutdown();
+    }
+
+    @Benchmark
+    public double[] transCoord() {
+        ParallelCoordConverter.transCoord(mPool, mFrom, mTo, mLatLngs, 0, POINT_COUNT, mOut, 0);
+        return mOut;
+    }
+}
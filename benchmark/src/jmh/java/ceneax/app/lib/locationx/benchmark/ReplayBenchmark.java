@@ -0,0 +1,86 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.ReplayLocationSource;
+
+/**
+ * <ul>
+ *     <li>Description: 轨迹文件不限速回放基准，10 万点合成轨迹，吞吐量单位为 定位/秒</li>
+ *     <li>Date: 2026-10-18 09:16</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每次调用完整回放一遍文件，包括打开文件、解析与在回放线程上发出定位，回调直接在回放线程执行并计数
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ReplayBenchmark.POINT_COUNT)
+public class ReplayBenchmark {
+    static final int POINT_COUNT = 100_000;
+
+    @Param({"csv", "gpx"})
+    public String format;
+
+    private File mFile;
+    private long mReceived;
+
+    @Setup
+    public void setup() throws IOException {
+        double[] track = BenchmarkData.syntheticTrack(POINT_COUNT);
+        mFile = File.createTempFile("replay", "." + format);
+        SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+        iso.setTimeZone(TimeZone.getTimeZone("UTC"));
+        try (Writer writer = new BufferedWriter(new FileWriter(mFile))) {
+            if ("gpx".equals(format)) {
+                writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<gpx version=\"1.1\"><trk><trkseg>\n");
+                for (int i = 0; i < POINT_COUNT; i ++) {
+                    writer.write("<trkpt lat=\"" + track[i * 2] + "\" lon=\"" + track[i * 2 + 1] + "\"><ele>12.5</ele><time>"
+                            + iso.format(new Date(i * 1000L)) + "</time><hdop>1.0</hdop></trkpt>\n");
+                }
+                writer.write("</trkseg></trk></gpx>\n");
+            } else {
+                for (int i = 0; i < POINT_COUNT; i ++) {
+                    writer.write(i * 1000L + "," + track[i * 2] + "," + track[i * 2 + 1] + ",5,12.5\n");
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Benchmark
+    public long replay() throws Exception {
+        ReplayLocationSource source = new ReplayLocationSource(mFile,
+                "gpx".equals(format) ? ReplayLocationSource.FORMAT_GPX : ReplayLocationSource.FORMAT_CSV, 0);
+        source.requestLocationUpdates("gps", 0, 0, Runnable::run, location -> mReceived ++);
+        if (!source.awaitFinished(60_000)) {
+            throw new IllegalStateException("Replay timed out");
+        }
+        source.close();
+        return mReceived;
+    }
+}
@@ -0,0 +1,87 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.CoordType;
+import ceneax.app.lib.locationx.LocationUtil;
+import ceneax.app.lib.locationx.PointList;
+import ceneax.app.lib.locationx.RouteCorridor;
+
+/**
+ * <ul>
+ *     <li>Description: 路线走廊单次定位匹配耗时基准，对比逐段遍历的暴力匹配</li>
+ *     <li>Date: 2026-10-18 09:42</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 路线为合成步行轨迹，定位沿路线依次前进，叠加约 5 米噪声，每 32 次定位中有 1 次偏离路线 100 米，
+ * 覆盖游标命中与网格检索两条路径。corridor 的单次耗时应与 vertices 基本无关，bruteForce 随之线性增长
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RouteCorridorBenchmark {
+    private static final int FIX_COUNT = 4096;
+
+    @Param({"1000", "10000", "100000"})
+    public int vertices;
+
+    private PointList mRoute;
+    private RouteCorridor mCorridor;
+    private double[] mFixes;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        double[] track = BenchmarkData.syntheticTrack(vertices);
+        mRoute = new PointList(CoordType.GCJ02, vertices);
+        for (int i = 0; i < vertices; i ++) {
+            mRoute.add(track[i * 2], track[i * 2 + 1], 0, 0);
+        }
+        mCorridor = new RouteCorridor(mRoute, 30, (corridor, event, lat, lng, timeMs) -> { });
+
+        // 定位依次落在路线前 FIX_COUNT 个顶点附近（路线不足时循环）
+        Random random = new Random(20221018);
+        double degreePerM = 1 / (Math.toRadians(1) * 6378137);
+        mFixes = new double[FIX_COUNT * 2];
+        for (int i = 0; i < FIX_COUNT; i ++) {
+            int v = i % vertices;
+            double noise = i % 32 == 31 ? 100 : 5;
+            mFixes[i * 2] = track[v * 2] + random.nextGaussian() * noise * degreePerM;
+            mFixes[i * 2 + 1] = track[v * 2 + 1] + random.nextGaussian() * noise * degreePerM;
+        }
+    }
+
+    @Benchmark
+    public double corridor() {
+        int i = next();
+        mCorridor.update(mFixes[i * 2], mFixes[i * 2 + 1], i);
+        return mCorridor.getCrossTrackDistance();
+    }
+
+    @Benchmark
+    public double bruteForce() {
+        int i = next();
+        double lat = mFixes[i * 2], lng = mFixes[i * 2 + 1];
+        double best = Double.POSITIVE_INFINITY;
+        for (int j = 0, end = mRoute.size() - 1; j < end; j ++) {
+            best = Math.min(best, LocationUtil.getSegmentDistance(lat, lng, mRoute.getLatitude(j), mRoute.getLongitude(j),
+                    mRoute.getLatitude(j + 1), mRoute.getLongitude(j + 1)));
+        }
+        return best;
+    }
+
+    private int next() {
+        mIndex = (mIndex + 1) & (FIX_COUNT - 1);
+        return mIndex;
+    }
+}
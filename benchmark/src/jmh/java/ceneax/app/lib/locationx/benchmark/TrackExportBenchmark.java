@@ -0,0 +1,79 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.CoordType;
+import ceneax.app.lib.locationx.TrackExporter;
+
+/**
+ * <ul>
+ *     <li>Description: 百万点轨迹导出基准，吞吐量单位为 点/秒</li>
+ *     <li>Date: 2026-10-18 09:32</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 输出写到只计字节数的流，只测编码与坐标转换。target 为 WGS84 时不做转换，GCJ02 时每个点做一次 WGS84 转 GCJ02
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TrackExportBenchmark.POINT_COUNT)
+public class TrackExportBenchmark {
+    static final int POINT_COUNT = 1_000_000;
+
+    @Param({"gpx", "geojson", "binary"})
+    public String format;
+
+    @Param({"WGS84", "GCJ02"})
+    public String target;
+
+    private double[] mTrack;
+    private int mFormat;
+    private CoordType mTarget;
+    private final CountingOutputStream mOutput = new CountingOutputStream();
+
+    @Setup
+    public void setup() {
+        mTrack = BenchmarkData.syntheticTrack(POINT_COUNT);
+        mFormat = "gpx".equals(format) ? TrackExporter.FORMAT_GPX
+                : "geojson".equals(format) ? TrackExporter.FORMAT_GEOJSON : TrackExporter.FORMAT_BINARY;
+        mTarget = CoordType.valueOf(target);
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        mOutput.mCount = 0;
+        double[] track = mTrack;
+        try (TrackExporter exporter = TrackExporter.create(mOutput, mFormat, CoordType.WGS84, mTarget)) {
+            for (int i = 0; i < POINT_COUNT; i ++) {
+                exporter.write(track[i * 2], track[i * 2 + 1], 1_792_000_000_000L + i * 1000L, 5);
+            }
+        }
+        return mOutput.mCount;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long mCount;
+
+        @Override
+        public void write(int b) {
+            mCount ++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            mCount += len;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ceneax.app.lib.locationx.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import ceneax.app.lib.locationx.TrackSimplifier;
+
+/**
+ * <ul>
+ *     <li>Description: 流式轨迹抽稀基准，10 万点合成轨迹，吞吐量单位为 点/秒</li>
+ *     <li>Date: 2026-10-18 16:50</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 压缩率 = inputPoints / retainedPoints，两者以事件计数器的形式随结果输出
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TrackSimplifierBenchmark.POINT_COUNT)
+public class TrackSimplifierBenchmark {
+    static final int POINT_COUNT = 100_000;
+
+    @Param({"1", "5", "20"})
+    public double toleranceM;
+
+    @Param({"64", "256"})
+    public int windowSize;
+
+    private double[] mTrack;
+    private TrackSimplifier mSimplifier;
+    private long mRetained;
+
+    @Setup
+    public void setup() {
+        mTrack = BenchmarkData.syntheticTrack(POINT_COUNT);
+        mSimplifier = new TrackSimplifier(toleranceM, windowSize, (lat, lng, timeMs, accuracy) -> mRetained ++);
+    }
+
+    @Benchmark
+    public long simplify(Counters counters) {
+        long before = mRetained;
+        for (int i = 0; i < POINT_COUNT; i ++) {
+            mSimplifier.add(mTrack[i * 2], mTrack[i * 2 + 1], i * 1000L, 5);
+        }
+        mSimplifier.finish();
+        counters.inputPoints += POINT_COUNT;
+        counters.retainedPoints += mRetained - before;
+        return mRetained;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long inputPoints;
+        public long retainedPoints;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            inputPoints = 0;
+            retainedPoints = 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package android.location;
+
+/**
+ * <ul>
+ *     <li>Description: android.location.Location 的 JVM 替身，只保留 locationx 用到的字段与方法，使基准测试无需 Android 运行时</li>
+ *     <li>Date: 2026-10-18 11:05</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+public class Location {
+    private String mProvider;
+    private long mTime;
+    private double mLatitude;
+    private double mLongitude;
+    private float mAccuracy;
+    private double mAltitude;
+    private float mSpeed;
+    private float mBearing;
+    private boolean mHasAltitude;
+    private boolean mHasSpeed;
+    private boolean mHasBearing;
+
+    public Location(String provider) {
+        mProvider = provider;
+    }
+
+    public Location(Location location) {
+        set(location);
+    }
+
+    public void set(Location location) {
+        mProvider = location.mProvider;
+        mTime = location.mTime;
+        mLatitude = location.mLatitude;
+        mLongitude = location.mLongitude;
+        mAccuracy = location.mAccuracy;
+        mAltitude = location.mAltitude;
+        mSpeed = location.mSpeed;
+        mBearing = location.mBearing;
+        mHasAltitude = location.mHasAltitude;
+        mHasSpeed = location.mHasSpeed;
+        mHasBearing = location.mHasBearing;
+    }
+
+    public String getProvider() {
+        return mProvider;
+    }
+
+    public void setProvider(String provider) {
+        mProvider = provider;
+    }
+
+    public long getTime() {
+        return mTime;
+    }
+
+    public void setTime(long time) {
+        mTime = time;
+    }
+
+    public double getLatitude() {
+        return mLatitude;
+    }
+
+    public void setLatitude(double latitude) {
+        mLatitude = latitude;
+    }
+
+    public double getLongitude() {
+        return mLongitude;
+    }
+
+    public void setLongitude(double longitude) {
+        mLongitude = longitude;
+    }
+
+    public float getAccuracy() {
+        return mAccuracy;
+    }
+
+    public void setAccuracy(float accuracy) {
+        mAccuracy = accuracy;
+    }
+
+    public double getAltitude() {
+        return mAltitude;
+    }
+
+    public void setAltitude(double altitude) {
+        mAltitude = altitude;
+        mHasAltitude = true;
+    }
+
+    public boolean hasAltitude() {
+        return mHasAltitude;
+    }
+
+    public float getSpeed() {
+        return mSpeed;
+    }
+
+    public void setSpeed(float speed) {
+        mSpeed = speed;
+        mHasSpeed = true;
+    }
+
+    public boolean hasSpeed() {
+        return mHasSpeed;
+    }
+
+    public float getBearing() {
+        return mBearing;
+    }
+
+    public void setBearing(float bearing) {
+        mBearing = bearing;
+        mHasBearing = true;
+    }
+
+    public boolean hasBearing() {
+        return mHasBearing;
+    }
+
+    @Override
+    public String toString() {
+        return "Location[" + mProvider + " " + mLatitude + "," + mLongitude + " acc=" + mAccuracy + " t=" + mTime + "]";
+    }
+}
@@ -0,0 +1,14 @@
+package android.location;
+
+/**
+ * <ul>
+ *     <li>Description: android.location.LocationManager 的 JVM 替身，只保留 Provider 名称常量</li>
+ *     <li>Date: 2026-10-18 09:16</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+public class LocationManager {
+    public static final String NETWORK_PROVIDER = "network";
+    public static final String GPS_PROVIDER = "gps";
+    public static final String PASSIVE_PROVIDER = "passive";
+}
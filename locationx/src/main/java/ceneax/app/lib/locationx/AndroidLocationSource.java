@@ -0,0 +1,113 @@
+package ceneax.app.lib.locationx;
+
+import android.annotation.SuppressLint;
+import android.location.Location;
+import android.location.LocationListener;
+import android.location.LocationManager;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * <ul>
+ *     <li>Description: 基于系统 LocationManager 的定位来源，默认实现</li>
+ *     <li>Date: 2026-10-18 09:16</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 回调线程为 {@link LocationExecutors} 提供的 Looper 线程时直接注册到该 Looper，不额外切换线程；
+ * 其它 Executor 先在库的后台线程接收再转交。包装同一个 LocationManager 的实例相等，共用同一个 {@link LocationHub}。
+ */
+@SuppressLint("MissingPermission")
+public class AndroidLocationSource implements ILocationSource {
+    private final LocationManager mLocationManager;
+    private final Map<ILocationCallback, LocationListener> mListeners = new HashMap<>();
+
+    public AndroidLocationSource(@NonNull LocationManager locationManager) {
+        mLocationManager = locationManager;
+    }
+
+    @NonNull
+    public LocationManager getLocationManager() {
+        return mLocationManager;
+    }
+
+    @Override
+    public boolean hasProvider(@NonNull String provider) {
+        return mLocationManager.getAllProviders().contains(provider);
+    }
+
+    @Override
+    public boolean isProviderEnabled(@NonNull String provider) {
+        return mLocationManager.isProviderEnabled(provider);
+    }
+
+    @Nullable
+    @Override
+    public Location getLastKnownLocation(@NonNull String provider) {
+        return mLocationManager.getLastKnownLocation(provider);
+    }
+
+    @Override
+    public void requestLocationUpdates(@NonNull String provider, long minTimeMs, float minDistanceM,
+                                       @NonNull Executor executor, @NonNull ILocationCallback callback) {
+        Looper looper = looperOf(executor);
+        mLocationManager.requestLocationUpdates(provider, minTimeMs, minDistanceM, listenerOf(callback, executor), looper);
+    }
+
+    @Override
+    public void requestSingleUpdate(@NonNull String provider, @NonNull Executor executor, @NonNull ILocationCallback callback) {
+        Looper looper = looperOf(executor);
+        mLocationManager.requestSingleUpdate(provider, listenerOf(callback, executor), looper);
+    }
+
+    @Override
+    public void removeUpdates(@NonNull ILocationCallback callback) {
+        LocationListener listener;
+        synchronized (mListeners) {
+            listener = mListeners.remove(callback);
+        }
+        if (listener != null) {
+            mLocationManager.removeUpdates(listener);
+        }
+    }
+
+    private static Looper looperOf(Executor executor) {
+        Looper looper = LocationExecutors.getLooper(executor);
+        return looper != null ? looper : LocationExecutors.getWorkerLooper();
+    }
+
+    /**
+     * 同一个回调重复注册时先注销之前的 LocationListener
+     */
+    private LocationListener listenerOf(ILocationCallback callback, Executor executor) {
+        LocationListener listener;
+        if (LocationExecutors.getLooper(executor) != null) {
+            listener = callback::onResult;
+        } else {
+            listener = location -> executor.execute(() -> callback.onResult(location));
+        }
+        LocationListener old;
+        synchronized (mListeners) {
+            old = mListeners.put(callback, listener);
+        }
+        if (old != null) {
+            mLocationManager.removeUpdates(old);
+        }
+        return listener;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AndroidLocationSource && ((AndroidLocationSource) o).mLocationManager == mLocationManager;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(mLocationManager);
+    }
+}
@@ -0,0 +1,98 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+
+/**
+ * <ul>
+ *     <li>Description: 日志的异步环形缓冲，由单独的守护线程批量交给 {@link ILogPrinter}</li>
+ *     <li>Date: 2026-10-18 20:30</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 写入方只在锁内做一次数组赋值，不会被 ILogPrinter 的耗时阻塞。缓冲满时丢弃最旧的日志，
+ * 并在下一批日志前输出丢弃条数。输出线程在第一次写入时才启动。
+ */
+class AsyncLogSink implements Runnable {
+    private static final String THREAD_NAME = "LocationX-Log";
+
+    private final String[] mBuffer;
+    private final int mMaxBatchSize;
+    private final ArrayList<String> mBatch;
+
+    // 以下字段由 this 保护
+    private int mHead;
+    private int mSize;
+    private long mDropped;
+    private Thread mThread;
+    private ILogPrinter mPrinter;
+
+    AsyncLogSink(int capacity, int maxBatchSize) {
+        mBuffer = new String[capacity];
+        mMaxBatchSize = maxBatchSize;
+        mBatch = new ArrayList<>(maxBatchSize + 1);
+    }
+
+    synchronized void setPrinter(ILogPrinter printer) {
+        mPrinter = printer;
+    }
+
+    synchronized void offer(@NonNull String msg) {
+        if (mPrinter == null) {
+            return;
+        }
+        int capacity = mBuffer.length;
+        if (mSize == capacity) {
+            mHead = (mHead + 1) % capacity;
+            mSize --;
+            mDropped ++;
+        }
+        mBuffer[(mHead + mSize) % capacity] = msg;
+        mSize ++;
+        if (mThread == null) {
+            mThread = new Thread(this, THREAD_NAME);
+            mThread.setDaemon(true);
+            mThread.start();
+        }
+        if (mSize == 1) {
+            notify();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            ILogPrinter printer;
+            synchronized (this) {
+                while (mSize == 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                printer = mPrinter;
+                if (mDropped > 0) {
+                    mBatch.add("LXLog: 日志输出过慢，已丢弃 " + mDropped + " 条日志");
+                    mDropped = 0;
+                }
+                int count = Math.min(mSize, mMaxBatchSize);
+                int capacity = mBuffer.length;
+                for (int i = 0; i < count; i ++) {
+                    mBatch.add(mBuffer[mHead]);
+                    mBuffer[mHead] = null;
+                    mHead = (mHead + 1) % capacity;
+                }
+                mSize -= count;
+            }
+            if (printer != null) {
+                try {
+                    printer.printBatch(mBatch);
+                } catch (RuntimeException ignored) {
+                    // 外部输出异常不能终止日志线程
+                }
+            }
+            mBatch.clear();
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <ul>
+ *     <li>Description: 按 geohash 网格缓存结果的反向地址编码装饰器</li>
+ *     <li>Date: 2026-10-18 23:05</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 坐标先量化为指定精度的 geohash（以 long 表示），同一网格内的坐标共用第一次查询的结果，
+ * 精度 7 约为 150 米见方。缓存按 LRU 淘汰，条目超过 TTL 后重新查询。
+ * 同一网格的并发未命中只会调用一次被装饰的 {@link IGeocoder}，其它线程等待其结果。
+ * 命中路径不分配内存。线程安全。
+ */
+public class CachingGeocoder implements IGeocoder {
+    public static final int DEFAULT_PRECISION = 7;
+    public static final int DEFAULT_MAX_SIZE = 256;
+    public static final long DEFAULT_TTL_MS = 30 * 60 * 1000L;
+    public static final int MAX_PRECISION = 12;
+
+    private static final byte STATE_FREE = 0;
+    private static final byte STATE_LOADING = 1;
+    private static final byte STATE_READY = 2;
+    private static final int NONE = -1;
+
+    private final IGeocoder mDelegate;
+    private final int mPrecision;
+    private final int mMaxSize;
+    private final long mTtlMs;
+
+    // 线性探测的开放寻址哈希表，存放条目下标 + 1，0 表示空位
+    private final int[] mTable;
+    private final int mTableMask;
+    // 条目按下标并行存储
+    private final long[] mKeys;
+    private final GeoAddress[] mValues;
+    private final long[] mLoadTimes;
+    private final byte[] mStates;
+    // LRU 双向链表，只包含已加载完成的条目；空闲条目通过 mNext 串成空闲链表
+    private final int[] mPrev;
+    private final int[] mNext;
+    // 最近使用
+    private int mHead = NONE;
+    // 最久未使用
+    private int mTail = NONE;
+    private int mFree;
+    private int mSize;
+
+    private long mHits;
+    private long mMisses;
+    private long mWaits;
+    private long mEvictions;
+    private long mExpirations;
+
+    public CachingGeocoder(@NonNull IGeocoder delegate) {
+        this(delegate, DEFAULT_PRECISION, DEFAULT_MAX_SIZE, DEFAULT_TTL_MS);
+    }
+
+    /**
+     * @param precision geohash 字符数，1 ~ {@link #MAX_PRECISION}
+     * @param maxSize 最多缓存的网格数
+     * @param ttlMs 条目有效期，单位：毫秒，小于等于 0 表示不过期
+     */
+    public CachingGeocoder(@NonNull IGeocoder delegate, int precision, int maxSize, long ttlMs) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be in [1, " + MAX_PRECISION + "], but was " + precision);
+        }
+        if (maxSize < 1 || maxSize > (1 << 28)) {
+            throw new IllegalArgumentException("maxSize must be in [1, 2^28], but was " + maxSize);
+        }
+        mDelegate = delegate;
+        mPrecision = precision;
+        mMaxSize = maxSize;
+        mTtlMs = ttlMs;
+
+        // 装载因子不超过 0.5
+        int tableSize = Integer.highestOneBit(maxSize * 2 - 1) << 1;
+        mTable = new int[tableSize];
+        mTableMask = tableSize - 1;
+        mKeys = new long[maxSize];
+        mValues = new GeoAddress[maxSize];
+        mLoadTimes = new long[maxSize];
+        mStates = new byte[maxSize];
+        mPrev = new int[maxSize];
+        mNext = new int[maxSize];
+        for (int i = 0; i < maxSize; i ++) {
+            mNext[i] = i + 1 < maxSize ? i + 1 : NONE;
+        }
+        mFree = 0;
+    }
+
+    @Nullable
+    @Override
+    public GeoAddress decode(double lat, double lng) {
+        return decode(lat, lng, System.nanoTime() / 1000000);
+    }
+
+    @Nullable
+    GeoAddress decode(double lat, double lng, long nowMs) {
+        if (Double.isNaN(lat) || Double.isNaN(lng)) {
+            return mDelegate.decode(lat, lng);
+        }
+        long key = geohash(lat, lng, mPrecision);
+        int entry;
+        synchronized (this) {
+            boolean waited = false;
+            boolean bypass = false;
+            while (true) {
+                entry = find(key);
+                if (entry == NONE) {
+                    break;
+                }
+                if (mStates[entry] == STATE_LOADING) {
+                    if (!waited) {
+                        mWaits ++;
+                        waited = true;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // 不再等待，直接查询且不写入缓存
+                        Thread.currentThread().interrupt();
+                        entry = NONE;
+                        bypass = true;
+                        break;
+                    }
+                    continue;
+                }
+                if (mTtlMs > 0 && nowMs - mLoadTimes[entry] >= mTtlMs) {
+                    // 过期的条目原地转为加载中，其它线程等待重新查询的结果
+                    mExpirations ++;
+                    unlink(entry);
+                    mStates[entry] = STATE_LOADING;
+                    mValues[entry] = null;
+                    mMisses ++;
+                    break;
+                }
+                mHits ++;
+                if (mHead != entry) {
+                    unlink(entry);
+                    linkHead(entry);
+                }
+                return mValues[entry];
+            }
+            if (entry == NONE && !bypass) {
+                mMisses ++;
+                // 所有条目都在加载中时无法分配，本次不缓存
+                entry = allocate(key);
+            }
+        }
+
+        GeoAddress address;
+        try {
+            address = mDelegate.decode(lat, lng);
+        } catch (RuntimeException | Error e) {
+            if (entry != NONE) {
+                synchronized (this) {
+                    remove(entry);
+                    notifyAll();
+                }
+            }
+            throw e;
+        }
+        if (entry != NONE) {
+            synchronized (this) {
+                mValues[entry] = address;
+                mLoadTimes[entry] = nowMs;
+                mStates[entry] = STATE_READY;
+                linkHead(entry);
+                notifyAll();
+            }
+        }
+        return address;
+    }
+
+    /**
+     * 清空已加载的条目，正在加载的条目不受影响
+     */
+    public synchronized void clear() {
+        while (mTail != NONE) {
+            remove(mTail);
+        }
+    }
+
+    public synchronized int getSize() {
+        return mSize;
+    }
+
+    public int getPrecision() {
+        return mPrecision;
+    }
+
+    public int getMaxSize() {
+        return mMaxSize;
+    }
+
+    @NonNull
+    public synchronized Stats getStats() {
+        return new Stats(mHits, mMisses, mWaits, mEvictions, mExpirations, mSize);
+    }
+
+    public synchronized void resetStats() {
+        mHits = 0;
+        mMisses = 0;
+        mWaits = 0;
+        mEvictions = 0;
+        mExpirations = 0;
+    }
+
+    /**
+     * 标准 geohash 的二进制形式：从经度开始，经纬度的二分位交替排列，共 precision * 5 位，右对齐
+     */
+    static long geohash(double lat, double lng, int precision) {
+        int bits = precision * 5;
+        int lngBits = (bits + 1) / 2;
+        int latBits = bits / 2;
+        long lngIndex = quantize(lng + 180, 360, lngBits);
+        long latIndex = quantize(lat + 90, 180, latBits);
+        long hash = 0;
+        for (int i = 0; i < bits; i ++) {
+            long bit;
+            if ((i & 1) == 0) {
+                bit = lngIndex >>> (-- lngBits) & 1;
+            } else {
+                bit = latIndex >>> (-- latBits) & 1;
+            }
+            hash = hash << 1 | bit;
+        }
+        return hash;
+    }
+
+    private static long quantize(double offset, double range, int bits) {
+        long max = (1L << bits) - 1;
+        long index = (long) Math.floor(offset / range * (1L << bits));
+        return index < 0 ? 0 : index > max ? max : index;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(long key) {
+        for (int i = hash(key) & mTableMask; ; i = (i + 1) & mTableMask) {
+            int slot = mTable[i];
+            if (slot == 0) {
+                return NONE;
+            }
+            if (mKeys[slot - 1] == key) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * 分配一个加载中的条目，没有空闲条目时淘汰最久未使用的条目
+     */
+    private int allocate(long key) {
+        if (mFree == NONE) {
+            if (mTail == NONE) {
+                return NONE;
+            }
+            remove(mTail);
+            mEvictions ++;
+        }
+        int entry = mFree;
+        mFree = mNext[entry];
+        mKeys[entry] = key;
+        mValues[entry] = null;
+        mStates[entry] = STATE_LOADING;
+        int i = hash(key) & mTableMask;
+        while (mTable[i] != 0) {
+            i = (i + 1) & mTableMask;
+        }
+        mTable[i] = entry + 1;
+        mSize ++;
+        return entry;
+    }
+
+    private void remove(int entry) {
+        if (mStates[entry] == STATE_READY) {
+            unlink(entry);
+        }
+        // 线性探测的删除：把后续同一探测链上的条目前移，避免留下墓碑
+        int i = hash(mKeys[entry]) & mTableMask;
+        while (mTable[i] != entry + 1) {
+            i = (i + 1) & mTableMask;
+        }
+        for (int j = (i + 1) & mTableMask; mTable[j] != 0; j = (j + 1) & mTableMask) {
+            int home = hash(mKeys[mTable[j] - 1]) & mTableMask;
+            boolean movable = j > i ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                mTable[i] = mTable[j];
+                i = j;
+            }
+        }
+        mTable[i] = 0;
+
+        mStates[entry] = STATE_FREE;
+        mValues[entry] = null;
+        mNext[entry] = mFree;
+        mFree = entry;
+        mSize --;
+    }
+
+    private void linkHead(int entry) {
+        mPrev[entry] = NONE;
+        mNext[entry] = mHead;
+        if (mHead != NONE) {
+            mPrev[mHead] = entry;
+        } else {
+            mTail = entry;
+        }
+        mHead = entry;
+    }
+
+    private void unlink(int entry) {
+        int prev = mPrev[entry];
+        int next = mNext[entry];
+        if (prev != NONE) {
+            mNext[prev] = next;
+        } else {
+            mHead = next;
+        }
+        if (next != NONE) {
+            mPrev[next] = prev;
+        } else {
+            mTail = prev;
+        }
+    }
+
+    public static final class Stats {
+        private final long mHits;
+        private final long mMisses;
+        private final long mWaits;
+        private final long mEvictions;
+        private final long mExpirations;
+        private final int mSize;
+
+        Stats(long hits, long misses, long waits, long evictions, long expirations, int size) {
+            mHits = hits;
+            mMisses = misses;
+            mWaits = waits;
+            mEvictions = evictions;
+            mExpirations = expirations;
+            mSize = size;
+        }
+
+        /**
+         * 包括等待其它线程加载完成后取得的结果
+         */
+        public long getHits() {
+            return mHits;
+        }
+
+        /**
+         * 调用被装饰的 IGeocoder 的次数（不含被中断后的直接查询）
+         */
+        public long getMisses() {
+            return mMisses;
+        }
+
+        /**
+         * 因同一网格正在加载而等待的次数
+         */
+        public long getWaits() {
+            return mWaits;
+        }
+
+        public long getEvictions() {
+            return mEvictions;
+        }
+
+        public long getExpirations() {
+            return mExpirations;
+        }
+
+        public int getSize() {
+            return mSize;
+        }
+
+        public double getHitRate() {
+            long total = mHits + mMisses;
+            return total == 0 ? 0 : (double) mHits / total;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "hits=" + mHits + ", misses=" + mMisses + ", waits=" + mWaits + ", evictions=" + mEvictions
+                    + ", expirations=" + mExpirations + ", size=" + mSize + ", hitRate=" + getHitRate();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <ul>
+ *     <li>Description: 多 Provider 持续定位的最优结果仲裁</li>
+ *     <li>Date: 2026-10-18 23:40</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每个新定位与当前最优结果按 {@link LocationUtil#isBetterLocation} 比较，只在最优结果确实变化时返回 true。
+ * passive Provider 会转发本进程 GPS、Network 注册得到的同一个定位，时间、位置、精度都相同的定位视为重复，不算变化。
+ * 只保存基本类型，不持有 {@link Location}。非线程安全，只在分发线程使用。
+ */
+class FusedLocationArbiter {
+    private boolean mHasBest;
+    private long mBestTime;
+    private float mBestAccuracy;
+    private String mBestProvider;
+    private double mBestLat;
+    private double mBestLng;
+
+    boolean offer(@NonNull Location location) {
+        return offer(location.getLatitude(), location.getLongitude(), location.getTime(),
+                location.getAccuracy(), location.getProvider());
+    }
+
+    /**
+     * @return 最优结果是否变为该定位
+     */
+    boolean offer(double lat, double lng, long time, float accuracy, String provider) {
+        if (mHasBest) {
+            if (time == mBestTime && lat == mBestLat && lng == mBestLng && accuracy == mBestAccuracy) {
+                return false;
+            }
+            if (!LocationUtil.isBetterLocation(time, accuracy, provider, mBestTime, mBestAccuracy, mBestProvider)) {
+                return false;
+            }
+        }
+        mHasBest = true;
+        mBestTime = time;
+        mBestAccuracy = accuracy;
+        mBestProvider = provider;
+        mBestLat = lat;
+        mBestLng = lng;
+        return true;
+    }
+
+    void reset() {
+        mHasBest = false;
+        mBestProvider = null;
+    }
+
+    boolean hasBest() {
+        return mHasBest;
+    }
+
+    String getBestProvider() {
+        return mBestProvider;
+    }
+}
@@ -0,0 +1,291 @@
+package ceneax.app.lib.locationx;
+
+/**
+ * <ul>
+ *     <li>Description: WGS84 与 GCJ02 的快速近似转换，以预计算的偏移表 + 线性插值代替逐点三角函数计算</li>
+ *     <li>Date: 2026-10-18 10:12</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * GCJ02 的偏移公式可以拆成三部分：只与经度相关的正弦项、只与纬度相关的正弦项、以及廉价的多项式项，
+ * 最后再乘以只与纬度相关的椭球缩放系数。其中经度正弦项的最短周期为 1/3 度，若直接在二维网格上做双线性插值，
+ * 需要约 0.02 度的网格（数百万个节点）才能把误差压到米级以下；而按维度拆开后只需若干张一维表，
+ * 默认分辨率下总共约 3 万个 float（约 120KB），多项式项仍按原公式精确计算。
+ * <p>
+ * 插值误差与分辨率的平方成正比，与 {@link LocationUtil} 精确公式相比，在整个加偏范围内的最大误差约为：
+ * <ul>
+ *     <li>0.005 度：0.03 米</li>
+ *     <li>0.01 度（默认）：0.1 米</li>
+ *     <li>0.02 度：0.4 米</li>
+ *     <li>0.05 度：2.3 米</li>
+ *     <li>0.1 度：7.5 米</li>
+ * </ul>
+ * 对于精度要求严格的场景，仍应使用 {@link LocationUtil} 中的精确转换。
+ * 实例创建后只读，可在多个线程间共享。
+ */
+public final class GcjOffsetGrid {
+    // 默认表分辨率，单位：度
+    public static final double DEFAULT_RESOLUTION = 0.01;
+
+    private static final double PI = Math.PI;
+    // 表的覆盖范围在加偏范围外额外留出的余量，单位：度
+    private static final double MARGIN = 0.1;
+
+    private final double mResolution;
+    private final double mInvResolution;
+
+    // 以 x = lng - 105 为自变量的表
+    private final double mXMin;
+    private final float[] mLatX;
+    private final float[] mLngX;
+
+    // 以 lat 为自变量的表
+    private final double mLatMin;
+    private final float[] mLatY;
+    private final float[] mLatScale;
+    private final float[] mLngScale;
+
+    /**
+     * 默认分辨率的共享实例，首次调用时才构建
+     */
+    public static GcjOffsetGrid getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * @param resolution 表分辨率，单位：度，取值范围 (0, 1]，越小越精确，内存占用与其成反比
+     */
+    public GcjOffsetGrid(double resolution) {
+        if (!(resolution > 0 && resolution <= 1)) {
+            throw new IllegalArgumentException("resolution must be in (0, 1], but was " + resolution);
+        }
+        mResolution = resolution;
+        mInvResolution = 1 / resolution;
+
+        mXMin = LocationUtil.CHINA_MIN_LNG - 105.0 - MARGIN;
+        int xCount = sampleCount(LocationUtil.CHINA_MAX_LNG - LocationUtil.CHINA_MIN_LNG);
+        mLatX = new float[xCount];
+        mLngX = new float[xCount];
+        for (int i = 0; i < xCount; i ++) {
+            double x = mXMin + i * resolution;
+            mLatX[i] = (float) latTermX(x);
+            mLngX[i] = (float) lngTermX(x);
+        }
+
+        mLatMin = LocationUtil.CHINA_MIN_LAT - MARGIN;
+        int yCount = sampleCount(LocationUtil.CHINA_MAX_LAT - LocationUtil.CHINA_MIN_LAT);
+        mLatY = new float[yCount];
+        mLatScale = new float[yCount];
+        mLngScale = new float[yCount];
+        for (int i = 0; i < yCount; i ++) {
+            double lat = mLatMin + i * resolution;
+            double radLat = lat / 180.0 * PI;
+            double magic = Math.sin(radLat);
+            magic = 1 - LocationUtil.OFFSET * magic * magic;
+            double sqrtMagic = Math.sqrt(magic);
+            mLatY[i] = (float) latTermY(lat - 35.0);
+            mLatScale[i] = (float) (180.0 / ((LocationUtil.AXIS * (1 - LocationUtil.OFFSET)) / (magic * sqrtMagic) * PI));
+            mLngScale[i] = (float) (180.0 / (LocationUtil.AXIS / sqrtMagic * Math.cos(radLat) * PI));
+        }
+    }
+
+    public double getResolution() {
+        return mResolution;
+    }
+
+    /**
+     * 用于 {@link CoordType#WGS84} 快速转为 {@link CoordType#GCJ02}
+     * @param lat wgs84维度
+     * @param lng wgs84经度
+     * @return 维经数组（gcj-02）
+     */
+    public double[] wgs84ToGcj02(double lat, double lng) {
+        double[] latLng = new double[2];
+        wgs84ToGcj02(lat, lng, latLng, 0, latLng, 1);
+        return latLng;
+    }
+
+    /**
+     * 用于 {@link CoordType#GCJ02} 快速粗略转为 {@link CoordType#WGS84}，与 {@link LocationUtil#gcj02ToWgs84Fuzzy} 对应
+     * @param lat gcj02维度
+     * @param lng gcj02经度
+     * @return 维经数组（wgs84）
+     */
+    public double[] gcj02ToWgs84(double lat, double lng) {
+        double[] latLng = new double[2];
+        gcj02ToWgs84(lat, lng, latLng, 0, latLng, 1);
+        return latLng;
+    }
+
+    // 批量转换，数组约定与 LocationUtil 的批量转换一致，输出区间与输入区间部分重叠时同样按 System.arraycopy 的方式处理
+
+    public void wgs84ToGcj02(double[] lats, double[] lngs, int offset, int length,
+                             double[] outLats, double[] outLngs, int outOffset) {
+        checkRange(lats.length, offset, length);
+        checkRange(lngs.length, offset, length);
+        checkRange(outLats.length, outOffset, length);
+        checkRange(outLngs.length, outOffset, length);
+        if (backward(lats, lngs, offset, outLats, outLngs, outOffset)) {
+            for (int i = length - 1; i >= 0; i --) {
+                int o = outOffset + i;
+                wgs84ToGcj02(lats[offset + i], lngs[offset + i], outLats, o, outLngs, o);
+            }
+            return;
+        }
+        for (int i = 0; i < length; i ++) {
+            int o = outOffset + i;
+            wgs84ToGcj02(lats[offset + i], lngs[offset + i], outLats, o, outLngs, o);
+        }
+    }
+
+    public void wgs84ToGcj02(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        checkRange(latLngs.length, offset, count * 2);
+        checkRange(out.length, outOffset, count * 2);
+        if (out == latLngs && outOffset > offset) {
+            for (int i = count - 1; i >= 0; i --) {
+                int o = outOffset + i * 2;
+                wgs84ToGcj02(latLngs[offset + i * 2], latLngs[offset + i * 2 + 1], out, o, out, o + 1);
+            }
+            return;
+        }
+        for (int i = 0; i < count; i ++) {
+            int o = outOffset + i * 2;
+            wgs84ToGcj02(latLngs[offset + i * 2], latLngs[offset + i * 2 + 1], out, o, out, o + 1);
+        }
+    }
+
+    public void gcj02ToWgs84(double[] lats, double[] lngs, int offset, int length,
+                             double[] outLats, double[] outLngs, int outOffset) {
+        checkRange(lats.length, offset, length);
+        checkRange(lngs.length, offset, length);
+        checkRange(outLats.length, outOffset, length);
+        checkRange(outLngs.length, outOffset, length);
+        if (backward(lats, lngs, offset, outLats, outLngs, outOffset)) {
+            for (int i = length - 1; i >= 0; i --) {
+                int o = outOffset + i;
+                gcj02ToWgs84(lats[offset + i], lngs[offset + i], outLats, o, outLngs, o);
+            }
+            return;
+        }
+        for (int i = 0; i < length; i ++) {
+            int o = outOffset + i;
+            gcj02ToWgs84(lats[offset + i], lngs[offset + i], outLats, o, outLngs, o);
+        }
+    }
+
+    public void gcj02ToWgs84(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        checkRange(latLngs.length, offset, count * 2);
+        checkRange(out.length, outOffset, count * 2);
+        if (out == latLngs && outOffset > offset) {
+            for (int i = count - 1; i >= 0; i --) {
+                int o = outOffset + i * 2;
+                gcj02ToWgs84(latLngs[offset + i * 2], latLngs[offset + i * 2 + 1], out, o, out, o + 1);
+            }
+            return;
+        }
+        for (int i = 0; i < count; i ++) {
+            int o = outOffset + i * 2;
+            gcj02ToWgs84(latLngs[offset + i * 2], latLngs[offset + i * 2 + 1], out, o, out, o + 1);
+        }
+    }
+
+    /**
+     * 输出数组与某个输入数组相同且输出在输入之后时，需从后往前转换，才不会覆盖尚未读取的点
+     */
+    private static boolean backward(double[] lats, double[] lngs, int offset,
+                                    double[] outLats, double[] outLngs, int outOffset) {
+        return outOffset > offset && (outLats == lats || outLats == lngs || outLngs == lats || outLngs == lngs);
+    }
+
+    /**
+     * 近似计算两坐标系间的偏移，结果写入 outLat[latIndex] / outLng[lngIndex]，对应 {@link LocationUtil#transform}
+     */
+    public void transform(double lat, double lng, double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        double x = lng - 105.0;
+        double y = lat - 35.0;
+
+        double tx = (x - mXMin) * mInvResolution;
+        int ix = clampIndex((int) tx, mLatX.length);
+        double fx = tx - ix;
+
+        double ty = (lat - mLatMin) * mInvResolution;
+        int iy = clampIndex((int) ty, mLatY.length);
+        double fy = ty - iy;
+
+        double dLat = -100.0 + 2.0 * x + 3.0 * y + 0.2 * y * y + 0.1 * x * y
+                + lerp(mLatX, ix, fx) + lerp(mLatY, iy, fy);
+        double dLng = 300.0 + x + 2.0 * y + 0.1 * x * x + 0.1 * x * y
+                + lerp(mLngX, ix, fx);
+
+        outLat[latIndex] = dLat * lerp(mLatScale, iy, fy);
+        outLng[lngIndex] = dLng * lerp(mLngScale, iy, fy);
+    }
+
+    private void wgs84ToGcj02(double lat, double lng,
+                              double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        if (LocationUtil.outOfChina(lat, lng)) {
+            outLat[latIndex] = lat;
+            outLng[lngIndex] = lng;
+            return;
+        }
+        transform(lat, lng, outLat, latIndex, outLng, lngIndex);
+        outLat[latIndex] = lat + outLat[latIndex];
+        outLng[lngIndex] = lng + outLng[lngIndex];
+    }
+
+    private void gcj02ToWgs84(double lat, double lng,
+                              double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        if (LocationUtil.outOfChina(lat, lng)) {
+            outLat[latIndex] = lat;
+            outLng[lngIndex] = lng;
+            return;
+        }
+        transform(lat, lng, outLat, latIndex, outLng, lngIndex);
+        outLat[latIndex] = lat - outLat[latIndex];
+        outLng[lngIndex] = lng - outLng[lngIndex];
+    }
+
+    private int sampleCount(double span) {
+        return (int) Math.ceil((span + MARGIN * 2) / mResolution) + 2;
+    }
+
+    private static int clampIndex(int index, int length) {
+        if (index < 0) {
+            return 0;
+        }
+        return Math.min(index, length - 2);
+    }
+
+    private static double lerp(float[] table, int index, double fraction) {
+        float a = table[index];
+        return a + (table[index + 1] - a) * fraction;
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new ArrayIndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + arrayLength);
+        }
+    }
+
+    // 以下各项与 LocationUtil.transformLat / transformLng 中的非多项式项一一对应
+
+    private static double latTermX(double x) {
+        return 0.2 * Math.sqrt(Math.abs(x))
+                + (20.0 * Math.sin(6.0 * x * PI) + 20.0 * Math.sin(2.0 * x * PI)) * 2.0 / 3.0;
+    }
+
+    private static double latTermY(double y) {
+        return (20.0 * Math.sin(y * PI) + 40.0 * Math.sin(y / 3.0 * PI)) * 2.0 / 3.0
+                + (160.0 * Math.sin(y / 12.0 * PI) + 320 * Math.sin(y * PI / 30.0)) * 2.0 / 3.0;
+    }
+
+    private static double lngTermX(double x) {
+        return 0.1 * Math.sqrt(Math.abs(x))
+                + (20.0 * Math.sin(6.0 * x * PI) + 20.0 * Math.sin(2.0 * x * PI)) * 2.0 / 3.0
+                + (20.0 * Math.sin(x * PI) + 40.0 * Math.sin(x / 3.0 * PI)) * 2.0 / 3.0
+                + (150.0 * Math.sin(x / 12.0 * PI) + 300.0 * Math.sin(x / 30.0 * PI)) * 2.0 / 3.0;
+    }
+
+    private static class DefaultHolder {
+        private static final GcjOffsetGrid INSTANCE = new GcjOffsetGrid(DEFAULT_RESOLUTION);
+    }
+}
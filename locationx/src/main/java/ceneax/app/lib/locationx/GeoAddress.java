@@ -0,0 +1,79 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * <ul>
+ *     <li>Description: 反向地址编码结果，不可变</li>
+ *     <li>Date: 2026-10-18 22:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ */
+public final class GeoAddress {
+    private final String mProvince;
+    private final String mCity;
+    private final String mDistrict;
+    private final int mAdminCode;
+
+    /**
+     * @param adminCode 行政区划代码，例如 110105，未知为 0
+     */
+    public GeoAddress(@Nullable String province, @Nullable String city, @Nullable String district, int adminCode) {
+        mProvince = province;
+        mCity = city;
+        mDistrict = district;
+        mAdminCode = adminCode;
+    }
+
+    @Nullable
+    public String getProvince() {
+        return mProvince;
+    }
+
+    @Nullable
+    public String getCity() {
+        return mCity;
+    }
+
+    @Nullable
+    public String getDistrict() {
+        return mDistrict;
+    }
+
+    public int getAdminCode() {
+        return mAdminCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GeoAddress)) {
+            return false;
+        }
+        GeoAddress that = (GeoAddress) o;
+        return mAdminCode == that.mAdminCode && equals(mProvince, that.mProvince)
+                && equals(mCity, that.mCity) && equals(mDistrict, that.mDistrict);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mAdminCode;
+        result = 31 * result + (mProvince == null ? 0 : mProvince.hashCode());
+        result = 31 * result + (mCity == null ? 0 : mCity.hashCode());
+        result = 31 * result + (mDistrict == null ? 0 : mDistrict.hashCode());
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "GeoAddress[" + mProvince + " " + mCity + " " + mDistrict + " " + mAdminCode + "]";
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
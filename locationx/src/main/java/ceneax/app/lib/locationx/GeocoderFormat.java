@@ -0,0 +1,58 @@
+package ceneax.app.lib.locationx;
+
+/**
+ * <ul>
+ *     <li>Description: 离线反向地址编码数据文件的格式常量</li>
+ *     <li>Date: 2026-10-18 22:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 大端序，坐标为 1e-7 度定点数。各段依次为：
+ * <ul>
+ *     <li>文件头 {@link #HEADER_SIZE} 字节：魔数 "LXGC"、版本号、行政区个数、字符串个数、网格原点纬度、经度、
+ *     网格边长、行数、列数，以及字符串偏移表、字符串数据、行政区表、顶点、网格起始表、网格列表各段的起始位置</li>
+ *     <li>字符串偏移表：字符串个数 + 1 个 int，相对字符串数据段的字节偏移；字符串数据为 UTF-8，末尾补 0 到 4 字节对齐</li>
+ *     <li>行政区表：每条 {@link #REGION_SIZE} 字节，省、市、区的字符串序号（-1 表示无）、行政区划代码、
+ *     外包矩形（最小纬度、最小经度、最大纬度、最大经度）、首个顶点序号、顶点个数</li>
+ *     <li>顶点：每个 8 字节，纬度、经度</li>
+ *     <li>网格起始表：行数 * 列数 + 1 个 int，第 i 个网格的行政区列表为网格列表中 [start[i], start[i + 1]) 的部分</li>
+ *     <li>网格列表：与网格外包矩形相交的行政区序号</li>
+ * </ul>
+ * 一个行政区由多个多边形组成时写为多条记录，不支持带洞的多边形。
+ */
+final class GeocoderFormat {
+    static final int MAGIC = 0x4C584743;
+    static final int VERSION = 1;
+
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_VERSION = 4;
+    static final int OFFSET_REGION_COUNT = 8;
+    static final int OFFSET_STRING_COUNT = 12;
+    static final int OFFSET_GRID_MIN_LAT = 16;
+    static final int OFFSET_GRID_MIN_LNG = 20;
+    static final int OFFSET_CELL_SIZE = 24;
+    static final int OFFSET_ROWS = 28;
+    static final int OFFSET_COLS = 32;
+    static final int OFFSET_STRING_OFFSETS_POS = 36;
+    static final int OFFSET_STRING_DATA_POS = 40;
+    static final int OFFSET_REGION_POS = 44;
+    static final int OFFSET_VERTEX_POS = 48;
+    static final int OFFSET_CELL_START_POS = 52;
+    static final int OFFSET_CELL_LIST_POS = 56;
+    static final int HEADER_SIZE = 60;
+
+    static final int REGION_PROVINCE = 0;
+    static final int REGION_CITY = 4;
+    static final int REGION_DISTRICT = 8;
+    static final int REGION_ADMIN_CODE = 12;
+    static final int REGION_MIN_LAT = 16;
+    static final int REGION_MIN_LNG = 20;
+    static final int REGION_MAX_LAT = 24;
+    static final int REGION_MAX_LNG = 28;
+    static final int REGION_VERTEX_START = 32;
+    static final int REGION_VERTEX_COUNT = 36;
+    static final int REGION_SIZE = 40;
+
+    static final int VERTEX_SIZE = 8;
+
+    private GeocoderFormat() {}
+}
@@ -0,0 +1,165 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <ul>
+ *     <li>Description: 地理围栏，圆形或多边形，创建后不可变</li>
+ *     <li>Date: 2026-10-18 13:20</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 坐标系与 {@link GeofenceEngine} 接收到的定位坐标系一致，即 {@link LocationCore} 的 {@link CoordType}
+ */
+public final class Geofence {
+    // 进入围栏
+    public static final int EVENT_ENTER = 1;
+    // 离开围栏
+    public static final int EVENT_EXIT = 2;
+    // 在围栏内停留达到指定时长
+    public static final int EVENT_DWELL = 4;
+
+    public static final int TYPE_CIRCLE = 0;
+    public static final int TYPE_POLYGON = 1;
+
+    // 每度纬度对应的米数（近似）
+    private static final double METERS_PER_DEGREE = 111320.0;
+
+    private final String mId;
+    private final int mType;
+    private final long mDwellTimeMs;
+
+    // 圆形围栏
+    private final double mCenterLat;
+    private final double mCenterLng;
+    private final double mRadiusKm;
+
+    // 多边形围栏，维经交错存储
+    private final double[] mVertices;
+
+    // 外包矩形，用于廉价的预筛选
+    final double minLat;
+    final double maxLat;
+    final double minLng;
+    final double maxLng;
+
+    /**
+     * 圆形围栏
+     * @param radiusM 半径，单位：米
+     */
+    public static Geofence circle(@NonNull String id, double lat, double lng, double radiusM) {
+        return circle(id, lat, lng, radiusM, 0);
+    }
+
+    /**
+     * 圆形围栏
+     * @param radiusM 半径，单位：米
+     * @param dwellTimeMs 停留多久触发 {@link #EVENT_DWELL}，小于等于 0 表示不触发
+     */
+    public static Geofence circle(@NonNull String id, double lat, double lng, double radiusM, long dwellTimeMs) {
+        if (!(radiusM > 0)) {
+            throw new IllegalArgumentException("radiusM must be positive, but was " + radiusM);
+        }
+        return new Geofence(id, TYPE_CIRCLE, dwellTimeMs, lat, lng, radiusM, null);
+    }
+
+    /**
+     * 多边形围栏
+     * @param latLngs 顶点，维经交错存储，至少 3 个顶点，首尾无需重复
+     */
+    public static Geofence polygon(@NonNull String id, @NonNull double[] latLngs) {
+        return polygon(id, latLngs, 0);
+    }
+
+    /**
+     * 多边形围栏
+     * @param latLngs 顶点，维经交错存储，至少 3 个顶点，首尾无需重复
+     * @param dwellTimeMs 停留多久触发 {@link #EVENT_DWELL}，小于等于 0 表示不触发
+     */
+    public static Geofence polygon(@NonNull String id, @NonNull double[] latLngs, long dwellTimeMs) {
+        if (latLngs.length < 6 || latLngs.length % 2 != 0) {
+            throw new IllegalArgumentException("polygon needs at least 3 lat/lng pairs, but got " + latLngs.length + " values");
+        }
+        return new Geofence(id, TYPE_POLYGON, dwellTimeMs, 0, 0, 0, latLngs.clone());
+    }
+
+    private Geofence(String id, int type, long dwellTimeMs, double centerLat, double centerLng, double radiusM, double[] vertices) {
+        mId = id;
+        mType = type;
+        mDwellTimeMs = dwellTimeMs;
+        mCenterLat = centerLat;
+        mCenterLng = centerLng;
+        mRadiusKm = radiusM / 1000;
+        mVertices = vertices;
+
+        if (type == TYPE_CIRCLE) {
+            double dLat = radiusM / METERS_PER_DEGREE;
+            double dLng = dLat / Math.max(Math.cos(Math.toRadians(centerLat)), 0.01);
+            minLat = centerLat - dLat;
+            maxLat = centerLat + dLat;
+            minLng = centerLng - dLng;
+            maxLng = centerLng + dLng;
+        } else {
+            double aMinLat = Double.MAX_VALUE, aMaxLat = -Double.MAX_VALUE;
+            double aMinLng = Double.MAX_VALUE, aMaxLng = -Double.MAX_VALUE;
+            for (int i = 0; i < vertices.length; i += 2) {
+                aMinLat = Math.min(aMinLat, vertices[i]);
+                aMaxLat = Math.max(aMaxLat, vertices[i]);
+                aMinLng = Math.min(aMinLng, vertices[i + 1]);
+                aMaxLng = Math.max(aMaxLng, vertices[i + 1]);
+            }
+            minLat = aMinLat;
+            maxLat = aMaxLat;
+            minLng = aMinLng;
+            maxLng = aMaxLng;
+        }
+    }
+
+    @NonNull
+    public String getId() {
+        return mId;
+    }
+
+    public int getType() {
+        return mType;
+    }
+
+    public long getDwellTimeMs() {
+        return mDwellTimeMs;
+    }
+
+    /**
+     * 判断坐标是否在围栏内，先做外包矩形预筛选
+     */
+    public boolean contains(double lat, double lng) {
+        if (lat < minLat || lat > maxLat || lng < minLng || lng > maxLng) {
+            return false;
+        }
+        if (mType == TYPE_CIRCLE) {
+            return LocationUtil.getDistance(lat, lng, mCenterLat, mCenterLng) <= mRadiusKm;
+        }
+        return polygonContains(lat, lng);
+    }
+
+    /**
+     * 射线法，围栏尺度下把经纬度直接当作平面坐标
+     */
+    private boolean polygonContains(double lat, double lng) {
+        boolean inside = false;
+        int n = mVertices.length;
+        for (int i = 0, j = n - 2; i < n; j = i, i += 2) {
+            double latI = mVertices[i], lngI = mVertices[i + 1];
+            double latJ = mVertices[j], lngJ = mVertices[j + 1];
+            if ((latI > lat) != (latJ > lat)
+                    && lng < (lngJ - lngI) * (lat - latI) / (latJ - latI) + lngI) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "Geofence{" + mId + (mType == TYPE_CIRCLE ? ", circle" : ", polygon") + '}';
+    }
+}
@@ -0,0 +1,312 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <ul>
+ *     <li>Description: 地理围栏引擎，以经纬度网格索引围栏，每次定位只判断附近的候选围栏</li>
+ *     <li>Date: 2026-10-18 13:45</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每个围栏按外包矩形登记到其覆盖的所有网格中，覆盖网格数过多的大围栏单独存放，逐个做外包矩形预筛选。
+ * 增删围栏只改动其覆盖的网格，无需重建索引。网格以行列号组成的 long 为键存放在开放寻址表中，查询时不装箱、不分配。
+ * <p>
+ * 增删围栏是线程安全的；{@link #update} 应始终在同一个线程调用（通常是定位回调所在线程），
+ * 事件回调也在该线程触发，回调中可以增删围栏。停留事件只在收到定位时检查，不额外起定时器。
+ */
+public class GeofenceEngine {
+    // 默认网格边长，单位：度，约 1 千米
+    public static final double DEFAULT_CELL_SIZE = 0.01;
+    // 单个围栏最多登记的网格数，超过则视为大围栏
+    private static final int MAX_CELLS_PER_FENCE = 64;
+    private static final int INITIAL_CELL_CAPACITY = 16;
+    // 网格表空槽位的键
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final double mCellSize;
+    private final IGeofenceCallback mCallback;
+
+    private final Map<String, FenceState> mFences = new HashMap<>();
+    // 网格表：线性探测，负载不超过一半，删除时回移后续元素，不留墓碑
+    private long[] mCellKeys;
+    private ArrayList<FenceState>[] mCellLists;
+    private int mCellCount;
+    private final ArrayList<FenceState> mLargeFences = new ArrayList<>();
+    // 当前处于围栏内的状态
+    private final ArrayList<FenceState> mInside = new ArrayList<>();
+
+    // 本次 update 待分发的事件，复用以避免每次定位分配
+    private final ArrayList<Geofence> mPendingFences = new ArrayList<>();
+    private int[] mPendingEvents = new int[16];
+
+    private long mGeneration;
+
+    public GeofenceEngine(@NonNull IGeofenceCallback callback) {
+        this(DEFAULT_CELL_SIZE, callback);
+    }
+
+    /**
+     * @param cellSize 网格边长，单位：度，宜与常见围栏尺寸相当
+     */
+    public GeofenceEngine(double cellSize, @NonNull IGeofenceCallback callback) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("cellSize must be positive, but was " + cellSize);
+        }
+        mCellSize = cellSize;
+        mCallback = callback;
+        allocateCells(INITIAL_CELL_CAPACITY);
+    }
+
+    /**
+     * 添加围栏，id 相同的旧围栏会被替换（不触发离开事件）
+     */
+    public synchronized void addGeofence(@NonNull Geofence geofence) {
+        removeGeofence(geofence.getId());
+
+        FenceState state = new FenceState(geofence);
+        mFences.put(geofence.getId(), state);
+
+        int minRow = cell(geofence.minLat), maxRow = cell(geofence.maxLat);
+        int minCol = cell(geofence.minLng), maxCol = cell(geofence.maxLng);
+        if ((long) (maxRow - minRow + 1) * (maxCol - minCol + 1) > MAX_CELLS_PER_FENCE) {
+            mLargeFences.add(state);
+            return;
+        }
+        for (int row = minRow; row <= maxRow; row ++) {
+            for (int col = minCol; col <= maxCol; col ++) {
+                putCell(key(row, col)).add(state);
+            }
+        }
+    }
+
+    /**
+     * 移除围栏（不触发离开事件）
+     * @return 被移除的围栏，不存在则为 null
+     */
+    @Nullable
+    public synchronized Geofence removeGeofence(@NonNull String id) {
+        FenceState state = mFences.remove(id);
+        if (state == null) {
+            return null;
+        }
+        mInside.remove(state);
+        if (!mLargeFences.remove(state)) {
+            Geofence geofence = state.geofence;
+            int minRow = cell(geofence.minLat), maxRow = cell(geofence.maxLat);
+            int minCol = cell(geofence.minLng), maxCol = cell(geofence.maxLng);
+            for (int row = minRow; row <= maxRow; row ++) {
+                for (int col = minCol; col <= maxCol; col ++) {
+                    long key = key(row, col);
+                    int slot = findCell(key);
+                    if (slot >= 0) {
+                        ArrayList<FenceState> list = mCellLists[slot];
+                        list.remove(state);
+                        if (list.isEmpty()) {
+                            removeCell(slot);
+                        }
+                    }
+                }
+            }
+        }
+        return state.geofence;
+    }
+
+    public synchronized void clear() {
+        mFences.clear();
+        allocateCells(INITIAL_CELL_CAPACITY);
+        mLargeFences.clear();
+        mInside.clear();
+    }
+
+    public synchronized int size() {
+        return mFences.size();
+    }
+
+    public void update(@NonNull Location location) {
+        update(location.getLatitude(), location.getLongitude(), location.getTime());
+    }
+
+    /**
+     * 用一次定位结果更新所有围栏状态，并分发产生的事件
+     */
+    public void update(double lat, double lng, long timeMs) {
+        int count;
+        synchronized (this) {
+            count = evaluate(lat, lng, timeMs);
+        }
+        for (int i = 0; i < count; i ++) {
+            mCallback.onGeofenceEvent(mPendingFences.get(i), mPendingEvents[i], lat, lng, timeMs);
+        }
+        mPendingFences.clear();
+    }
+
+    private int evaluate(double lat, double lng, long timeMs) {
+        long generation = ++mGeneration;
+
+        int slot = findCell(key(cell(lat), cell(lng)));
+        if (slot >= 0) {
+            ArrayList<FenceState> candidates = mCellLists[slot];
+            for (int i = 0, size = candidates.size(); i < size; i ++) {
+                evaluate(candidates.get(i), lat, lng, timeMs, generation);
+            }
+        }
+        for (int i = 0, size = mLargeFences.size(); i < size; i ++) {
+            evaluate(mLargeFences.get(i), lat, lng, timeMs, generation);
+        }
+
+        // 本次未被评估到的围栏说明定位已不在其外包矩形覆盖的网格中，必然已离开
+        for (int i = mInside.size() - 1; i >= 0; i --) {
+            FenceState state = mInside.get(i);
+            if (state.generation != generation) {
+                state.inside = false;
+                mInside.remove(i);
+                addPending(state.geofence, Geofence.EVENT_EXIT);
+            } else if (!state.dwellNotified && state.geofence.getDwellTimeMs() > 0
+                    && timeMs - state.enterTimeMs >= state.geofence.getDwellTimeMs()) {
+                state.dwellNotified = true;
+                addPending(state.geofence, Geofence.EVENT_DWELL);
+            }
+        }
+        return mPendingFences.size();
+    }
+
+    private void evaluate(FenceState state, double lat, double lng, long timeMs, long generation) {
+        state.generation = generation;
+        boolean inside = state.geofence.contains(lat, lng);
+        if (inside == state.inside) {
+            return;
+        }
+        state.inside = inside;
+        if (inside) {
+            state.enterTimeMs = timeMs;
+            state.dwellNotified = false;
+            mInside.add(state);
+            addPending(state.geofence, Geofence.EVENT_ENTER);
+        } else {
+            mInside.remove(state);
+            addPending(state.geofence, Geofence.EVENT_EXIT);
+        }
+    }
+
+    private void addPending(Geofence geofence, int event) {
+        int index = mPendingFences.size();
+        if (index == mPendingEvents.length) {
+            int[] events = new int[index * 2];
+            System.arraycopy(mPendingEvents, 0, events, 0, index);
+            mPendingEvents = events;
+        }
+        mPendingFences.add(geofence);
+        mPendingEvents[index] = event;
+    }
+
+    private int cell(double degree) {
+        return (int) Math.floor(degree / mCellSize);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void allocateCells(int capacity) {
+        mCellKeys = new long[capacity];
+        Arrays.fill(mCellKeys, EMPTY);
+        mCellLists = (ArrayList<FenceState>[]) new ArrayList[capacity];
+        mCellCount = 0;
+    }
+
+    /**
+     * @return 网格所在的槽位，不存在则返回 -1
+     */
+    private int findCell(long key) {
+        int mask = mCellKeys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long k = mCellKeys[slot];
+            if (k == key) {
+                return slot;
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * @return 网格内的围栏列表，不存在则新建
+     */
+    private ArrayList<FenceState> putCell(long key) {
+        if ((mCellCount + 1) * 2 > mCellKeys.length) {
+            long[] keys = mCellKeys;
+            ArrayList<FenceState>[] lists = mCellLists;
+            allocateCells(keys.length * 2);
+            for (int i = 0; i < keys.length; i ++) {
+                if (keys[i] != EMPTY) {
+                    insertCell(keys[i], lists[i]);
+                }
+            }
+        }
+        int slot = findCell(key);
+        if (slot >= 0) {
+            return mCellLists[slot];
+        }
+        ArrayList<FenceState> list = new ArrayList<>(4);
+        insertCell(key, list);
+        return list;
+    }
+
+    private void insertCell(long key, ArrayList<FenceState> list) {
+        int mask = mCellKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (mCellKeys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        mCellKeys[slot] = key;
+        mCellLists[slot] = list;
+        mCellCount ++;
+    }
+
+    /**
+     * 删除槽位后把同一探测链上的后续元素回移填补空位，保证查找不会提前遇到空槽
+     */
+    private void removeCell(int slot) {
+        int mask = mCellKeys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; mCellKeys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(mCellKeys[next]) & mask;
+            // 空位在该元素的探测路径上（home 到 next 之间）时才能回移
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                mCellKeys[hole] = mCellKeys[next];
+                mCellLists[hole] = mCellLists[next];
+                hole = next;
+            }
+        }
+        mCellKeys[hole] = EMPTY;
+        mCellLists[hole] = null;
+        mCellCount --;
+    }
+
+    private static class FenceState {
+        final Geofence geofence;
+        boolean inside;
+        boolean dwellNotified;
+        long enterTimeMs;
+        long generation;
+
+        FenceState(Geofence geofence) {
+            this.geofence = geofence;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ceneax.app.lib.locationx;
+
+import android.annotation.SuppressLint;
+import android.location.GnssStatus;
+import android.location.GpsSatellite;
+import android.location.GpsStatus;
+import android.location.LocationManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+/**
+ * <ul>
+ *     <li>Description: 卫星状态监听，维护最新的卫星快照与滚动统计</li>
+ *     <li>Date: 2026-10-18 21:00</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每个定位来源只有一个实例，由 {@link LocationHub} 持有。持续定位、单次定位以及
+ * {@link #subscribe} 的订阅者共用一个系统监听，全部释放后注销。系统回调在库的后台线程处理，
+ * 快照与统计对象复用，每次更新不分配对象。
+ */
+@SuppressLint("MissingPermission")
+public class GnssMonitor {
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private final LocationManager mLocationManager;
+    private final Handler mHandler = LocationExecutors.getWorkerHandler();
+
+    // 引用计数，由 this 保护
+    private int mRefCount;
+
+    // 以下字段只在后台线程访问
+    private boolean mRegistered;
+    private GpsStatus.Listener mGpsListener;
+    private GnssStatus.Callback mGnssCallback;
+    private GpsStatus mGpsStatus;
+
+    // 后台线程写入，其它线程读取时加锁复制
+    private final Object mDataLock = new Object();
+    private final GnssSnapshot mSnapshot = new GnssSnapshot();
+    private final GnssStatistics mStatistics = new GnssStatistics();
+    // 分发给订阅者的统计副本，在锁内复制，只在后台线程访问，resetStatistics 不会在回调期间改动它
+    private final GnssStatistics mDispatchStatistics = new GnssStatistics();
+
+    private volatile Subscriber[] mSubscribers = EMPTY;
+
+    /**
+     * @param locationManager 为 null 时（非系统定位来源）没有卫星状态，快照始终为空
+     */
+    GnssMonitor(@Nullable LocationManager locationManager) {
+        mLocationManager = locationManager;
+    }
+
+    /**
+     * 订阅卫星状态，同一个回调重复订阅时更新其间隔
+     * @param minIntervalMs 两次回调的最小时间间隔
+     */
+    public synchronized void subscribe(long minIntervalMs, @NonNull IGnssStatusCallback callback) {
+        Subscriber[] subscribers = mSubscribers;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.mCallback == callback) {
+                subscriber.mMinIntervalMs = minIntervalMs;
+                return;
+            }
+        }
+        Subscriber[] newSubscribers = new Subscriber[subscribers.length + 1];
+        System.arraycopy(subscribers, 0, newSubscribers, 0, subscribers.length);
+        newSubscribers[subscribers.length] = new Subscriber(minIntervalMs, callback);
+        mSubscribers = newSubscribers;
+        acquire();
+    }
+
+    public synchronized void unsubscribe(@NonNull IGnssStatusCallback callback) {
+        Subscriber[] subscribers = mSubscribers;
+        for (int i = 0; i < subscribers.length; i ++) {
+            if (subscribers[i].mCallback == callback) {
+                Subscriber[] newSubscribers = new Subscriber[subscribers.length - 1];
+                System.arraycopy(subscribers, 0, newSubscribers, 0, i);
+                System.arraycopy(subscribers, i + 1, newSubscribers, i, newSubscribers.length - i);
+                mSubscribers = newSubscribers.length == 0 ? EMPTY : newSubscribers;
+                release();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 复制最新的卫星快照
+     * @return 还没有收到过卫星状态时返回 false
+     */
+    public boolean copySnapshot(@NonNull GnssSnapshot out) {
+        synchronized (mDataLock) {
+            if (mSnapshot.getTimeMs() == 0) {
+                return false;
+            }
+            mSnapshot.copyTo(out);
+            return true;
+        }
+    }
+
+    public void copyStatistics(@NonNull GnssStatistics out) {
+        synchronized (mDataLock) {
+            mStatistics.copyTo(out);
+        }
+    }
+
+    public void resetStatistics() {
+        synchronized (mDataLock) {
+            mStatistics.reset();
+        }
+    }
+
+    /**
+     * 开始监听，与 {@link #release()} 成对调用
+     */
+    synchronized void acquire() {
+        if (mRefCount ++ == 0) {
+            mHandler.post(this::updateRegistration);
+        }
+    }
+
+    synchronized void release() {
+        if (mRefCount > 0 && -- mRefCount == 0) {
+            mHandler.post(this::updateRegistration);
+        }
+    }
+
+    /**
+     * 在后台线程执行，Android N 以下的 GpsStatus.Listener 回调到注册线程的 Looper
+     */
+    private void updateRegistration() {
+        if (mLocationManager == null) {
+            return;
+        }
+        boolean needed;
+        synchronized (this) {
+            needed = mRefCount > 0;
+        }
+        if (needed == mRegistered) {
+            return;
+        }
+        mRegistered = needed;
+        // Android N Api 24 及以上版本适配
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            if (needed) {
+                if (mGpsListener == null) {
+                    mGpsListener = createGpsStatus();
+                }
+                mLocationManager.addGpsStatusListener(mGpsListener);
+            } else {
+                mLocationManager.removeGpsStatusListener(mGpsListener);
+            }
+        } else {
+            if (needed) {
+                if (mGnssCallback == null) {
+                    mGnssCallback = createGnssStatus();
+                }
+                mLocationManager.registerGnssStatusCallback(mGnssCallback, mHandler);
+            } else {
+                mLocationManager.unregisterGnssStatusCallback(mGnssCallback);
+            }
+        }
+    }
+
+    private GpsStatus.Listener createGpsStatus() {
+        return event -> {
+            if (event == GpsStatus.GPS_EVENT_SATELLITE_STATUS) {
+                mGpsStatus = mLocationManager.getGpsStatus(mGpsStatus);
+                synchronized (mDataLock) {
+                    mSnapshot.clear(SystemClock.elapsedRealtime());
+                    for (GpsSatellite gpsSatellite : mGpsStatus.getSatellites()) {
+                        mSnapshot.add(gpsSatellite.getPrn(), GnssStatus.CONSTELLATION_GPS,
+                                gpsSatellite.getSnr(), gpsSatellite.usedInFix());
+                    }
+                    mSnapshot.finish();
+                    mStatistics.update(mSnapshot);
+                    mStatistics.copyTo(mDispatchStatistics);
+                }
+                onSnapshotUpdated();
+            }
+        };
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private GnssStatus.Callback createGnssStatus() {
+        return new GnssStatus.Callback() {
+            @Override
+            public void onSatelliteStatusChanged(@NonNull GnssStatus status) {
+                int satelliteCount = status.getSatelliteCount();
+                synchronized (mDataLock) {
+                    mSnapshot.clear(SystemClock.elapsedRealtime());
+                    for (int i = 0; i < satelliteCount; i ++) {
+                        mSnapshot.add(status.getSvid(i), status.getConstellationType(i),
+                                status.getCn0DbHz(i), status.usedInFix(i));
+                    }
+                    mSnapshot.finish();
+                    mStatistics.update(mSnapshot);
+                    mStatistics.copyTo(mDispatchStatistics);
+                }
+                onSnapshotUpdated();
+            }
+        };
+    }
+
+    private void onSnapshotUpdated() {
+        GnssSnapshot snapshot = mSnapshot;
+        LXLog.i("总卫星个数: {}; 达标卫星个数: {}", snapshot.getSatelliteCount(), snapshot.getValidCount());
+
+        // 至少三颗有效卫星才判定为满足GPS定位条件
+        if (!snapshot.isFixEligible()) {
+            LXLog.e("达标卫星个数小于3，可能不满足定位条件");
+        } else {
+            LXLog.d("达标卫星个数大于等于3，满足定位条件");
+        }
+
+        // 快照只在本线程写入，回调期间不会变化
+        long timeMs = snapshot.getTimeMs();
+        for (Subscriber subscriber : mSubscribers) {
+            if (subscriber.mLastDispatchMs == 0 || timeMs - subscriber.mLastDispatchMs >= subscriber.mMinIntervalMs) {
+                subscriber.mLastDispatchMs = timeMs;
+                subscriber.mCallback.onGnssStatus(snapshot, mDispatchStatistics);
+            }
+        }
+    }
+
+    private static class Subscriber {
+        private final IGnssStatusCallback mCallback;
+        private volatile long mMinIntervalMs;
+        // 只在后台线程访问
+        private long mLastDispatchMs;
+
+        Subscriber(long minIntervalMs, IGnssStatusCallback callback) {
+            mMinIntervalMs = minIntervalMs;
+            mCallback = callback;
+        }
+    }
+}
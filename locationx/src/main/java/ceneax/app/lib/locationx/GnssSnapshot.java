@@ -0,0 +1,154 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * <ul>
+ *     <li>Description: 一次卫星状态更新的快照，逐颗卫星的数据以基本类型数组保存，实例可重复使用</li>
+ *     <li>Date: 2026-10-18 21:00</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 星座类型与 android.location.GnssStatus 的 CONSTELLATION_* 常量一致，Android N 以下只有 GPS。
+ * 数组只在卫星数超过历史最大值时扩容，之后的更新不再分配内存。非线程安全。
+ */
+public final class GnssSnapshot {
+    // 载噪比大于该值判定为有效定位卫星，单位：dB-Hz
+    public static final float VALID_CN0_DBHZ = 25;
+    // 至少需要的有效卫星个数
+    public static final int MIN_VALID_SATELLITES = 3;
+    // 星座类型个数，GnssStatus.CONSTELLATION_UNKNOWN(0) ~ CONSTELLATION_IRNSS(7)
+    public static final int CONSTELLATION_COUNT = 8;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private long mTimeMs;
+    private int mCount;
+    private int[] mSvids = new int[INITIAL_CAPACITY];
+    private int[] mConstellations = new int[INITIAL_CAPACITY];
+    private float[] mCn0s = new float[INITIAL_CAPACITY];
+    private boolean[] mUsedInFix = new boolean[INITIAL_CAPACITY];
+
+    private final int[] mConstellationCounts = new int[CONSTELLATION_COUNT];
+    private int mValidCount;
+    private int mUsedInFixCount;
+    private float mMeanCn0;
+    private float mMaxCn0;
+
+    /**
+     * @return 更新时间，SystemClock.elapsedRealtime()，0 表示还没有数据
+     */
+    public long getTimeMs() {
+        return mTimeMs;
+    }
+
+    public int getSatelliteCount() {
+        return mCount;
+    }
+
+    public int getSvid(int index) {
+        return mSvids[index];
+    }
+
+    public int getConstellationType(int index) {
+        return mConstellations[index];
+    }
+
+    public float getCn0DbHz(int index) {
+        return mCn0s[index];
+    }
+
+    public boolean usedInFix(int index) {
+        return mUsedInFix[index];
+    }
+
+    /**
+     * @param constellationType GnssStatus.CONSTELLATION_*
+     */
+    public int getConstellationCount(int constellationType) {
+        return constellationType >= 0 && constellationType < CONSTELLATION_COUNT ? mConstellationCounts[constellationType] : 0;
+    }
+
+    /**
+     * @return 载噪比大于 {@link #VALID_CN0_DBHZ} 的卫星个数
+     */
+    public int getValidCount() {
+        return mValidCount;
+    }
+
+    public int getUsedInFixCount() {
+        return mUsedInFixCount;
+    }
+
+    /**
+     * @return 有效卫星个数是否满足定位条件
+     */
+    public boolean isFixEligible() {
+        return mValidCount >= MIN_VALID_SATELLITES;
+    }
+
+    public float getMeanCn0DbHz() {
+        return mMeanCn0;
+    }
+
+    public float getMaxCn0DbHz() {
+        return mMaxCn0;
+    }
+
+    public void copyTo(@NonNull GnssSnapshot target) {
+        target.clear(mTimeMs);
+        for (int i = 0; i < mCount; i ++) {
+            target.add(mSvids[i], mConstellations[i], mCn0s[i], mUsedInFix[i]);
+        }
+        target.finish();
+    }
+
+    void clear(long timeMs) {
+        mTimeMs = timeMs;
+        mCount = 0;
+    }
+
+    void add(int svid, int constellationType, float cn0DbHz, boolean usedInFix) {
+        if (mCount == mSvids.length) {
+            int capacity = mCount * 2;
+            mSvids = Arrays.copyOf(mSvids, capacity);
+            mConstellations = Arrays.copyOf(mConstellations, capacity);
+            mCn0s = Arrays.copyOf(mCn0s, capacity);
+            mUsedInFix = Arrays.copyOf(mUsedInFix, capacity);
+        }
+        int index = mCount ++;
+        mSvids[index] = svid;
+        mConstellations[index] = constellationType;
+        mCn0s[index] = cn0DbHz;
+        mUsedInFix[index] = usedInFix;
+    }
+
+    /**
+     * 添加完所有卫星后计算汇总数据
+     */
+    void finish() {
+        Arrays.fill(mConstellationCounts, 0);
+        int validCount = 0, usedInFixCount = 0;
+        float sum = 0, max = 0;
+        for (int i = 0; i < mCount; i ++) {
+            int constellation = mConstellations[i];
+            if (constellation >= 0 && constellation < CONSTELLATION_COUNT) {
+                mConstellationCounts[constellation] ++;
+            }
+            float cn0 = mCn0s[i];
+            if (cn0 > VALID_CN0_DBHZ) {
+                validCount ++;
+            }
+            if (mUsedInFix[i]) {
+                usedInFixCount ++;
+            }
+            sum += cn0;
+            max = Math.max(max, cn0);
+        }
+        mValidCount = validCount;
+        mUsedInFixCount = usedInFixCount;
+        mMeanCn0 = mCount == 0 ? 0 : sum / mCount;
+        mMaxCn0 = max;
+    }
+}
@@ -0,0 +1,138 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <ul>
+ *     <li>Description: 卫星信号的滚动统计，内存占用固定</li>
+ *     <li>Date: 2026-10-18 21:00</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 累计统计自上次 {@link #reset()} 起的载噪比均值、最小最大值，以及满足定位条件的时间占比；
+ * 另有时间常数为 {@link #SMOOTHING_TIME_CONSTANT_MS} 的指数平滑载噪比，反映最近的信号状况。
+ * 两次更新间隔超过 {@link #MAX_GAP_MS} 的时间段（如定位已停止）不计入时间占比。非线程安全。
+ */
+public final class GnssStatistics {
+    public static final long SMOOTHING_TIME_CONSTANT_MS = 10 * 1000;
+    public static final long MAX_GAP_MS = 10 * 1000;
+
+    private long mUpdateCount;
+    private long mCn0SampleCount;
+    private double mCn0Sum;
+    private float mMinCn0;
+    private float mMaxCn0;
+    private double mSmoothedCn0;
+
+    private long mLastTimeMs;
+    private boolean mLastEligible;
+    private long mTrackedMs;
+    private long mEligibleMs;
+
+    public GnssStatistics() {
+        reset();
+    }
+
+    public void reset() {
+        mUpdateCount = 0;
+        mCn0SampleCount = 0;
+        mCn0Sum = 0;
+        mMinCn0 = Float.NaN;
+        mMaxCn0 = Float.NaN;
+        mSmoothedCn0 = Double.NaN;
+        mLastTimeMs = 0;
+        mLastEligible = false;
+        mTrackedMs = 0;
+        mEligibleMs = 0;
+    }
+
+    void update(@NonNull GnssSnapshot snapshot) {
+        long timeMs = snapshot.getTimeMs();
+        long dtMs = timeMs - mLastTimeMs;
+        boolean continuous = mUpdateCount > 0 && dtMs >= 0 && dtMs <= MAX_GAP_MS;
+        if (continuous) {
+            mTrackedMs += dtMs;
+            if (mLastEligible) {
+                mEligibleMs += dtMs;
+            }
+        }
+        mLastTimeMs = timeMs;
+        mLastEligible = snapshot.isFixEligible();
+        mUpdateCount ++;
+
+        int count = snapshot.getSatelliteCount();
+        for (int i = 0; i < count; i ++) {
+            float cn0 = snapshot.getCn0DbHz(i);
+            mCn0Sum += cn0;
+            if (!(cn0 >= mMinCn0)) {
+                mMinCn0 = cn0;
+            }
+            if (!(cn0 <= mMaxCn0)) {
+                mMaxCn0 = cn0;
+            }
+        }
+        mCn0SampleCount += count;
+
+        if (count > 0) {
+            float mean = snapshot.getMeanCn0DbHz();
+            if (Double.isNaN(mSmoothedCn0) || !continuous) {
+                mSmoothedCn0 = mean;
+            } else {
+                double alpha = 1 - Math.exp(-(double) dtMs / SMOOTHING_TIME_CONSTANT_MS);
+                mSmoothedCn0 += alpha * (mean - mSmoothedCn0);
+            }
+        }
+    }
+
+    public long getUpdateCount() {
+        return mUpdateCount;
+    }
+
+    /**
+     * @return 所有卫星观测的载噪比均值，没有数据时为 NaN
+     */
+    public float getMeanCn0DbHz() {
+        return mCn0SampleCount == 0 ? Float.NaN : (float) (mCn0Sum / mCn0SampleCount);
+    }
+
+    public float getMinCn0DbHz() {
+        return mMinCn0;
+    }
+
+    public float getMaxCn0DbHz() {
+        return mMaxCn0;
+    }
+
+    /**
+     * @return 指数平滑的载噪比均值，没有数据时为 NaN
+     */
+    public float getSmoothedCn0DbHz() {
+        return (float) mSmoothedCn0;
+    }
+
+    /**
+     * @return 累计的连续观测时长
+     */
+    public long getTrackedTimeMs() {
+        return mTrackedMs;
+    }
+
+    /**
+     * @return 满足定位条件（见 {@link GnssSnapshot#isFixEligible()}）的时间占比，没有数据时为 0
+     */
+    public float getFixEligibleRatio() {
+        return mTrackedMs == 0 ? 0 : (float) mEligibleMs / mTrackedMs;
+    }
+
+    public void copyTo(@NonNull GnssStatistics target) {
+        target.mUpdateCount = mUpdateCount;
+        target.mCn0SampleCount = mCn0SampleCount;
+        target.mCn0Sum = mCn0Sum;
+        target.mMinCn0 = mMinCn0;
+        target.mMaxCn0 = mMaxCn0;
+        target.mSmoothedCn0 = mSmoothedCn0;
+        target.mLastTimeMs = mLastTimeMs;
+        target.mLastEligible = mLastEligible;
+        target.mTrackedMs = mTrackedMs;
+        target.mEligibleMs = mEligibleMs;
+    }
+}
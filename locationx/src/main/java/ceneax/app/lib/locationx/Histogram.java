@@ -0,0 +1,141 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <ul>
+ *     <li>Description: 无锁直方图，按 2 的幂分桶，记录不分配内存</li>
+ *     <li>Date: 2026-10-18 21:40</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 第 0 个桶记录小于等于 0 的值，第 i 个桶记录 [2^(i-1), 2^i - 1] 范围内的值。
+ * 百分位数取所在桶的上界，相对误差不超过一倍，适合观察耗时、精度的分布与长尾。
+ */
+public final class Histogram {
+    public static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong(Long.MIN_VALUE);
+
+    public void record(long value) {
+        mBuckets.incrementAndGet(bucketOf(value));
+        mCount.incrementAndGet();
+        mSum.addAndGet(value);
+        long max = mMax.get();
+        while (value > max && !mMax.compareAndSet(max, value)) {
+            max = mMax.get();
+        }
+    }
+
+    @NonNull
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i ++) {
+            buckets[i] = mBuckets.get(i);
+        }
+        return new Snapshot(buckets, mCount.get(), mSum.get(), mMax.get());
+    }
+
+    /**
+     * 取快照并清零，与并发的 {@link #record} 之间每条记录只会计入其中一次快照
+     * （count、sum 与桶之间可能有一条记录的偏差）
+     */
+    @NonNull
+    public Snapshot snapshotAndReset() {
+        long[] buckets = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i ++) {
+            buckets[i] = mBuckets.getAndSet(i, 0);
+        }
+        return new Snapshot(buckets, mCount.getAndSet(0), mSum.getAndSet(0), mMax.getAndSet(Long.MIN_VALUE));
+    }
+
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    static int bucketOf(long value) {
+        return value <= 0 ? 0 : BUCKET_COUNT - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * @return 第 index 个桶的上界（含）
+     */
+    static long upperBoundOf(int index) {
+        return index == 0 ? 0 : index >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << index) - 1;
+    }
+
+    public static final class Snapshot {
+        private final long[] mBuckets;
+        private final long mCount;
+        private final long mSum;
+        private final long mMax;
+
+        Snapshot(long[] buckets, long count, long sum, long max) {
+            mBuckets = buckets;
+            mCount = count;
+            mSum = sum;
+            mMax = max;
+        }
+
+        public long getCount() {
+            return mCount;
+        }
+
+        public long getSum() {
+            return mSum;
+        }
+
+        /**
+         * @return 最大值，没有记录时为 0
+         */
+        public long getMax() {
+            return mCount == 0 ? 0 : mMax;
+        }
+
+        public double getMean() {
+            return mCount == 0 ? 0 : (double) mSum / mCount;
+        }
+
+        /**
+         * @param index 0 ~ {@link #BUCKET_COUNT} - 1
+         */
+        public long getBucketCount(int index) {
+            return mBuckets[index];
+        }
+
+        /**
+         * @param quantile 0 ~ 1，例如 0.95
+         * @return 该分位所在桶的上界，不超过最大值，没有记录时为 0
+         */
+        public long getPercentile(double quantile) {
+            long total = 0;
+            for (long bucket : mBuckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_COUNT; i ++) {
+                cumulative += mBuckets[i];
+                if (cumulative >= rank) {
+                    return Math.min(upperBoundOf(i), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "count=" + mCount + ", mean=" + getMean() + ", p50=" + getPercentile(0.5)
+                    + ", p95=" + getPercentile(0.95) + ", max=" + getMax();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ceneax.app.lib.locationx;
 
+import androidx.annotation.Nullable;
+
 /**
  * <ul>
  *     <li>Description: 反向地址编码</li>
@@ -8,5 +10,12 @@ package ceneax.app.lib.locationx;
  * </ul>
  */
 public interface IGeocoder {
-    void decode();
-}
\ No newline at end of file
+    /**
+     * 同步查询坐标所在的行政区，实现需线程安全
+     * @param lat WGS84 纬度
+     * @param lng WGS84 经度
+     * @return 不在任何已知行政区内时返回 null
+     */
+    @Nullable
+    GeoAddress decode(double lat, double lng);
+}
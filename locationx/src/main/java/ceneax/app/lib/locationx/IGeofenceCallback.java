@@ -0,0 +1,13 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+public interface IGeofenceCallback {
+    /**
+     * @param event {@link Geofence#EVENT_ENTER} / {@link Geofence#EVENT_EXIT} / {@link Geofence#EVENT_DWELL}
+     * @param lat 触发事件的定位维度
+     * @param lng 触发事件的定位经度
+     * @param timeMs 触发事件的定位时间
+     */
+    void onGeofenceEvent(@NonNull Geofence geofence, int event, double lat, double lng, long timeMs);
+}
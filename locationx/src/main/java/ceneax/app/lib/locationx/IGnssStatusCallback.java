@@ -0,0 +1,10 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+public interface IGnssStatusCallback {
+    /**
+     * 在库的后台线程回调，参数对象会被复用，仅在回调内有效，需要保留时使用 copyTo
+     */
+    void onGnssStatus(@NonNull GnssSnapshot snapshot, @NonNull GnssStatistics statistics);
+}
@@ -0,0 +1,10 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+public interface ILocationBatchCallback {
+    /**
+     * @param batch 不为空，回调返回后回收复用，需要保留时使用 {@link LocationBatch#copyTo}
+     */
+    void onBatch(@NonNull LocationBatch batch);
+}
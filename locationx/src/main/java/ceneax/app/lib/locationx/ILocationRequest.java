@@ -0,0 +1,13 @@
+package ceneax.app.lib.locationx;
+
+public interface ILocationRequest {
+    /**
+     * 取消请求，之后不会再回调；合并的其它请求不受影响，全部取消后停止定位
+     */
+    void cancel();
+
+    /**
+     * @return 已回调或已取消
+     */
+    boolean isDone();
+}
@@ -0,0 +1,43 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 定位数据来源，默认为系统 {@link android.location.LocationManager}（{@link AndroidLocationSource}），
+ * 也可以是回放轨迹文件的 {@link ReplayLocationSource}。Provider 名称与 LocationManager 一致。
+ * <p>
+ * 同一个来源的所有回调必须在同一个线程上串行执行，{@link LocationHub} 会传入库的后台线程 {@link LocationExecutors#worker()}。
+ */
+public interface ILocationSource {
+    /**
+     * @return 该 Provider 是否存在，不存在的 Provider 不能注册
+     */
+    boolean hasProvider(@NonNull String provider);
+
+    boolean isProviderEnabled(@NonNull String provider);
+
+    @Nullable
+    Location getLastKnownLocation(@NonNull String provider);
+
+    /**
+     * 持续定位，同一个回调重复注册时替换之前的注册
+     * @param executor 回调执行的线程，Location 不会为 null
+     */
+    void requestLocationUpdates(@NonNull String provider, long minTimeMs, float minDistanceM,
+                                @NonNull Executor executor, @NonNull ILocationCallback callback);
+
+    /**
+     * 单次定位，回调一次后自动注销
+     */
+    void requestSingleUpdate(@NonNull String provider, @NonNull Executor executor, @NonNull ILocationCallback callback);
+
+    /**
+     * 注销该回调的所有注册，未注册时忽略
+     */
+    void removeUpdates(@NonNull ILocationCallback callback);
+}
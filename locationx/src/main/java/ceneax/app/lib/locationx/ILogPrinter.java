@@ -2,6 +2,18 @@ package ceneax.app.lib.locationx;
 
 import androidx.annotation.NonNull;
 
+import java.util.List;
+
 public interface ILogPrinter {
     void print(@NonNull String log);
-}
\ No newline at end of file
+
+    /**
+     * 批量输出，日志在库的日志线程上异步、按顺序批量回调，默认逐条调用 {@link #print}
+     * @param logs 仅在本次调用内有效，不要持有
+     */
+    default void printBatch(@NonNull List<String> logs) {
+        for (int i = 0; i < logs.size(); i ++) {
+            print(logs.get(i));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+public interface INmeaListener {
+    /**
+     * 每解析出一条 GGA、RMC、GSA、GSV 语句回调一次，在解析线程执行
+     * @param sentence NmeaParser.SENTENCE_*
+     * @param parser 通过 {@link NmeaParser#getFix()}、{@link NmeaParser#getSatellites()} 读取数据，
+     *               数据对象会被复用，仅在回调内有效，需要保留时使用 copyTo
+     */
+    void onNmeaSentence(int sentence, @NonNull NmeaParser parser);
+}
@@ -0,0 +1,14 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+public interface IRouteCallback {
+    /**
+     * 偏离距离、路线进度等可在回调中从 corridor 读取
+     * @param event {@link RouteCorridor#EVENT_OFF_ROUTE} / {@link RouteCorridor#EVENT_BACK_ON_ROUTE}
+     * @param lat 触发事件的定位维度
+     * @param lng 触发事件的定位经度
+     * @param timeMs 触发事件的定位时间
+     */
+    void onRouteEvent(@NonNull RouteCorridor corridor, int event, double lat, double lng, long timeMs);
+}
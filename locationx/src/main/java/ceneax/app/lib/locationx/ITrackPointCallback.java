@@ -0,0 +1,8 @@
+package ceneax.app.lib.locationx;
+
+public interface ITrackPointCallback {
+    /**
+     * @param accuracy 精度，单位：米，无精度为 0
+     */
+    void onPoint(double lat, double lng, long timeMs, float accuracy);
+}
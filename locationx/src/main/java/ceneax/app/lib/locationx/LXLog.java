@@ -5,47 +5,154 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+/**
+ * 日志级别使用 {@link Log} 的常量。低于最低级别，或 release 包且未设置 {@link ILogPrinter} 时，
+ * 模板与 {@link MessageSupplier} 都不会被格式化、调用。
+ * <p>
+ * 模板使用 {} 作为占位符，例如 {@code LXLog.i("总卫星个数: {}", count)}。
+ * 设置了 ILogPrinter 时，日志经 {@link AsyncLogSink} 在日志线程上批量输出。
+ */
 class LXLog {
     private static final String TAG = "Log_LocationX";
-    private static ILogPrinter mLogPrinter;
+    private static final String PLACEHOLDER = "{}";
+    private static final int SINK_CAPACITY = 1024;
+    private static final int SINK_MAX_BATCH_SIZE = 64;
+
+    private static final AsyncLogSink mSink = new AsyncLogSink(SINK_CAPACITY, SINK_MAX_BATCH_SIZE);
+    private static volatile boolean mHasLogPrinter;
+    private static volatile int mLevel = Log.DEBUG;
+
+    /**
+     * 延迟构造的日志内容
+     */
+    interface MessageSupplier {
+        String get();
+    }
 
     public static void setLogPrinter(@Nullable ILogPrinter logPrinter) {
-        mLogPrinter = logPrinter;
+        mSink.setPrinter(logPrinter);
+        mHasLogPrinter = logPrinter != null;
+    }
+
+    /**
+     * @param level 最低输出级别，{@link Log#ASSERT} 关闭所有日志
+     */
+    public static void setLevel(int level) {
+        mLevel = level;
+    }
+
+    public static boolean isLoggable(int level) {
+        return level >= mLevel && (BuildConfig.DEBUG || mHasLogPrinter);
     }
 
     public static void d(String msg) {
-        if (msg == null) {
-            return;
+        if (isLoggable(Log.DEBUG)) {
+            log(Log.DEBUG, msg);
         }
-        if (BuildConfig.DEBUG) {
-            Log.d(TAG, msg);
+    }
+
+    public static void d(String template, Object arg) {
+        if (isLoggable(Log.DEBUG)) {
+            log(Log.DEBUG, format(template, arg, null, 1));
+        }
+    }
+
+    public static void d(String template, Object arg1, Object arg2) {
+        if (isLoggable(Log.DEBUG)) {
+            log(Log.DEBUG, format(template, arg1, arg2, 2));
+        }
+    }
+
+    public static void d(@NonNull MessageSupplier supplier) {
+        if (isLoggable(Log.DEBUG)) {
+            log(Log.DEBUG, supplier.get());
         }
-        logPrint(msg);
     }
 
     public static void i(String msg) {
-        if (msg == null) {
-            return;
+        if (isLoggable(Log.INFO)) {
+            log(Log.INFO, msg);
         }
-        if (BuildConfig.DEBUG) {
-            Log.i(TAG, msg);
+    }
+
+    public static void i(String template, Object arg) {
+        if (isLoggable(Log.INFO)) {
+            log(Log.INFO, format(template, arg, null, 1));
+        }
+    }
+
+    public static void i(String template, Object arg1, Object arg2) {
+        if (isLoggable(Log.INFO)) {
+            log(Log.INFO, format(template, arg1, arg2, 2));
+        }
+    }
+
+    public static void i(@NonNull MessageSupplier supplier) {
+        if (isLoggable(Log.INFO)) {
+            log(Log.INFO, supplier.get());
         }
-        logPrint(msg);
     }
 
     public static void e(String msg) {
+        if (isLoggable(Log.ERROR)) {
+            log(Log.ERROR, msg);
+        }
+    }
+
+    public static void e(String template, Object arg) {
+        if (isLoggable(Log.ERROR)) {
+            log(Log.ERROR, format(template, arg, null, 1));
+        }
+    }
+
+    public static void e(String template, Object arg1, Object arg2) {
+        if (isLoggable(Log.ERROR)) {
+            log(Log.ERROR, format(template, arg1, arg2, 2));
+        }
+    }
+
+    public static void e(@NonNull MessageSupplier supplier) {
+        if (isLoggable(Log.ERROR)) {
+            log(Log.ERROR, supplier.get());
+        }
+    }
+
+    private static void log(int level, String msg) {
         if (msg == null) {
             return;
         }
         if (BuildConfig.DEBUG) {
-            Log.e(TAG, msg);
+            switch (level) {
+                case Log.DEBUG:
+                    Log.d(TAG, msg);
+                    break;
+                case Log.INFO:
+                    Log.i(TAG, msg);
+                    break;
+                default:
+                    Log.e(TAG, msg);
+                    break;
+            }
+        }
+        if (mHasLogPrinter) {
+            mSink.offer(msg);
         }
-        logPrint(msg);
     }
 
-    private static void logPrint(@NonNull String msg) {
-        if (mLogPrinter != null) {
-            mLogPrinter.print(msg);
+    static String format(String template, Object arg1, Object arg2, int argCount) {
+        if (template == null) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(template.length() + 32);
+        int start = 0;
+        for (int i = 0; i < argCount; i ++) {
+            int index = template.indexOf(PLACEHOLDER, start);
+            if (index < 0) {
+                break;
+            }
+            builder.append(template, start, index).append(i == 0 ? arg1 : arg2);
+            start = index + PLACEHOLDER.length();
         }
+        return builder.append(template, start, template.length()).toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <ul>
+ *     <li>Description: 带坐标系的经纬度，不可变</li>
+ *     <li>Date: 2026-10-18 09:35</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 大量点不要用 LatLng 的列表保存，使用 {@link PointList}，或用 {@link #pack(double, double)} 把一个点压缩为一个 long：
+ * 高 32 位为纬度、低 32 位为经度，均为 1e-7 度的定点数（赤道处约 1.1 厘米），与轨迹文件的精度一致。
+ */
+public final class LatLng {
+    private final double mLatitude;
+    private final double mLongitude;
+    private final CoordType mCoordType;
+
+    public LatLng(double lat, double lng, @NonNull CoordType coordType) {
+        mLatitude = lat;
+        mLongitude = lng;
+        mCoordType = coordType;
+    }
+
+    /**
+     * @param coordType location 所在的坐标系，系统定位为 {@link CoordType#WGS84}
+     */
+    @NonNull
+    public static LatLng of(@NonNull Location location, @NonNull CoordType coordType) {
+        return new LatLng(location.getLatitude(), location.getLongitude(), coordType);
+    }
+
+    @NonNull
+    public static LatLng unpack(long packed, @NonNull CoordType coordType) {
+        return new LatLng(unpackLatitude(packed), unpackLongitude(packed), coordType);
+    }
+
+    public double getLatitude() {
+        return mLatitude;
+    }
+
+    public double getLongitude() {
+        return mLongitude;
+    }
+
+    @NonNull
+    public CoordType getCoordType() {
+        return mCoordType;
+    }
+
+    /**
+     * 转换到目标坐标系，转为 WGS84 时使用精确算法，结果与
+     * {@link LocationUtil#transCoord(CoordType, CoordType, double[], int, int, double[], int)} 一致
+     * @return 坐标系相同时返回自身
+     */
+    @NonNull
+    public LatLng to(@NonNull CoordType coordType) {
+        if (coordType == mCoordType) {
+            return this;
+        }
+        double[] latLng = {mLatitude, mLongitude};
+        LocationUtil.transCoord(mCoordType, coordType, latLng, 0, 1, latLng, 0);
+        return new LatLng(latLng[0], latLng[1], coordType);
+    }
+
+    /**
+     * @return 到 other 的距离，other 先转换到本坐标系，单位 KM
+     */
+    public double distanceTo(@NonNull LatLng other) {
+        LatLng target = other.to(mCoordType);
+        return LocationUtil.getDistance(mLatitude, mLongitude, target.mLatitude, target.mLongitude);
+    }
+
+    /**
+     * @return 压缩为 long，精度 1e-7 度，坐标系不保存
+     */
+    public long pack() {
+        return pack(mLatitude, mLongitude);
+    }
+
+    public static long pack(double lat, double lng) {
+        return pack(TrackFormat.toE7(lat), TrackFormat.toE7(lng));
+    }
+
+    public static long pack(int latE7, int lngE7) {
+        return ((long) latE7 << 32) | (lngE7 & 0xFFFFFFFFL);
+    }
+
+    public static double unpackLatitude(long packed) {
+        return (int) (packed >> 32) / TrackFormat.E7;
+    }
+
+    public static double unpackLongitude(long packed) {
+        return (int) packed / TrackFormat.E7;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LatLng)) {
+            return false;
+        }
+        LatLng that = (LatLng) o;
+        return Double.compare(mLatitude, that.mLatitude) == 0 && Double.compare(mLongitude, that.mLongitude) == 0
+                && mCoordType == that.mCoordType;
+    }
+
+    @Override
+    public int hashCode() {
+        long lat = Double.doubleToLongBits(mLatitude);
+        long lng = Double.doubleToLongBits(mLongitude);
+        int result = (int) (lat ^ (lat >>> 32));
+        result = 31 * result + (int) (lng ^ (lng >>> 32));
+        result = 31 * result + mCoordType.hashCode();
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "LatLng[" + mLatitude + "," + mLongitude + " " + mCoordType + "]";
+    }
+}
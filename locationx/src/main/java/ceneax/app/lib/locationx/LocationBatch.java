@@ -0,0 +1,154 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <ul>
+ *     <li>Description: 一批定位点，逐点数据以基本类型数组保存，实例由 {@link LocationBatcher} 回收复用</li>
+ *     <li>Date: 2026-10-18 09:27</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 坐标已转换为 {@link #getCoordType()}。缺失的海拔、速度、方向为 NaN，没有精度时为 0。
+ * 数组只在点数超过历史最大值时扩容。非线程安全。
+ */
+public final class LocationBatch {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private CoordType mCoordType = CoordType.WGS84;
+    private int mSize;
+    private double[] mLatitudes;
+    private double[] mLongitudes;
+    private long[] mTimes;
+    private float[] mAccuracies;
+    private double[] mAltitudes;
+    private float[] mSpeeds;
+    private float[] mBearings;
+    private String[] mProviders;
+
+    public LocationBatch() {
+        this(INITIAL_CAPACITY);
+    }
+
+    LocationBatch(int capacity) {
+        capacity = Math.max(1, capacity);
+        mLatitudes = new double[capacity];
+        mLongitudes = new double[capacity];
+        mTimes = new long[capacity];
+        mAccuracies = new float[capacity];
+        mAltitudes = new double[capacity];
+        mSpeeds = new float[capacity];
+        mBearings = new float[capacity];
+        mProviders = new String[capacity];
+    }
+
+    @NonNull
+    public CoordType getCoordType() {
+        return mCoordType;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public double getLatitude(int index) {
+        return mLatitudes[index];
+    }
+
+    public double getLongitude(int index) {
+        return mLongitudes[index];
+    }
+
+    public long getTime(int index) {
+        return mTimes[index];
+    }
+
+    public float getAccuracy(int index) {
+        return mAccuracies[index];
+    }
+
+    public double getAltitude(int index) {
+        return mAltitudes[index];
+    }
+
+    public float getSpeed(int index) {
+        return mSpeeds[index];
+    }
+
+    public float getBearing(int index) {
+        return mBearings[index];
+    }
+
+    @Nullable
+    public String getProvider(int index) {
+        return mProviders[index];
+    }
+
+    /**
+     * 在回调之外保留这批数据时使用，target 的数组不够时扩容
+     */
+    public void copyTo(@NonNull LocationBatch target) {
+        target.clear(mCoordType);
+        target.ensureCapacity(mSize);
+        System.arraycopy(mLatitudes, 0, target.mLatitudes, 0, mSize);
+        System.arraycopy(mLongitudes, 0, target.mLongitudes, 0, mSize);
+        System.arraycopy(mTimes, 0, target.mTimes, 0, mSize);
+        System.arraycopy(mAccuracies, 0, target.mAccuracies, 0, mSize);
+        System.arraycopy(mAltitudes, 0, target.mAltitudes, 0, mSize);
+        System.arraycopy(mSpeeds, 0, target.mSpeeds, 0, mSize);
+        System.arraycopy(mBearings, 0, target.mBearings, 0, mSize);
+        System.arraycopy(mProviders, 0, target.mProviders, 0, mSize);
+        target.mSize = mSize;
+    }
+
+    void clear(@NonNull CoordType coordType) {
+        mCoordType = coordType;
+        mSize = 0;
+    }
+
+    void add(@NonNull Location location) {
+        add(location.getLatitude(), location.getLongitude(), location.getTime(), location.getAccuracy(),
+                location.hasAltitude() ? location.getAltitude() : Double.NaN,
+                location.hasSpeed() ? location.getSpeed() : Float.NaN,
+                location.hasBearing() ? location.getBearing() : Float.NaN,
+                location.getProvider());
+    }
+
+    void add(double lat, double lng, long timeMs, float accuracy, double altitude, float speed, float bearing,
+             @Nullable String provider) {
+        if (mSize == mLatitudes.length) {
+            ensureCapacity(mSize * 2);
+        }
+        int index = mSize ++;
+        mLatitudes[index] = lat;
+        mLongitudes[index] = lng;
+        mTimes[index] = timeMs;
+        mAccuracies[index] = accuracy;
+        mAltitudes[index] = altitude;
+        mSpeeds[index] = speed;
+        mBearings[index] = bearing;
+        mProviders[index] = provider;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mLatitudes.length) {
+            return;
+        }
+        mLatitudes = Arrays.copyOf(mLatitudes, capacity);
+        mLongitudes = Arrays.copyOf(mLongitudes, capacity);
+        mTimes = Arrays.copyOf(mTimes, capacity);
+        mAccuracies = Arrays.copyOf(mAccuracies, capacity);
+        mAltitudes = Arrays.copyOf(mAltitudes, capacity);
+        mSpeeds = Arrays.copyOf(mSpeeds, capacity);
+        mBearings = Arrays.copyOf(mBearings, capacity);
+        mProviders = Arrays.copyOf(mProviders, capacity);
+    }
+}
@@ -0,0 +1,109 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+
+/**
+ * <ul>
+ *     <li>Description: 把定位点收集为批次，交付后的批次回收复用</li>
+ *     <li>Date: 2026-10-18 09:27</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * {@link #add} 与 {@link #take()} 只在分发线程调用，{@link #recycle} 可在任意线程调用。
+ * 回收池保留少量空批次，回调线程来得及处理时只在最初分配，之后每个点只写入基本类型数组。
+ * 最大延迟的计时由调用方负责。
+ */
+class LocationBatcher {
+    // 回收池最多保留的空批次个数，回调处理不过来时多出的批次交给 GC
+    private static final int MAX_POOL_SIZE = 4;
+    // 新批次的初始容量上限，maxSize 很大时按需扩容
+    private static final int MAX_INITIAL_CAPACITY = 256;
+
+    private final int mMaxSize;
+    private final CoordType mCoordType;
+
+    // 只在分发线程访问
+    private LocationBatch mCurrent;
+
+    private final ArrayDeque<LocationBatch> mPool = new ArrayDeque<>(MAX_POOL_SIZE);
+
+    /**
+     * @param maxSize 每批最多的点数，达到时 {@link #add} 返回 true
+     * @param coordType 加入的点所在的坐标系
+     */
+    LocationBatcher(int maxSize, @NonNull CoordType coordType) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        mMaxSize = maxSize;
+        mCoordType = coordType;
+    }
+
+    int getMaxSize() {
+        return mMaxSize;
+    }
+
+    boolean isEmpty() {
+        return mCurrent == null || mCurrent.isEmpty();
+    }
+
+    /**
+     * @return 当前批次是否已满
+     */
+    boolean add(@NonNull Location location) {
+        LocationBatch batch = current();
+        batch.add(location);
+        return batch.size() >= mMaxSize;
+    }
+
+    boolean add(double lat, double lng, long timeMs, float accuracy, double altitude, float speed, float bearing,
+                @Nullable String provider) {
+        LocationBatch batch = current();
+        batch.add(lat, lng, timeMs, accuracy, altitude, speed, bearing, provider);
+        return batch.size() >= mMaxSize;
+    }
+
+    /**
+     * 取出当前批次，之后加入的点进入新批次
+     * @return 没有点时返回 null
+     */
+    @Nullable
+    LocationBatch take() {
+        if (isEmpty()) {
+            return null;
+        }
+        LocationBatch batch = mCurrent;
+        mCurrent = null;
+        return batch;
+    }
+
+    /**
+     * 交付完毕后归还批次
+     */
+    void recycle(@NonNull LocationBatch batch) {
+        synchronized (mPool) {
+            if (mPool.size() < MAX_POOL_SIZE) {
+                mPool.push(batch);
+            }
+        }
+    }
+
+    private LocationBatch current() {
+        LocationBatch batch = mCurrent;
+        if (batch == null) {
+            synchronized (mPool) {
+                batch = mPool.poll();
+            }
+            if (batch == null) {
+                batch = new LocationBatch(Math.min(mMaxSize, MAX_INITIAL_CAPACITY));
+            }
+            batch.clear(mCoordType);
+            mCurrent = batch;
+        }
+        return batch;
+    }
+}
@@ -1,20 +1,17 @@
 package ceneax.app.lib.locationx;
 
-import android.annotation.SuppressLint;
-import android.location.GnssStatus;
-import android.location.GpsSatellite;
-import android.location.GpsStatus;
 import android.location.Location;
-import android.location.LocationListener;
 import android.location.LocationManager;
-import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.RequiresApi;
+import androidx.annotation.Nullable;
 import androidx.core.location.LocationManagerCompat;
 
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
 /**
  * <ul>
  *     <li>Description: 位置定位核心类</li>
@@ -26,232 +23,349 @@ public class LocationCore {
     // 系统单次定位最大超时时间
     private static final long MAX_SINGLE_LOCATION_TIMEOUT_MS = 30 * 1000;
 
-    private final LocationManager mLocationManager;
+    private final ILocationSource mSource;
     private final CoordType mCoordType;
 
-    private SatelliteStatusListener mSatelliteStatusListener;
-    private LocationListener mGpsListener;
+    private final LocationHub mLocationHub;
+    private ILocationCallback mLocationSubscriber;
+    private Batching mBatching;
+
+    // 以下字段在库的后台线程读取
+    private volatile Executor mCallbackExecutor = LocationExecutors.mainThread();
+    private volatile LocationKalmanFilter mKalmanFilter;
+    private volatile GeofenceEngine mGeofenceEngine;
+    private volatile RouteCorridor mRouteCorridor;
+    private volatile TrackRecorder mTrackRecorder;
 
     public LocationCore(@NonNull LocationManager locationManager, @NonNull CoordType coordType) {
-        mLocationManager = locationManager;
+        this(new AndroidLocationSource(locationManager), coordType);
+    }
+
+    /**
+     * @param source 定位来源，例如回放轨迹文件的 {@link ReplayLocationSource}，使用同一来源的 LocationCore 共享注册
+     */
+    public LocationCore(@NonNull ILocationSource source, @NonNull CoordType coordType) {
         mCoordType = coordType;
+        mLocationHub = LocationHub.getInstance(source);
+        mSource = mLocationHub.getSource();
     }
 
+    @NonNull
+    public ILocationSource getSource() {
+        return mSource;
+    }
+
+    /**
+     * @return 定位来源不是系统 LocationManager 时返回 null
+     */
+    @Nullable
     public LocationManager getLocationManager() {
-        return mLocationManager;
+        return mSource instanceof AndroidLocationSource ? ((AndroidLocationSource) mSource).getLocationManager() : null;
     }
 
     public boolean isLocationEnabled() {
-        return LocationManagerCompat.isLocationEnabled(mLocationManager);
+        LocationManager locationManager = getLocationManager();
+        if (locationManager != null) {
+            return LocationManagerCompat.isLocationEnabled(locationManager);
+        }
+        return mSource.isProviderEnabled(LocationManager.GPS_PROVIDER) || mSource.isProviderEnabled(LocationManager.NETWORK_PROVIDER);
     }
 
-    public void getLocation(@NonNull ILocationCallback locationCallback) {
-        getLocation(0, locationCallback);
+    /**
+     * 卫星状态快照与统计，可订阅更新，见 {@link GnssMonitor}
+     */
+    @NonNull
+    public GnssMonitor getGnssMonitor() {
+        return mLocationHub.getGnssMonitor();
     }
 
-    @SuppressLint("MissingPermission")
-    public void getLocation(long timeout, @NonNull ILocationCallback locationCallback) {
-        try {
-            final Location[] bestLocation = {null};
-            final boolean[] hasFinished = {false};
+    /**
+     * 系统 NMEA 语句的解析结果，包括 HDOP/VDOP、定位质量、使用卫星数，见 {@link NmeaMonitor}
+     */
+    @NonNull
+    public NmeaMonitor getNmeaMonitor() {
+        return mLocationHub.getNmeaMonitor();
+    }
 
-            SatelliteStatusListener satelliteStatusListener = new SatelliteStatusListener(mLocationManager);
+    /**
+     * 单次定位的耗时、精度分布与结果计数，所有 LocationCore 共享，见 {@link LocationMetrics}
+     */
+    @NonNull
+    public LocationMetrics getMetrics() {
+        return mLocationHub.getMetrics();
+    }
 
-            if (mLocationManager.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
-                LXLog.d("GPS Provider 有效，开始获取 GPS 最后一次定位信息");
-                Location location = mLocationManager.getLastKnownLocation(LocationManager.GPS_PROVIDER);
-                if (LocationUtil.isBetterLocation(location, bestLocation[0])) {
-                    bestLocation[0] = location;
-                    LXLog.d("本次 GPS Provider 获取的定位信息已记录为高优先级");
-                }
-            }
-            if (mLocationManager.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
-                LXLog.d("Network Provider 有效，开始获取 Network 最后一次定位信息");
-                Location location = mLocationManager.getLastKnownLocation(LocationManager.NETWORK_PROVIDER);
-                if (LocationUtil.isBetterLocation(location, bestLocation[0])) {
-                    bestLocation[0] = location;
-                    LXLog.d("本次 Network Provider 获取的定位信息已记录为高优先级");
-                }
-            }
+    /**
+     * 设置定位结果的回调线程，默认为主线程，见 {@link LocationExecutors}。
+     * 坐标转换、滤波、地理围栏判断、轨迹记录都在库的后台线程完成，只有最终回调切换到该线程
+     */
+    public void setCallbackExecutor(@NonNull Executor executor) {
+        mCallbackExecutor = executor;
+    }
 
-            final Location[] finalBestLocation = {bestLocation[0]};
-            final LocationListener gpsListener;
-            final LocationListener networkListener;
-
-            networkListener = new LocationListener() {
-                @Override
-                public void onLocationChanged(@NonNull Location location) {
-                    LXLog.d("requestSingleUpdate: networkListener 执行回调，已得到定位信息");
-                    if (LocationUtil.isBetterLocation(location, finalBestLocation[0])) {
-                        finalBestLocation[0] = location;
-                        LXLog.d("requestSingleUpdate: networkListener 定位信息已记录为高优先级");
-                    }
-                    mLocationManager.removeUpdates(this);
-                }
-            };
-            gpsListener = new LocationListener() {
-                @Override
-                public void onLocationChanged(@NonNull Location location) {
-                    LXLog.d("requestSingleUpdate: gpsListener 执行回调，已得到定位信息");
-                    if (LocationUtil.isBetterLocation(location, finalBestLocation[0])) {
-                        finalBestLocation[0] = location;
-                        LXLog.d("requestSingleUpdate: gpsListener 定位信息已记录为高优先级");
-                    }
-                    mLocationManager.removeUpdates(networkListener);
-                    mLocationManager.removeUpdates(this);
-                    satelliteStatusListener.removeListener();
-
-                    locationCallback.onResult(LocationUtil.transCoord(mCoordType, finalBestLocation[0]));
-                    LXLog.i(finalBestLocation[0].toString());
-                    hasFinished[0] = true;
-                }
-            };
+    /**
+     * 在指定 Looper 所在线程回调定位结果
+     */
+    public void setCallbackLooper(@NonNull Looper looper) {
+        setCallbackExecutor(LocationExecutors.looper(looper));
+    }
 
-            if (mLocationManager.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
-                mLocationManager.requestSingleUpdate(LocationManager.GPS_PROVIDER, gpsListener, Looper.getMainLooper());
-            }
-            if (mLocationManager.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
-                mLocationManager.requestSingleUpdate(LocationManager.NETWORK_PROVIDER, networkListener, Looper.getMainLooper());
-            }
+    /**
+     * 设置持续定位的平滑滤波，{@link #requestLocation} 的每次定位结果先在 WGS84 坐标系下滤波，再转换为当前坐标系
+     * @param kalmanFilter 传 null 关闭滤波
+     */
+    public void setKalmanFilter(@Nullable LocationKalmanFilter kalmanFilter) {
+        mKalmanFilter = kalmanFilter;
+    }
 
-            if (timeout <= 0 || timeout > MAX_SINGLE_LOCATION_TIMEOUT_MS) {
-                timeout = MAX_SINGLE_LOCATION_TIMEOUT_MS;
-                LXLog.d("未设置超时时间，gpsListener 将使用系统默认超时时间：" + timeout + "ms");
-            }
+    /**
+     * 开启或关闭持续定位的平滑滤波，开启时使用默认参数的 {@link LocationKalmanFilter}
+     */
+    public void setKalmanFilterEnabled(boolean enabled) {
+        setKalmanFilter(enabled ? new LocationKalmanFilter() : null);
+    }
 
-            new Handler(Looper.getMainLooper()).postDelayed(() -> {
-                if (!hasFinished[0]) {
-                    LXLog.d("超时时间已到，gpsListener 未获取到定位信息");
-                    locationCallback.onResult(LocationUtil.transCoord(mCoordType, finalBestLocation[0]));
-                    LXLog.i(finalBestLocation[0].toString());
-                }
+    /**
+     * 设置地理围栏引擎，{@link #requestLocation} 的每次定位结果（已转换为当前坐标系）都会交给它判断，
+     * 围栏事件在库的后台线程回调。围栏由调用方直接给出经纬度创建，不携带坐标系，需自行按当前坐标系给出，
+     * 因此这里无法像 {@link #setRouteCorridor} 那样校验
+     * @param geofenceEngine 传 null 取消
+     */
+    public void setGeofenceEngine(@Nullable GeofenceEngine geofenceEngine) {
+        mGeofenceEngine = geofenceEngine;
+    }
 
-                mLocationManager.removeUpdates(gpsListener);
-                mLocationManager.removeUpdates(networkListener);
-                satelliteStatusListener.removeListener();
-            }, timeout);
-        } catch (Exception e) {
-            locationCallback.onResult(null);
-            LXLog.e("getLocation 获取单次定位失败：" + e.getMessage());
+    /**
+     * 设置路线走廊，{@link #requestLocation} 的每次定位结果都会与路线匹配，
+     * 路线的坐标系必须与当前 {@link CoordType} 一致，偏航事件在库的后台线程回调
+     * @param routeCorridor 传 null 取消
+     * @throws IllegalArgumentException 路线的坐标系与当前坐标系不一致
+     */
+    public void setRouteCorridor(@Nullable RouteCorridor routeCorridor) {
+        if (routeCorridor != null && routeCorridor.getCoordType() != mCoordType) {
+            throw new IllegalArgumentException("RouteCorridor coord type must be " + mCoordType
+                    + ", but was " + routeCorridor.getCoordType());
         }
+        mRouteCorridor = routeCorridor;
     }
 
-    @SuppressLint("MissingPermission")
-    public void requestLocation(long minTimeMs, float minDistanceM, @NonNull ILocationCallback locationCallback) {
-        if (mLocationManager.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
-            mSatelliteStatusListener = new SatelliteStatusListener(mLocationManager);
+    /**
+     * 设置轨迹记录器，{@link #requestLocation} 的每次定位结果都会追加到轨迹文件，
+     * 记录器的坐标系必须与当前 {@link CoordType} 一致，停止持续定位时会把缓冲写入文件
+     * @param trackRecorder 传 null 取消，记录器的关闭由调用方负责
+     * @throws IllegalArgumentException 记录器的坐标系与当前坐标系不一致
+     */
+    public void setTrackRecorder(@Nullable TrackRecorder trackRecorder) {
+        if (trackRecorder != null && trackRecorder.getCoordType() != mCoordType) {
+            throw new IllegalArgumentException("TrackRecorder coord type must be " + mCoordType
+                    + ", but was " + trackRecorder.getCoordType());
+        }
+        mTrackRecorder = trackRecorder;
+    }
 
-            mGpsListener = location -> {
-                LXLog.d("requestLocationUpdates: gpsListener 执行回调，已得到定位信息");
-                locationCallback.onResult(LocationUtil.transCoord(mCoordType, location));
-                LXLog.i(location.toString());
-            };
+    @NonNull
+    public ILocationRequest getLocation(@NonNull ILocationCallback locationCallback) {
+        return getLocation(0, locationCallback);
+    }
 
-            mLocationManager.requestLocationUpdates(LocationManager.GPS_PROVIDER, minTimeMs, minDistanceM, mGpsListener, Looper.getMainLooper());
-        } else {
-            LXLog.d("requestLocation: GPS Provider 无效，持续定位失败");
-        }
+    @NonNull
+    public ILocationRequest getLocation(long timeout, @NonNull ILocationCallback locationCallback) {
+        return getLocation(timeout, 0, 0, locationCallback);
     }
 
-    public void stopRequestLocation() {
-        if (mSatelliteStatusListener != null) {
-            mSatelliteStatusListener.removeListener();
-            mSatelliteStatusListener = null;
-        }
-        if (mGpsListener != null) {
-            mLocationManager.removeUpdates(mGpsListener);
-            mGpsListener = null;
+    /**
+     * 单次定位，同一时刻的多个请求（包括其它 LocationCore 发起的）会合并为一次获取过程
+     * @param timeout 超时时间，超时后回调当前最优结果，小于等于 0 使用系统默认超时时间
+     * @param maxAgeMs 可接受的缓存定位最大时长，缓存中有满足条件的定位时直接回调，不再请求定位，0 表示不使用缓存
+     * @param maxAccuracyM 可接受的缓存定位最大精度，单位：米，小于等于 0 表示不限
+     * @return 可用于取消本次请求，取消后不再回调
+     */
+    @NonNull
+    public ILocationRequest getLocation(long timeout, long maxAgeMs, float maxAccuracyM, @NonNull ILocationCallback locationCallback) {
+        if (timeout <= 0 || timeout > MAX_SINGLE_LOCATION_TIMEOUT_MS) {
+            timeout = MAX_SINGLE_LOCATION_TIMEOUT_MS;
+            LXLog.d("未设置超时时间，gpsListener 将使用系统默认超时时间：{}ms", timeout);
         }
+        return mLocationHub.getSingleLocationFetcher().request(timeout, maxAgeMs, maxAccuracyM, mCoordType,
+                mCallbackExecutor, locationCallback);
     }
 
-    @SuppressLint("MissingPermission")
-    private static class SatelliteStatusListener {
-        private final LocationManager mLocationManager;
+    /**
+     * 持续定位，经由 {@link LocationHub} 与其它 LocationCore 共享同一个系统注册，重复调用会替换上一次的请求
+     */
+    public void requestLocation(long minTimeMs, float minDistanceM, @NonNull ILocationCallback locationCallback) {
+        requestLocation(minTimeMs, minDistanceM, false, locationCallback);
+    }
+
+    /**
+     * 融合持续定位，同时使用 GPS、Network 与 passive Provider，每个新定位与当前最优结果比较，
+     * 只在最优结果变化时回调。室内或 GPS 关闭时也能较快得到定位，多个 Provider 报告同一位置时不会重复回调。
+     * 与 {@link #requestLocation(long, float, ILocationCallback)} 互相替换
+     */
+    public void requestFusedLocation(long minTimeMs, float minDistanceM, @NonNull ILocationCallback locationCallback) {
+        requestLocation(minTimeMs, minDistanceM, true, locationCallback);
+    }
 
-        private GpsStatus.Listener mGpsListener;
-        private GnssStatus.Callback mGnssCallback;
+    /**
+     * 批量持续定位，定位结果经过与 {@link #requestLocation(long, float, ILocationCallback)} 相同的处理后收集为批次，
+     * 批次达到 maxBatchSize 个点、第一个点之后经过 maxLatencyMs、调用 {@link #flushBatchedLocation()} 或
+     * {@link #stopRequestLocation()} 时一次性回调。批次对象回收复用，持续定位时每个点几乎不分配对象。
+     * 与其它持续定位互相替换，被替换时剩余的点立即交付
+     * @param maxBatchSize 每批最多的点数，至少为 1
+     * @param maxLatencyMs 一批中第一个点的最长等待时间，小于等于 0 表示不限，只按点数、刷新与停止交付
+     */
+    public void requestBatchedLocation(long minTimeMs, float minDistanceM, int maxBatchSize, long maxLatencyMs,
+                                       @NonNull ILocationBatchCallback batchCallback) {
+        Batching batching = new Batching(new LocationBatcher(maxBatchSize, mCoordType), maxLatencyMs, batchCallback);
+        if (startLocation(minTimeMs, minDistanceM, false, batching)) {
+            mBatching = batching;
+        }
+    }
+
+    /**
+     * 立即交付批量持续定位已收集的点，没有点时不回调
+     */
+    public void flushBatchedLocation() {
+        Batching batching = mBatching;
+        if (batching != null) {
+            // 在后台线程执行，排在已收到的定位之后
+            LocationExecutors.getWorkerHandler().post(batching);
+        }
+    }
 
-        public SatelliteStatusListener(LocationManager locationManager) {
-            mLocationManager = locationManager;
+    private void requestLocation(long minTimeMs, float minDistanceM, boolean fused, @NonNull ILocationCallback locationCallback) {
+        startLocation(minTimeMs, minDistanceM, fused, result -> mCallbackExecutor.execute(() -> locationCallback.onResult(result)));
+    }
 
-            // Android N Api 24 及以上版本适配
-            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
-                mGpsListener = createGpsStatus();
-                mLocationManager.addGpsStatusListener(mGpsListener);
-            } else {
-                mGnssCallback = createGnssStatus();
-                mLocationManager.registerGnssStatusCallback(mGnssCallback);
+    /**
+     * @param sink 在库的后台线程接收处理后的定位结果
+     * @return 是否开始定位
+     */
+    private boolean startLocation(long minTimeMs, float minDistanceM, boolean fused, @NonNull ILocationCallback sink) {
+        if (mLocationSubscriber != null) {
+            mLocationHub.unsubscribe(mLocationSubscriber);
+            mLocationSubscriber = null;
+        }
+        finishBatching();
+        if (fused) {
+            if (!mSource.isProviderEnabled(LocationManager.GPS_PROVIDER)
+                    && !mSource.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
+                LXLog.d("requestFusedLocation: GPS、Network Provider 均无效，持续定位失败");
+                return false;
             }
+        } else if (!mSource.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
+            LXLog.d("requestLocation: GPS Provider 无效，持续定位失败");
+            return false;
+        }
+        LocationKalmanFilter filter = mKalmanFilter;
+        if (filter != null) {
+            // 滤波器只在后台线程使用，重置也放到后台线程，先于之后的定位执行
+            LocationExecutors.getWorkerHandler().post(filter::reset);
         }
 
-        public void removeListener() {
-            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
-                if (mGpsListener != null) {
-                    mLocationManager.removeGpsStatusListener(mGpsListener);
-                }
-            } else {
-                if (mGnssCallback != null) {
-                    mLocationManager.unregisterGnssStatusCallback(mGnssCallback);
+        mLocationSubscriber = location -> {
+            LXLog.d("requestLocationUpdates: {} 执行回调，已得到定位信息", location.getProvider());
+            // 滤波与坐标转换都会修改坐标，在副本上进行，不改动来源的对象
+            Location result = new Location(location);
+            LocationKalmanFilter kalmanFilter = mKalmanFilter;
+            if (kalmanFilter != null) {
+                kalmanFilter.filter(result);
+            }
+            LocationUtil.transCoordInPlace(mCoordType, result);
+            GeofenceEngine geofenceEngine = mGeofenceEngine;
+            if (geofenceEngine != null) {
+                geofenceEngine.update(result);
+            }
+            RouteCorridor routeCorridor = mRouteCorridor;
+            if (routeCorridor != null) {
+                routeCorridor.update(result);
+            }
+            TrackRecorder trackRecorder = mTrackRecorder;
+            if (trackRecorder != null) {
+                try {
+                    trackRecorder.append(result);
+                } catch (IOException e) {
+                    LXLog.e("轨迹记录失败：" + e.getMessage());
                 }
             }
+            LXLog.i("{}", result);
+            sink.onResult(result);
+        };
+        mLocationHub.subscribe(minTimeMs, minDistanceM, fused, mLocationSubscriber);
+        return true;
+    }
+
+    public void stopRequestLocation() {
+        if (mLocationSubscriber != null) {
+            mLocationHub.unsubscribe(mLocationSubscriber);
+            mLocationSubscriber = null;
+        }
+        finishBatching();
+        if (mTrackRecorder != null) {
+            try {
+                mTrackRecorder.flush();
+            } catch (IOException e) {
+                LXLog.e("轨迹写入失败：" + e.getMessage());
+            }
         }
+    }
 
-        private GpsStatus.Listener createGpsStatus() {
-            return event -> {
-                if (event == GpsStatus.GPS_EVENT_SATELLITE_STATUS) {
-                    // 总卫星个数
-                    int satelliteCount = 0;
-                    // 达标卫星个数
-                    int validSatelliteCount = 0;
-
-                    GpsStatus gpsStatus = mLocationManager.getGpsStatus(null);
-                    for (GpsSatellite gpsSatellite : gpsStatus.getSatellites()) {
-                        satelliteCount ++;
-                        // 信噪比大于25判定为有效定位卫星
-                        if (gpsSatellite.getSnr() > 25) {
-                            validSatelliteCount ++;
-                        }
-                    }
-
-                    LXLog.i("总卫星个数: " + satelliteCount + "; 达标卫星个数: " + validSatelliteCount);
-
-                    // 至少三颗有效卫星才判定为满足GPS定位条件
-                    if (validSatelliteCount < 3) {
-                        LXLog.e("达标卫星个数小于3，可能不满足定位条件");
-                    } else {
-                        LXLog.d("达标卫星个数大于等于3，满足定位条件");
-                    }
-                }
-            };
+    /**
+     * 停止批量收集，剩余的点在已收到的定位之后交付
+     */
+    private void finishBatching() {
+        if (mBatching != null) {
+            LocationExecutors.getWorkerHandler().post(mBatching);
+            mBatching = null;
+        }
+    }
+
+    /**
+     * 批量持续定位的收集与交付，只在库的后台线程执行
+     */
+    private final class Batching implements ILocationCallback, Runnable {
+        private final Handler mHandler = LocationExecutors.getWorkerHandler();
+        private final LocationBatcher mBatcher;
+        private final long mMaxLatencyMs;
+        private final ILocationBatchCallback mCallback;
+
+        Batching(LocationBatcher batcher, long maxLatencyMs, ILocationBatchCallback callback) {
+            mBatcher = batcher;
+            mMaxLatencyMs = maxLatencyMs;
+            mCallback = callback;
+        }
+
+        @Override
+        public void onResult(@Nullable Location location) {
+            if (location == null) {
+                return;
+            }
+            boolean first = mBatcher.isEmpty();
+            if (mBatcher.add(location)) {
+                run();
+            } else if (first && mMaxLatencyMs > 0) {
+                mHandler.postDelayed(this, mMaxLatencyMs);
+            }
         }
 
-        @RequiresApi(api = Build.VERSION_CODES.N)
-        private GnssStatus.Callback createGnssStatus() {
-            return new GnssStatus.Callback() {
-                @Override
-                public void onSatelliteStatusChanged(@NonNull GnssStatus status) {
-                    // 总卫星个数
-                    int satelliteCount = status.getSatelliteCount();
-                    // 达标卫星个数
-                    int validSatelliteCount = 0;
-
-                    for (int i = 0; i < satelliteCount; i ++) {
-                        // 信噪比大于25判定为有效定位卫星
-                        if (status.getCn0DbHz(i) > 25) {
-                            validSatelliteCount ++;
-                        }
-                    }
-
-                    LXLog.i("总卫星个数: " + satelliteCount + "; 达标卫星个数: " + validSatelliteCount);
-
-                    // 至少三颗有效卫星才判定为满足GPS定位条件
-                    if (validSatelliteCount < 3) {
-                        LXLog.e("达标卫星个数小于3，可能不满足定位条件");
-                    } else {
-                        LXLog.d("达标卫星个数大于等于3，满足定位条件");
-                    }
+        /**
+         * 交付当前批次，由点数、最大延迟、刷新或停止触发
+         */
+        @Override
+        public void run() {
+            mHandler.removeCallbacks(this);
+            LocationBatch batch = mBatcher.take();
+            if (batch == null) {
+                return;
+            }
+            LXLog.d("requestBatchedLocation: 交付 {} 个定位点", batch.size());
+            mCallbackExecutor.execute(() -> {
+                try {
+                    mCallback.onBatch(batch);
+                } finally {
+                    mBatcher.recycle(batch);
                 }
-            };
+            });
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package ceneax.app.lib.locationx;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * <ul>
+ *     <li>Description: 定位回调线程的选择</li>
+ *     <li>Date: 2026-10-18 19:40</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 系统定位回调、坐标转换、滤波、日志等处理都在库内部的后台线程 {@link #getWorkerLooper()} 上执行，
+ * 只有最终结果通过 {@link LocationCore#setCallbackExecutor} 指定的 {@link Executor} 回调给调用方，默认为主线程。
+ */
+public final class LocationExecutors {
+    private static final String WORKER_THREAD_NAME = "LocationX-Worker";
+
+    private LocationExecutors() {}
+
+    /**
+     * 在主线程回调，当前已在主线程时直接执行
+     */
+    @NonNull
+    public static Executor mainThread() {
+        return MainHolder.EXECUTOR;
+    }
+
+    /**
+     * 直接在库的后台线程回调，不再切换线程，回调中不能执行耗时操作
+     */
+    @NonNull
+    public static Executor worker() {
+        return WorkerHolder.EXECUTOR;
+    }
+
+    /**
+     * 在指定 Looper 所在线程回调，当前已在该线程时直接执行
+     */
+    @NonNull
+    public static Executor looper(@NonNull Looper looper) {
+        return new LooperExecutor(looper);
+    }
+
+    /**
+     * 库内部处理定位的后台线程
+     */
+    @NonNull
+    public static Looper getWorkerLooper() {
+        return WorkerHolder.THREAD.getLooper();
+    }
+
+    @NonNull
+    static Handler getWorkerHandler() {
+        return WorkerHolder.EXECUTOR.mHandler;
+    }
+
+    /**
+     * @return 本类创建的 Executor 所在的 Looper，其它 Executor 返回 null
+     */
+    @Nullable
+    static Looper getLooper(@NonNull Executor executor) {
+        return executor instanceof LooperExecutor ? ((LooperExecutor) executor).mLooper : null;
+    }
+
+    private static class MainHolder {
+        private static final LooperExecutor EXECUTOR = new LooperExecutor(Looper.getMainLooper());
+    }
+
+    private static class WorkerHolder {
+        private static final HandlerThread THREAD;
+        private static final LooperExecutor EXECUTOR;
+
+        static {
+            THREAD = new HandlerThread(WORKER_THREAD_NAME, Process.THREAD_PRIORITY_BACKGROUND);
+            THREAD.start();
+            EXECUTOR = new LooperExecutor(THREAD.getLooper());
+        }
+    }
+
+    private static class LooperExecutor implements Executor {
+        private final Looper mLooper;
+        private final Handler mHandler;
+
+        LooperExecutor(Looper looper) {
+            mLooper = looper;
+            mHandler = new Handler(looper);
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            if (Looper.myLooper() == mLooper) {
+                command.run();
+            } else {
+                mHandler.post(command);
+            }
+        }
+    }
+}
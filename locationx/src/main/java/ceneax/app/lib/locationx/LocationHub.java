@@ -0,0 +1,362 @@
+package ceneax.app.lib.locationx;
+
+import android.annotation.SuppressLint;
+import android.location.Location;
+import android.location.LocationManager;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <ul>
+ *     <li>Description: 进程内共享的持续定位分发中心</li>
+ *     <li>Date: 2026-10-18 18:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 无论有多少订阅者，同一个定位来源 {@link ILocationSource} 只注册一个 GPS 监听，卫星状态由共享的 {@link GnssMonitor} 监听，
+ * 注册参数取所有订阅者中最小的时间间隔和最小距离。每个订阅者再按自己的时间间隔和距离单独过滤，
+ * 收到的是各自独立的 {@link Location} 副本，可以放心修改。订阅者加入或离开时自动按新的参数重新注册，
+ * 最后一个订阅者离开时注销。
+ * <p>
+ * 融合订阅者（{@link #subscribe(long, float, boolean, ILocationCallback)}）存在时，额外以相同参数注册 Network 与 passive
+ * Provider，三者的定位经 {@link FusedLocationArbiter} 仲裁，只有最优结果变化时才分发给融合订阅者；
+ * 普通订阅者仍然只收到 GPS 定位。
+ * <p>
+ * 订阅与取消订阅线程安全，定位在库的后台线程 {@link LocationExecutors#getWorkerLooper()} 上分发，分发时不加锁。
+ * <p>
+ * 共享实例按定位来源缓存，来源不再使用时调用 {@link #release(ILocationSource)} 移除，否则实例与其监听会一直保留。
+ */
+@SuppressLint("MissingPermission")
+public class LocationHub {
+    private static final Map<ILocationSource, LocationHub> mHubs = new HashMap<>();
+
+    private static final Subscriber[] EMPTY = new Subscriber[0];
+
+    private final ILocationSource mSource;
+    private final ILocationCallback mListener = this::dispatch;
+    private final ILocationCallback mNetworkListener = this::dispatchFused;
+    private final ILocationCallback mPassiveListener = this::dispatchFused;
+    // 只在分发线程使用
+    private final FusedLocationArbiter mArbiter = new FusedLocationArbiter();
+    private final GnssMonitor mGnssMonitor;
+    private final NmeaMonitor mNmeaMonitor;
+    private final SingleLocationFetcher mSingleLocationFetcher;
+
+    // 订阅者快照，变更时整体替换，分发时无需加锁
+    private volatile Subscriber[] mSubscribers = EMPTY;
+    private volatile long mToleranceMs;
+    private volatile boolean mHasFusedSubscriber;
+
+    private boolean mRegistered;
+    private boolean mReleased;
+    private boolean mFusedRegistered;
+    private long mRegisteredMinTimeMs;
+    private float mRegisteredMinDistanceM;
+
+    /**
+     * 获取该 {@link LocationManager} 对应的共享实例
+     */
+    @NonNull
+    public static LocationHub getInstance(@NonNull LocationManager locationManager) {
+        return getInstance(new AndroidLocationSource(locationManager));
+    }
+
+    /**
+     * 获取该定位来源对应的共享实例
+     */
+    @NonNull
+    public static LocationHub getInstance(@NonNull ILocationSource source) {
+        synchronized (mHubs) {
+            LocationHub hub = mHubs.get(source);
+            if (hub == null) {
+                hub = new LocationHub(source);
+                mHubs.put(source, hub);
+            }
+            return hub;
+        }
+    }
+
+    /**
+     * 定位来源不再使用时调用（如 {@link ReplayLocationSource#close()} 之后），移除其共享实例，
+     * 仍有订阅者时等最后一个订阅者离开后再移除。之后对该来源调用 getInstance 会创建新的实例
+     */
+    public static void release(@NonNull ILocationSource source) {
+        LocationHub hub;
+        synchronized (mHubs) {
+            hub = mHubs.get(source);
+        }
+        if (hub != null) {
+            hub.markReleased();
+        }
+    }
+
+    private LocationHub(@NonNull ILocationSource source) {
+        mSource = source;
+        // 只有系统定位来源才有卫星状态与 NMEA
+        LocationManager locationManager = source instanceof AndroidLocationSource
+                ? ((AndroidLocationSource) source).getLocationManager() : null;
+        mGnssMonitor = new GnssMonitor(locationManager);
+        mNmeaMonitor = new NmeaMonitor(locationManager);
+        mSingleLocationFetcher = new SingleLocationFetcher(source, mGnssMonitor);
+    }
+
+    @NonNull
+    public ILocationSource getSource() {
+        return mSource;
+    }
+
+    /**
+     * 订阅 GPS 持续定位，同一个回调重复订阅时更新其参数
+     * @param minTimeMs 该订阅者两次回调的最小时间间隔
+     * @param minDistanceM 该订阅者两次回调的最小距离
+     * @param locationCallback 在库的后台线程回调，Location 为 WGS84 坐标，不会为 null
+     */
+    public void subscribe(long minTimeMs, float minDistanceM, @NonNull ILocationCallback locationCallback) {
+        subscribe(minTimeMs, minDistanceM, false, locationCallback);
+    }
+
+    /**
+     * 订阅持续定位，同一个回调重复订阅时更新其参数
+     * @param fused true 表示同时使用 GPS、Network、passive Provider，只在最优结果变化时回调，
+     *              室内也能较快得到定位，且多个 Provider 报告同一位置时不会重复回调
+     */
+    public synchronized void subscribe(long minTimeMs, float minDistanceM, boolean fused, @NonNull ILocationCallback locationCallback) {
+        Subscriber[] subscribers = mSubscribers;
+        int index = indexOf(subscribers, locationCallback);
+        Subscriber subscriber = new Subscriber(new LocationThrottle(minTimeMs, minDistanceM), fused, locationCallback);
+        Subscriber[] newSubscribers;
+        if (index >= 0) {
+            subscribers[index].mActive = false;
+            newSubscribers = subscribers.clone();
+            newSubscribers[index] = subscriber;
+        } else {
+            newSubscribers = new Subscriber[subscribers.length + 1];
+            System.arraycopy(subscribers, 0, newSubscribers, 0, subscribers.length);
+            newSubscribers[subscribers.length] = subscriber;
+        }
+        mSubscribers = newSubscribers;
+        updateRegistration();
+    }
+
+    public synchronized void unsubscribe(@NonNull ILocationCallback locationCallback) {
+        Subscriber[] subscribers = mSubscribers;
+        int index = indexOf(subscribers, locationCallback);
+        if (index < 0) {
+            return;
+        }
+        subscribers[index].mActive = false;
+        Subscriber[] newSubscribers = new Subscriber[subscribers.length - 1];
+        System.arraycopy(subscribers, 0, newSubscribers, 0, index);
+        System.arraycopy(subscribers, index + 1, newSubscribers, index, newSubscribers.length - index);
+        mSubscribers = newSubscribers.length == 0 ? EMPTY : newSubscribers;
+        updateRegistration();
+        removeIfReleased();
+    }
+
+    private synchronized void markReleased() {
+        mReleased = true;
+        removeIfReleased();
+    }
+
+    // 持有实例锁时调用；加锁顺序为实例锁 -> mHubs，getInstance、release 持有 mHubs 时不会获取实例锁
+    private void removeIfReleased() {
+        if (!mReleased || mSubscribers.length > 0) {
+            return;
+        }
+        synchronized (mHubs) {
+            if (mHubs.get(mSource) == this) {
+                mHubs.remove(mSource);
+                LXLog.d("LocationHub: 定位来源已释放，移除共享实例");
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return mSubscribers.length;
+    }
+
+    /**
+     * 卫星状态，与持续定位、单次定位共用一个系统监听
+     */
+    @NonNull
+    public GnssMonitor getGnssMonitor() {
+        return mGnssMonitor;
+    }
+
+    /**
+     * NMEA 语句解析，需要同时有持续定位或单次定位在进行
+     */
+    @NonNull
+    public NmeaMonitor getNmeaMonitor() {
+        return mNmeaMonitor;
+    }
+
+    /**
+     * 单次定位的耗时、精度分布与结果计数
+     */
+    @NonNull
+    public LocationMetrics getMetrics() {
+        return mSingleLocationFetcher.getMetrics();
+    }
+
+    /**
+     * 单次定位与定位缓存，持续定位的结果也会记入缓存
+     */
+    SingleLocationFetcher getSingleLocationFetcher() {
+        return mSingleLocationFetcher;
+    }
+
+    private void updateRegistration() {
+        Subscriber[] subscribers = mSubscribers;
+        if (subscribers.length == 0) {
+            unregisterFused();
+            if (mRegistered) {
+                mSource.removeUpdates(mListener);
+                mGnssMonitor.release();
+                mRegistered = false;
+                LXLog.d("LocationHub: 已无订阅者，注销持续定位");
+            }
+            return;
+        }
+
+        long minTimeMs = Long.MAX_VALUE;
+        float minDistanceM = Float.MAX_VALUE;
+        boolean hasFused = false;
+        for (Subscriber subscriber : subscribers) {
+            minTimeMs = Math.min(minTimeMs, subscriber.mThrottle.getMinTimeMs());
+            minDistanceM = Math.min(minDistanceM, subscriber.mThrottle.getMinDistanceM());
+            hasFused |= subscriber.mFused;
+        }
+        // 系统回调间隔会有少量抖动，允许半个注册间隔的误差
+        mToleranceMs = minTimeMs / 2;
+        mHasFusedSubscriber = hasFused;
+
+        boolean paramsChanged = !mRegistered || minTimeMs != mRegisteredMinTimeMs || minDistanceM != mRegisteredMinDistanceM;
+        if (!hasFused || paramsChanged) {
+            unregisterFused();
+        }
+        if (paramsChanged) {
+            if (mRegistered) {
+                mSource.removeUpdates(mListener);
+            }
+            if (mSource.hasProvider(LocationManager.GPS_PROVIDER)) {
+                mSource.requestLocationUpdates(LocationManager.GPS_PROVIDER, minTimeMs, minDistanceM, LocationExecutors.worker(), mListener);
+            } else {
+                // 没有 GPS 的设备上只有融合订阅者能收到定位
+                LXLog.d("LocationHub: 设备没有 GPS Provider");
+            }
+            if (!mRegistered) {
+                mGnssMonitor.acquire();
+                mRegistered = true;
+            }
+            mRegisteredMinTimeMs = minTimeMs;
+            mRegisteredMinDistanceM = minDistanceM;
+            LXLog.d(() -> "LocationHub: 注册持续定位，minTimeMs = " + mRegisteredMinTimeMs
+                    + ", minDistanceM = " + mRegisteredMinDistanceM + ", 订阅者个数 = " + mSubscribers.length);
+        }
+        if (hasFused && !mFusedRegistered) {
+            registerFused(minTimeMs, minDistanceM);
+        }
+    }
+
+    private void registerFused(long minTimeMs, float minDistanceM) {
+        // 新的融合会话从空的最优结果开始，重置投递到分发线程，先于之后的定位执行
+        LocationExecutors.getWorkerHandler().post(mArbiter::reset);
+        if (mSource.hasProvider(LocationManager.NETWORK_PROVIDER)) {
+            mSource.requestLocationUpdates(LocationManager.NETWORK_PROVIDER, minTimeMs, minDistanceM, LocationExecutors.worker(), mNetworkListener);
+        }
+        if (mSource.hasProvider(LocationManager.PASSIVE_PROVIDER)) {
+            mSource.requestLocationUpdates(LocationManager.PASSIVE_PROVIDER, minTimeMs, minDistanceM, LocationExecutors.worker(), mPassiveListener);
+        }
+        mFusedRegistered = true;
+        LXLog.d("LocationHub: 注册融合定位");
+    }
+
+    private void unregisterFused() {
+        if (mFusedRegistered) {
+            mSource.removeUpdates(mNetworkListener);
+            mSource.removeUpdates(mPassiveListener);
+            mFusedRegistered = false;
+            LXLog.d("LocationHub: 注销融合定位");
+        }
+    }
+
+    /**
+     * GPS 定位：分发给普通订阅者，同时参与融合仲裁
+     */
+    private void dispatch(@NonNull Location location) {
+        mSingleLocationFetcher.updateCache(location);
+        if (mHasFusedSubscriber && mArbiter.offer(location)) {
+            deliver(new Location(location), true);
+        }
+        deliver(location, false);
+    }
+
+    /**
+     * Network、passive 定位：只参与融合仲裁
+     */
+    private void dispatchFused(@NonNull Location location) {
+        mSingleLocationFetcher.updateCache(location);
+        if (mHasFusedSubscriber && mArbiter.offer(location)) {
+            LXLog.d("LocationHub: 融合定位最优结果变为 {}", location.getProvider());
+            deliver(location, true);
+        }
+    }
+
+    private void deliver(@NonNull Location location, boolean fused) {
+        Subscriber[] subscribers = mSubscribers;
+        long toleranceMs = mToleranceMs;
+        double lat = location.getLatitude();
+        double lng = location.getLongitude();
+        long timeMs = location.getTime();
+        // 最后一个通过的订阅者直接使用原对象，其余各自复制一份
+        Subscriber pending = null;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.mActive && subscriber.mFused == fused && subscriber.accept(lat, lng, timeMs, toleranceMs)) {
+                if (pending != null) {
+                    pending.deliver(new Location(location));
+                }
+                pending = subscriber;
+            }
+        }
+        if (pending != null) {
+            pending.deliver(location);
+        }
+    }
+
+    private static int indexOf(Subscriber[] subscribers, ILocationCallback locationCallback) {
+        for (int i = 0; i < subscribers.length; i ++) {
+            if (subscribers[i].mCallback == locationCallback) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class Subscriber {
+        private final LocationThrottle mThrottle;
+        private final boolean mFused;
+        private final ILocationCallback mCallback;
+        private volatile boolean mActive = true;
+
+        Subscriber(LocationThrottle throttle, boolean fused, ILocationCallback callback) {
+            mThrottle = throttle;
+            mFused = fused;
+            mCallback = callback;
+        }
+
+        // 只在分发线程调用
+        boolean accept(double lat, double lng, long timeMs, long toleranceMs) {
+            return mThrottle.accept(lat, lng, timeMs, toleranceMs);
+        }
+
+        void deliver(Location location) {
+            // 过滤之后可能已被取消订阅
+            if (mActive) {
+                mCallback.onResult(location);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <ul>
+ *     <li>Description: 定位平滑的卡尔曼滤波，匀速运动模型，在局部平面坐标系（米）中计算</li>
+ *     <li>Date: 2026-10-18 17:30</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 东西、南北两个方向各自独立地维护「位置 + 速度」两维状态及其协方差，过程噪声按随机加速度模型，
+ * 测量噪声取 {@link Location#getAccuracy()} 的平方。状态全部是基本类型字段，每次更新不分配对象。
+ * <p>
+ * 平面坐标以第一个定位点为原点，偏离原点超过 {@link #REBASE_DISTANCE_M} 时把原点移到当前估计位置，
+ * 以保证投影误差可以忽略。两次定位间隔超过 {@link #setMaxGapMs} 或时间倒退时重新初始化。
+ * 输入应为 {@link CoordType#WGS84} 坐标。非线程安全。
+ */
+public class LocationKalmanFilter {
+    // 默认加速度噪声标准差，单位：m/s^2，步行、骑行、驾车都比较合适
+    public static final double DEFAULT_ACCELERATION_NOISE = 2.0;
+    // 默认最大定位间隔，超过则重新初始化
+    public static final long DEFAULT_MAX_GAP_MS = 60 * 1000;
+    // 没有精度信息时使用的精度，单位：米
+    private static final double DEFAULT_ACCURACY_M = 30;
+    private static final double REBASE_DISTANCE_M = 10_000;
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * LocationUtil.EARTH_RADIUS * 1000;
+
+    private final double mAccelerationVariance;
+    private long mMaxGapMs = DEFAULT_MAX_GAP_MS;
+
+    private boolean mInitialized;
+    private long mLastTimeMs;
+
+    // 平面坐标原点
+    private double mOriginLat;
+    private double mOriginLng;
+    private double mMetersPerLng;
+
+    // 东向状态：位置、速度、协方差
+    private double mX, mVx, mPxx, mPxv, mPvv;
+    // 北向状态：位置、速度、协方差
+    private double mY, mVy, mPyy, mPyv, mPww;
+
+    public LocationKalmanFilter() {
+        this(DEFAULT_ACCELERATION_NOISE);
+    }
+
+    /**
+     * @param accelerationNoise 加速度噪声标准差，单位：m/s^2，越大越信任新的定位点，越小轨迹越平滑但转弯越滞后
+     */
+    public LocationKalmanFilter(double accelerationNoise) {
+        if (!(accelerationNoise > 0)) {
+            throw new IllegalArgumentException("accelerationNoise must be positive, but was " + accelerationNoise);
+        }
+        mAccelerationVariance = accelerationNoise * accelerationNoise;
+    }
+
+    public void setMaxGapMs(long maxGapMs) {
+        mMaxGapMs = maxGapMs;
+    }
+
+    public void reset() {
+        mInitialized = false;
+    }
+
+    /**
+     * 滤波并把结果写回 location 的经纬度与精度
+     */
+    @NonNull
+    public Location filter(@NonNull Location location) {
+        update(location.getLatitude(), location.getLongitude(), location.getAccuracy(), location.getTime());
+        location.setLatitude(getLatitude());
+        location.setLongitude(getLongitude());
+        location.setAccuracy(getAccuracy());
+        return location;
+    }
+
+    /**
+     * 输入一个定位点，结果通过 {@link #getLatitude()} 等方法获取
+     * @param accuracyM 精度，单位：米，小于等于 0 表示未知
+     */
+    public void update(double lat, double lng, float accuracyM, long timeMs) {
+        double variance = accuracyM > 0 ? (double) accuracyM * accuracyM : DEFAULT_ACCURACY_M * DEFAULT_ACCURACY_M;
+        long dtMs = timeMs - mLastTimeMs;
+        if (!mInitialized || dtMs < 0 || dtMs > mMaxGapMs) {
+            initialize(lat, lng, variance, timeMs);
+            return;
+        }
+        mLastTimeMs = timeMs;
+
+        double dt = dtMs / 1000.0;
+        if (dt > 0) {
+            predict(dt);
+        }
+
+        double zx = (lng - mOriginLng) * mMetersPerLng;
+        double zy = (lat - mOriginLat) * METERS_PER_DEGREE;
+
+        // 东向更新
+        double s = mPxx + variance;
+        double kp = mPxx / s;
+        double kv = mPxv / s;
+        double residual = zx - mX;
+        mX += kp * residual;
+        mVx += kv * residual;
+        mPvv -= kv * mPxv;
+        mPxv -= kp * mPxv;
+        mPxx -= kp * mPxx;
+
+        // 北向更新
+        s = mPyy + variance;
+        kp = mPyy / s;
+        kv = mPyv / s;
+        residual = zy - mY;
+        mY += kp * residual;
+        mVy += kv * residual;
+        mPww -= kv * mPyv;
+        mPyv -= kp * mPyv;
+        mPyy -= kp * mPyy;
+
+        if (Math.abs(mX) > REBASE_DISTANCE_M || Math.abs(mY) > REBASE_DISTANCE_M) {
+            rebase();
+        }
+    }
+
+    public double getLatitude() {
+        return mOriginLat + mY / METERS_PER_DEGREE;
+    }
+
+    public double getLongitude() {
+        return mOriginLng + mX / mMetersPerLng;
+    }
+
+    /**
+     * @return 估计位置的精度（标准差），单位：米
+     */
+    public float getAccuracy() {
+        return (float) Math.sqrt(Math.max(mPxx, mPyy));
+    }
+
+    /**
+     * @return 估计速度，单位：m/s
+     */
+    public float getSpeed() {
+        return (float) Math.sqrt(mVx * mVx + mVy * mVy);
+    }
+
+    /**
+     * @return 估计航向，正北为 0，顺时针，单位：度
+     */
+    public float getBearing() {
+        double bearing = Math.toDegrees(Math.atan2(mVx, mVy));
+        return (float) (bearing < 0 ? bearing + 360 : bearing);
+    }
+
+    private void initialize(double lat, double lng, double variance, long timeMs) {
+        mInitialized = true;
+        mLastTimeMs = timeMs;
+        mOriginLat = lat;
+        mOriginLng = lng;
+        mMetersPerLng = METERS_PER_DEGREE * Math.cos(Math.toRadians(lat));
+
+        // 速度未知，初始方差取一个较大的值（约 10m/s 的标准差）
+        mX = 0;
+        mVx = 0;
+        mPxx = variance;
+        mPxv = 0;
+        mPvv = 100;
+        mY = 0;
+        mVy = 0;
+        mPyy = variance;
+        mPyv = 0;
+        mPww = 100;
+    }
+
+    /**
+     * x' = x + v * dt，P' = F P F^T + Q
+     */
+    private void predict(double dt) {
+        double dt2 = dt * dt;
+        double q = mAccelerationVariance;
+        double qxx = q * dt2 * dt2 / 4;
+        double qxv = q * dt2 * dt / 2;
+        double qvv = q * dt2;
+
+        mX += mVx * dt;
+        mPxx += dt * (2 * mPxv + dt * mPvv) + qxx;
+        mPxv += dt * mPvv + qxv;
+        mPvv += qvv;
+
+        mY += mVy * dt;
+        mPyy += dt * (2 * mPyv + dt * mPww) + qxx;
+        mPyv += dt * mPww + qxv;
+        mPww += qvv;
+    }
+
+    private void rebase() {
+        double lat = getLatitude();
+        double lng = getLongitude();
+        mOriginLat = lat;
+        mOriginLng = lng;
+        mMetersPerLng = METERS_PER_DEGREE * Math.cos(Math.toRadians(lat));
+        mX = 0;
+        mY = 0;
+    }
+}
@@ -0,0 +1,235 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <ul>
+ *     <li>Description: 单次定位的耗时、精度分布与结果计数</li>
+ *     <li>Date: 2026-10-18 21:40</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每个 LocationManager 一份，所有 {@link LocationCore} 共享，通过 {@link LocationCore#getMetrics()} 获取。
+ * 记录路径无锁、不分配内存；{@link #snapshot()} 可定期导出到自己的监控系统。
+ * <ul>
+ *     <li>timeToFirstFix：请求发起到 GPS 定位成功回调的耗时，合并的请求各自计算</li>
+ *     <li>gpsLatency / networkLatency：一次获取过程开始到该 Provider 返回定位的耗时</li>
+ *     <li>timeToTimeout：请求发起到超时回调的耗时</li>
+ *     <li>accuracy：回调给调用方的定位精度，单位：分米</li>
+ * </ul>
+ */
+public final class LocationMetrics {
+    private final Histogram mTimeToFirstFixMs = new Histogram();
+    private final Histogram mGpsLatencyMs = new Histogram();
+    private final Histogram mNetworkLatencyMs = new Histogram();
+    private final Histogram mTimeToTimeoutMs = new Histogram();
+    private final Histogram mAccuracyDm = new Histogram();
+
+    private final AtomicLong mRequests = new AtomicLong();
+    private final AtomicLong mCoalesced = new AtomicLong();
+    private final AtomicLong mCached = new AtomicLong();
+    private final AtomicLong mTimedOut = new AtomicLong();
+    // 超时后只能回调获取过程开始前的最后已知定位
+    private final AtomicLong mStaleFallbacks = new AtomicLong();
+    private final AtomicLong mFailed = new AtomicLong();
+    private final AtomicLong mCancelled = new AtomicLong();
+    private final AtomicLong mGpsWins = new AtomicLong();
+    private final AtomicLong mNetworkWins = new AtomicLong();
+
+    LocationMetrics() {}
+
+    void recordRequest() {
+        mRequests.incrementAndGet();
+    }
+
+    void recordCoalesced() {
+        mCoalesced.incrementAndGet();
+    }
+
+    void recordCached(float accuracyM) {
+        mCached.incrementAndGet();
+        recordAccuracy(accuracyM);
+    }
+
+    void recordFailed() {
+        mFailed.incrementAndGet();
+    }
+
+    void recordCancelled() {
+        mCancelled.incrementAndGet();
+    }
+
+    void recordGpsLatency(long latencyMs) {
+        mGpsLatencyMs.record(latencyMs);
+    }
+
+    void recordNetworkLatency(long latencyMs) {
+        mNetworkLatencyMs.record(latencyMs);
+    }
+
+    void recordFirstFix(long timeToFirstFixMs) {
+        mTimeToFirstFixMs.record(timeToFirstFixMs);
+    }
+
+    /**
+     * @param stale 回调的是获取过程开始前的最后已知定位
+     */
+    void recordTimeout(long timeToTimeoutMs, boolean stale) {
+        mTimedOut.incrementAndGet();
+        mTimeToTimeoutMs.record(timeToTimeoutMs);
+        if (stale) {
+            mStaleFallbacks.incrementAndGet();
+        }
+    }
+
+    /**
+     * 记录回调给调用方的定位来源与精度
+     */
+    void recordDelivery(boolean fromGps, boolean fromNetwork, float accuracyM) {
+        if (fromGps) {
+            mGpsWins.incrementAndGet();
+        } else if (fromNetwork) {
+            mNetworkWins.incrementAndGet();
+        }
+        recordAccuracy(accuracyM);
+    }
+
+    private void recordAccuracy(float accuracyM) {
+        mAccuracyDm.record(Math.round(accuracyM * 10));
+    }
+
+    @NonNull
+    public Snapshot snapshot() {
+        return new Snapshot(this, false);
+    }
+
+    /**
+     * 取快照并清零，适合按固定周期导出增量
+     */
+    @NonNull
+    public Snapshot snapshotAndReset() {
+        return new Snapshot(this, true);
+    }
+
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    private static long read(AtomicLong counter, boolean reset) {
+        return reset ? counter.getAndSet(0) : counter.get();
+    }
+
+    private static Histogram.Snapshot read(Histogram histogram, boolean reset) {
+        return reset ? histogram.snapshotAndReset() : histogram.snapshot();
+    }
+
+    public static final class Snapshot {
+        private final Histogram.Snapshot mTimeToFirstFixMs;
+        private final Histogram.Snapshot mGpsLatencyMs;
+        private final Histogram.Snapshot mNetworkLatencyMs;
+        private final Histogram.Snapshot mTimeToTimeoutMs;
+        private final Histogram.Snapshot mAccuracyDm;
+
+        private final long mRequests;
+        private final long mCoalesced;
+        private final long mCached;
+        private final long mTimedOut;
+        private final long mStaleFallbacks;
+        private final long mFailed;
+        private final long mCancelled;
+        private final long mGpsWins;
+        private final long mNetworkWins;
+
+        Snapshot(LocationMetrics metrics, boolean reset) {
+            mTimeToFirstFixMs = read(metrics.mTimeToFirstFixMs, reset);
+            mGpsLatencyMs = read(metrics.mGpsLatencyMs, reset);
+            mNetworkLatencyMs = read(metrics.mNetworkLatencyMs, reset);
+            mTimeToTimeoutMs = read(metrics.mTimeToTimeoutMs, reset);
+            mAccuracyDm = read(metrics.mAccuracyDm, reset);
+            mRequests = read(metrics.mRequests, reset);
+            mCoalesced = read(metrics.mCoalesced, reset);
+            mCached = read(metrics.mCached, reset);
+            mTimedOut = read(metrics.mTimedOut, reset);
+            mStaleFallbacks = read(metrics.mStaleFallbacks, reset);
+            mFailed = read(metrics.mFailed, reset);
+            mCancelled = read(metrics.mCancelled, reset);
+            mGpsWins = read(metrics.mGpsWins, reset);
+            mNetworkWins = read(metrics.mNetworkWins, reset);
+        }
+
+        @NonNull
+        public Histogram.Snapshot getTimeToFirstFixMs() {
+            return mTimeToFirstFixMs;
+        }
+
+        @NonNull
+        public Histogram.Snapshot getGpsLatencyMs() {
+            return mGpsLatencyMs;
+        }
+
+        @NonNull
+        public Histogram.Snapshot getNetworkLatencyMs() {
+            return mNetworkLatencyMs;
+        }
+
+        @NonNull
+        public Histogram.Snapshot getTimeToTimeoutMs() {
+            return mTimeToTimeoutMs;
+        }
+
+        @NonNull
+        public Histogram.Snapshot getAccuracyDm() {
+            return mAccuracyDm;
+        }
+
+        public long getRequests() {
+            return mRequests;
+        }
+
+        public long getCoalesced() {
+            return mCoalesced;
+        }
+
+        public long getCached() {
+            return mCached;
+        }
+
+        public long getTimedOut() {
+            return mTimedOut;
+        }
+
+        public long getStaleFallbacks() {
+            return mStaleFallbacks;
+        }
+
+        public long getFailed() {
+            return mFailed;
+        }
+
+        public long getCancelled() {
+            return mCancelled;
+        }
+
+        public long getGpsWins() {
+            return mGpsWins;
+        }
+
+        public long getNetworkWins() {
+            return mNetworkWins;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "requests=" + mRequests + ", coalesced=" + mCoalesced + ", cached=" + mCached
+                    + ", timedOut=" + mTimedOut + ", staleFallbacks=" + mStaleFallbacks + ", failed=" + mFailed
+                    + ", cancelled=" + mCancelled + ", gpsWins=" + mGpsWins + ", networkWins=" + mNetworkWins
+                    + "\ntimeToFirstFixMs: " + mTimeToFirstFixMs
+                    + "\ngpsLatencyMs: " + mGpsLatencyMs
+                    + "\nnetworkLatencyMs: " + mNetworkLatencyMs
+                    + "\ntimeToTimeoutMs: " + mTimeToTimeoutMs
+                    + "\naccuracyDm: " + mAccuracyDm;
+        }
+    }
+}
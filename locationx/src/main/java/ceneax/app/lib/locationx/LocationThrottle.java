@@ -0,0 +1,53 @@
+package ceneax.app.lib.locationx;
+
+/**
+ * <ul>
+ *     <li>Description: 按最小时间间隔和最小距离过滤定位点，语义与 LocationManager.requestLocationUpdates 一致</li>
+ *     <li>Date: 2026-10-18 18:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 时间间隔和距离都相对于上一个通过的点计算。非线程安全。
+ */
+class LocationThrottle {
+    private final long mMinTimeMs;
+    private final float mMinDistanceM;
+
+    private boolean mHasLast;
+    private double mLastLat;
+    private double mLastLng;
+    private long mLastTimeMs;
+
+    LocationThrottle(long minTimeMs, float minDistanceM) {
+        mMinTimeMs = Math.max(0, minTimeMs);
+        mMinDistanceM = Math.max(0, minDistanceM);
+    }
+
+    long getMinTimeMs() {
+        return mMinTimeMs;
+    }
+
+    float getMinDistanceM() {
+        return mMinDistanceM;
+    }
+
+    /**
+     * @param toleranceMs 时间间隔的容差，用于吸收系统回调的时间抖动，
+     *                    例如以 1000ms 注册时相邻两次定位可能只相隔 998ms
+     * @return 是否通过，通过时记录为新的上一个点
+     */
+    boolean accept(double lat, double lng, long timeMs, long toleranceMs) {
+        if (mHasLast) {
+            if (timeMs - mLastTimeMs + toleranceMs < mMinTimeMs) {
+                return false;
+            }
+            if (mMinDistanceM > 0 && LocationUtil.getDistance(lat, lng, mLastLat, mLastLng) * 1000 < mMinDistanceM) {
+                return false;
+            }
+        }
+        mHasLast = true;
+        mLastLat = lat;
+        mLastLng = lng;
+        mLastTimeMs = timeMs;
+        return true;
+    }
+}
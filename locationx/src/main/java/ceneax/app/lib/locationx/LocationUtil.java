@@ -17,15 +17,35 @@ public class LocationUtil {
     // 两分钟，毫秒值
     private static final int TWO_MINUTES = 1000 * 60 * 2;
     // 地球半径6378.137，单位为千米
-    private static final double EARTH_RADIUS = 6378.137;
+    static final double EARTH_RADIUS = 6378.137;
     // 圆周率PI
     private static final double PI = Math.PI;
     // 卫星椭球坐标投影到平面地图坐标系的投影因子
-    private static final double AXIS = 6378245.0;
+    static final double AXIS = 6378245.0;
     // 椭球的偏心率(a^2 - b^2) / a^2
-    private static final double OFFSET = 0.00669342162296594323;
+    static final double OFFSET = 0.00669342162296594323;
     // 圆周率转换量
     private static final double X_PI = PI * 3000.0 / 180.0;
+    // GCJ02 加偏生效的经纬度范围
+    static final double CHINA_MIN_LNG = 72.004;
+    static final double CHINA_MAX_LNG = 137.8347;
+    static final double CHINA_MIN_LAT = 0.8293;
+    static final double CHINA_MAX_LAT = 55.8271;
+
+    // 批量转换的操作类型
+    private static final int OP_GCJ02_TO_BD09 = 0;
+    private static final int OP_BD09_TO_GCJ02 = 1;
+    private static final int OP_BD09_TO_WGS84 = 2;
+    private static final int OP_WGS84_TO_BD09 = 3;
+    private static final int OP_WGS84_TO_GCJ02 = 4;
+    private static final int OP_GCJ02_TO_WGS84_FUZZY = 5;
+    private static final int OP_GCJ02_TO_WGS84_PRECISE = 6;
+    private static final int OP_BD09_TO_WGS84_PRECISE = 7;
+
+    // 精确逆转换的收敛阈值，单位：度
+    private static final double PRECISE_THRESHOLD = 0.000000001;
+    // 精确逆转换的最大迭代次数，正常情况下远达不到
+    private static final int PRECISE_MAX_ITERATIONS = 30;
 
     public static boolean isBetterLocation(Location newLocation, Location currentBestLocation) {
         if (newLocation == null) {
@@ -35,7 +55,16 @@ public class LocationUtil {
             return true;
         }
 
-        long timeDelta = newLocation.getTime() - currentBestLocation.getTime();
+        return isBetterLocation(newLocation.getTime(), newLocation.getAccuracy(), newLocation.getProvider(),
+                currentBestLocation.getTime(), currentBestLocation.getAccuracy(), currentBestLocation.getProvider());
+    }
+
+    /**
+     * {@link #isBetterLocation(Location, Location)} 的基本类型版本，只依赖时间、精度与来源，不需要 {@link Location} 对象
+     */
+    public static boolean isBetterLocation(long newTime, float newAccuracy, String newProvider,
+                                           long currentBestTime, float currentBestAccuracy, String currentBestProvider) {
+        long timeDelta = newTime - currentBestTime;
         boolean isSignificantlyNewer = timeDelta > TWO_MINUTES;
         boolean isSignificantlyOlder = timeDelta < -TWO_MINUTES;
         boolean isNewer = timeDelta > 0;
@@ -46,11 +75,11 @@ public class LocationUtil {
             return false;
         }
 
-        int accuracyDelta = (int) (newLocation.getAccuracy() - currentBestLocation.getAccuracy());
+        int accuracyDelta = (int) (newAccuracy - currentBestAccuracy);
         boolean isLessAccurate = accuracyDelta > 0;
         boolean isMoreAccurate = accuracyDelta < 0;
         boolean isSignificantlyLessAccurate = accuracyDelta > 200;
-        boolean isFromSameProvider = Objects.equals(newLocation.getProvider(), currentBestLocation.getProvider());
+        boolean isFromSameProvider = Objects.equals(newProvider, currentBestProvider);
 
         if (isMoreAccurate) {
             return true;
@@ -84,6 +113,50 @@ public class LocationUtil {
         return s;
     }
 
+    /**
+     * 计算点列表依次连成的折线长度
+     * @return 单位 KM，少于两个点时为 0
+     */
+    public static double getDistance(@NonNull PointList points) {
+        double[] lats = points.mLatitudes;
+        double[] lngs = points.mLongitudes;
+        double distance = 0;
+        for (int i = 1, size = points.mSize; i < size; i ++) {
+            distance += getDistance(lats[i - 1], lngs[i - 1], lats[i], lngs[i]);
+        }
+        return distance;
+    }
+
+    /**
+     * 计算坐标点到线段的最短距离，在坐标点附近按等距圆柱投影展开为平面计算，适用于数十千米以内的线段
+     * @param lat 坐标维度
+     * @param lng 坐标经度
+     * @param lat1 线段起点维度
+     * @param lng1 线段起点经度
+     * @param lat2 线段终点维度
+     * @param lng2 线段终点经度
+     * @return 单位 KM
+     */
+    public static double getSegmentDistance(double lat, double lng, double lat1, double lng1, double lat2, double lng2) {
+        double cosLat = Math.cos(rad(lat));
+        double x1 = rad(lng1 - lng) * cosLat * EARTH_RADIUS;
+        double y1 = rad(lat1 - lat) * EARTH_RADIUS;
+        double x2 = rad(lng2 - lng) * cosLat * EARTH_RADIUS;
+        double y2 = rad(lat2 - lat) * EARTH_RADIUS;
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : -(x1 * dx + y1 * dy) / lengthSquared;
+        if (t < 0) {
+            t = 0;
+        } else if (t > 1) {
+            t = 1;
+        }
+        double x = x1 + t * dx;
+        double y = y1 + t * dy;
+        return Math.sqrt(x * x + y * y);
+    }
+
     /**
      * 用于 {@link CoordType#GCJ02} 转换为 {@link CoordType#BD09}
      * @param lat gcj02维度
@@ -92,10 +165,7 @@ public class LocationUtil {
      */
     public static double[] gcj02ToBd09(double lat, double lng) {
         double[] latLng = new double[2];
-        double z = Math.sqrt(lng * lng + lat * lat) + 0.00002 * Math.sin(lat * X_PI);
-        double theta = Math.atan2(lat, lng) + 0.000003 * Math.cos(lng * X_PI);
-        latLng[0] = z * Math.sin(theta) + 0.006;
-        latLng[1] = z * Math.cos(theta) + 0.0065;
+        gcj02ToBd09(lat, lng, latLng, 0, latLng, 1);
         return latLng;
     }
 
@@ -106,13 +176,8 @@ public class LocationUtil {
      * @return 维经数组（gcj02）
      */
     public static double[] bd09ToGcj02(double lat, double lng) {
-        double x = lng - 0.0065;
-        double y = lat - 0.006;
         double[] latLng = new double[2];
-        double z = Math.sqrt(x * x + y * y) - 0.00002 * Math.sin(y * X_PI);
-        double theta = Math.atan2(y, x) - 0.000003 * Math.cos(x * X_PI);
-        latLng[0] = z * Math.sin(theta);
-        latLng[1] = z * Math.cos(theta);
+        bd09ToGcj02(lat, lng, latLng, 0, latLng, 1);
         return latLng;
     }
 
@@ -123,8 +188,21 @@ public class LocationUtil {
      * @return 维经数组（wgs84）
      */
     public static double[] bd09ToWgs84(double lat, double lng) {
-        double[] latLng = bd09ToGcj02(lat, lng);
-        return gcj02ToWgs84Fuzzy(latLng[0], latLng[1]);
+        double[] latLng = new double[2];
+        bd09ToWgs84(lat, lng, latLng, 0, latLng, 1);
+        return latLng;
+    }
+
+    /**
+     * 用于 {@link CoordType#BD09} 精确转为 {@link CoordType#WGS84}
+     * @param lat bd09维度
+     * @param lng bd09经度
+     * @return 维经数组（wgs84）
+     */
+    public static double[] bd09ToWgs84Precise(double lat, double lng) {
+        double[] latLng = new double[2];
+        bd09ToWgs84Precise(lat, lng, latLng, 0, latLng, 1);
+        return latLng;
     }
 
     /**
@@ -134,8 +212,9 @@ public class LocationUtil {
      * @return 维经数组（bd09）
      */
     public static double[] wgs84ToBd09(double lat, double lng) {
-        double[] latLng = wgs84ToGcj02(lat, lng);
-        return gcj02ToBd09(latLng[0], latLng[1]);
+        double[] latLng = new double[2];
+        wgs84ToBd09(lat, lng, latLng, 0, latLng, 1);
+        return latLng;
     }
 
     /**
@@ -146,14 +225,7 @@ public class LocationUtil {
      */
     public static double[] wgs84ToGcj02(double lat, double lng) {
         double[] latLng = new double[2];
-        if (outOfChina(lat, lng)) {
-            latLng[0] = lat;
-            latLng[1] = lng;
-            return latLng;
-        }
-        double[] deltaD = transform(lat, lng);
-        latLng[0] = lat + deltaD[0];
-        latLng[1] = lng + deltaD[1];
+        wgs84ToGcj02(lat, lng, latLng, 0, latLng, 1);
         return latLng;
     }
 
@@ -165,14 +237,7 @@ public class LocationUtil {
      */
     public static double[] gcj02ToWgs84Fuzzy(double lat, double lng) {
         double[] latLng = new double[2];
-        if (outOfChina(lat, lng)) {
-            latLng[0] = lat;
-            latLng[1] = lng;
-            return latLng;
-        }
-        double[] deltaD = transform(lat, lng);
-        latLng[0] = lat - deltaD[0];
-        latLng[1] = lng - deltaD[1];
+        gcj02ToWgs84Fuzzy(lat, lng, latLng, 0, latLng, 1);
         return latLng;
     }
 
@@ -183,38 +248,8 @@ public class LocationUtil {
      * @return 维经数组（wgs84）
      */
     public static double[] gcj02ToWgs84Precise(double lat, double lng) {
-        double initDelta = 0.01;
-        double threshold = 0.000000001;
-        double dLat = initDelta, dLon = initDelta;
-        double mLat = lat - dLat, mLon = lng - dLon;
-        double pLat = lat + dLat, pLon = lng + dLon;
-        double wgsLat, wgsLon, i = 0;
-        while (true) {
-            wgsLat = (mLat + pLat) / 2;
-            wgsLon = (mLon + pLon) / 2;
-            double[] tmp = wgs84ToGcj02(wgsLat, wgsLon);
-            dLat = tmp[0] - lat;
-            dLon = tmp[1] - lng;
-            if ((Math.abs(dLat) < threshold) && (Math.abs(dLon) < threshold)) {
-                break;
-            }
-            if (dLat > 0) {
-                pLat = wgsLat;
-            } else {
-                mLat = wgsLat;
-            }
-            if (dLon > 0) {
-                pLon = wgsLon;
-            } else {
-                mLon = wgsLon;
-            }
-            if (++i > 10000) {
-                break;
-            }
-        }
         double[] latLng = new double[2];
-        latLng[0] = wgsLat;
-        latLng[1] = wgsLon;
+        gcj02ToWgs84Precise(lat, lng, latLng, 0, latLng, 1);
         return latLng;
     }
 
@@ -226,6 +261,332 @@ public class LocationUtil {
      */
     public static double[] transform(double lat, double lng) {
         double[] latLng = new double[2];
+        transform(lat, lng, latLng, 0, latLng, 1);
+        return latLng;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // 批量转换：读写调用方提供的数组，转换过程中不产生任何对象分配
+    // 分离数组形式：lats[offset + i] / lngs[offset + i] 为第 i 个点，结果写入 outLats / outLngs 的 outOffset + i
+    // 交错数组形式：latLngs[offset + 2i] 为维度、latLngs[offset + 2i + 1] 为经度，count 为点数
+    // 输出数组可以与输入数组相同，输出区间与输入区间部分重叠时结果与 System.arraycopy 一样，等同于先复制输入再转换
+    // ---------------------------------------------------------------------------------------------
+
+    public static void gcj02ToBd09(double[] lats, double[] lngs, int offset, int length,
+                                   double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_GCJ02_TO_BD09, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void gcj02ToBd09(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_GCJ02_TO_BD09, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void bd09ToGcj02(double[] lats, double[] lngs, int offset, int length,
+                                   double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_BD09_TO_GCJ02, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void bd09ToGcj02(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_BD09_TO_GCJ02, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void bd09ToWgs84(double[] lats, double[] lngs, int offset, int length,
+                                   double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_BD09_TO_WGS84, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void bd09ToWgs84(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_BD09_TO_WGS84, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void bd09ToWgs84Precise(double[] lats, double[] lngs, int offset, int length,
+                                          double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_BD09_TO_WGS84_PRECISE, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void bd09ToWgs84Precise(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_BD09_TO_WGS84_PRECISE, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void wgs84ToBd09(double[] lats, double[] lngs, int offset, int length,
+                                   double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_WGS84_TO_BD09, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void wgs84ToBd09(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_WGS84_TO_BD09, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void wgs84ToGcj02(double[] lats, double[] lngs, int offset, int length,
+                                    double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_WGS84_TO_GCJ02, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void wgs84ToGcj02(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_WGS84_TO_GCJ02, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void gcj02ToWgs84Fuzzy(double[] lats, double[] lngs, int offset, int length,
+                                         double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_GCJ02_TO_WGS84_FUZZY, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void gcj02ToWgs84Fuzzy(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_GCJ02_TO_WGS84_FUZZY, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void gcj02ToWgs84Precise(double[] lats, double[] lngs, int offset, int length,
+                                           double[] outLats, double[] outLngs, int outOffset) {
+        convert(OP_GCJ02_TO_WGS84_PRECISE, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void gcj02ToWgs84Precise(double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        convert(OP_GCJ02_TO_WGS84_PRECISE, latLngs, offset, count, out, outOffset);
+    }
+
+    /**
+     * 任意两个坐标系之间的批量转换（分离数组形式），转为 WGS84 时使用精确算法，坐标系相同时只复制
+     */
+    public static void transCoord(@NonNull CoordType from, @NonNull CoordType to,
+                                  double[] lats, double[] lngs, int offset, int length,
+                                  double[] outLats, double[] outLngs, int outOffset) {
+        int op = convertOp(from, to);
+        if (op >= 0) {
+            convert(op, lats, lngs, offset, length, outLats, outLngs, outOffset);
+            return;
+        }
+        checkRange(lats.length, offset, length);
+        checkRange(lngs.length, offset, length);
+        checkRange(outLats.length, outOffset, length);
+        checkRange(outLngs.length, outOffset, length);
+        System.arraycopy(lats, offset, outLats, outOffset, length);
+        System.arraycopy(lngs, offset, outLngs, outOffset, length);
+    }
+
+    /**
+     * 任意两个坐标系之间的批量转换（交错数组形式），转为 WGS84 时使用精确算法，坐标系相同时只复制
+     */
+    public static void transCoord(@NonNull CoordType from, @NonNull CoordType to,
+                                  double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        int op = convertOp(from, to);
+        if (op >= 0) {
+            convert(op, latLngs, offset, count, out, outOffset);
+            return;
+        }
+        checkRange(latLngs.length, offset, count * 2);
+        checkRange(out.length, outOffset, count * 2);
+        System.arraycopy(latLngs, offset, out, outOffset, count * 2);
+    }
+
+    /**
+     * @return 批量转换的操作类型，坐标系相同时返回 -1
+     */
+    static int convertOp(CoordType from, CoordType to) {
+        switch (from) {
+            case WGS84:
+                return to == CoordType.GCJ02 ? OP_WGS84_TO_GCJ02 : to == CoordType.BD09 ? OP_WGS84_TO_BD09 : -1;
+            case GCJ02:
+                return to == CoordType.WGS84 ? OP_GCJ02_TO_WGS84_PRECISE : to == CoordType.BD09 ? OP_GCJ02_TO_BD09 : -1;
+            case BD09:
+                return to == CoordType.WGS84 ? OP_BD09_TO_WGS84_PRECISE : to == CoordType.GCJ02 ? OP_BD09_TO_GCJ02 : -1;
+            default:
+                throw new IllegalArgumentException("Unknown coord type: " + from);
+        }
+    }
+
+    static void convert(int op, double[] lats, double[] lngs, int offset, int length,
+                        double[] outLats, double[] outLngs, int outOffset) {
+        checkRange(lats.length, offset, length);
+        checkRange(lngs.length, offset, length);
+        checkRange(outLats.length, outOffset, length);
+        checkRange(outLngs.length, outOffset, length);
+        boolean aliased = outLats == lats || outLats == lngs || outLngs == lats || outLngs == lngs;
+        if (aliased && outOffset > offset) {
+            // 输出在输入之后，从后往前转换才不会覆盖尚未读取的点
+            for (int i = length - 1; i >= 0; i --) {
+                int o = outOffset + i;
+                convert(op, lats[offset + i], lngs[offset + i], outLats, o, outLngs, o);
+            }
+            return;
+        }
+        for (int i = 0; i < length; i ++) {
+            int o = outOffset + i;
+            convert(op, lats[offset + i], lngs[offset + i], outLats, o, outLngs, o);
+        }
+    }
+
+    static void convert(int op, double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        checkRange(latLngs.length, offset, count * 2);
+        checkRange(out.length, outOffset, count * 2);
+        if (out == latLngs && outOffset > offset) {
+            for (int i = count - 1; i >= 0; i --) {
+                int o = outOffset + i * 2;
+                convert(op, latLngs[offset + i * 2], latLngs[offset + i * 2 + 1], out, o, out, o + 1);
+            }
+            return;
+        }
+        for (int i = 0; i < count; i ++) {
+            int o = outOffset + i * 2;
+            convert(op, latLngs[offset + i * 2], latLngs[offset + i * 2 + 1], out, o, out, o + 1);
+        }
+    }
+
+    private static void convert(int op, double lat, double lng,
+                                double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        switch (op) {
+            case OP_GCJ02_TO_BD09:
+                gcj02ToBd09(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_BD09_TO_GCJ02:
+                bd09ToGcj02(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_BD09_TO_WGS84:
+                bd09ToWgs84(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_BD09_TO_WGS84_PRECISE:
+                bd09ToWgs84Precise(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_WGS84_TO_BD09:
+                wgs84ToBd09(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_WGS84_TO_GCJ02:
+                wgs84ToGcj02(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_GCJ02_TO_WGS84_FUZZY:
+                gcj02ToWgs84Fuzzy(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            case OP_GCJ02_TO_WGS84_PRECISE:
+                gcj02ToWgs84Precise(lat, lng, outLat, latIndex, outLng, lngIndex);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown convert op: " + op);
+        }
+    }
+
+    /**
+     * @return 是否为迭代求解的精确逆转换，单点耗时是正向转换的数倍
+     */
+    static boolean isIterativeOp(int op) {
+        return op == OP_GCJ02_TO_WGS84_PRECISE || op == OP_BD09_TO_WGS84_PRECISE;
+    }
+
+    static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new ArrayIndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + arrayLength);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // 单点转换实现：结果直接写入 outLat[latIndex] / outLng[lngIndex]
+    // 入参先全部读入局部变量，因此输出位置与输入位置重叠也是安全的
+    // ---------------------------------------------------------------------------------------------
+
+    private static void gcj02ToBd09(double lat, double lng,
+                                    double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        double z = Math.sqrt(lng * lng + lat * lat) + 0.00002 * Math.sin(lat * X_PI);
+        double theta = Math.atan2(lat, lng) + 0.000003 * Math.cos(lng * X_PI);
+        outLat[latIndex] = z * Math.sin(theta) + 0.006;
+        outLng[lngIndex] = z * Math.cos(theta) + 0.0065;
+    }
+
+    private static void bd09ToGcj02(double lat, double lng,
+                                    double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        double x = lng - 0.0065;
+        double y = lat - 0.006;
+        double z = Math.sqrt(x * x + y * y) - 0.00002 * Math.sin(y * X_PI);
+        double theta = Math.atan2(y, x) - 0.000003 * Math.cos(x * X_PI);
+        outLat[latIndex] = z * Math.sin(theta);
+        outLng[lngIndex] = z * Math.cos(theta);
+    }
+
+    private static void bd09ToWgs84(double lat, double lng,
+                                    double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        bd09ToGcj02(lat, lng, outLat, latIndex, outLng, lngIndex);
+        gcj02ToWgs84Fuzzy(outLat[latIndex], outLng[lngIndex], outLat, latIndex, outLng, lngIndex);
+    }
+
+    private static void wgs84ToBd09(double lat, double lng,
+                                    double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        wgs84ToGcj02(lat, lng, outLat, latIndex, outLng, lngIndex);
+        gcj02ToBd09(outLat[latIndex], outLng[lngIndex], outLat, latIndex, outLng, lngIndex);
+    }
+
+    private static void wgs84ToGcj02(double lat, double lng,
+                                     double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        if (outOfChina(lat, lng)) {
+            outLat[latIndex] = lat;
+            outLng[lngIndex] = lng;
+            return;
+        }
+        transform(lat, lng, outLat, latIndex, outLng, lngIndex);
+        outLat[latIndex] = lat + outLat[latIndex];
+        outLng[lngIndex] = lng + outLng[lngIndex];
+    }
+
+    private static void gcj02ToWgs84Fuzzy(double lat, double lng,
+                                          double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        if (outOfChina(lat, lng)) {
+            outLat[latIndex] = lat;
+            outLng[lngIndex] = lng;
+            return;
+        }
+        transform(lat, lng, outLat, latIndex, outLng, lngIndex);
+        outLat[latIndex] = lat - outLat[latIndex];
+        outLng[lngIndex] = lng - outLng[lngIndex];
+    }
+
+    /**
+     * 以正向转换的偏移做不动点迭代：w = w - (wgs84ToGcj02(w) - gcj)。
+     * 偏移量对坐标的导数在千分之几的量级，每次迭代误差缩小两到三个数量级，通常 3 ~ 4 次即可收敛到阈值以内，
+     * 而原来的二分法需要数十次正向转换
+     */
+    private static void gcj02ToWgs84Precise(double lat, double lng,
+                                            double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        double wgsLat = lat, wgsLon = lng;
+        for (int i = 0; i < PRECISE_MAX_ITERATIONS; i ++) {
+            // 输出位置暂作正向转换的临时空间，避免每次迭代分配数组
+            wgs84ToGcj02(wgsLat, wgsLon, outLat, latIndex, outLng, lngIndex);
+            double dLat = outLat[latIndex] - lat;
+            double dLon = outLng[lngIndex] - lng;
+            if ((Math.abs(dLat) < PRECISE_THRESHOLD) && (Math.abs(dLon) < PRECISE_THRESHOLD)) {
+                break;
+            }
+            wgsLat -= dLat;
+            wgsLon -= dLon;
+        }
+        outLat[latIndex] = wgsLat;
+        outLng[lngIndex] = wgsLon;
+    }
+
+    /**
+     * 以 {@link #bd09ToGcj02} 的结果为初值，用 {@link #gcj02ToBd09} 做同样的不动点迭代，消除其约 0.2 米的近似误差
+     */
+    private static void bd09ToGcj02Precise(double lat, double lng,
+                                           double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        bd09ToGcj02(lat, lng, outLat, latIndex, outLng, lngIndex);
+        double gcjLat = outLat[latIndex], gcjLon = outLng[lngIndex];
+        for (int i = 0; i < PRECISE_MAX_ITERATIONS; i ++) {
+            gcj02ToBd09(gcjLat, gcjLon, outLat, latIndex, outLng, lngIndex);
+            double dLat = outLat[latIndex] - lat;
+            double dLon = outLng[lngIndex] - lng;
+            if ((Math.abs(dLat) < PRECISE_THRESHOLD) && (Math.abs(dLon) < PRECISE_THRESHOLD)) {
+                break;
+            }
+            gcjLat -= dLat;
+            gcjLon -= dLon;
+        }
+        outLat[latIndex] = gcjLat;
+        outLng[lngIndex] = gcjLon;
+    }
+
+    private static void bd09ToWgs84Precise(double lat, double lng,
+                                           double[] outLat, int latIndex, double[] outLng, int lngIndex) {
+        bd09ToGcj02Precise(lat, lng, outLat, latIndex, outLng, lngIndex);
+        gcj02ToWgs84Precise(outLat[latIndex], outLng[lngIndex], outLat, latIndex, outLng, lngIndex);
+    }
+
+    private static void transform(double lat, double lng,
+                                  double[] outLat, int latIndex, double[] outLng, int lngIndex) {
         double dLat = transformLat(lng - 105.0, lat - 35.0);
         double dLon = transformLng(lng - 105.0, lat - 35.0);
         double radLat = lat / 180.0 * PI;
@@ -234,9 +595,8 @@ public class LocationUtil {
         double sqrtMagic = Math.sqrt(magic);
         dLat = (dLat * 180.0) / ((AXIS * (1 - OFFSET)) / (magic * sqrtMagic) * PI);
         dLon = (dLon * 180.0) / (AXIS / sqrtMagic * Math.cos(radLat) * PI);
-        latLng[0] = dLat;
-        latLng[1] = dLon;
-        return latLng;
+        outLat[latIndex] = dLat;
+        outLng[lngIndex] = dLon;
     }
 
     public static double transformLat(double x, double y) {
@@ -256,13 +616,24 @@ public class LocationUtil {
     }
 
     public static boolean outOfChina(double lat, double lon) {
-        if (lon < 72.004 || lon > 137.8347) {
+        if (lon < CHINA_MIN_LNG || lon > CHINA_MAX_LNG) {
             return true;
         }
-        return lat < 0.8293 || lat > 55.8271;
+        return lat < CHINA_MIN_LAT || lat > CHINA_MAX_LAT;
     }
 
+    /**
+     * 把 {@link CoordType#WGS84} 的定位转换到目标坐标系
+     * @return 新的 Location，不修改入参。系统可能把同一个对象再次作为 getLastKnownLocation 的结果返回，不能原地修改
+     */
     public static Location transCoord(CoordType targetCoordType, @NonNull Location location) {
+        return transCoordInPlace(targetCoordType, new Location(location));
+    }
+
+    /**
+     * 原地转换，只用于库内部已经复制过的 Location
+     */
+    static Location transCoordInPlace(CoordType targetCoordType, @NonNull Location location) {
         switch (targetCoordType) {
             case WGS84:
                 break;
@@ -280,4 +651,16 @@ public class LocationUtil {
 
         return location;
     }
-}
\ No newline at end of file
+
+    /**
+     * 把整个点列表原地转换到目标坐标系，转为 WGS84 时使用精确算法，坐标系相同时不做任何事
+     */
+    public static void transCoord(@NonNull CoordType targetCoordType, @NonNull PointList points) {
+        if (points.mCoordType == targetCoordType) {
+            return;
+        }
+        transCoord(points.mCoordType, targetCoordType, points.mLatitudes, points.mLongitudes, 0, points.mSize,
+                points.mLatitudes, points.mLongitudes, 0);
+        points.mCoordType = targetCoordType;
+    }
+}
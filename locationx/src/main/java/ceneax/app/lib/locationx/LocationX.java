@@ -24,10 +24,20 @@ public class LocationX {
         mApp = application;
     }
 
+    /**
+     * 设置日志输出，日志在库的日志线程上异步批量回调
+     */
     public static void setLogger(@Nullable ILogPrinter logPrinter) {
         LXLog.setLogPrinter(logPrinter);
     }
 
+    /**
+     * 设置最低日志级别，默认 {@link android.util.Log#DEBUG}，{@link android.util.Log#ASSERT} 关闭所有日志
+     */
+    public static void setLogLevel(int level) {
+        LXLog.setLevel(level);
+    }
+
     public static void setCoordType(CoordType coordType) {
         mBaseCoordType = coordType;
     }
@@ -39,4 +49,11 @@ public class LocationX {
     public static LocationCore create() {
         return new LocationCore((LocationManager) mApp.getSystemService(Context.LOCATION_SERVICE), mBaseCoordType);
     }
+
+    /**
+     * 使用指定的定位来源，例如回放轨迹文件的 {@link ReplayLocationSource}
+     */
+    public static LocationCore create(@NonNull ILocationSource source) {
+        return new LocationCore(source, mBaseCoordType);
+    }
 }
\ No newline at end of file
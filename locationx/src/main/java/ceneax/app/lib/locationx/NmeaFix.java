@@ -0,0 +1,221 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+/**
+ * <ul>
+ *     <li>Description: 从 GGA、RMC、GSA 语句解析出的定位数据，字段以基本类型保存，实例由 {@link NmeaParser} 复用</li>
+ *     <li>Date: 2026-10-18 09:25</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每条语句只更新它携带的字段，其它字段保留上一次的值：GGA 更新时间、位置、定位质量、使用卫星数、HDOP、海拔，
+ * RMC 更新时间、日期、状态、位置、速度、航向，GSA 更新定位类型、PDOP、HDOP、VDOP 与参与定位的卫星编号。
+ * 语句中为空的字段记为 NaN 或 -1。非线程安全。
+ */
+public final class NmeaFix {
+    // GGA 定位质量
+    public static final int QUALITY_INVALID = 0;
+    public static final int QUALITY_GPS = 1;
+    public static final int QUALITY_DGPS = 2;
+    public static final int QUALITY_PPS = 3;
+    public static final int QUALITY_RTK_FIXED = 4;
+    public static final int QUALITY_RTK_FLOAT = 5;
+    public static final int QUALITY_ESTIMATED = 6;
+
+    // GSA 定位类型
+    public static final int FIX_TYPE_NONE = 1;
+    public static final int FIX_TYPE_2D = 2;
+    public static final int FIX_TYPE_3D = 3;
+
+    // GSA 最多列出的卫星个数
+    static final int MAX_USED_SVIDS = 12;
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    long mTimeOfDayMs = -1;
+    long mDateMs = -1;
+    double mLatitude = Double.NaN;
+    double mLongitude = Double.NaN;
+    boolean mStatusValid;
+    int mQuality = -1;
+    int mSatellitesUsed = -1;
+    float mHdop = Float.NaN;
+    float mVdop = Float.NaN;
+    float mPdop = Float.NaN;
+    int mFixType = -1;
+    double mAltitude = Double.NaN;
+    double mGeoidSeparation = Double.NaN;
+    float mSpeed = Float.NaN;
+    float mCourse = Float.NaN;
+
+    final int[] mUsedSvids = new int[MAX_USED_SVIDS];
+    int mUsedSvidCount;
+    int mUsedConstellation;
+
+    /**
+     * @return 当天 UTC 零点起的毫秒数，-1 表示未知
+     */
+    public long getTimeOfDayMs() {
+        return mTimeOfDayMs;
+    }
+
+    /**
+     * @return RMC 日期当天 UTC 零点的时间戳，-1 表示未知
+     */
+    public long getDateMs() {
+        return mDateMs;
+    }
+
+    /**
+     * @return UTC 时间戳，日期或时间未知时返回 -1
+     */
+    public long getTime() {
+        return mDateMs < 0 || mTimeOfDayMs < 0 ? -1 : mDateMs + mTimeOfDayMs;
+    }
+
+    public double getLatitude() {
+        return mLatitude;
+    }
+
+    public double getLongitude() {
+        return mLongitude;
+    }
+
+    public boolean hasPosition() {
+        return !Double.isNaN(mLatitude) && !Double.isNaN(mLongitude);
+    }
+
+    /**
+     * @return RMC 状态是否为 A（有效）
+     */
+    public boolean isStatusValid() {
+        return mStatusValid;
+    }
+
+    /**
+     * @return GGA 定位质量 QUALITY_*，-1 表示未知
+     */
+    public int getQuality() {
+        return mQuality;
+    }
+
+    /**
+     * @return GGA 中参与定位的卫星个数，-1 表示未知
+     */
+    public int getSatellitesUsed() {
+        return mSatellitesUsed;
+    }
+
+    public float getHdop() {
+        return mHdop;
+    }
+
+    public float getVdop() {
+        return mVdop;
+    }
+
+    public float getPdop() {
+        return mPdop;
+    }
+
+    /**
+     * @return GSA 定位类型 FIX_TYPE_*，-1 表示未知
+     */
+    public int getFixType() {
+        return mFixType;
+    }
+
+    /**
+     * @return 海拔（平均海平面以上），单位：米
+     */
+    public double getAltitude() {
+        return mAltitude;
+    }
+
+    /**
+     * @return 大地水准面与 WGS84 椭球面的高度差，单位：米
+     */
+    public double getGeoidSeparation() {
+        return mGeoidSeparation;
+    }
+
+    /**
+     * @return 地面速度，单位：米/秒
+     */
+    public float getSpeed() {
+        return mSpeed;
+    }
+
+    /**
+     * @return 真北航向，单位：度
+     */
+    public float getCourse() {
+        return mCourse;
+    }
+
+    /**
+     * @return 最近一条 GSA 中参与定位的卫星个数
+     */
+    public int getUsedSvidCount() {
+        return mUsedSvidCount;
+    }
+
+    public int getUsedSvid(int index) {
+        return mUsedSvids[index];
+    }
+
+    /**
+     * @return 最近一条 GSA 所属的星座，与 android.location.GnssStatus 的 CONSTELLATION_* 一致
+     */
+    public int getUsedConstellationType() {
+        return mUsedConstellation;
+    }
+
+    public void copyTo(@NonNull NmeaFix target) {
+        target.mTimeOfDayMs = mTimeOfDayMs;
+        target.mDateMs = mDateMs;
+        target.mLatitude = mLatitude;
+        target.mLongitude = mLongitude;
+        target.mStatusValid = mStatusValid;
+        target.mQuality = mQuality;
+        target.mSatellitesUsed = mSatellitesUsed;
+        target.mHdop = mHdop;
+        target.mVdop = mVdop;
+        target.mPdop = mPdop;
+        target.mFixType = mFixType;
+        target.mAltitude = mAltitude;
+        target.mGeoidSeparation = mGeoidSeparation;
+        target.mSpeed = mSpeed;
+        target.mCourse = mCourse;
+        System.arraycopy(mUsedSvids, 0, target.mUsedSvids, 0, mUsedSvidCount);
+        target.mUsedSvidCount = mUsedSvidCount;
+        target.mUsedConstellation = mUsedConstellation;
+    }
+
+    void clear() {
+        mTimeOfDayMs = -1;
+        mDateMs = -1;
+        mLatitude = Double.NaN;
+        mLongitude = Double.NaN;
+        mStatusValid = false;
+        mQuality = -1;
+        mSatellitesUsed = -1;
+        mHdop = Float.NaN;
+        mVdop = Float.NaN;
+        mPdop = Float.NaN;
+        mFixType = -1;
+        mAltitude = Double.NaN;
+        mGeoidSeparation = Double.NaN;
+        mSpeed = Float.NaN;
+        mCourse = Float.NaN;
+        mUsedSvidCount = 0;
+        mUsedConstellation = 0;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "NmeaFix[" + mLatitude + "," + mLongitude + " t=" + getTime() + " q=" + mQuality
+                + " sats=" + mSatellitesUsed + " hdop=" + mHdop + " vdop=" + mVdop + " alt=" + mAltitude + "]";
+    }
+}
@@ -0,0 +1,147 @@
+package ceneax.app.lib.locationx;
+
+import android.annotation.SuppressLint;
+import android.location.LocationManager;
+import android.location.OnNmeaMessageListener;
+import android.os.Build;
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+/**
+ * <ul>
+ *     <li>Description: 系统 NMEA 消息监听，解析出 HDOP/VDOP、定位质量、使用卫星数等 Location 中没有的数据</li>
+ *     <li>Date: 2026-10-18 09:25</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每个定位来源只有一个实例，由 {@link LocationHub} 持有。第一个订阅者出现时注册 OnNmeaMessageListener（Android N 及以上），
+ * 最后一个取消时注销。系统只在 GPS 工作时输出 NMEA，需要同时有持续定位或单次定位在进行。
+ * 消息在库的后台线程由同一个 {@link NmeaParser} 解析后分发，解析结果对象复用。
+ */
+@SuppressLint("MissingPermission")
+public class NmeaMonitor {
+    private static final INmeaListener[] EMPTY = new INmeaListener[0];
+
+    private final LocationManager mLocationManager;
+    private final Handler mHandler = LocationExecutors.getWorkerHandler();
+
+    // 只在后台线程访问
+    private boolean mRegistered;
+    private OnNmeaMessageListener mNmeaListener;
+
+    // 后台线程解析，其它线程读取时加锁复制
+    private final Object mDataLock = new Object();
+    private final NmeaParser mParser = new NmeaParser(this::dispatch);
+
+    private volatile INmeaListener[] mListeners = EMPTY;
+
+    /**
+     * @param locationManager 为 null 时（非系统定位来源）没有 NMEA 消息
+     */
+    NmeaMonitor(@Nullable LocationManager locationManager) {
+        mLocationManager = locationManager;
+    }
+
+    /**
+     * 订阅解析后的 NMEA 语句，在库的后台线程回调
+     */
+    public synchronized void subscribe(@NonNull INmeaListener listener) {
+        INmeaListener[] listeners = mListeners;
+        for (INmeaListener l : listeners) {
+            if (l == listener) {
+                return;
+            }
+        }
+        INmeaListener[] newListeners = new INmeaListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, newListeners, 0, listeners.length);
+        newListeners[listeners.length] = listener;
+        mListeners = newListeners;
+        if (listeners.length == 0) {
+            mHandler.post(this::updateRegistration);
+        }
+    }
+
+    public synchronized void unsubscribe(@NonNull INmeaListener listener) {
+        INmeaListener[] listeners = mListeners;
+        for (int i = 0; i < listeners.length; i ++) {
+            if (listeners[i] == listener) {
+                INmeaListener[] newListeners = new INmeaListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+                mListeners = newListeners.length == 0 ? EMPTY : newListeners;
+                if (newListeners.length == 0) {
+                    mHandler.post(this::updateRegistration);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 复制最新的 GGA、RMC、GSA 解析结果
+     */
+    public void copyFix(@NonNull NmeaFix out) {
+        synchronized (mDataLock) {
+            mParser.getFix().copyTo(out);
+        }
+    }
+
+    /**
+     * 复制 GSV 累积的可见卫星表
+     */
+    public void copySatellites(@NonNull NmeaSatellites out) {
+        synchronized (mDataLock) {
+            mParser.getSatellites().copyTo(out);
+        }
+    }
+
+    /**
+     * @return 校验和错误的语句个数
+     */
+    public long getChecksumErrorCount() {
+        synchronized (mDataLock) {
+            return mParser.getChecksumErrorCount();
+        }
+    }
+
+    /**
+     * 在后台线程执行，只有 Android N 及以上版本支持
+     */
+    private void updateRegistration() {
+        if (mLocationManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
+            return;
+        }
+        boolean needed = mListeners.length > 0;
+        if (needed == mRegistered) {
+            return;
+        }
+        mRegistered = needed;
+        if (needed) {
+            if (mNmeaListener == null) {
+                mNmeaListener = createNmeaListener();
+            }
+            mLocationManager.addNmeaListener(mNmeaListener, mHandler);
+        } else {
+            mLocationManager.removeNmeaListener(mNmeaListener);
+        }
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.N)
+    private OnNmeaMessageListener createNmeaListener() {
+        return (message, timestamp) -> {
+            synchronized (mDataLock) {
+                // 每条消息是一条完整的语句，末尾不一定有换行
+                mParser.parse(message);
+                mParser.flush();
+            }
+        };
+    }
+
+    private void dispatch(int sentence, @NonNull NmeaParser parser) {
+        for (INmeaListener listener : mListeners) {
+            listener.onNmeaSentence(sentence, parser);
+        }
+    }
+}
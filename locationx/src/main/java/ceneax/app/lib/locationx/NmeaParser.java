@@ -0,0 +1,617 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <ul>
+ *     <li>Description: 流式 NMEA 0183 语句解析，支持 GGA、RMC、GSA、GSV</li>
+ *     <li>Date: 2026-10-18 09:25</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 输入可以是任意切分的字符或字节流，一条语句可以跨越多次 {@link #parse} 调用。语句逐字符写入固定大小的缓冲区，同时累计校验和、
+ * 记录各字段的起止位置，换行时校验，数值直接从缓冲区解析，不产生子串，解析结果写入复用的
+ * {@link NmeaFix} 与 {@link NmeaSatellites}，稳定运行后不分配对象。
+ * <p>
+ * 校验和错误、超长或字段不足的语句丢弃并计数；没有校验和的语句直接接受。
+ * 星座类型由 Talker ID 得出，与 android.location.GnssStatus 的 CONSTELLATION_* 一致。非线程安全。
+ */
+public class NmeaParser {
+    // 没有解析出语句
+    public static final int SENTENCE_NONE = 0;
+    public static final int SENTENCE_GGA = 1;
+    public static final int SENTENCE_RMC = 2;
+    public static final int SENTENCE_GSA = 3;
+    public static final int SENTENCE_GSV = 4;
+    // 校验和正确，但不是支持的语句类型
+    public static final int SENTENCE_OTHER = 5;
+
+    // NMEA 0183 规定一条语句最多 82 个字符，部分接收机会超出，留出余量
+    static final int MAX_SENTENCE_LENGTH = 128;
+    private static final int MAX_FIELDS = 32;
+
+    // 与 android.location.GnssStatus 一致
+    private static final int CONSTELLATION_UNKNOWN = 0;
+    private static final int CONSTELLATION_GPS = 1;
+    private static final int CONSTELLATION_SBAS = 2;
+    private static final int CONSTELLATION_GLONASS = 3;
+    private static final int CONSTELLATION_QZSS = 4;
+    private static final int CONSTELLATION_BEIDOU = 5;
+    private static final int CONSTELLATION_GALILEO = 6;
+    private static final int CONSTELLATION_IRNSS = 7;
+
+    private static final float KNOTS_TO_MPS = 0.514444f;
+    // 尾数不超过 2^53、除数为 10 的 18 次方以内时，一次除法的结果与 Double.parseDouble 相同
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POW10 = new double[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i ++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final INmeaListener mListener;
+
+    private final char[] mBuffer = new char[MAX_SENTENCE_LENGTH];
+    private int mLength;
+    private boolean mInSentence;
+    private int mChecksum;
+    // '*' 的位置，-1 表示还没有遇到
+    private int mChecksumEnd;
+
+    private final int[] mFieldStarts = new int[MAX_FIELDS];
+    private final int[] mFieldEnds = new int[MAX_FIELDS];
+    private int mFieldCount;
+    private int mConstellation;
+
+    private final NmeaFix mFix = new NmeaFix();
+    private final NmeaSatellites mSatellites = new NmeaSatellites();
+
+    private long mSentenceCount;
+    private long mChecksumErrorCount;
+    private long mMalformedCount;
+
+    public NmeaParser() {
+        this(null);
+    }
+
+    /**
+     * @param listener 每解析出一条支持的语句回调一次，可以为 null，改为使用 {@link #append} 的返回值
+     */
+    public NmeaParser(@Nullable INmeaListener listener) {
+        mListener = listener;
+    }
+
+    @NonNull
+    public NmeaFix getFix() {
+        return mFix;
+    }
+
+    @NonNull
+    public NmeaSatellites getSatellites() {
+        return mSatellites;
+    }
+
+    /**
+     * @return 最近一条语句所属的星座，由 Talker ID 得出，GN（多星座）为 0
+     */
+    public int getConstellationType() {
+        return mConstellation;
+    }
+
+    /**
+     * @return 校验通过的语句个数，包括不支持的类型
+     */
+    public long getSentenceCount() {
+        return mSentenceCount;
+    }
+
+    public long getChecksumErrorCount() {
+        return mChecksumErrorCount;
+    }
+
+    /**
+     * @return 超长或字段不足而丢弃的语句个数
+     */
+    public long getMalformedCount() {
+        return mMalformedCount;
+    }
+
+    /**
+     * 丢弃未结束的语句，清空解析结果与计数
+     */
+    public void reset() {
+        mInSentence = false;
+        mLength = 0;
+        mConstellation = CONSTELLATION_UNKNOWN;
+        mFix.clear();
+        mSatellites.clear();
+        mSentenceCount = 0;
+        mChecksumErrorCount = 0;
+        mMalformedCount = 0;
+    }
+
+    public void parse(@NonNull CharSequence s) {
+        for (int i = 0, length = s.length(); i < length; i ++) {
+            append(s.charAt(i));
+        }
+    }
+
+    public void parse(@NonNull char[] chars, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i ++) {
+            append(chars[i]);
+        }
+    }
+
+    /**
+     * 解析 position 到 limit 之间的字节（ASCII），完成后 position 移到 limit
+     */
+    public void parse(@NonNull ByteBuffer buffer) {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        if (buffer.hasArray()) {
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            for (int i = offset + position, end = offset + limit; i < end; i ++) {
+                append((char) (array[i] & 0xFF));
+            }
+        } else {
+            for (int i = position; i < limit; i ++) {
+                append((char) (buffer.get(i) & 0xFF));
+            }
+        }
+        buffer.position(limit);
+    }
+
+    /**
+     * 离线解析 NMEA 日志文件，每条语句通过构造时传入的监听回调，文件末尾没有换行的最后一条语句也会解析
+     */
+    public void parse(@NonNull File file) throws IOException {
+        try (FileInputStream input = new FileInputStream(file); FileChannel channel = input.getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                parse(buffer);
+                buffer.clear();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * 结束当前语句，用于输入末尾没有换行的情况，例如单独的一条消息
+     * @return 同 {@link #append}
+     */
+    public int flush() {
+        if (!mInSentence) {
+            return SENTENCE_NONE;
+        }
+        mInSentence = false;
+        return finish();
+    }
+
+    /**
+     * 输入一个字符
+     * @return 该字符结束了一条语句时返回其类型 SENTENCE_*，否则（包括语句被丢弃）返回 {@link #SENTENCE_NONE}
+     */
+    public int append(char c) {
+        if (c == '$') {
+            // 上一条语句没有换行就开始了新语句时，上一条不完整，直接丢弃
+            mInSentence = true;
+            mLength = 0;
+            mChecksum = 0;
+            mChecksumEnd = -1;
+            mFieldCount = 0;
+            mFieldStarts[0] = 0;
+            return SENTENCE_NONE;
+        }
+        if (!mInSentence) {
+            return SENTENCE_NONE;
+        }
+        if (c == '\n' || c == '\r') {
+            mInSentence = false;
+            return finish();
+        }
+        int length = mLength;
+        if (length == MAX_SENTENCE_LENGTH) {
+            mInSentence = false;
+            mMalformedCount ++;
+            return SENTENCE_NONE;
+        }
+        mBuffer[length] = c;
+        mLength = length + 1;
+        // 校验和与字段边界在输入时计算，语句结束时不再扫描
+        if (mChecksumEnd < 0) {
+            if (c == '*') {
+                mChecksumEnd = length;
+            } else {
+                mChecksum ^= c;
+                if (c == ',') {
+                    endField(length);
+                }
+            }
+        }
+        return SENTENCE_NONE;
+    }
+
+    private void endField(int end) {
+        int count = mFieldCount;
+        if (count < MAX_FIELDS) {
+            mFieldEnds[count] = end;
+            mFieldCount = ++ count;
+            if (count < MAX_FIELDS) {
+                mFieldStarts[count] = end + 1;
+            }
+        }
+    }
+
+    private int finish() {
+        char[] buffer = mBuffer;
+        int length = mLength;
+        int end = mChecksumEnd;
+        if (end >= 0) {
+            int high = end + 2 < length ? hex(buffer[end + 1]) : -1;
+            int low = end + 2 < length ? hex(buffer[end + 2]) : -1;
+            if (high < 0 || low < 0 || ((high << 4) | low) != mChecksum) {
+                mChecksumErrorCount ++;
+                return SENTENCE_NONE;
+            }
+        } else {
+            end = length;
+        }
+        endField(end);
+
+        // 地址字段：2 位 Talker ID + 3 位语句类型，P 开头的是厂商私有语句
+        int addressStart = mFieldStarts[0];
+        if (mFieldEnds[0] - addressStart != 5 || buffer[addressStart] == 'P') {
+            mSentenceCount ++;
+            return SENTENCE_OTHER;
+        }
+        mConstellation = constellationOf(buffer[addressStart], buffer[addressStart + 1]);
+        char t0 = buffer[addressStart + 2], t1 = buffer[addressStart + 3], t2 = buffer[addressStart + 4];
+        int sentence;
+        boolean parsed;
+        if (t0 == 'G' && t1 == 'G' && t2 == 'A') {
+            sentence = SENTENCE_GGA;
+            parsed = parseGga();
+        } else if (t0 == 'R' && t1 == 'M' && t2 == 'C') {
+            sentence = SENTENCE_RMC;
+            parsed = parseRmc();
+        } else if (t0 == 'G' && t1 == 'S' && t2 == 'A') {
+            sentence = SENTENCE_GSA;
+            parsed = parseGsa();
+        } else if (t0 == 'G' && t1 == 'S' && t2 == 'V') {
+            sentence = SENTENCE_GSV;
+            parsed = parseGsv();
+        } else {
+            mSentenceCount ++;
+            return SENTENCE_OTHER;
+        }
+        if (!parsed) {
+            mMalformedCount ++;
+            return SENTENCE_NONE;
+        }
+        mSentenceCount ++;
+        if (mListener != null) {
+            mListener.onNmeaSentence(sentence, this);
+        }
+        return sentence;
+    }
+
+    /**
+     * $--GGA,时间,纬度,N/S,经度,E/W,定位质量,卫星数,HDOP,海拔,M,大地水准面差距,M,差分龄期,差分站*hh
+     */
+    private boolean parseGga() {
+        if (mFieldCount < 10) {
+            return false;
+        }
+        NmeaFix fix = mFix;
+        fix.mTimeOfDayMs = timeOfDay(1);
+        fix.mLatitude = coordinate(2, 3);
+        fix.mLongitude = coordinate(4, 5);
+        fix.mQuality = integer(6);
+        fix.mSatellitesUsed = integer(7);
+        fix.mHdop = (float) number(8);
+        fix.mAltitude = number(9);
+        fix.mGeoidSeparation = mFieldCount > 11 ? number(11) : Double.NaN;
+        return true;
+    }
+
+    /**
+     * $--RMC,时间,状态,纬度,N/S,经度,E/W,速度（节）,航向,日期,磁偏角,E/W[,模式[,导航状态]]*hh
+     */
+    private boolean parseRmc() {
+        if (mFieldCount < 10) {
+            return false;
+        }
+        NmeaFix fix = mFix;
+        fix.mTimeOfDayMs = timeOfDay(1);
+        fix.mStatusValid = character(2) == 'A';
+        fix.mLatitude = coordinate(3, 4);
+        fix.mLongitude = coordinate(5, 6);
+        fix.mSpeed = (float) number(7) * KNOTS_TO_MPS;
+        fix.mCourse = (float) number(8);
+        fix.mDateMs = date(9);
+        return true;
+    }
+
+    /**
+     * $--GSA,模式,定位类型,卫星编号 x 12,PDOP,HDOP,VDOP[,系统编号]*hh
+     */
+    private boolean parseGsa() {
+        if (mFieldCount < 18) {
+            return false;
+        }
+        NmeaFix fix = mFix;
+        fix.mFixType = integer(2);
+        int count = 0;
+        for (int i = 3; i < 3 + NmeaFix.MAX_USED_SVIDS; i ++) {
+            int svid = integer(i);
+            if (svid >= 0) {
+                fix.mUsedSvids[count ++] = svid;
+            }
+        }
+        fix.mUsedSvidCount = count;
+        fix.mPdop = (float) number(15);
+        fix.mHdop = (float) number(16);
+        fix.mVdop = (float) number(17);
+        // NMEA 4.10 起 GN 语句用系统编号区分星座
+        int systemId = mFieldCount > 18 ? hex(character(18)) : -1;
+        fix.mUsedConstellation = systemId > 0 ? constellationOfSystemId(systemId) : mConstellation;
+        return true;
+    }
+
+    /**
+     * $--GSV,语句总数,语句序号,可见卫星数,{卫星编号,仰角,方位角,载噪比} x 1~4[,信号编号]*hh
+     */
+    private boolean parseGsv() {
+        if (mFieldCount < 4) {
+            return false;
+        }
+        int total = integer(1);
+        int number = integer(2);
+        if (total < 1 || number < 1 || number > total) {
+            return false;
+        }
+        int blocks = (mFieldCount - 4) / 4;
+        int signalId = (mFieldCount - 4) % 4 == 1 ? Math.max(hex(character(mFieldCount - 1)), 0) : 0;
+        int group = NmeaSatellites.group(mConstellation, signalId);
+        NmeaSatellites satellites = mSatellites;
+        if (number == 1) {
+            satellites.removeGroup(group);
+        }
+        for (int i = 0; i < blocks; i ++) {
+            int field = 4 + i * 4;
+            int svid = integer(field);
+            if (svid < 0) {
+                continue;
+            }
+            float cn0 = (float) number(field + 3);
+            satellites.add(svid, satelliteConstellation(mConstellation, svid), group,
+                    (float) number(field + 1), (float) number(field + 2), Float.isNaN(cn0) ? 0 : cn0);
+        }
+        satellites.setComplete(number == total);
+        return true;
+    }
+
+    private char character(int field) {
+        int start = mFieldStarts[field];
+        return start < mFieldEnds[field] ? mBuffer[start] : 0;
+    }
+
+    /**
+     * @return 非负整数，为空或不是整数时返回 -1
+     */
+    private int integer(int field) {
+        int start = mFieldStarts[field];
+        int end = mFieldEnds[field];
+        if (start >= end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i ++) {
+            int digit = mBuffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * 十进制小数，为空或格式错误时返回 NaN，结果与 Double.parseDouble 相同。
+     * 常见的 15 位以内有效数字直接计算，更长的少见情况交给 Double.parseDouble
+     */
+    private double number(int field) {
+        int start = mFieldStarts[field];
+        int end = mFieldEnds[field];
+        if (start >= end) {
+            return Double.NaN;
+        }
+        char[] buffer = mBuffer;
+        boolean negative = buffer[start] == '-';
+        if (negative || buffer[start] == '+') {
+            start ++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        boolean exact = true;
+        boolean dot = false;
+        boolean hasDigit = false;
+        for (int i = start; i < end; i ++) {
+            char c = buffer[i];
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+                if (exact) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (dot) {
+                        scale ++;
+                    }
+                    exact = mantissa <= MAX_EXACT_MANTISSA && scale < POW10.length;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!hasDigit) {
+            return Double.NaN;
+        }
+        if (!exact) {
+            // 字符已校验，只剩数字与小数点
+            start = mFieldStarts[field];
+            return Double.parseDouble(new String(buffer, start, end - start));
+        }
+        double value = mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * ddmm.mmmm / dddmm.mmmm 转为度，S、W 为负
+     */
+    private double coordinate(int valueField, int hemisphereField) {
+        double raw = number(valueField);
+        if (Double.isNaN(raw)) {
+            return Double.NaN;
+        }
+        double degrees = Math.floor(raw / 100);
+        double result = degrees + (raw - degrees * 100) / 60;
+        char hemisphere = character(hemisphereField);
+        return hemisphere == 'S' || hemisphere == 'W' ? -result : result;
+    }
+
+    /**
+     * hhmmss[.sss] 转为当天的毫秒数，格式错误时返回 -1
+     */
+    private long timeOfDay(int field) {
+        int start = mFieldStarts[field];
+        int end = mFieldEnds[field];
+        if (end - start < 6) {
+            return -1;
+        }
+        int hour = digits2(start);
+        int minute = digits2(start + 2);
+        int second = digits2(start + 4);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return -1;
+        }
+        int millis = 0;
+        if (end - start > 6) {
+            if (mBuffer[start + 6] != '.') {
+                return -1;
+            }
+            int scale = 100;
+            for (int i = start + 7; i < end; i ++) {
+                int digit = mBuffer[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                millis += digit * scale;
+                scale /= 10;
+            }
+        }
+        return ((hour * 60L + minute) * 60 + second) * 1000 + millis;
+    }
+
+    /**
+     * ddmmyy 转为当天 UTC 零点的时间戳，两位年份 80 及以上视为 19xx，格式错误时返回 -1
+     */
+    private long date(int field) {
+        int start = mFieldStarts[field];
+        if (mFieldEnds[field] - start != 6) {
+            return -1;
+        }
+        int day = digits2(start);
+        int month = digits2(start + 2);
+        int year = digits2(start + 4);
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 0) {
+            return -1;
+        }
+        return ReplayReader.toEpochMs(year >= 80 ? 1900 + year : 2000 + year, month, day, 0, 0, 0, 0);
+    }
+
+    private int digits2(int index) {
+        int high = mBuffer[index] - '0';
+        int low = mBuffer[index + 1] - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+
+    private static int hex(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static int constellationOf(char c0, char c1) {
+        switch ((c0 << 8) | c1) {
+            case ('G' << 8) | 'P':
+                return CONSTELLATION_GPS;
+            case ('G' << 8) | 'L':
+                return CONSTELLATION_GLONASS;
+            case ('G' << 8) | 'A':
+                return CONSTELLATION_GALILEO;
+            case ('G' << 8) | 'B':
+            case ('B' << 8) | 'D':
+                return CONSTELLATION_BEIDOU;
+            case ('G' << 8) | 'Q':
+            case ('Q' << 8) | 'Z':
+                return CONSTELLATION_QZSS;
+            case ('G' << 8) | 'I':
+                return CONSTELLATION_IRNSS;
+            default:
+                return CONSTELLATION_UNKNOWN;
+        }
+    }
+
+    /**
+     * NMEA 4.10 的 GNSS 系统编号
+     */
+    private static int constellationOfSystemId(int systemId) {
+        switch (systemId) {
+            case 1:
+                return CONSTELLATION_GPS;
+            case 2:
+                return CONSTELLATION_GLONASS;
+            case 3:
+                return CONSTELLATION_GALILEO;
+            case 4:
+                return CONSTELLATION_BEIDOU;
+            case 5:
+                return CONSTELLATION_QZSS;
+            case 6:
+                return CONSTELLATION_IRNSS;
+            default:
+                return CONSTELLATION_UNKNOWN;
+        }
+    }
+
+    /**
+     * GP 语句中 33~64 号为 SBAS 卫星
+     */
+    private static int satelliteConstellation(int talkerConstellation, int svid) {
+        if (talkerConstellation == CONSTELLATION_GPS && svid >= 33 && svid <= 64) {
+            return CONSTELLATION_SBAS;
+        }
+        return talkerConstellation;
+    }
+}
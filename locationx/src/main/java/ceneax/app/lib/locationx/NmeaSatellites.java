@@ -0,0 +1,138 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * <ul>
+ *     <li>Description: 由 GSV 语句累积的可见卫星表，逐颗卫星的数据以基本类型数组保存，实例由 {@link NmeaParser} 复用</li>
+ *     <li>Date: 2026-10-18 09:25</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 一组 GSV 由若干条语句组成，每个星座（NMEA 4.10 起还区分信号）各自一组。收到某组的第 1 条时替换该组原有的卫星，
+ * 收到最后一条时 {@link #isComplete()} 为 true。星座类型与 android.location.GnssStatus 的 CONSTELLATION_* 一致，
+ * 卫星编号保留语句中的原值。数组只在卫星数超过历史最大值时扩容。非线程安全。
+ */
+public final class NmeaSatellites {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private int mCount;
+    private int[] mSvids = new int[INITIAL_CAPACITY];
+    private int[] mConstellations = new int[INITIAL_CAPACITY];
+    // 所属的组：Talker ID 对应的星座 * 16 + 信号编号
+    private int[] mGroups = new int[INITIAL_CAPACITY];
+    private float[] mElevations = new float[INITIAL_CAPACITY];
+    private float[] mAzimuths = new float[INITIAL_CAPACITY];
+    private float[] mCn0s = new float[INITIAL_CAPACITY];
+    private boolean mComplete;
+
+    public int getSatelliteCount() {
+        return mCount;
+    }
+
+    public int getSvid(int index) {
+        return mSvids[index];
+    }
+
+    public int getConstellationType(int index) {
+        return mConstellations[index];
+    }
+
+    /**
+     * @return NMEA 4.10 的信号编号，更早的版本为 0
+     */
+    public int getSignalId(int index) {
+        return mGroups[index] & 0xF;
+    }
+
+    /**
+     * @return 仰角，单位：度，未知时为 NaN
+     */
+    public float getElevationDegrees(int index) {
+        return mElevations[index];
+    }
+
+    /**
+     * @return 方位角，单位：度，未知时为 NaN
+     */
+    public float getAzimuthDegrees(int index) {
+        return mAzimuths[index];
+    }
+
+    /**
+     * @return 载噪比，单位：dB-Hz，未跟踪时为 0
+     */
+    public float getCn0DbHz(int index) {
+        return mCn0s[index];
+    }
+
+    /**
+     * @return 最近一条 GSV 是否为所在组的最后一条
+     */
+    public boolean isComplete() {
+        return mComplete;
+    }
+
+    public void copyTo(@NonNull NmeaSatellites target) {
+        target.mCount = 0;
+        for (int i = 0; i < mCount; i ++) {
+            target.add(mSvids[i], mConstellations[i], mGroups[i], mElevations[i], mAzimuths[i], mCn0s[i]);
+        }
+        target.mComplete = mComplete;
+    }
+
+    void clear() {
+        mCount = 0;
+        mComplete = false;
+    }
+
+    static int group(int talkerConstellation, int signalId) {
+        return talkerConstellation * 16 + signalId;
+    }
+
+    /**
+     * 删除一组卫星，保持其余卫星的顺序
+     */
+    void removeGroup(int group) {
+        int count = 0;
+        for (int i = 0; i < mCount; i ++) {
+            if (mGroups[i] == group) {
+                continue;
+            }
+            if (count != i) {
+                mSvids[count] = mSvids[i];
+                mConstellations[count] = mConstellations[i];
+                mGroups[count] = mGroups[i];
+                mElevations[count] = mElevations[i];
+                mAzimuths[count] = mAzimuths[i];
+                mCn0s[count] = mCn0s[i];
+            }
+            count ++;
+        }
+        mCount = count;
+    }
+
+    void add(int svid, int constellationType, int group, float elevation, float azimuth, float cn0DbHz) {
+        if (mCount == mSvids.length) {
+            int capacity = mCount * 2;
+            mSvids = Arrays.copyOf(mSvids, capacity);
+            mConstellations = Arrays.copyOf(mConstellations, capacity);
+            mGroups = Arrays.copyOf(mGroups, capacity);
+            mElevations = Arrays.copyOf(mElevations, capacity);
+            mAzimuths = Arrays.copyOf(mAzimuths, capacity);
+            mCn0s = Arrays.copyOf(mCn0s, capacity);
+        }
+        int index = mCount ++;
+        mSvids[index] = svid;
+        mConstellations[index] = constellationType;
+        mGroups[index] = group;
+        mElevations[index] = elevation;
+        mAzimuths[index] = azimuth;
+        mCn0s[index] = cn0DbHz;
+    }
+
+    void setComplete(boolean complete) {
+        mComplete = complete;
+    }
+}
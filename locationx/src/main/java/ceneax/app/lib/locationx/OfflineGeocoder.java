@@ -0,0 +1,251 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <ul>
+ *     <li>Description: 基于本地数据文件的离线反向地址编码</li>
+ *     <li>Date: 2026-10-18 22:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 数据文件由 {@link OfflineGeocoderBuilder} 生成，以只读方式内存映射，不整体载入堆内存。
+ * 查询时先按网格索引找到候选行政区，再依次用外包矩形和射线法判断，每次查询只读取少量顶点。
+ * 线程安全，查询本身不分配内存，只有首次命中某个行政区时会创建对应的 {@link GeoAddress}。
+ */
+public class OfflineGeocoder implements IGeocoder {
+    private final ByteBuffer mBuffer;
+    private final IntBuffer mInts;
+
+    private final int mRegionCount;
+    private final int mStringCount;
+    private final int mGridMinLat;
+    private final int mGridMinLng;
+    private final int mCellSize;
+    private final int mRows;
+    private final int mCols;
+    private final int mStringOffsetsPos;
+    private final int mStringDataPos;
+    private final int mRegionPos;
+    private final int mVertexPos;
+    private final int mCellStartPos;
+    private final int mCellListPos;
+
+    // 按行政区序号缓存，并发下可能重复创建，结果相同
+    private final GeoAddress[] mAddresses;
+    private final String[] mStrings;
+
+    /**
+     * @throws IOException 文件无法读取或不是离线地址数据文件
+     */
+    public OfflineGeocoder(@NonNull File file) throws IOException {
+        this(map(file));
+    }
+
+    /**
+     * @param buffer 完整的数据文件内容，例如从 assets 读出后包装的 ByteBuffer，使用期间不可修改
+     * @throws IOException 不是离线地址数据文件
+     */
+    public OfflineGeocoder(@NonNull ByteBuffer buffer) throws IOException {
+        mBuffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        mBuffer.clear();
+        int size = mBuffer.capacity();
+        if (size < GeocoderFormat.HEADER_SIZE || mBuffer.getInt(GeocoderFormat.OFFSET_MAGIC) != GeocoderFormat.MAGIC) {
+            throw new IOException("Not a geocoder file");
+        }
+        int version = mBuffer.getInt(GeocoderFormat.OFFSET_VERSION);
+        if (version != GeocoderFormat.VERSION) {
+            throw new IOException("Unsupported geocoder version: " + version);
+        }
+        mRegionCount = mBuffer.getInt(GeocoderFormat.OFFSET_REGION_COUNT);
+        mStringCount = mBuffer.getInt(GeocoderFormat.OFFSET_STRING_COUNT);
+        mGridMinLat = mBuffer.getInt(GeocoderFormat.OFFSET_GRID_MIN_LAT);
+        mGridMinLng = mBuffer.getInt(GeocoderFormat.OFFSET_GRID_MIN_LNG);
+        mCellSize = mBuffer.getInt(GeocoderFormat.OFFSET_CELL_SIZE);
+        mRows = mBuffer.getInt(GeocoderFormat.OFFSET_ROWS);
+        mCols = mBuffer.getInt(GeocoderFormat.OFFSET_COLS);
+        mStringOffsetsPos = mBuffer.getInt(GeocoderFormat.OFFSET_STRING_OFFSETS_POS);
+        mStringDataPos = mBuffer.getInt(GeocoderFormat.OFFSET_STRING_DATA_POS);
+        mRegionPos = mBuffer.getInt(GeocoderFormat.OFFSET_REGION_POS);
+        mVertexPos = mBuffer.getInt(GeocoderFormat.OFFSET_VERTEX_POS);
+        mCellStartPos = mBuffer.getInt(GeocoderFormat.OFFSET_CELL_START_POS);
+        mCellListPos = mBuffer.getInt(GeocoderFormat.OFFSET_CELL_LIST_POS);
+
+        if (mRegionCount < 0 || mStringCount < 0 || mCellSize <= 0 || mRows <= 0 || mCols <= 0
+                || !inBounds(mStringOffsetsPos, (mStringCount + 1L) * 4, size)
+                || !inBounds(mRegionPos, (long) mRegionCount * GeocoderFormat.REGION_SIZE, size)
+                || !inBounds(mCellStartPos, ((long) mRows * mCols + 1) * 4, size)) {
+            throw new IOException("Corrupted geocoder header");
+        }
+        int stringDataSize = mBuffer.getInt(mStringOffsetsPos + mStringCount * 4);
+        int cellListSize = mBuffer.getInt(mCellStartPos + mRows * mCols * 4);
+        if (!inBounds(mStringDataPos, stringDataSize, size)
+                || !inBounds(mVertexPos, 0, size)
+                || !inBounds(mCellListPos, (long) cellListSize * 4, size)) {
+            throw new IOException("Corrupted geocoder sections");
+        }
+
+        if ((mVertexPos & 3) != 0) {
+            throw new IOException("Misaligned vertex section");
+        }
+        validate((size - mVertexPos) / GeocoderFormat.VERTEX_SIZE, stringDataSize, cellListSize);
+        mInts = mBuffer.asIntBuffer();
+        mAddresses = new GeoAddress[mRegionCount];
+        mStrings = new String[mStringCount];
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            // 映射在通道关闭后仍然有效
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * 打开时一次性校验所有行政区记录、网格表与字符串偏移表，查询时按下标直接读取，不再检查
+     * @param vertexLimit 顶点段起始位置到文件末尾最多容纳的顶点数
+     */
+    private void validate(int vertexLimit, int stringDataSize, int cellListSize) throws IOException {
+        for (int region = 0; region < mRegionCount; region ++) {
+            int start = regionInt(region, GeocoderFormat.REGION_VERTEX_START);
+            int count = regionInt(region, GeocoderFormat.REGION_VERTEX_COUNT);
+            // 射线法至少需要 3 个顶点
+            if (start < 0 || count < 3 || (long) start + count > vertexLimit) {
+                throw new IOException("Corrupted geocoder region " + region + ": vertex start " + start + ", count " + count);
+            }
+        }
+        int previous = 0;
+        for (int cell = 0, cellCount = mRows * mCols; cell <= cellCount; cell ++) {
+            int start = mBuffer.getInt(mCellStartPos + cell * 4);
+            if (start < previous || start > cellListSize) {
+                throw new IOException("Corrupted geocoder cell " + cell + ": start " + start);
+            }
+            previous = start;
+        }
+        for (int i = 0; i < cellListSize; i ++) {
+            int region = mBuffer.getInt(mCellListPos + i * 4);
+            if (region < 0 || region >= mRegionCount) {
+                throw new IOException("Corrupted geocoder cell list: region " + region);
+            }
+        }
+        previous = 0;
+        for (int i = 0; i <= mStringCount; i ++) {
+            int offset = mBuffer.getInt(mStringOffsetsPos + i * 4);
+            if (offset < previous || offset > stringDataSize) {
+                throw new IOException("Corrupted geocoder string " + i + ": offset " + offset);
+            }
+            previous = offset;
+        }
+    }
+
+    private static boolean inBounds(int pos, long length, int size) {
+        return pos >= 0 && length >= 0 && pos + length <= size;
+    }
+
+    public int getRegionCount() {
+        return mRegionCount;
+    }
+
+    @Nullable
+    @Override
+    public GeoAddress decode(double lat, double lng) {
+        int region = findRegion(lat, lng);
+        if (region < 0) {
+            return null;
+        }
+        GeoAddress address = mAddresses[region];
+        if (address == null) {
+            address = new GeoAddress(string(regionInt(region, GeocoderFormat.REGION_PROVINCE)),
+                    string(regionInt(region, GeocoderFormat.REGION_CITY)),
+                    string(regionInt(region, GeocoderFormat.REGION_DISTRICT)),
+                    regionInt(region, GeocoderFormat.REGION_ADMIN_CODE));
+            mAddresses[region] = address;
+        }
+        return address;
+    }
+
+    /**
+     * @return 所在行政区的序号，不在任何行政区内时返回 -1
+     */
+    int findRegion(double lat, double lng) {
+        if (Double.isNaN(lat) || Double.isNaN(lng)) {
+            return -1;
+        }
+        long latE7 = Math.round(lat * TrackFormat.E7);
+        long lngE7 = Math.round(lng * TrackFormat.E7);
+        long row = Math.floorDiv(latE7 - mGridMinLat, mCellSize);
+        long col = Math.floorDiv(lngE7 - mGridMinLng, mCellSize);
+        if (row < 0 || row >= mRows || col < 0 || col >= mCols) {
+            return -1;
+        }
+        int cellPos = mCellStartPos + (int) (row * mCols + col) * 4;
+        int start = mBuffer.getInt(cellPos);
+        int end = mBuffer.getInt(cellPos + 4);
+        for (int i = start; i < end; i ++) {
+            int region = mBuffer.getInt(mCellListPos + i * 4);
+            if (regionContains(region, latE7, lngE7)) {
+                return region;
+            }
+        }
+        return -1;
+    }
+
+    private boolean regionContains(int region, long latE7, long lngE7) {
+        int pos = mRegionPos + region * GeocoderFormat.REGION_SIZE;
+        if (latE7 < mBuffer.getInt(pos + GeocoderFormat.REGION_MIN_LAT)
+                || lngE7 < mBuffer.getInt(pos + GeocoderFormat.REGION_MIN_LNG)
+                || latE7 > mBuffer.getInt(pos + GeocoderFormat.REGION_MAX_LAT)
+                || lngE7 > mBuffer.getInt(pos + GeocoderFormat.REGION_MAX_LNG)) {
+            return false;
+        }
+        // 顶点段按 int 对齐，转为 IntBuffer 按下标读取，每个顶点两次读取
+        int first = (mVertexPos >> 2) + mBuffer.getInt(pos + GeocoderFormat.REGION_VERTEX_START) * 2;
+        int end = first + mBuffer.getInt(pos + GeocoderFormat.REGION_VERTEX_COUNT) * 2;
+        IntBuffer ints = mInts;
+        // 射线法，与 Geofence 相同，以 1e-7 度定点数为平面坐标
+        boolean inside = false;
+        long latJ = ints.get(end - 2), lngJ = ints.get(end - 1);
+        for (int i = first; i < end; i += 2) {
+            long latI = ints.get(i), lngI = ints.get(i + 1);
+            if ((latI > latE7) != (latJ > latE7)
+                    && lngE7 < (double) (lngJ - lngI) * (latE7 - latI) / (latJ - latI) + lngI) {
+                inside = !inside;
+            }
+            latJ = latI;
+            lngJ = lngI;
+        }
+        return inside;
+    }
+
+    private int regionInt(int region, int field) {
+        return mBuffer.getInt(mRegionPos + region * GeocoderFormat.REGION_SIZE + field);
+    }
+
+    @Nullable
+    private String string(int index) {
+        if (index < 0 || index >= mStringCount) {
+            return null;
+        }
+        String value = mStrings[index];
+        if (value == null) {
+            int start = mBuffer.getInt(mStringOffsetsPos + index * 4);
+            int end = mBuffer.getInt(mStringOffsetsPos + index * 4 + 4);
+            byte[] bytes = new byte[end - start];
+            ByteBuffer slice = mBuffer.duplicate();
+            slice.position(mStringDataPos + start);
+            slice.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            mStrings[index] = value;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,225 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * <ul>
+ *     <li>Description: 打包 {@link OfflineGeocoder} 使用的行政区数据文件</li>
+ *     <li>Date: 2026-10-18 22:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 纯 Java 实现，可在构建脚本或服务端运行，把行政区边界打包为一个文件后随应用分发。格式见 {@link GeocoderFormat}。
+ * 同一位置被多个多边形覆盖时，先添加的优先。
+ */
+public class OfflineGeocoderBuilder {
+    // 默认网格边长，单位：度
+    public static final double DEFAULT_CELL_SIZE = 0.05;
+
+    private final int mCellSizeE7;
+    private final ArrayList<String> mStrings = new ArrayList<>();
+    private final HashMap<String, Integer> mStringIndexes = new HashMap<>();
+    // 每个行政区：省、市、区的字符串序号、行政区划代码
+    private final ArrayList<int[]> mRegions = new ArrayList<>();
+    // 每个行政区的顶点，纬度、经度交替
+    private final ArrayList<int[]> mVertices = new ArrayList<>();
+
+    public OfflineGeocoderBuilder() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param cellSize 网格边长，单位：度，越小每个网格内的候选行政区越少，索引越大
+     */
+    public OfflineGeocoderBuilder(double cellSize) {
+        if (!(cellSize > 0 && cellSize <= 10)) {
+            throw new IllegalArgumentException("cellSize must be in (0, 10], but was " + cellSize);
+        }
+        mCellSizeE7 = TrackFormat.toE7(cellSize);
+    }
+
+    /**
+     * 添加一个行政区多边形，一个行政区由多块组成时多次添加
+     * @param latLngs 多边形顶点，WGS84，纬度、经度交替排列，至少 3 个顶点，无需首尾闭合
+     */
+    @NonNull
+    public OfflineGeocoderBuilder addRegion(@Nullable String province, @Nullable String city, @Nullable String district,
+                                            int adminCode, @NonNull double[] latLngs) {
+        if (latLngs.length < 6 || latLngs.length % 2 != 0) {
+            throw new IllegalArgumentException("A polygon needs at least 3 lat/lng pairs, but got " + latLngs.length + " values");
+        }
+        int[] vertices = new int[latLngs.length];
+        for (int i = 0; i < latLngs.length; i ++) {
+            vertices[i] = TrackFormat.toE7(latLngs[i]);
+        }
+        mRegions.add(new int[]{indexOf(province), indexOf(city), indexOf(district), adminCode});
+        mVertices.add(vertices);
+        return this;
+    }
+
+    public int getRegionCount() {
+        return mRegions.size();
+    }
+
+    public void write(@NonNull File file) throws IOException {
+        if (mRegions.isEmpty()) {
+            throw new IllegalStateException("No region added");
+        }
+        int regionCount = mRegions.size();
+
+        // 外包矩形
+        int[][] bounds = new int[regionCount][];
+        int minLat = Integer.MAX_VALUE, minLng = Integer.MAX_VALUE, maxLat = Integer.MIN_VALUE, maxLng = Integer.MIN_VALUE;
+        for (int r = 0; r < regionCount; r ++) {
+            int[] vertices = mVertices.get(r);
+            int[] b = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+            for (int i = 0; i < vertices.length; i += 2) {
+                b[0] = Math.min(b[0], vertices[i]);
+                b[1] = Math.min(b[1], vertices[i + 1]);
+                b[2] = Math.max(b[2], vertices[i]);
+                b[3] = Math.max(b[3], vertices[i + 1]);
+            }
+            bounds[r] = b;
+            minLat = Math.min(minLat, b[0]);
+            minLng = Math.min(minLng, b[1]);
+            maxLat = Math.max(maxLat, b[2]);
+            maxLng = Math.max(maxLng, b[3]);
+        }
+
+        // 网格索引
+        int rows = (int) (((long) maxLat - minLat) / mCellSizeE7) + 1;
+        int cols = (int) (((long) maxLng - minLng) / mCellSizeE7) + 1;
+        if ((long) rows * cols > 16 * 1024 * 1024) {
+            throw new IllegalStateException("Too many grid cells (" + rows + " x " + cols + "), use a larger cellSize");
+        }
+        int[] cellCounts = new int[rows * cols + 1];
+        for (int[] b : bounds) {
+            forEachCell(b, minLat, minLng, cols, cell -> cellCounts[cell + 1] ++);
+        }
+        for (int i = 1; i < cellCounts.length; i ++) {
+            cellCounts[i] += cellCounts[i - 1];
+        }
+        int[] cellStarts = cellCounts.clone();
+        int[] cellList = new int[cellCounts[cellCounts.length - 1]];
+        int[] cursor = cellCounts;
+        for (int r = 0; r < regionCount; r ++) {
+            int region = r;
+            forEachCell(bounds[r], minLat, minLng, cols, cell -> cellList[cursor[cell] ++] = region);
+        }
+
+        // 字符串
+        byte[][] stringBytes = new byte[mStrings.size()][];
+        int stringDataSize = 0;
+        for (int i = 0; i < stringBytes.length; i ++) {
+            stringBytes[i] = mStrings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringDataSize += stringBytes[i].length;
+        }
+        int vertexCount = 0;
+        for (int[] vertices : mVertices) {
+            vertexCount += vertices.length / 2;
+        }
+
+        int stringOffsetsPos = GeocoderFormat.HEADER_SIZE;
+        int stringDataPos = stringOffsetsPos + (stringBytes.length + 1) * 4;
+        // 字符串数据补齐到 4 字节，后续各段按 int 对齐
+        int padding = -stringDataSize & 3;
+        int regionPos = stringDataPos + stringDataSize + padding;
+        int vertexPos = regionPos + regionCount * GeocoderFormat.REGION_SIZE;
+        int cellStartPos = vertexPos + vertexCount * GeocoderFormat.VERTEX_SIZE;
+        int cellListPos = cellStartPos + cellStarts.length * 4;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(GeocoderFormat.MAGIC);
+            out.writeInt(GeocoderFormat.VERSION);
+            out.writeInt(regionCount);
+            out.writeInt(stringBytes.length);
+            out.writeInt(minLat);
+            out.writeInt(minLng);
+            out.writeInt(mCellSizeE7);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(stringOffsetsPos);
+            out.writeInt(stringDataPos);
+            out.writeInt(regionPos);
+            out.writeInt(vertexPos);
+            out.writeInt(cellStartPos);
+            out.writeInt(cellListPos);
+
+            int offset = 0;
+            for (byte[] bytes : stringBytes) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : stringBytes) {
+                out.write(bytes);
+            }
+            out.write(new byte[padding]);
+
+            int vertexStart = 0;
+            for (int r = 0; r < regionCount; r ++) {
+                int[] region = mRegions.get(r);
+                int[] b = bounds[r];
+                int count = mVertices.get(r).length / 2;
+                for (int value : region) {
+                    out.writeInt(value);
+                }
+                for (int value : b) {
+                    out.writeInt(value);
+                }
+                out.writeInt(vertexStart);
+                out.writeInt(count);
+                vertexStart += count;
+            }
+            for (int[] vertices : mVertices) {
+                for (int value : vertices) {
+                    out.writeInt(value);
+                }
+            }
+            for (int value : cellStarts) {
+                out.writeInt(value);
+            }
+            for (int value : cellList) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    private int indexOf(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer index = mStringIndexes.get(value);
+        if (index == null) {
+            index = mStrings.size();
+            mStrings.add(value);
+            mStringIndexes.put(value, index);
+        }
+        return index;
+    }
+
+    private interface CellVisitor {
+        void visit(int cell);
+    }
+
+    private void forEachCell(int[] b, int minLat, int minLng, int cols, CellVisitor visitor) {
+        int row0 = (int) (((long) b[0] - minLat) / mCellSizeE7);
+        int col0 = (int) (((long) b[1] - minLng) / mCellSizeE7);
+        int row1 = (int) (((long) b[2] - minLat) / mCellSizeE7);
+        int col1 = (int) (((long) b[3] - minLng) / mCellSizeE7);
+        for (int row = row0; row <= row1; row ++) {
+            for (int col = col0; col <= col1; col ++) {
+                visitor.visit(row * cols + col);
+            }
+        }
+    }
+}
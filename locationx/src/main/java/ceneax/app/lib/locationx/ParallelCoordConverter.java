@@ -0,0 +1,167 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <ul>
+ *     <li>Description: 大批量坐标转换，用 fork/join 把数组分段到多个核心上并行转换</li>
+ *     <li>Date: 2026-10-18 09:38</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 支持任意两个坐标系之间的转换，转为 WGS84 时使用精确算法，与
+ * {@link LocationUtil#transCoord(CoordType, CoordType, double[], int, int, double[], int)} 的约定相同。
+ * 每个点独立地由与单点函数相同的实现转换，结果与分段方式、线程数无关，和单点函数逐位一致。
+ * 转换过程中除分段任务外不分配对象。
+ * <p>
+ * 分段大小按线程池的并行度自适应：每个线程约分到 {@value #TASKS_PER_THREAD} 段，便于工作窃取平衡负载；
+ * 但每段不少于一个下限，精确逆转换单点更慢，下限更小。点数不超过下限或并行度为 1 时直接在调用线程转换。
+ * <p>
+ * 输出数组可以与输入数组相同。输出位置与输入位置相同（原地转换）或完全不重叠时分段并行；
+ * 部分重叠时无法分段并行，交给 {@link LocationUtil} 按 System.arraycopy 的方式在调用线程单线程转换，结果等同于先复制输入再转换。
+ * <p>
+ * 默认线程池的并行度为 CPU 核数，线程为守护线程。Android N 以下没有 ForkJoinPool.commonPool()，因此使用库自己的线程池。
+ */
+public final class ParallelCoordConverter {
+    private static final int TASKS_PER_THREAD = 4;
+    // 每段的最少点数
+    private static final int MIN_CHUNK = 8192;
+    private static final int MIN_CHUNK_ITERATIVE = 2048;
+
+    private ParallelCoordConverter() {}
+
+    /**
+     * 分离数组形式，参数含义同 {@link LocationUtil#transCoord(CoordType, CoordType, double[], double[], int, int, double[], double[], int)}
+     */
+    public static void transCoord(@NonNull CoordType from, @NonNull CoordType to,
+                                  double[] lats, double[] lngs, int offset, int length,
+                                  double[] outLats, double[] outLngs, int outOffset) {
+        transCoord(PoolHolder.POOL, from, to, lats, lngs, offset, length, outLats, outLngs, outOffset);
+    }
+
+    public static void transCoord(@NonNull ForkJoinPool pool, @NonNull CoordType from, @NonNull CoordType to,
+                                  double[] lats, double[] lngs, int offset, int length,
+                                  double[] outLats, double[] outLngs, int outOffset) {
+        int op = LocationUtil.convertOp(from, to);
+        int threshold = op < 0 ? Integer.MAX_VALUE : threshold(pool, op, length);
+        if (length <= threshold
+                || partiallyOverlaps(lats, offset, outLats, outOffset, length)
+                || partiallyOverlaps(lngs, offset, outLngs, outOffset, length)
+                || partiallyOverlaps(lats, offset, outLngs, outOffset, length)
+                || partiallyOverlaps(lngs, offset, outLats, outOffset, length)) {
+            LocationUtil.transCoord(from, to, lats, lngs, offset, length, outLats, outLngs, outOffset);
+            return;
+        }
+        LocationUtil.checkRange(lats.length, offset, length);
+        LocationUtil.checkRange(lngs.length, offset, length);
+        LocationUtil.checkRange(outLats.length, outOffset, length);
+        LocationUtil.checkRange(outLngs.length, outOffset, length);
+        pool.invoke(new SplitTask(op, lats, lngs, offset, length, outLats, outLngs, outOffset, threshold));
+    }
+
+    /**
+     * 交错数组形式，参数含义同 {@link LocationUtil#transCoord(CoordType, CoordType, double[], int, int, double[], int)}
+     */
+    public static void transCoord(@NonNull CoordType from, @NonNull CoordType to,
+                                  double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        transCoord(PoolHolder.POOL, from, to, latLngs, offset, count, out, outOffset);
+    }
+
+    public static void transCoord(@NonNull ForkJoinPool pool, @NonNull CoordType from, @NonNull CoordType to,
+                                  double[] latLngs, int offset, int count, double[] out, int outOffset) {
+        int op = LocationUtil.convertOp(from, to);
+        int threshold = op < 0 ? Integer.MAX_VALUE : threshold(pool, op, count);
+        if (count <= threshold || partiallyOverlaps(latLngs, offset, out, outOffset, count * 2)) {
+            LocationUtil.transCoord(from, to, latLngs, offset, count, out, outOffset);
+            return;
+        }
+        LocationUtil.checkRange(latLngs.length, offset, count * 2);
+        LocationUtil.checkRange(out.length, outOffset, count * 2);
+        pool.invoke(new SplitTask(op, latLngs, null, offset, count, out, null, outOffset, threshold));
+    }
+
+    /**
+     * 把整个点列表原地转换到目标坐标系，见 {@link LocationUtil#transCoord(CoordType, PointList)}
+     */
+    public static void transCoord(@NonNull CoordType targetCoordType, @NonNull PointList points) {
+        transCoord(PoolHolder.POOL, targetCoordType, points);
+    }
+
+    public static void transCoord(@NonNull ForkJoinPool pool, @NonNull CoordType targetCoordType, @NonNull PointList points) {
+        if (points.mCoordType == targetCoordType) {
+            return;
+        }
+        transCoord(pool, points.mCoordType, targetCoordType, points.mLatitudes, points.mLongitudes, 0, points.mSize,
+                points.mLatitudes, points.mLongitudes, 0);
+        points.mCoordType = targetCoordType;
+    }
+
+    private static int threshold(ForkJoinPool pool, int op, int length) {
+        int parallelism = pool.getParallelism();
+        if (parallelism <= 1) {
+            return Integer.MAX_VALUE;
+        }
+        int minChunk = LocationUtil.isIterativeOp(op) ? MIN_CHUNK_ITERATIVE : MIN_CHUNK;
+        return Math.max(minChunk, length / (parallelism * TASKS_PER_THREAD));
+    }
+
+    private static boolean partiallyOverlaps(double[] in, int offset, double[] out, int outOffset, int length) {
+        return in == out && offset != outOffset && offset < outOffset + length && outOffset < offset + length;
+    }
+
+    /**
+     * 对半拆分直到不超过阈值，lngs 为 null 时为交错数组形式，length 为点数
+     */
+    private static final class SplitTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int mOp;
+        private final double[] mLats;
+        private final double[] mLngs;
+        private final int mOffset;
+        private final int mLength;
+        private final double[] mOutLats;
+        private final double[] mOutLngs;
+        private final int mOutOffset;
+        private final int mThreshold;
+
+        SplitTask(int op, double[] lats, double[] lngs, int offset, int length,
+                  double[] outLats, double[] outLngs, int outOffset, int threshold) {
+            mOp = op;
+            mLats = lats;
+            mLngs = lngs;
+            mOffset = offset;
+            mLength = length;
+            mOutLats = outLats;
+            mOutLngs = outLngs;
+            mOutOffset = outOffset;
+            mThreshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (mLength <= mThreshold) {
+                if (mLngs == null) {
+                    LocationUtil.convert(mOp, mLats, mOffset, mLength, mOutLats, mOutOffset);
+                } else {
+                    LocationUtil.convert(mOp, mLats, mLngs, mOffset, mLength, mOutLats, mOutLngs, mOutOffset);
+                }
+                return;
+            }
+            int half = mLength >>> 1;
+            // 交错数组每个点占两个元素
+            int step = mLngs == null ? half * 2 : half;
+            SplitTask right = new SplitTask(mOp, mLats, mLngs, mOffset + step, mLength - half,
+                    mOutLats, mOutLngs, mOutOffset + step, mThreshold);
+            right.fork();
+            new SplitTask(mOp, mLats, mLngs, mOffset, half, mOutLats, mOutLngs, mOutOffset, mThreshold).compute();
+            right.join();
+        }
+    }
+
+    private static class PoolHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,211 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <ul>
+ *     <li>Description: 可增长的轨迹点列表，纬度、经度、时间、精度以基本类型数组保存</li>
+ *     <li>Date: 2026-10-18 09:35</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 每个点固定 28 字节，而每个 Location 对象本身就有上百字节，大量点时内存只有 Location 列表的几分之一。
+ * 以下方法直接读写其中的数组：
+ * <ul>
+ *     <li>坐标转换：{@link LocationUtil#transCoord(CoordType, PointList)}</li>
+ *     <li>距离：{@link LocationUtil#getDistance(PointList)}</li>
+ *     <li>抽稀：{@link TrackSimplifier#simplify(PointList, double)}，PointList 本身也可以作为抽稀的输出</li>
+ * </ul>
+ * 数组容量不够时翻倍扩容，{@link #trimToSize()} 释放多余的容量。非线程安全。
+ */
+public final class PointList implements ITrackPointCallback {
+    private static final int INITIAL_CAPACITY = 16;
+
+    CoordType mCoordType;
+    int mSize;
+    double[] mLatitudes;
+    double[] mLongitudes;
+    private long[] mTimes;
+    private float[] mAccuracies;
+
+    public PointList(@NonNull CoordType coordType) {
+        this(coordType, INITIAL_CAPACITY);
+    }
+
+    public PointList(@NonNull CoordType coordType, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative, but was " + capacity);
+        }
+        mCoordType = coordType;
+        mLatitudes = new double[capacity];
+        mLongitudes = new double[capacity];
+        mTimes = new long[capacity];
+        mAccuracies = new float[capacity];
+    }
+
+    @NonNull
+    public CoordType getCoordType() {
+        return mCoordType;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public double getLatitude(int index) {
+        checkIndex(index);
+        return mLatitudes[index];
+    }
+
+    public double getLongitude(int index) {
+        checkIndex(index);
+        return mLongitudes[index];
+    }
+
+    public long getTime(int index) {
+        checkIndex(index);
+        return mTimes[index];
+    }
+
+    /**
+     * @return 精度，单位：米，无精度为 0
+     */
+    public float getAccuracy(int index) {
+        checkIndex(index);
+        return mAccuracies[index];
+    }
+
+    @NonNull
+    public LatLng getLatLng(int index) {
+        checkIndex(index);
+        return new LatLng(mLatitudes[index], mLongitudes[index], mCoordType);
+    }
+
+    /**
+     * @return 见 {@link LatLng#pack(double, double)}
+     */
+    public long getPacked(int index) {
+        checkIndex(index);
+        return LatLng.pack(mLatitudes[index], mLongitudes[index]);
+    }
+
+    /**
+     * @param accuracy 精度，单位：米，无精度传 0
+     */
+    public void add(double lat, double lng, long timeMs, float accuracy) {
+        if (mSize == mLatitudes.length) {
+            ensureCapacity(Math.max(INITIAL_CAPACITY, mSize * 2));
+        }
+        int index = mSize ++;
+        mLatitudes[index] = lat;
+        mLongitudes[index] = lng;
+        mTimes[index] = timeMs;
+        mAccuracies[index] = accuracy;
+    }
+
+    /**
+     * 坐标需与本列表的坐标系一致
+     */
+    public void add(@NonNull Location location) {
+        add(location.getLatitude(), location.getLongitude(), location.getTime(), location.getAccuracy());
+    }
+
+    /**
+     * 点先转换到本列表的坐标系
+     */
+    public void add(@NonNull LatLng latLng, long timeMs, float accuracy) {
+        LatLng point = latLng.to(mCoordType);
+        add(point.getLatitude(), point.getLongitude(), timeMs, accuracy);
+    }
+
+    /**
+     * 作为 {@link TrackSimplifier} 等的输出
+     */
+    @Override
+    public void onPoint(double lat, double lng, long timeMs, float accuracy) {
+        add(lat, lng, timeMs, accuracy);
+    }
+
+    /**
+     * @throws IllegalArgumentException 批次的坐标系与本列表不一致
+     */
+    public void addAll(@NonNull LocationBatch batch) {
+        checkCoordType(batch.getCoordType());
+        ensureCapacity(mSize + batch.size());
+        for (int i = 0, size = batch.size(); i < size; i ++) {
+            add(batch.getLatitude(i), batch.getLongitude(i), batch.getTime(i), batch.getAccuracy(i));
+        }
+    }
+
+    /**
+     * 读入轨迹文件中剩余的所有点
+     * @throws IllegalArgumentException 轨迹文件的坐标系与本列表不一致
+     */
+    public void addAll(@NonNull TrackReader reader) throws IOException {
+        checkCoordType(reader.getCoordType());
+        while (reader.next()) {
+            add(reader.getLatitude(), reader.getLongitude(), reader.getTime(), reader.getAccuracy());
+        }
+    }
+
+    /**
+     * 清空所有点，保留容量
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= mLatitudes.length) {
+            return;
+        }
+        mLatitudes = Arrays.copyOf(mLatitudes, capacity);
+        mLongitudes = Arrays.copyOf(mLongitudes, capacity);
+        mTimes = Arrays.copyOf(mTimes, capacity);
+        mAccuracies = Arrays.copyOf(mAccuracies, capacity);
+    }
+
+    public void trimToSize() {
+        if (mSize == mLatitudes.length) {
+            return;
+        }
+        mLatitudes = Arrays.copyOf(mLatitudes, mSize);
+        mLongitudes = Arrays.copyOf(mLongitudes, mSize);
+        mTimes = Arrays.copyOf(mTimes, mSize);
+        mAccuracies = Arrays.copyOf(mAccuracies, mSize);
+    }
+
+    /**
+     * 复制全部点与坐标系，target 的数组不够时扩容
+     */
+    public void copyTo(@NonNull PointList target) {
+        target.mCoordType = mCoordType;
+        target.mSize = 0;
+        target.ensureCapacity(mSize);
+        System.arraycopy(mLatitudes, 0, target.mLatitudes, 0, mSize);
+        System.arraycopy(mLongitudes, 0, target.mLongitudes, 0, mSize);
+        System.arraycopy(mTimes, 0, target.mTimes, 0, mSize);
+        System.arraycopy(mAccuracies, 0, target.mAccuracies, 0, mSize);
+        target.mSize = mSize;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mSize);
+        }
+    }
+
+    private void checkCoordType(CoordType coordType) {
+        if (coordType != mCoordType) {
+            throw new IllegalArgumentException("Coord type is " + coordType + ", expected " + mCoordType);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+import android.location.LocationManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <ul>
+ *     <li>Description: 回放 GPX、CSV、NMEA 轨迹文件的定位来源，用于测试与压测</li>
+ *     <li>Date: 2026-10-18 09:16</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 文件在独立的回放线程上边读边发，所有定位都以 GPS Provider 的名义发出，时间保留文件中的时间。
+ * 回放按文件中相邻定位的时间差等待，speed 为 1 时与实际时间一致，大于 1 时按倍数加速，小于等于 0 时不等待，尽快发出，
+ * 可达每秒数十万个定位。没有注册者时回放暂停，恢复后以下一个定位为起点重新计时。
+ * minTimeMs、minDistanceM 不在此处过滤，由 {@link LocationHub} 的订阅者各自过滤。
+ * <p>
+ * 只依赖 {@link Location}，不依赖 Android 运行时的其它部分，可在 JVM 上直接使用。
+ */
+public class ReplayLocationSource implements ILocationSource, Closeable {
+    public static final int FORMAT_GPX = 0;
+    public static final int FORMAT_CSV = 1;
+    public static final int FORMAT_NMEA = 2;
+
+    private static final String THREAD_NAME = "LocationX-Replay";
+
+    private final File mFile;
+    private final int mFormat;
+    private final double mSpeed;
+
+    private final CopyOnWriteArrayList<Registration> mRegistrations = new CopyOnWriteArrayList<>();
+    private final Object mLock = new Object();
+    private Thread mThread;
+    private volatile boolean mClosed;
+    private boolean mFinished;
+    private IOException mError;
+
+    private volatile Location mLastLocation;
+    private volatile long mDeliveredCount;
+
+    /**
+     * 按扩展名判断格式（.gpx、.csv，其它按 NMEA），实时回放
+     */
+    public ReplayLocationSource(@NonNull File file) {
+        this(file, formatOf(file), 1);
+    }
+
+    /**
+     * @param format {@link #FORMAT_GPX}、{@link #FORMAT_CSV}、{@link #FORMAT_NMEA}
+     * @param speed 回放倍速，小于等于 0 表示不等待
+     */
+    public ReplayLocationSource(@NonNull File file, int format, double speed) {
+        if (format < FORMAT_GPX || format > FORMAT_NMEA) {
+            throw new IllegalArgumentException("Unknown replay format: " + format);
+        }
+        mFile = file;
+        mFormat = format;
+        mSpeed = speed;
+    }
+
+    private static int formatOf(File file) {
+        String name = file.getName().toLowerCase();
+        if (name.endsWith(".gpx")) {
+            return FORMAT_GPX;
+        }
+        if (name.endsWith(".csv")) {
+            return FORMAT_CSV;
+        }
+        return FORMAT_NMEA;
+    }
+
+    @Override
+    public boolean hasProvider(@NonNull String provider) {
+        return LocationManager.GPS_PROVIDER.equals(provider);
+    }
+
+    @Override
+    public boolean isProviderEnabled(@NonNull String provider) {
+        return hasProvider(provider);
+    }
+
+    @Nullable
+    @Override
+    public Location getLastKnownLocation(@NonNull String provider) {
+        Location location = mLastLocation;
+        return hasProvider(provider) && location != null ? new Location(location) : null;
+    }
+
+    @Override
+    public void requestLocationUpdates(@NonNull String provider, long minTimeMs, float minDistanceM,
+                                       @NonNull Executor executor, @NonNull ILocationCallback callback) {
+        register(new Registration(provider, executor, callback, false));
+    }
+
+    @Override
+    public void requestSingleUpdate(@NonNull String provider, @NonNull Executor executor, @NonNull ILocationCallback callback) {
+        register(new Registration(provider, executor, callback, true));
+    }
+
+    @Override
+    public void removeUpdates(@NonNull ILocationCallback callback) {
+        for (Registration registration : mRegistrations) {
+            if (registration.mCallback == callback) {
+                mRegistrations.remove(registration);
+            }
+        }
+    }
+
+    private void register(Registration registration) {
+        if (!hasProvider(registration.mProvider)) {
+            throw new IllegalArgumentException("Provider \"" + registration.mProvider + "\" doesn't exist");
+        }
+        removeUpdates(registration.mCallback);
+        mRegistrations.add(registration);
+        synchronized (mLock) {
+            if (mClosed) {
+                return;
+            }
+            if (mThread == null) {
+                mThread = new Thread(this::replay, THREAD_NAME);
+                mThread.setDaemon(true);
+                mThread.start();
+            }
+            mLock.notifyAll();
+        }
+    }
+
+    /**
+     * 已发出的定位个数
+     */
+    public long getDeliveredCount() {
+        return mDeliveredCount;
+    }
+
+    /**
+     * 等待文件回放完毕
+     * @return 超时前回放完毕返回 true
+     * @throws IOException 读取文件出错
+     */
+    public boolean awaitFinished(long timeoutMs) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000;
+        synchronized (mLock) {
+            while (!mFinished) {
+                long remainingMs = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMs <= 0) {
+                    return false;
+                }
+                mLock.wait(remainingMs);
+            }
+            if (mError != null) {
+                throw mError;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 停止回放，之后不再发出定位。经 {@link LocationHub} 使用时还需调用 {@link LocationHub#release(ILocationSource)} 移除共享实例
+     */
+    @Override
+    public void close() {
+        synchronized (mLock) {
+            mClosed = true;
+            mLock.notifyAll();
+        }
+        mRegistrations.clear();
+    }
+
+    private void replay() {
+        IOException error = null;
+        try (ReplayReader reader = ReplayReader.open(mFile, mFormat)) {
+            long startNanos = 0;
+            long startTime = 0;
+            long previousTime = 0;
+            boolean first = true;
+            while (reader.next()) {
+                // 没有注册者时暂停，恢复后重新计时
+                if (awaitRegistration()) {
+                    first = true;
+                }
+                if (mClosed) {
+                    break;
+                }
+                long time = reader.mTime;
+                if (first || time < previousTime) {
+                    startNanos = System.nanoTime();
+                    startTime = time;
+                    first = false;
+                } else if (mSpeed > 0) {
+                    long targetNanos = startNanos + (long) ((time - startTime) * 1_000_000 / mSpeed);
+                    long waitNanos;
+                    while ((waitNanos = targetNanos - System.nanoTime()) > 0 && !mClosed) {
+                        LockSupport.parkNanos(this, waitNanos);
+                    }
+                }
+                previousTime = time;
+                deliver(toLocation(reader));
+            }
+        } catch (IOException e) {
+            error = e;
+        } catch (RuntimeException e) {
+            // 回放线程不能因意外异常退出，否则 awaitFinished 只能等到超时
+            error = new IOException("Replay failed", e);
+        }
+        synchronized (mLock) {
+            mFinished = true;
+            mError = error;
+            mLock.notifyAll();
+        }
+    }
+
+    /**
+     * @return 是否发生过等待
+     */
+    private boolean awaitRegistration() {
+        if (!mRegistrations.isEmpty()) {
+            return false;
+        }
+        boolean waited = false;
+        synchronized (mLock) {
+            while (mRegistrations.isEmpty() && !mClosed) {
+                waited = true;
+                try {
+                    mLock.wait();
+                } catch (InterruptedException e) {
+                    mClosed = true;
+                }
+            }
+        }
+        return waited;
+    }
+
+    private static Location toLocation(ReplayReader reader) {
+        Location location = new Location(LocationManager.GPS_PROVIDER);
+        location.setLatitude(reader.mLatitude);
+        location.setLongitude(reader.mLongitude);
+        location.setTime(reader.mTime);
+        if (!Float.isNaN(reader.mAccuracy)) {
+            location.setAccuracy(reader.mAccuracy);
+        }
+        if (!Double.isNaN(reader.mAltitude)) {
+            location.setAltitude(reader.mAltitude);
+        }
+        if (!Float.isNaN(reader.mSpeed)) {
+            location.setSpeed(reader.mSpeed);
+        }
+        if (!Float.isNaN(reader.mBearing)) {
+            location.setBearing(reader.mBearing);
+        }
+        return location;
+    }
+
+    private void deliver(Location location) {
+        // 原对象留作最后已知定位，每个注册者各自一份副本
+        mLastLocation = location;
+        mDeliveredCount ++;
+        for (Registration registration : mRegistrations) {
+            if (registration.mSingle && !mRegistrations.remove(registration)) {
+                continue;
+            }
+            registration.deliver(new Location(location));
+        }
+    }
+
+    private static class Registration {
+        private final String mProvider;
+        private final Executor mExecutor;
+        private final ILocationCallback mCallback;
+        private final boolean mSingle;
+
+        Registration(String provider, Executor executor, ILocationCallback callback, boolean single) {
+            mProvider = provider;
+            mExecutor = executor;
+            mCallback = callback;
+            mSingle = single;
+        }
+
+        void deliver(Location location) {
+            mExecutor.execute(() -> mCallback.onResult(location));
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <ul>
+ *     <li>Description: 回放文件的流式读取，逐条解析定位点，不会把整个文件载入内存</li>
+ *     <li>Date: 2026-10-18 09:16</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 用法与 {@link TrackReader} 相同：{@link #next()} 返回 true 后读取各字段。缺失的可选字段为 NaN。非线程安全。
+ */
+abstract class ReplayReader implements Closeable {
+    // 由 HDOP 估算水平精度时使用的用户等效测距误差，单位：米
+    static final float UERE_M = 5;
+
+    final BufferedReader mReader;
+
+    double mLatitude;
+    double mLongitude;
+    // UTC 毫秒，缺失时为 0
+    long mTime;
+    float mAccuracy;
+    double mAltitude;
+    float mSpeed;
+    float mBearing;
+
+    ReplayReader(@NonNull Reader reader) {
+        mReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 64 * 1024);
+    }
+
+    @NonNull
+    static ReplayReader open(@NonNull File file, int format) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+        return create(reader, format);
+    }
+
+    @NonNull
+    static ReplayReader create(@NonNull Reader reader, int format) {
+        switch (format) {
+            case ReplayLocationSource.FORMAT_GPX:
+                return new Gpx(reader);
+            case ReplayLocationSource.FORMAT_CSV:
+                return new Csv(reader);
+            case ReplayLocationSource.FORMAT_NMEA:
+                return new Nmea(reader);
+            default:
+                throw new IllegalArgumentException("Unknown replay format: " + format);
+        }
+    }
+
+    /**
+     * 读取下一个定位点
+     * @return 已到文件末尾时返回 false
+     */
+    abstract boolean next() throws IOException;
+
+    void clearOptional() {
+        mTime = 0;
+        mAccuracy = Float.NaN;
+        mAltitude = Double.NaN;
+        mSpeed = Float.NaN;
+        mBearing = Float.NaN;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mReader.close();
+    }
+
+    /**
+     * 解析 ISO 8601 时间，例如 2026-10-18T12:34:56.789Z、2026-10-18T20:34:56+08:00
+     * @return UTC 毫秒，格式不正确时返回 -1
+     */
+    static long parseIsoTime(@NonNull CharSequence s) {
+        int length = s.length();
+        if (length < 19 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return -1;
+        }
+        int year = digits(s, 0, 4), month = digits(s, 5, 7), day = digits(s, 8, 10);
+        int hour = digits(s, 11, 13), minute = digits(s, 14, 16), second = digits(s, 17, 19);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || minute < 0 || second < 0) {
+            return -1;
+        }
+        int i = 19;
+        int millis = 0;
+        if (i < length && s.charAt(i) == '.') {
+            int scale = 100;
+            for (i ++; i < length && Character.isDigit(s.charAt(i)); i ++) {
+                millis += (s.charAt(i) - '0') * scale;
+                scale /= 10;
+            }
+        }
+        long offsetMs = 0;
+        if (i < length && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            if (length < i + 6) {
+                return -1;
+            }
+            int offsetHour = digits(s, i + 1, i + 3), offsetMinute = digits(s, i + 4, i + 6);
+            if (offsetHour < 0 || offsetMinute < 0) {
+                return -1;
+            }
+            offsetMs = (offsetHour * 60 + offsetMinute) * 60_000L * (s.charAt(i) == '+' ? 1 : -1);
+        }
+        return toEpochMs(year, month, day, hour, minute, second, millis) - offsetMs;
+    }
+
+    /**
+     * 公历日期转 UTC 毫秒，不依赖 java.time
+     */
+    static long toEpochMs(int year, int month, int day, int hour, int minute, int second, int millis) {
+        // Howard Hinnant 的 days_from_civil
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yoe = y - era * 400;
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        long days = era * 146097L + doe - 719468;
+        return ((days * 24 + hour) * 60 + minute) * 60_000L + second * 1000L + millis;
+    }
+
+    /**
+     * @return [start, end) 范围内的十进制数，有非数字字符时返回 -1
+     */
+    static int digits(@NonNull CharSequence s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i ++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static float parseFloat(String s) {
+        s = s.trim();
+        return s.isEmpty() ? Float.NaN : Float.parseFloat(s);
+    }
+
+    private static double parseDouble(String s) {
+        s = s.trim();
+        return s.isEmpty() ? Double.NaN : Double.parseDouble(s);
+    }
+
+    /**
+     * GPX 1.0 / 1.1 的 trkpt、rtept、wpt，读取 time、ele、hdop、speed、course，忽略命名空间前缀。
+     * 只做满足回放需要的轻量扫描，不校验 XML 结构
+     */
+    static class Gpx extends ReplayReader {
+        private final StringBuilder mTag = new StringBuilder();
+        private final StringBuilder mText = new StringBuilder();
+
+        Gpx(@NonNull Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            while (readTag()) {
+                String name = tagName();
+                if (!isPoint(name)) {
+                    continue;
+                }
+                clearOptional();
+                String lat = attribute("lat");
+                String lon = attribute("lon");
+                if (lat == null || lon == null) {
+                    throw new IOException("GPX point without lat/lon: <" + mTag + ">");
+                }
+                try {
+                    mLatitude = Double.parseDouble(lat);
+                    mLongitude = Double.parseDouble(lon);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Bad GPX point <" + mTag + ">", e);
+                }
+                if (mTag.charAt(mTag.length() - 1) == '/') {
+                    return true;
+                }
+                while (readTag()) {
+                    String child = tagName();
+                    if (child.isEmpty() || child.charAt(0) != '/') {
+                        continue;
+                    }
+                    child = child.substring(1);
+                    if (isPoint(child)) {
+                        return true;
+                    }
+                    readChild(child, mText.toString().trim());
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean isPoint(String name) {
+            return name.equals("trkpt") || name.equals("rtept") || name.equals("wpt");
+        }
+
+        private void readChild(String name, String text) throws IOException {
+            try {
+                switch (name) {
+                    case "time":
+                        long time = parseIsoTime(text);
+                        mTime = time < 0 ? 0 : time;
+                        break;
+                    case "ele":
+                        mAltitude = parseDouble(text);
+                        break;
+                    case "hdop":
+                        mAccuracy = parseFloat(text) * UERE_M;
+                        break;
+                    case "speed":
+                        mSpeed = parseFloat(text);
+                        break;
+                    case "course":
+                        mBearing = parseFloat(text);
+                        break;
+                    default:
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad GPX value <" + name + ">" + text, e);
+            }
+        }
+
+        /**
+         * 读取下一个标签到 mTag（不含尖括号），标签前的文本放入 mText
+         */
+        private boolean readTag() throws IOException {
+            mText.setLength(0);
+            int c;
+            while ((c = mReader.read()) != '<') {
+                if (c < 0) {
+                    return false;
+                }
+                mText.append((char) c);
+            }
+            mTag.setLength(0);
+            while ((c = mReader.read()) != '>') {
+                if (c < 0) {
+                    return false;
+                }
+                mTag.append((char) c);
+            }
+            // 注释中可能包含 '>'
+            if (mTag.length() >= 3 && mTag.charAt(0) == '!' && mTag.charAt(1) == '-' && mTag.charAt(2) == '-') {
+                while (mTag.length() < 5 || mTag.charAt(mTag.length() - 1) != '-' || mTag.charAt(mTag.length() - 2) != '-') {
+                    mTag.append('>');
+                    while ((c = mReader.read()) != '>') {
+                        if (c < 0) {
+                            return false;
+                        }
+                        mTag.append((char) c);
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return 去掉命名空间前缀的标签名，结束标签以 '/' 开头
+         */
+        private String tagName() {
+            int start = mTag.length() > 0 && mTag.charAt(0) == '/' ? 1 : 0;
+            int end = start;
+            while (end < mTag.length() && !Character.isWhitespace(mTag.charAt(end)) && mTag.charAt(end) != '/') {
+                end ++;
+            }
+            String name = mTag.substring(start, end);
+            int colon = name.indexOf(':');
+            if (colon >= 0) {
+                name = name.substring(colon + 1);
+            }
+            return start == 1 ? "/" + name : name;
+        }
+
+        private String attribute(String name) {
+            int from = 0;
+            while (true) {
+                int index = mTag.indexOf(name, from);
+                if (index < 0) {
+                    return null;
+                }
+                from = index + name.length();
+                if (index == 0 || !Character.isWhitespace(mTag.charAt(index - 1))) {
+                    continue;
+                }
+                int i = from;
+                while (i < mTag.length() && Character.isWhitespace(mTag.charAt(i))) {
+                    i ++;
+                }
+                if (i >= mTag.length() || mTag.charAt(i) != '=') {
+                    continue;
+                }
+                i ++;
+                while (i < mTag.length() && Character.isWhitespace(mTag.charAt(i))) {
+                    i ++;
+                }
+                if (i >= mTag.length()) {
+                    return null;
+                }
+                char quote = mTag.charAt(i);
+                int end = mTag.indexOf(String.valueOf(quote), i + 1);
+                return end < 0 ? null : mTag.substring(i + 1, end);
+            }
+        }
+    }
+
+    /**
+     * 每行一个点：time,lat,lng[,accuracy[,altitude[,speed[,bearing]]]]，time 为 UTC 毫秒或 ISO 8601，
+     * 可选字段可留空；空行、以 # 开头的行和无法解析的首行（表头）跳过
+     */
+    static class Csv extends ReplayReader {
+        private int mLineNumber;
+
+        Csv(@NonNull Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            String line;
+            while ((line = mReader.readLine()) != null) {
+                mLineNumber ++;
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                try {
+                    if (fields.length < 3) {
+                        throw new NumberFormatException("Expect at least 3 fields");
+                    }
+                    clearOptional();
+                    String time = fields[0].trim();
+                    if (time.indexOf('-') > 0) {
+                        mTime = parseIsoTime(time);
+                        if (mTime < 0) {
+                            throw new NumberFormatException("Bad time " + time);
+                        }
+                    } else {
+                        mTime = Long.parseLong(time);
+                    }
+                    mLatitude = Double.parseDouble(fields[1].trim());
+                    mLongitude = Double.parseDouble(fields[2].trim());
+                    if (fields.length > 3) {
+                        mAccuracy = parseFloat(fields[3]);
+                    }
+                    if (fields.length > 4) {
+                        mAltitude = parseDouble(fields[4]);
+                    }
+                    if (fields.length > 5) {
+                        mSpeed = parseFloat(fields[5]);
+                    }
+                    if (fields.length > 6) {
+                        mBearing = parseFloat(fields[6]);
+                    }
+                    return true;
+                } catch (NumberFormatException e) {
+                    if (mLineNumber == 1) {
+                        continue;
+                    }
+                    throw new IOException("Bad CSV line " + mLineNumber + ": " + line, e);
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 每个有效的 RMC 语句产生一个点，同一时刻的 GGA 提供 HDOP 与海拔；由 {@link NmeaParser} 解析，校验和错误的语句跳过
+     */
+    static class Nmea extends ReplayReader {
+        private final NmeaParser mParser = new NmeaParser();
+        private final char[] mChars = new char[8 * 1024];
+        private int mPosition;
+        private int mLimit;
+        private boolean mEnd;
+
+        private long mGgaTimeOfDayMs = -1;
+        private float mGgaHdop = Float.NaN;
+        private double mGgaAltitude = Double.NaN;
+
+        Nmea(@NonNull Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            NmeaParser parser = mParser;
+            while (true) {
+                int sentence;
+                if (mPosition < mLimit) {
+                    sentence = parser.append(mChars[mPosition ++]);
+                } else if (mEnd) {
+                    return false;
+                } else {
+                    int count = mReader.read(mChars, 0, mChars.length);
+                    if (count >= 0) {
+                        mPosition = 0;
+                        mLimit = count;
+                        continue;
+                    }
+                    // 最后一条语句可能没有换行
+                    mEnd = true;
+                    sentence = parser.flush();
+                }
+                if (sentence == NmeaParser.SENTENCE_GGA) {
+                    NmeaFix fix = parser.getFix();
+                    mGgaTimeOfDayMs = fix.getTimeOfDayMs();
+                    mGgaHdop = fix.getHdop();
+                    mGgaAltitude = fix.getAltitude();
+                } else if (sentence == NmeaParser.SENTENCE_RMC && readRmc(parser.getFix())) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean readRmc(NmeaFix fix) {
+            if (!fix.isStatusValid() || !fix.hasPosition()) {
+                return false;
+            }
+            clearOptional();
+            mLatitude = fix.getLatitude();
+            mLongitude = fix.getLongitude();
+            mTime = Math.max(fix.getTime(), 0);
+            mSpeed = fix.getSpeed();
+            mBearing = fix.getCourse();
+            if (fix.getTimeOfDayMs() >= 0 && fix.getTimeOfDayMs() == mGgaTimeOfDayMs) {
+                mAccuracy = mGgaHdop * UERE_M;
+                mAltitude = mGgaAltitude;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * <ul>
+ *     <li>Description: 路线走廊偏航检测，以网格索引路线线段，并记住上次匹配的线段，每次定位只检查附近的线段</li>
+ *     <li>Date: 2026-10-18 09:42</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 路线为折线，走廊是到折线距离不超过半宽的区域。每次定位先检查游标（上次匹配的线段）及其后若干段，
+ * 沿路线行进时几乎总在这里命中；不在走廊内时再查询定位附近网格中的线段。两种情况的耗时都与路线长度无关。
+ * <p>
+ * 线段按其实际经过的网格登记，网格与检索半径（走廊半宽的 {@value #SEARCH_RADIUS_RATIO} 倍）相当。
+ * 检索半径内的最近线段一定能找到，偏离距离是精确的；超出检索半径时偏离距离记为无穷大，进度保持不变。
+ * 距离在定位附近按 {@link LocationUtil#getSegmentDistance} 相同的方式展开为平面计算。
+ * <p>
+ * 连续 {@value #OFF_ROUTE_CONFIRM_COUNT} 次定位在走廊外才判定为偏航，避免单次漂移误报；
+ * 偏航后回到半宽的 {@value #BACK_ON_RATIO} 倍以内才判定为回到路线，避免在边界来回跳变。
+ * <p>
+ * 路线的坐标系应与传入的定位一致。{@link #update} 应始终在同一个线程调用，事件回调也在该线程触发。非线程安全。
+ */
+public class RouteCorridor {
+    public static final int EVENT_OFF_ROUTE = 1;
+    public static final int EVENT_BACK_ON_ROUTE = 2;
+
+    // 判定偏航需要连续在走廊外的定位次数
+    private static final int OFF_ROUTE_CONFIRM_COUNT = 2;
+    // 回到路线的距离阈值与走廊半宽之比
+    private static final double BACK_ON_RATIO = 0.8;
+    // 网格检索半径与走廊半宽之比
+    private static final double SEARCH_RADIUS_RATIO = 4;
+    // 游标快速路径检查的线段：游标前 1 段到游标后 LOOKAHEAD 段
+    private static final int LOOKAHEAD = 8;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    // 登记线段的三个阶段
+    private static final int PASS_COUNT = 0;
+    private static final int PASS_INSERT = 1;
+    private static final int PASS_FILL = 2;
+
+    private final double mHalfWidthM;
+    private final double mSearchRadiusM;
+    private final IRouteCallback mCallback;
+    private final CoordType mCoordType;
+
+    private final double[] mLats;
+    private final double[] mLngs;
+    // 起点到各顶点的路线长度，单位：米
+    private final double[] mProgress;
+    private final int mSegmentCount;
+
+    // 纬度 1 度对应的米数
+    private final double mMPerLat;
+    // 网格边长，单位：度
+    private final double mCellLat;
+    private final double mCellLng;
+
+    // 网格：开放寻址哈希表，mCellSegments[mCellStarts[slot], mCellStarts[slot] + mCellCounts[slot]) 为该网格的线段
+    private final long[] mCellKeys;
+    private final int[] mCellStarts;
+    private final int[] mCellCounts;
+    private final int[] mCellSegments;
+    private final int mCellMask;
+
+    // 一次查询中已检查过的线段，避免同一线段在多个网格中重复计算
+    private final int[] mVisited;
+    private int mGeneration;
+
+    private int mCursor = -1;
+    private double mCrossTrackM = Double.POSITIVE_INFINITY;
+    private double mProgressM;
+    private boolean mOffRoute;
+    private int mOutsideCount;
+
+    // 单次查询的中间结果
+    private double mFixMPerLng;
+    private double mBestDistanceSquared;
+    private int mBestSegment;
+    private double mBestT;
+
+    /**
+     * @param route 路线顶点，至少两个点，构造时复制，之后修改 route 不影响本对象
+     * @param halfWidthM 走廊半宽，单位：米，宜大于定位精度
+     */
+    public RouteCorridor(@NonNull PointList route, double halfWidthM, @NonNull IRouteCallback callback) {
+        if (route.size() < 2) {
+            throw new IllegalArgumentException("route needs at least 2 points, but has " + route.size());
+        }
+        if (!(halfWidthM > 0)) {
+            throw new IllegalArgumentException("halfWidthM must be positive, but was " + halfWidthM);
+        }
+        mHalfWidthM = halfWidthM;
+        mSearchRadiusM = halfWidthM * SEARCH_RADIUS_RATIO;
+        mCallback = callback;
+        mCoordType = route.getCoordType();
+
+        int count = route.size();
+        mLats = new double[count];
+        mLngs = new double[count];
+        mProgress = new double[count];
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i ++) {
+            mLats[i] = route.getLatitude(i);
+            mLngs[i] = route.getLongitude(i);
+            minLat = Math.min(minLat, mLats[i]);
+            maxLat = Math.max(maxLat, mLats[i]);
+            if (i > 0) {
+                mProgress[i] = mProgress[i - 1] + LocationUtil.getDistance(mLats[i - 1], mLngs[i - 1], mLats[i], mLngs[i]) * 1000;
+            }
+        }
+        mSegmentCount = count - 1;
+        mVisited = new int[mSegmentCount];
+
+        mMPerLat = Math.toRadians(1) * LocationUtil.EARTH_RADIUS * 1000;
+        // 网格按路线中部的纬度取为检索半径见方，只影响每格的线段数，查询按定位所在纬度计算范围，不会漏掉线段
+        mCellLat = mSearchRadiusM / mMPerLat;
+        mCellLng = mSearchRadiusM / (mMPerLat * Math.max(0.01, Math.cos(Math.toRadians((minLat + maxLat) / 2))));
+
+        // 先统计线段经过的网格总数以确定哈希表容量，再统计每个网格的线段数，按前缀和分配位置后填入
+        int total = 0;
+        for (int i = 0; i < mSegmentCount; i ++) {
+            total += registerSegment(i, PASS_COUNT);
+        }
+        int capacity = Integer.highestOneBit(Math.max(16, total * 2) - 1) << 1;
+        mCellKeys = new long[capacity];
+        Arrays.fill(mCellKeys, EMPTY);
+        mCellStarts = new int[capacity];
+        mCellCounts = new int[capacity];
+        mCellMask = capacity - 1;
+        mCellSegments = new int[total];
+        for (int i = 0; i < mSegmentCount; i ++) {
+            registerSegment(i, PASS_INSERT);
+        }
+        int start = 0;
+        for (int slot = 0; slot < capacity; slot ++) {
+            mCellStarts[slot] = start;
+            start += mCellCounts[slot];
+            mCellCounts[slot] = 0;
+        }
+        for (int i = 0; i < mSegmentCount; i ++) {
+            registerSegment(i, PASS_FILL);
+        }
+    }
+
+    @NonNull
+    public CoordType getCoordType() {
+        return mCoordType;
+    }
+
+    /**
+     * @return 路线总长，单位：米
+     */
+    public double getRouteLength() {
+        return mProgress[mSegmentCount];
+    }
+
+    /**
+     * @return 最近一次定位到路线的距离，单位：米，超出检索半径或尚无定位时为无穷大
+     */
+    public double getCrossTrackDistance() {
+        return mCrossTrackM;
+    }
+
+    /**
+     * @return 最近一次匹配点沿路线到起点的距离，单位：米
+     */
+    public double getProgress() {
+        return mProgressM;
+    }
+
+    /**
+     * @return 最近一次匹配的线段序号，即起点顶点的下标，尚未匹配时为 -1
+     */
+    public int getMatchedSegment() {
+        return mCursor;
+    }
+
+    public boolean isOffRoute() {
+        return mOffRoute;
+    }
+
+    /**
+     * 清除匹配状态，重新开始一次行程
+     */
+    public void reset() {
+        mCursor = -1;
+        mCrossTrackM = Double.POSITIVE_INFINITY;
+        mProgressM = 0;
+        mOffRoute = false;
+        mOutsideCount = 0;
+    }
+
+    public boolean update(@NonNull Location location) {
+        return update(location.getLatitude(), location.getLongitude(), location.getTime());
+    }
+
+    /**
+     * 用一次定位更新匹配状态，偏航或回到路线时回调
+     * @return 本次定位后是否在路线上
+     */
+    public boolean update(double lat, double lng, long timeMs) {
+        match(lat, lng);
+        if (mBestSegment >= 0) {
+            mCursor = mBestSegment;
+            mCrossTrackM = Math.sqrt(mBestDistanceSquared);
+            mProgressM = mProgress[mBestSegment] + mBestT * (mProgress[mBestSegment + 1] - mProgress[mBestSegment]);
+        } else {
+            mCrossTrackM = Double.POSITIVE_INFINITY;
+        }
+
+        int event = 0;
+        if (!mOffRoute) {
+            if (mCrossTrackM > mHalfWidthM) {
+                if (++mOutsideCount >= OFF_ROUTE_CONFIRM_COUNT) {
+                    mOffRoute = true;
+                    event = EVENT_OFF_ROUTE;
+                }
+            } else {
+                mOutsideCount = 0;
+            }
+        } else if (mCrossTrackM <= mHalfWidthM * BACK_ON_RATIO) {
+            mOffRoute = false;
+            mOutsideCount = 0;
+            event = EVENT_BACK_ON_ROUTE;
+        }
+        if (event != 0) {
+            mCallback.onRouteEvent(this, event, lat, lng, timeMs);
+        }
+        return !mOffRoute;
+    }
+
+    /**
+     * 找出检索半径内最近的线段，结果在 mBestSegment（没有为 -1）、mBestDistanceSquared、mBestT
+     */
+    private void match(double lat, double lng) {
+        mFixMPerLng = mMPerLat * Math.cos(Math.toRadians(lat));
+        mBestSegment = -1;
+        mBestDistanceSquared = mSearchRadiusM * mSearchRadiusM;
+        int generation = ++mGeneration;
+        if (generation == 0) {
+            Arrays.fill(mVisited, 0);
+            generation = mGeneration = 1;
+        }
+
+        if (mCursor >= 0) {
+            int end = Math.min(mSegmentCount - 1, mCursor + LOOKAHEAD);
+            for (int i = Math.max(0, mCursor - 1); i <= end; i ++) {
+                mVisited[i] = generation;
+                test(i, lat, lng);
+            }
+            if (mBestSegment >= 0 && mBestDistanceSquared <= mHalfWidthM * mHalfWidthM) {
+                return;
+            }
+        }
+
+        // 检索半径对应的经度跨度随纬度变化，按定位所在纬度计算
+        double radiusLng = mFixMPerLng > 0 ? mSearchRadiusM / mFixMPerLng : 360;
+        double radiusLat = mSearchRadiusM / mMPerLat;
+        int minRow = row(lat - radiusLat), maxRow = row(lat + radiusLat);
+        int minCol = col(lng - radiusLng), maxCol = col(lng + radiusLng);
+        for (int row = minRow; row <= maxRow; row ++) {
+            for (int col = minCol; col <= maxCol; col ++) {
+                int slot = find(key(row, col));
+                if (slot < 0) {
+                    continue;
+                }
+                for (int j = mCellStarts[slot], end = j + mCellCounts[slot]; j < end; j ++) {
+                    int segment = mCellSegments[j];
+                    if (mVisited[segment] != generation) {
+                        mVisited[segment] = generation;
+                        test(segment, lat, lng);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 在定位附近展开为平面，计算到线段的距离，比当前最优更近时记录
+     */
+    private void test(int segment, double lat, double lng) {
+        double x1 = (mLngs[segment] - lng) * mFixMPerLng;
+        double y1 = (mLats[segment] - lat) * mMPerLat;
+        double x2 = (mLngs[segment + 1] - lng) * mFixMPerLng;
+        double y2 = (mLats[segment + 1] - lat) * mMPerLat;
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : -(x1 * dx + y1 * dy) / lengthSquared;
+        if (t < 0) {
+            t = 0;
+        } else if (t > 1) {
+            t = 1;
+        }
+        double x = x1 + t * dx;
+        double y = y1 + t * dy;
+        double distanceSquared = x * x + y * y;
+        // 恰好在检索半径上的线段也算找到
+        if (distanceSquared < mBestDistanceSquared || (mBestSegment < 0 && distanceSquared == mBestDistanceSquared)) {
+            mBestDistanceSquared = distanceSquared;
+            mBestSegment = segment;
+            mBestT = t;
+        }
+    }
+
+    /**
+     * 逐行计算线段在该行内的经度范围，登记到实际经过的网格
+     * @param pass PASS_COUNT 只计数，PASS_INSERT 建立网格并统计每个网格的线段数，PASS_FILL 填入线段
+     * @return 线段经过的网格数
+     */
+    private int registerSegment(int segment, int pass) {
+        double lat1 = mLats[segment], lng1 = mLngs[segment];
+        double lat2 = mLats[segment + 1], lng2 = mLngs[segment + 1];
+        int minRow = row(Math.min(lat1, lat2)), maxRow = row(Math.max(lat1, lat2));
+        int cells = 0;
+        for (int row = minRow; row <= maxRow; row ++) {
+            double fromLng = lng1, toLng = lng2;
+            if (lat1 != lat2) {
+                // 线段与本行上下边界的交点，夹在线段端点之间
+                double lowLat = Math.max(row * mCellLat, Math.min(lat1, lat2));
+                double highLat = Math.min((row + 1) * mCellLat, Math.max(lat1, lat2));
+                fromLng = lng1 + (lng2 - lng1) * (lowLat - lat1) / (lat2 - lat1);
+                toLng = lng1 + (lng2 - lng1) * (highLat - lat1) / (lat2 - lat1);
+            }
+            int maxCol = col(Math.max(fromLng, toLng));
+            for (int col = col(Math.min(fromLng, toLng)); col <= maxCol; col ++) {
+                cells ++;
+                if (pass == PASS_COUNT) {
+                    continue;
+                }
+                int slot = insert(key(row, col));
+                if (pass == PASS_FILL) {
+                    mCellSegments[mCellStarts[slot] + mCellCounts[slot]] = segment;
+                }
+                mCellCounts[slot] ++;
+            }
+        }
+        return cells;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / mCellLat);
+    }
+
+    private int col(double lng) {
+        return (int) Math.floor(lng / mCellLng);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(long key) {
+        for (int slot = hash(key) & mCellMask; ; slot = (slot + 1) & mCellMask) {
+            long k = mCellKeys[slot];
+            if (k == key) {
+                return slot;
+            }
+            if (k == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int insert(long key) {
+        for (int slot = hash(key) & mCellMask; ; slot = (slot + 1) & mCellMask) {
+            long k = mCellKeys[slot];
+            if (k == key) {
+                return slot;
+            }
+            if (k == EMPTY) {
+                mCellKeys[slot] = key;
+                return slot;
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package ceneax.app.lib.locationx;
+
+import android.annotation.SuppressLint;
+import android.location.Location;
+import android.location.LocationManager;
+import android.os.Handler;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * <ul>
+ *     <li>Description: 单次定位的合并请求与结果缓存</li>
+ *     <li>Date: 2026-10-18 19:00</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 同一时刻的多个单次定位请求共用一次获取过程：只发起一次 GPS、Network 的 requestSingleUpdate 和一个卫星状态监听，
+ * GPS 定位成功时一次性回调所有等待者；每个等待者按自己的超时时间单独回调当前最优结果，全部超时或取消后停止获取。
+ * <p>
+ * 所有等待者的超时都投递到库后台线程的同一个 {@link Handler}，由其消息队列按时间排序触发，
+ * 等待者一旦回调或取消就立即移除对应的超时消息，不会再持有回调和监听。
+ * <p>
+ * 单次定位和 {@link LocationHub} 持续定位的结果都会记入缓存，接受旧定位的请求可以直接从内存返回。
+ * 系统回调与超时都在库的后台线程处理。由 {@link LocationHub} 持有，每个定位来源 {@link ILocationSource} 一个实例。
+ */
+@SuppressLint("MissingPermission")
+class SingleLocationFetcher {
+    private final ILocationSource mSource;
+    private final Handler mHandler = LocationExecutors.getWorkerHandler();
+
+    // 最近的最优定位，WGS84
+    private Location mCachedLocation;
+
+    // 最优定位的来源
+    private static final int SOURCE_LAST_KNOWN = 0;
+    private static final int SOURCE_GPS = 1;
+    private static final int SOURCE_NETWORK = 2;
+
+    // 正在进行的获取过程
+    private final ArrayList<Waiter> mWaiters = new ArrayList<>();
+    private boolean mAcquiring;
+    private long mStartMs;
+    private Location mBestLocation;
+    private int mBestSource;
+    private final ILocationCallback mGpsListener = this::onGpsLocation;
+    private final ILocationCallback mNetworkListener = this::onNetworkLocation;
+
+    private final GnssMonitor mGnssMonitor;
+    private final LocationMetrics mMetrics = new LocationMetrics();
+
+    SingleLocationFetcher(@NonNull ILocationSource source, @NonNull GnssMonitor gnssMonitor) {
+        mSource = source;
+        mGnssMonitor = gnssMonitor;
+    }
+
+    @NonNull
+    LocationMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * 记录一个新的定位结果，比缓存中的更优时替换缓存
+     */
+    synchronized void updateCache(@Nullable Location location) {
+        if (location != null && LocationUtil.isBetterLocation(location, mCachedLocation)) {
+            mCachedLocation = new Location(location);
+        }
+    }
+
+    /**
+     * @param maxAgeMs 可接受的最大定位时长
+     * @param maxAccuracyM 可接受的最大精度，单位：米，小于等于 0 表示不限
+     * @return 满足条件的缓存定位副本，WGS84 坐标，没有则返回 null
+     */
+    @Nullable
+    synchronized Location getCachedLocation(long maxAgeMs, float maxAccuracyM) {
+        Location location = mCachedLocation;
+        if (location == null) {
+            return null;
+        }
+        long ageMs = (SystemClock.elapsedRealtimeNanos() - location.getElapsedRealtimeNanos()) / 1_000_000;
+        if (ageMs > maxAgeMs) {
+            return null;
+        }
+        if (maxAccuracyM > 0 && (!location.hasAccuracy() || location.getAccuracy() > maxAccuracyM)) {
+            return null;
+        }
+        return new Location(location);
+    }
+
+    /**
+     * 加入单次定位，缓存满足条件时直接回调，已有获取过程时直接合并
+     * @param timeoutMs 超时时间，超时后回调当前最优结果
+     * @param maxAgeMs 可接受的缓存定位最大时长，0 表示不使用缓存
+     * @param maxAccuracyM 可接受的缓存定位最大精度，单位：米，小于等于 0 表示不限
+     * @param executor 结果的回调线程。坐标转换在结果产生的线程完成：缓存命中时为调用线程（只转换一个点），
+     *                 否则为库的后台线程
+     */
+    @NonNull
+    ILocationRequest request(long timeoutMs, long maxAgeMs, float maxAccuracyM, @NonNull CoordType coordType,
+                             @NonNull Executor executor, @NonNull ILocationCallback locationCallback) {
+        Waiter waiter = new Waiter(coordType, executor, locationCallback);
+        mMetrics.recordRequest();
+        if (maxAgeMs > 0) {
+            Location cached = getCachedLocation(maxAgeMs, maxAccuracyM);
+            if (cached != null) {
+                LXLog.d("getLocation: 使用缓存的定位信息");
+                mMetrics.recordCached(cached.getAccuracy());
+                waiter.deliver(cached);
+                return waiter;
+            }
+        }
+
+        Waiter[] failed;
+        synchronized (this) {
+            mWaiters.add(waiter);
+            if (mAcquiring) {
+                LXLog.d("getLocation: 已有进行中的单次定位，合并请求，等待者个数：{}", mWaiters.size());
+                mMetrics.recordCoalesced();
+                mHandler.postDelayed(waiter, timeoutMs);
+                return waiter;
+            }
+            try {
+                start();
+                mHandler.postDelayed(waiter, timeoutMs);
+                return waiter;
+            } catch (Exception e) {
+                LXLog.e("getLocation 获取单次定位失败：" + e.getMessage());
+                stop();
+                failed = takeWaiters();
+                mMetrics.recordFailed();
+            }
+        }
+        deliver(failed, null);
+        return waiter;
+    }
+
+    private void start() {
+        mAcquiring = true;
+        mStartMs = SystemClock.elapsedRealtime();
+        mBestLocation = null;
+        mBestSource = SOURCE_LAST_KNOWN;
+        mGnssMonitor.acquire();
+
+        if (mSource.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
+            LXLog.d("GPS Provider 有效，开始获取 GPS 最后一次定位信息");
+            Location location = mSource.getLastKnownLocation(LocationManager.GPS_PROVIDER);
+            if (LocationUtil.isBetterLocation(location, mBestLocation)) {
+                mBestLocation = location;
+                LXLog.d("本次 GPS Provider 获取的定位信息已记录为高优先级");
+            }
+        }
+        if (mSource.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
+            LXLog.d("Network Provider 有效，开始获取 Network 最后一次定位信息");
+            Location location = mSource.getLastKnownLocation(LocationManager.NETWORK_PROVIDER);
+            if (LocationUtil.isBetterLocation(location, mBestLocation)) {
+                mBestLocation = location;
+                LXLog.d("本次 Network Provider 获取的定位信息已记录为高优先级");
+            }
+        }
+
+        if (mSource.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
+            mSource.requestSingleUpdate(LocationManager.GPS_PROVIDER, LocationExecutors.worker(), mGpsListener);
+        }
+        if (mSource.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
+            mSource.requestSingleUpdate(LocationManager.NETWORK_PROVIDER, LocationExecutors.worker(), mNetworkListener);
+        }
+    }
+
+    private void stop() {
+        mSource.removeUpdates(mGpsListener);
+        mSource.removeUpdates(mNetworkListener);
+        if (mAcquiring) {
+            mGnssMonitor.release();
+            mAcquiring = false;
+        }
+    }
+
+    private void onNetworkLocation(@NonNull Location location) {
+        LXLog.d("requestSingleUpdate: networkListener 执行回调，已得到定位信息");
+        synchronized (this) {
+            if (mAcquiring) {
+                mMetrics.recordNetworkLatency(SystemClock.elapsedRealtime() - mStartMs);
+            }
+            if (LocationUtil.isBetterLocation(location, mBestLocation)) {
+                mBestLocation = location;
+                mBestSource = SOURCE_NETWORK;
+                LXLog.d("requestSingleUpdate: networkListener 定位信息已记录为高优先级");
+            }
+            updateCache(location);
+            mSource.removeUpdates(mNetworkListener);
+        }
+    }
+
+    private void onGpsLocation(@NonNull Location location) {
+        LXLog.d("requestSingleUpdate: gpsListener 执行回调，已得到定位信息");
+        Waiter[] waiters;
+        Location best;
+        synchronized (this) {
+            long nowMs = SystemClock.elapsedRealtime();
+            if (mAcquiring) {
+                mMetrics.recordGpsLatency(nowMs - mStartMs);
+            }
+            if (LocationUtil.isBetterLocation(location, mBestLocation)) {
+                mBestLocation = location;
+                mBestSource = SOURCE_GPS;
+                LXLog.d("requestSingleUpdate: gpsListener 定位信息已记录为高优先级");
+            }
+            updateCache(location);
+            stop();
+            waiters = takeWaiters();
+            best = mBestLocation;
+            for (Waiter waiter : waiters) {
+                mMetrics.recordFirstFix(nowMs - waiter.mRequestMs);
+                recordDelivery(best);
+            }
+        }
+        deliver(waiters, best);
+    }
+
+    private void onTimeout(Waiter waiter) {
+        Location best;
+        synchronized (this) {
+            if (!mWaiters.remove(waiter)) {
+                return;
+            }
+            LXLog.d("超时时间已到，gpsListener 未获取到定位信息");
+            if (mWaiters.isEmpty()) {
+                stop();
+            }
+            best = mBestLocation;
+            mMetrics.recordTimeout(SystemClock.elapsedRealtime() - waiter.mRequestMs,
+                    best != null && mBestSource == SOURCE_LAST_KNOWN);
+            if (best == null) {
+                mMetrics.recordFailed();
+            } else {
+                recordDelivery(best);
+            }
+        }
+        waiter.deliver(best);
+    }
+
+    private void cancel(Waiter waiter) {
+        synchronized (this) {
+            if (!mWaiters.remove(waiter)) {
+                return;
+            }
+            mHandler.removeCallbacks(waiter);
+            mMetrics.recordCancelled();
+            LXLog.d("getLocation: 单次定位已取消，剩余等待者个数：{}", mWaiters.size());
+            if (mWaiters.isEmpty()) {
+                stop();
+            }
+        }
+    }
+
+    private void recordDelivery(@Nullable Location location) {
+        if (location != null) {
+            mMetrics.recordDelivery(mBestSource == SOURCE_GPS, mBestSource == SOURCE_NETWORK, location.getAccuracy());
+        }
+    }
+
+    private Waiter[] takeWaiters() {
+        Waiter[] waiters = mWaiters.toArray(new Waiter[0]);
+        mWaiters.clear();
+        for (Waiter waiter : waiters) {
+            mHandler.removeCallbacks(waiter);
+        }
+        return waiters;
+    }
+
+    /**
+     * 在锁外回调，回调中可以再次发起单次定位
+     */
+    private static void deliver(Waiter[] waiters, @Nullable Location location) {
+        for (Waiter waiter : waiters) {
+            waiter.deliver(location);
+        }
+    }
+
+    /**
+     * 等待者从列表移除（回调、超时、取消）都在锁内完成，因此每个等待者至多回调一次
+     */
+    private class Waiter implements Runnable, ILocationRequest {
+        private final CoordType mCoordType;
+        private final Executor mExecutor;
+        private final ILocationCallback mCallback;
+        private final long mRequestMs = SystemClock.elapsedRealtime();
+        private volatile boolean mDone;
+        private volatile boolean mCancelled;
+
+        Waiter(CoordType coordType, Executor executor, ILocationCallback callback) {
+            mCoordType = coordType;
+            mExecutor = executor;
+            mCallback = callback;
+        }
+
+        @Override
+        public void run() {
+            onTimeout(this);
+        }
+
+        @Override
+        public void cancel() {
+            // 已回调但尚未切换到回调线程时，仍需拦截回调
+            mCancelled = true;
+            if (mDone) {
+                return;
+            }
+            mDone = true;
+            SingleLocationFetcher.this.cancel(this);
+        }
+
+        @Override
+        public boolean isDone() {
+            return mDone;
+        }
+
+        void deliver(@Nullable Location location) {
+            mDone = true;
+            // 每个等待者的坐标系可能不同，各自转换一份副本
+            Location result = location == null ? null : LocationUtil.transCoordInPlace(mCoordType, new Location(location));
+            if (result != null) {
+                LXLog.i("{}", result);
+            }
+            mExecutor.execute(() -> {
+                // 切换线程期间可能已被取消
+                if (!mCancelled) {
+                    mCallback.onResult(result);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <ul>
+ *     <li>Description: 轨迹的流式导出，支持 GPX、GeoJSON LineString 与紧凑的二进制格式</li>
+ *     <li>Date: 2026-10-18 09:32</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 用法：
+ * <pre>
+ * try (TrackExporter exporter = TrackExporter.create(output, TrackExporter.FORMAT_GPX, CoordType.GCJ02, CoordType.WGS84)) {
+ *     exporter.write(reader);
+ * }
+ * </pre>
+ * 每个点在写入时转换坐标系（见 {@link LocationUtil#transCoord(CoordType, CoordType, double[], int, int, double[], int)}），
+ * 直接以 ASCII 编码到固定大小的缓冲区，缓冲区满时写出，不生成字符串，内存占用与点数无关。
+ * 坐标保留 7 位小数，与轨迹文件的定点精度一致。
+ * <ul>
+ *     <li>GPX：一条 trk/trkseg，每个点写入经纬度与 UTC 时间，GPX 没有精度字段</li>
+ *     <li>GeoJSON：一个 LineString Feature，坐标为 [经度, 纬度]，properties.coordType 为目标坐标系</li>
+ *     <li>二进制：与 {@link TrackRecorder} 相同的格式，见 {@link TrackFormat}，可用 {@link TrackReader} 读取</li>
+ * </ul>
+ * 非线程安全。
+ */
+public abstract class TrackExporter implements Closeable {
+    public static final int FORMAT_GPX = 0;
+    public static final int FORMAT_GEOJSON = 1;
+    public static final int FORMAT_BINARY = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 单个点编码后的最大字节数，缓冲剩余空间不足时先写出
+    private static final int MAX_POINT_SIZE = 160;
+    private static final long E7 = 10_000_000L;
+
+    private final OutputStream mOutput;
+    private final WritableByteChannel mChannel;
+    private final ByteBuffer mBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    final byte[] mBytes = mBuffer.array();
+    int mPos;
+
+    private final CoordType mSourceCoordType;
+    final CoordType mTargetCoordType;
+    private final double[] mLatLng = new double[2];
+
+    private long mPointCount;
+    private boolean mStarted;
+    private boolean mFinished;
+
+    TrackExporter(OutputStream output, WritableByteChannel channel, CoordType sourceCoordType, CoordType targetCoordType) {
+        mOutput = output;
+        mChannel = channel;
+        mSourceCoordType = sourceCoordType;
+        mTargetCoordType = targetCoordType;
+    }
+
+    /**
+     * @param format FORMAT_*
+     * @param sourceCoordType 写入的点所在的坐标系
+     * @param targetCoordType 导出的坐标系
+     */
+    @NonNull
+    public static TrackExporter create(@NonNull OutputStream output, int format,
+                                       @NonNull CoordType sourceCoordType, @NonNull CoordType targetCoordType) {
+        return create(output, null, format, sourceCoordType, targetCoordType);
+    }
+
+    @NonNull
+    public static TrackExporter create(@NonNull WritableByteChannel channel, int format,
+                                       @NonNull CoordType sourceCoordType, @NonNull CoordType targetCoordType) {
+        return create(null, channel, format, sourceCoordType, targetCoordType);
+    }
+
+    private static TrackExporter create(OutputStream output, WritableByteChannel channel, int format,
+                                        CoordType sourceCoordType, CoordType targetCoordType) {
+        switch (format) {
+            case FORMAT_GPX:
+                return new Gpx(output, channel, sourceCoordType, targetCoordType);
+            case FORMAT_GEOJSON:
+                return new GeoJson(output, channel, sourceCoordType, targetCoordType);
+            case FORMAT_BINARY:
+                return new Binary(output, channel, sourceCoordType, targetCoordType);
+            default:
+                throw new IllegalArgumentException("Unknown export format: " + format);
+        }
+    }
+
+    public long getPointCount() {
+        return mPointCount;
+    }
+
+    /**
+     * 写入一个点，坐标需与构造时的源坐标系一致
+     * @param accuracyM 精度，单位：米，无精度传 0
+     */
+    public void write(double lat, double lng, long timeMs, float accuracyM) throws IOException {
+        if (mFinished) {
+            throw new IllegalStateException("Exporter is finished");
+        }
+        start();
+        if (mSourceCoordType != mTargetCoordType) {
+            double[] latLng = mLatLng;
+            latLng[0] = lat;
+            latLng[1] = lng;
+            LocationUtil.transCoord(mSourceCoordType, mTargetCoordType, latLng, 0, 1, latLng, 0);
+            lat = latLng[0];
+            lng = latLng[1];
+        }
+        ensure(MAX_POINT_SIZE);
+        writePoint(lat, lng, timeMs, accuracyM, mPointCount == 0);
+        mPointCount ++;
+    }
+
+    public void write(@NonNull Location location) throws IOException {
+        write(location.getLatitude(), location.getLongitude(), location.getTime(), location.getAccuracy());
+    }
+
+    /**
+     * @throws IllegalArgumentException 批次的坐标系与源坐标系不一致
+     */
+    public void write(@NonNull LocationBatch batch) throws IOException {
+        checkCoordType(batch.getCoordType());
+        for (int i = 0, size = batch.size(); i < size; i ++) {
+            write(batch.getLatitude(i), batch.getLongitude(i), batch.getTime(i), batch.getAccuracy(i));
+        }
+    }
+
+    /**
+     * 写入轨迹文件中剩余的所有点
+     * @return 写入的点数
+     * @throws IllegalArgumentException 轨迹文件的坐标系与源坐标系不一致
+     */
+    public long write(@NonNull TrackReader reader) throws IOException {
+        checkCoordType(reader.getCoordType());
+        long count = 0;
+        while (reader.next()) {
+            write(reader.getLatitude(), reader.getLongitude(), reader.getTime(), reader.getAccuracy());
+            count ++;
+        }
+        return count;
+    }
+
+    /**
+     * 写入文件尾并把缓冲写出，之后不能再写入点，不关闭输出
+     */
+    public void finish() throws IOException {
+        if (mFinished) {
+            return;
+        }
+        start();
+        mFinished = true;
+        ensure(MAX_POINT_SIZE);
+        writeTrailer();
+        flushBuffer();
+        if (mOutput != null) {
+            mOutput.flush();
+        }
+    }
+
+    /**
+     * {@link #finish()} 后关闭输出
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            if (mOutput != null) {
+                mOutput.close();
+            } else {
+                mChannel.close();
+            }
+        }
+    }
+
+    abstract void writeHeader();
+
+    abstract void writePoint(double lat, double lng, long timeMs, float accuracyM, boolean first);
+
+    abstract void writeTrailer();
+
+    private void checkCoordType(CoordType coordType) {
+        if (coordType != mSourceCoordType) {
+            throw new IllegalArgumentException("Coord type is " + coordType + ", expected " + mSourceCoordType);
+        }
+    }
+
+    private void start() throws IOException {
+        if (!mStarted) {
+            mStarted = true;
+            ensure(MAX_POINT_SIZE);
+            writeHeader();
+        }
+    }
+
+    private void ensure(int size) throws IOException {
+        if (BUFFER_SIZE - mPos < size) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (mPos == 0) {
+            return;
+        }
+        if (mOutput != null) {
+            mOutput.write(mBytes, 0, mPos);
+        } else {
+            mBuffer.clear();
+            mBuffer.limit(mPos);
+            while (mBuffer.hasRemaining()) {
+                mChannel.write(mBuffer);
+            }
+        }
+        mPos = 0;
+    }
+
+    final void put(char c) {
+        mBytes[mPos ++] = (byte) c;
+    }
+
+    final void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, mBytes, mPos, bytes.length);
+        mPos += bytes.length;
+    }
+
+    /**
+     * 非负整数，至少 minDigits 位，不足时补 0
+     */
+    final void putLong(long value, int minDigits) {
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits ++;
+        }
+        digits = Math.max(digits, minDigits);
+        int end = mPos + digits;
+        for (int i = end - 1; i >= mPos; i --) {
+            mBytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        mPos = end;
+    }
+
+    /**
+     * 保留 7 位小数的度数
+     */
+    final void putDegrees(double degrees) {
+        long scaled = Math.round(degrees * E7);
+        if (scaled < 0) {
+            put('-');
+            scaled = -scaled;
+        }
+        putLong(scaled / E7, 1);
+        put('.');
+        putLong(scaled % E7, 7);
+    }
+
+    /**
+     * ISO 8601 UTC 时间，毫秒为 0 时省略小数部分
+     */
+    final void putIsoTime(long timeMs) {
+        long days = Math.floorDiv(timeMs, 86_400_000L);
+        long msOfDay = Math.floorMod(timeMs, 86_400_000L);
+        // Howard Hinnant 的 civil_from_days，与 ReplayReader.toEpochMs 互逆
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long day = doy - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        putLong(year, 4);
+        put('-');
+        putLong(month, 2);
+        put('-');
+        putLong(day, 2);
+        put('T');
+        putLong(msOfDay / 3_600_000, 2);
+        put(':');
+        putLong(msOfDay / 60_000 % 60, 2);
+        put(':');
+        putLong(msOfDay / 1000 % 60, 2);
+        if (msOfDay % 1000 != 0) {
+            put('.');
+            putLong(msOfDay % 1000, 3);
+        }
+        put('Z');
+    }
+
+    static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static class Gpx extends TrackExporter {
+        private static final byte[] HEADER = ascii("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<gpx version=\"1.1\" creator=\"LocationX\" xmlns=\"http://www.topografix.com/GPX/1/1\">\n"
+                + "<trk><trkseg>\n");
+        private static final byte[] POINT_LAT = ascii("<trkpt lat=\"");
+        private static final byte[] POINT_LON = ascii("\" lon=\"");
+        private static final byte[] POINT_TIME = ascii("\"><time>");
+        private static final byte[] POINT_END = ascii("</time></trkpt>\n");
+        private static final byte[] TRAILER = ascii("</trkseg></trk>\n</gpx>\n");
+
+        Gpx(OutputStream output, WritableByteChannel channel, CoordType sourceCoordType, CoordType targetCoordType) {
+            super(output, channel, sourceCoordType, targetCoordType);
+        }
+
+        @Override
+        void writeHeader() {
+            put(HEADER);
+        }
+
+        @Override
+        void writePoint(double lat, double lng, long timeMs, float accuracyM, boolean first) {
+            put(POINT_LAT);
+            putDegrees(lat);
+            put(POINT_LON);
+            putDegrees(lng);
+            put(POINT_TIME);
+            putIsoTime(timeMs);
+            put(POINT_END);
+        }
+
+        @Override
+        void writeTrailer() {
+            put(TRAILER);
+        }
+    }
+
+    static class GeoJson extends TrackExporter {
+        private static final byte[] HEADER_PREFIX = ascii("{\"type\":\"Feature\",\"properties\":{\"coordType\":\"");
+        private static final byte[] HEADER_SUFFIX = ascii("\"},\"geometry\":{\"type\":\"LineString\",\"coordinates\":[");
+        private static final byte[] TRAILER = ascii("]}}\n");
+
+        GeoJson(OutputStream output, WritableByteChannel channel, CoordType sourceCoordType, CoordType targetCoordType) {
+            super(output, channel, sourceCoordType, targetCoordType);
+        }
+
+        @Override
+        void writeHeader() {
+            put(HEADER_PREFIX);
+            // 枚举名只有 ASCII 字符，只在文件头写一次
+            put(ascii(mTargetCoordType.name()));
+            put(HEADER_SUFFIX);
+        }
+
+        @Override
+        void writePoint(double lat, double lng, long timeMs, float accuracyM, boolean first) {
+            if (!first) {
+                put(',');
+            }
+            put('[');
+            putDegrees(lng);
+            put(',');
+            putDegrees(lat);
+            put(']');
+        }
+
+        @Override
+        void writeTrailer() {
+            put(TRAILER);
+        }
+    }
+
+    static class Binary extends TrackExporter {
+        private int mLastLatE7;
+        private int mLastLngE7;
+        private long mLastTimeMs;
+
+        Binary(OutputStream output, WritableByteChannel channel, CoordType sourceCoordType, CoordType targetCoordType) {
+            super(output, channel, sourceCoordType, targetCoordType);
+        }
+
+        @Override
+        void writeHeader() {
+            mPos = TrackFormat.putHeader(mBytes, mPos, mTargetCoordType);
+        }
+
+        @Override
+        void writePoint(double lat, double lng, long timeMs, float accuracyM, boolean first) {
+            int latE7 = TrackFormat.toE7(lat);
+            int lngE7 = TrackFormat.toE7(lng);
+            mPos = TrackFormat.putRecord(mBytes, mPos, latE7, lngE7, timeMs, accuracyM, mLastLatE7, mLastLngE7, mLastTimeMs);
+            mLastLatE7 = latE7;
+            mLastLngE7 = lngE7;
+            mLastTimeMs = timeMs;
+        }
+
+        @Override
+        void writeTrailer() {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ceneax.app.lib.locationx;
+
+/**
+ * <ul>
+ *     <li>Description: 轨迹文件格式的常量与编解码工具</li>
+ *     <li>Date: 2026-10-18 14:30</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 文件头 8 字节：魔数 "LXTR"、版本号、{@link CoordType} 序号、2 字节保留。
+ * <p>
+ * 之后每条记录为：1 字节载荷长度 + 载荷 + 1 字节 CRC-8 校验。载荷依次为相对上一条记录的
+ * 纬度差、经度差（1e-7 度定点数，zigzag 变长编码）、时间差（毫秒，zigzag 变长编码），以及精度（分米，变长编码）。
+ * 第一条记录相对于 (0, 0, 0) 编码。长度为 0、越界或校验失败的位置即视为文件的有效末尾。
+ */
+final class TrackFormat {
+    static final int MAGIC = 0x4C585452;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    // 单条记录的最大字节数：长度 + 5 + 5 + 10 + 5 + 校验
+    static final int MAX_RECORD_SIZE = 27;
+
+    // 坐标定点化的比例
+    static final double E7 = 1e7;
+
+    private static final byte[] CRC8_TABLE = new byte[256];
+
+    static {
+        for (int i = 0; i < 256; i ++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit ++) {
+                crc = (crc & 0x80) != 0 ? (crc << 1) ^ 0x07 : crc << 1;
+            }
+            CRC8_TABLE[i] = (byte) crc;
+        }
+    }
+
+    private TrackFormat() {}
+
+    static int toE7(double degree) {
+        return (int) Math.round(degree * E7);
+    }
+
+    static int toDecimeter(float accuracyM) {
+        if (!(accuracyM > 0)) {
+            return 0;
+        }
+        return (int) Math.min(Math.round(accuracyM * 10.0), Integer.MAX_VALUE);
+    }
+
+    static byte crc8(byte[] buf, int offset, int length) {
+        int crc = 0;
+        for (int i = offset, end = offset + length; i < end; i ++) {
+            crc = CRC8_TABLE[(crc ^ buf[i]) & 0xFF];
+        }
+        return (byte) crc;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 写入无符号变长整数
+     * @return 写入后的位置
+     */
+    static int putVarLong(byte[] buf, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf[pos ++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos ++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * 写入文件头
+     * @return 写入后的位置
+     */
+    static int putHeader(byte[] buf, int pos, CoordType coordType) {
+        buf[pos ++] = (byte) (MAGIC >>> 24);
+        buf[pos ++] = (byte) (MAGIC >>> 16);
+        buf[pos ++] = (byte) (MAGIC >>> 8);
+        buf[pos ++] = (byte) MAGIC;
+        buf[pos ++] = (byte) VERSION;
+        buf[pos ++] = (byte) coordType.ordinal();
+        buf[pos ++] = 0;
+        buf[pos ++] = 0;
+        return pos;
+    }
+
+    /**
+     * 写入一条相对上一条记录的差分记录，调用方保证剩余空间不少于 {@link #MAX_RECORD_SIZE}
+     * @return 写入后的位置
+     */
+    static int putRecord(byte[] buf, int start, int latE7, int lngE7, long timeMs, float accuracyM,
+                         int lastLatE7, int lastLngE7, long lastTimeMs) {
+        int pos = start + 1;
+        pos = putVarLong(buf, pos, zigzag((long) latE7 - lastLatE7));
+        pos = putVarLong(buf, pos, zigzag((long) lngE7 - lastLngE7));
+        pos = putVarLong(buf, pos, zigzag(timeMs - lastTimeMs));
+        pos = putVarLong(buf, pos, toDecimeter(accuracyM));
+        int payloadLength = pos - start - 1;
+        buf[start] = (byte) payloadLength;
+        buf[pos ++] = crc8(buf, start + 1, payloadLength);
+        return pos;
+    }
+}
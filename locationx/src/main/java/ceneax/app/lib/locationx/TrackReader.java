@@ -0,0 +1,200 @@
+package ceneax.app.lib.locationx;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <ul>
+ *     <li>Description: 轨迹文件的流式读取器，按块读取并逐条解码，不会把整个文件载入内存</li>
+ *     <li>Date: 2026-10-18 15:10</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 用法：
+ * <pre>
+ * try (TrackReader reader = new TrackReader(file)) {
+ *     while (reader.next()) {
+ *         reader.getLatitude(); reader.getLongitude(); reader.getTime(); reader.getAccuracy();
+ *     }
+ * }
+ * </pre>
+ * 遇到不完整或损坏的记录即视为文件结束。非线程安全。
+ */
+public class TrackReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel mChannel;
+    private final CoordType mCoordType;
+    private final ByteBuffer mBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] mBytes = mBuffer.array();
+
+    // 缓冲中未解码数据的范围 [mPos, mLimit)
+    private int mPos;
+    private int mLimit;
+    private boolean mEof;
+    private boolean mEnd;
+    // mBytes[0] 在文件中的偏移
+    private long mBufferOffset;
+
+    private int mLatE7;
+    private int mLngE7;
+    private long mTimeMs;
+    private int mAccuracyDm;
+
+    /**
+     * @throws IOException 文件无法读取或不是轨迹文件
+     */
+    public TrackReader(@NonNull File file) throws IOException {
+        mChannel = new FileInputStream(file).getChannel();
+        try {
+            fill();
+            if (mLimit - mPos < TrackFormat.HEADER_SIZE || mBuffer.getInt(0) != TrackFormat.MAGIC) {
+                throw new IOException("Not a track file: " + file);
+            }
+            int version = mBytes[4];
+            if (version != TrackFormat.VERSION) {
+                throw new IOException("Unsupported track version: " + version);
+            }
+            int coordType = mBytes[5];
+            if (coordType < 0 || coordType >= CoordType.values().length) {
+                throw new IOException("Unknown coord type: " + coordType);
+            }
+            mCoordType = CoordType.values()[coordType];
+            mPos = TrackFormat.HEADER_SIZE;
+        } catch (IOException e) {
+            mChannel.close();
+            throw e;
+        }
+    }
+
+    public CoordType getCoordType() {
+        return mCoordType;
+    }
+
+    /**
+     * 读取下一条记录
+     * @return 没有更多完整记录时返回 false
+     */
+    public boolean next() throws IOException {
+        if (mEnd) {
+            return false;
+        }
+        if (mLimit - mPos < TrackFormat.MAX_RECORD_SIZE && !mEof) {
+            fill();
+        }
+        if (mPos >= mLimit) {
+            mEnd = true;
+            return false;
+        }
+
+        int payloadLength = mBytes[mPos] & 0xFF;
+        int end = mPos + 1 + payloadLength;
+        if (payloadLength == 0 || payloadLength > TrackFormat.MAX_RECORD_SIZE - 2 || end >= mLimit
+                || TrackFormat.crc8(mBytes, mPos + 1, payloadLength) != mBytes[end]) {
+            mEnd = true;
+            return false;
+        }
+
+        int p = mPos + 1;
+        long dLat = 0, dLng = 0, dTime = 0, accuracy = 0;
+        for (int field = 0; field < 4; field ++) {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                if (p >= end || shift > 63) {
+                    mEnd = true;
+                    return false;
+                }
+                byte b = mBytes[p ++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+                shift += 7;
+            }
+            switch (field) {
+                case 0: dLat = TrackFormat.unzigzag(value); break;
+                case 1: dLng = TrackFormat.unzigzag(value); break;
+                case 2: dTime = TrackFormat.unzigzag(value); break;
+                default: accuracy = value; break;
+            }
+        }
+        if (p != end) {
+            mEnd = true;
+            return false;
+        }
+
+        mLatE7 += (int) dLat;
+        mLngE7 += (int) dLng;
+        mTimeMs += dTime;
+        mAccuracyDm = (int) accuracy;
+        mPos = end + 1;
+        return true;
+    }
+
+    public double getLatitude() {
+        return mLatE7 / TrackFormat.E7;
+    }
+
+    public double getLongitude() {
+        return mLngE7 / TrackFormat.E7;
+    }
+
+    public long getTime() {
+        return mTimeMs;
+    }
+
+    /**
+     * @return 精度，单位：米，无精度为 0
+     */
+    public float getAccuracy() {
+        return mAccuracyDm / 10f;
+    }
+
+    int getLatitudeE7() {
+        return mLatE7;
+    }
+
+    int getLongitudeE7() {
+        return mLngE7;
+    }
+
+    /**
+     * 最后一条成功读取的记录之后在文件中的偏移
+     */
+    long getPosition() {
+        return mBufferOffset + mPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mChannel.close();
+    }
+
+    private void fill() throws IOException {
+        int remaining = mLimit - mPos;
+        System.arraycopy(mBytes, mPos, mBytes, 0, remaining);
+        mBufferOffset += mPos;
+        mPos = 0;
+        mLimit = remaining;
+
+        mBuffer.clear();
+        mBuffer.position(mLimit);
+        while (mBuffer.hasRemaining()) {
+            int read = mChannel.read(mBuffer);
+            if (read < 0) {
+                mEof = true;
+                break;
+            }
+            if (read == 0) {
+                break;
+            }
+        }
+        mLimit = mBuffer.position();
+    }
+}
@@ -0,0 +1,181 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <ul>
+ *     <li>Description: 只追加的轨迹记录器，定位点以差分定点数紧凑编码后经缓冲写入文件</li>
+ *     <li>Date: 2026-10-18 14:50</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 1Hz 记录时每个点通常只占 8 ~ 12 字节。记录先写入内存缓冲，累计 {@link #setFlushRecordCount} 条或缓冲区满时
+ * 才写入文件，避免每次定位都产生一次 I/O。写入文件即进入系统页缓存，进程被杀也不会丢失；
+ * 重新打开已有文件时会校验并截断到最后一条完整记录之后继续追加。
+ * <p>
+ * 格式见 {@link TrackFormat}，读取使用 {@link TrackReader}。所有方法线程安全。
+ */
+public class TrackRecorder implements Closeable {
+    // 默认累计多少条记录写入一次文件
+    public static final int DEFAULT_FLUSH_RECORD_COUNT = 30;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final FileChannel mChannel;
+    private final CoordType mCoordType;
+    private final ByteBuffer mBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] mBytes = mBuffer.array();
+
+    private int mFlushRecordCount = DEFAULT_FLUSH_RECORD_COUNT;
+    private int mPendingRecords;
+    private long mRecordCount;
+
+    private int mLastLatE7;
+    private int mLastLngE7;
+    private long mLastTimeMs;
+
+    /**
+     * 打开或创建轨迹文件
+     * @param coordType 记录的坐标系，追加到已有文件时必须与文件一致
+     * @throws IOException 文件无法打开，或已有文件不是轨迹文件、坐标系不一致
+     */
+    public TrackRecorder(@NonNull File file, @NonNull CoordType coordType) throws IOException {
+        mCoordType = coordType;
+        // File.toPath() 与 java.nio.file 要求 API 26，通过 RandomAccessFile 取得通道，文件不存在时创建
+        mChannel = new RandomAccessFile(file, "rw").getChannel();
+        try {
+            if (mChannel.size() < TrackFormat.HEADER_SIZE) {
+                // 新文件，或上次连文件头都没有写完整
+                mChannel.truncate(0);
+                writeHeader();
+            } else {
+                recover(file);
+            }
+        } catch (IOException e) {
+            mChannel.close();
+            throw e;
+        }
+    }
+
+    public CoordType getCoordType() {
+        return mCoordType;
+    }
+
+    /**
+     * 已记录的点数（含打开时恢复的点）
+     */
+    public synchronized long getRecordCount() {
+        return mRecordCount;
+    }
+
+    /**
+     * @param count 累计多少条记录写入一次文件，1 表示每条都立即写入
+     */
+    public synchronized void setFlushRecordCount(int count) {
+        mFlushRecordCount = Math.max(1, count);
+    }
+
+    public void append(@NonNull Location location) throws IOException {
+        append(location.getLatitude(), location.getLongitude(), location.getTime(), location.getAccuracy());
+    }
+
+    /**
+     * 追加一个定位点，坐标需与 {@link #getCoordType()} 一致
+     * @param accuracyM 精度，单位：米，无精度传 0
+     */
+    public synchronized void append(double lat, double lng, long timeMs, float accuracyM) throws IOException {
+        if (mBuffer.remaining() < TrackFormat.MAX_RECORD_SIZE) {
+            flushBuffer();
+        }
+
+        int latE7 = TrackFormat.toE7(lat);
+        int lngE7 = TrackFormat.toE7(lng);
+
+        int pos = TrackFormat.putRecord(mBytes, mBuffer.position(), latE7, lngE7, timeMs, accuracyM,
+                mLastLatE7, mLastLngE7, mLastTimeMs);
+        mBuffer.position(pos);
+
+        mLastLatE7 = latE7;
+        mLastLngE7 = lngE7;
+        mLastTimeMs = timeMs;
+        mRecordCount ++;
+
+        if (++mPendingRecords >= mFlushRecordCount) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * 把缓冲中的记录写入文件
+     */
+    public synchronized void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * 写入文件并同步到存储设备，可抵御断电，代价较高，不宜频繁调用
+     */
+    public synchronized void sync() throws IOException {
+        flushBuffer();
+        mChannel.force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!mChannel.isOpen()) {
+            return;
+        }
+        try {
+            flushBuffer();
+        } finally {
+            mChannel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        mBuffer.flip();
+        try {
+            while (mBuffer.hasRemaining()) {
+                mChannel.write(mBuffer);
+            }
+        } finally {
+            // 写入失败时把未写出的字节移回缓冲区开头，下次写入接着追加，不会重复写出也不会丢失
+            mBuffer.compact();
+        }
+        mPendingRecords = 0;
+    }
+
+    private void writeHeader() throws IOException {
+        mBuffer.position(TrackFormat.putHeader(mBytes, mBuffer.position(), mCoordType));
+        flushBuffer();
+    }
+
+    private void recover(File file) throws IOException {
+        long validLength;
+        try (TrackReader reader = new TrackReader(file)) {
+            if (reader.getCoordType() != mCoordType) {
+                throw new IOException("Track coord type is " + reader.getCoordType() + ", expected " + mCoordType);
+            }
+            while (reader.next()) {
+                mRecordCount ++;
+            }
+            mLastLatE7 = reader.getLatitudeE7();
+            mLastLngE7 = reader.getLongitudeE7();
+            mLastTimeMs = reader.getTime();
+            validLength = reader.getPosition();
+        }
+        if (validLength < mChannel.size()) {
+            LXLog.e("轨迹文件末尾存在不完整记录，已截断：" + mChannel.size() + " -> " + validLength);
+            mChannel.truncate(validLength);
+        }
+        mChannel.position(validLength);
+    }
+}
@@ -0,0 +1,204 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+
+/**
+ * <ul>
+ *     <li>Description: 流式轨迹抽稀，滑动窗口算法，内存占用与轨迹长度无关</li>
+ *     <li>Date: 2026-10-18 16:20</li>
+ *     <li>Author: ceneax</li>
+ * </ul>
+ * 以最近一个保留点为锚点，缓存其后的点；每来一个新点，检查缓存中的点到「锚点 - 新点」线段的距离，
+ * 一旦超出容差，就保留新点的前一个点作为新的锚点。被丢弃的点到其所在保留线段的距离都不超过容差。
+ * 缓存达到窗口上限时强制保留一个点，因此内存固定。保留点一经确定就立即输出，
+ * 最后一个点在 {@link #finish()} 时输出。
+ * <p>
+ * 距离按 {@link LocationUtil#getSegmentDistance} 相同的方式在锚点附近展开为平面计算，坐标在缓存时就投影好，
+ * 每个点的检查只有乘加运算。可直接作为 {@link ILocationCallback} 接在持续定位上，
+ * 也可通过 {@link #process(TrackReader)}、{@link #process(PointList)} 处理已记录的轨迹。非线程安全。
+ */
+public class TrackSimplifier implements ILocationCallback {
+    // 默认窗口大小
+    public static final int DEFAULT_WINDOW_SIZE = 256;
+
+    private final double mToleranceKm;
+    private final int mWindowSize;
+    private final ITrackPointCallback mCallback;
+
+    // 锚点
+    private boolean mHasAnchor;
+    private double mAnchorLat;
+    private double mAnchorLng;
+    // 锚点处经度 1 度、纬度 1 度对应的千米数
+    private double mKmPerLng;
+    private double mKmPerLat;
+
+    // 锚点之后的缓存点
+    private final double[] mLats;
+    private final double[] mLngs;
+    private final long[] mTimes;
+    private final float[] mAccuracies;
+    // 缓存点相对锚点的平面坐标，单位：千米
+    private final double[] mXs;
+    private final double[] mYs;
+    private int mSize;
+
+    private long mInputCount;
+    private long mOutputCount;
+
+    /**
+     * @param toleranceM 容差，单位：米
+     */
+    public TrackSimplifier(double toleranceM, @NonNull ITrackPointCallback callback) {
+        this(toleranceM, DEFAULT_WINDOW_SIZE, callback);
+    }
+
+    /**
+     * @param toleranceM 容差，单位：米
+     * @param windowSize 窗口大小，即两个保留点之间最多丢弃的点数，越大压缩率越高，单点耗时也越高
+     */
+    public TrackSimplifier(double toleranceM, int windowSize, @NonNull ITrackPointCallback callback) {
+        if (!(toleranceM >= 0)) {
+            throw new IllegalArgumentException("toleranceM must not be negative, but was " + toleranceM);
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive, but was " + windowSize);
+        }
+        mToleranceKm = toleranceM / 1000;
+        mWindowSize = windowSize;
+        mCallback = callback;
+        mLats = new double[windowSize];
+        mLngs = new double[windowSize];
+        mTimes = new long[windowSize];
+        mAccuracies = new float[windowSize];
+        mXs = new double[windowSize];
+        mYs = new double[windowSize];
+    }
+
+    @Override
+    public void onResult(@Nullable Location location) {
+        if (location != null) {
+            add(location.getLatitude(), location.getLongitude(), location.getTime(), location.getAccuracy());
+        }
+    }
+
+    public void add(double lat, double lng, long timeMs, float accuracy) {
+        mInputCount ++;
+        if (!mHasAnchor) {
+            setAnchor(lat, lng);
+            emit(lat, lng, timeMs, accuracy);
+            return;
+        }
+
+        double px = (lng - mAnchorLng) * mKmPerLng;
+        double py = (lat - mAnchorLat) * mKmPerLat;
+        if (mSize == mWindowSize || exceedsTolerance(px, py)) {
+            int last = mSize - 1;
+            double lastLat = mLats[last], lastLng = mLngs[last];
+            emit(lastLat, lastLng, mTimes[last], mAccuracies[last]);
+            setAnchor(lastLat, lastLng);
+            mSize = 0;
+            px = (lng - mAnchorLng) * mKmPerLng;
+            py = (lat - mAnchorLat) * mKmPerLat;
+        }
+
+        int index = mSize ++;
+        mLats[index] = lat;
+        mLngs[index] = lng;
+        mTimes[index] = timeMs;
+        mAccuracies[index] = accuracy;
+        mXs[index] = px;
+        mYs[index] = py;
+    }
+
+    /**
+     * 轨迹结束，输出最后一个点并重置状态，之后可继续处理新的轨迹
+     */
+    public void finish() {
+        if (mSize > 0) {
+            int last = mSize - 1;
+            emit(mLats[last], mLngs[last], mTimes[last], mAccuracies[last]);
+        }
+        mSize = 0;
+        mHasAnchor = false;
+    }
+
+    /**
+     * 抽稀整条已记录的轨迹，处理完成后自动 {@link #finish()}
+     */
+    public void process(@NonNull TrackReader reader) throws IOException {
+        while (reader.next()) {
+            add(reader.getLatitude(), reader.getLongitude(), reader.getTime(), reader.getAccuracy());
+        }
+        finish();
+    }
+
+    /**
+     * 抽稀点列表中的所有点，处理完成后自动 {@link #finish()}
+     */
+    public void process(@NonNull PointList points) {
+        for (int i = 0, size = points.size(); i < size; i ++) {
+            add(points.getLatitude(i), points.getLongitude(i), points.getTime(i), points.getAccuracy(i));
+        }
+        finish();
+    }
+
+    /**
+     * 以默认窗口大小抽稀整个点列表
+     * @param toleranceM 容差，单位：米
+     * @return 保留的点，坐标系与 points 相同
+     */
+    @NonNull
+    public static PointList simplify(@NonNull PointList points, double toleranceM) {
+        PointList result = new PointList(points.getCoordType());
+        new TrackSimplifier(toleranceM, result).process(points);
+        result.trimToSize();
+        return result;
+    }
+
+    public long getInputCount() {
+        return mInputCount;
+    }
+
+    public long getOutputCount() {
+        return mOutputCount;
+    }
+
+    private boolean exceedsTolerance(double px, double py) {
+        double lengthSquared = px * px + py * py;
+        double toleranceSquared = mToleranceKm * mToleranceKm;
+        for (int i = 0; i < mSize; i ++) {
+            double x = mXs[i], y = mYs[i];
+            double t = lengthSquared == 0 ? 0 : (x * px + y * py) / lengthSquared;
+            if (t < 0) {
+                t = 0;
+            } else if (t > 1) {
+                t = 1;
+            }
+            double dx = x - t * px;
+            double dy = y - t * py;
+            if (dx * dx + dy * dy > toleranceSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setAnchor(double lat, double lng) {
+        mHasAnchor = true;
+        mAnchorLat = lat;
+        mAnchorLng = lng;
+        mKmPerLat = Math.toRadians(1) * LocationUtil.EARTH_RADIUS;
+        mKmPerLng = mKmPerLat * Math.cos(Math.toRadians(lat));
+    }
+
+    private void emit(double lat, double lng, long timeMs, float accuracy) {
+        mOutputCount ++;
+        mCallback.onPoint(lat, lng, timeMs, accuracy);
+    }
+}
@@ -0,0 +1,176 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CachingGeocoderTest {
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /**
+     * 以 1 度网格编码结果，并统计调用次数
+     */
+    private static class CountingGeocoder implements IGeocoder {
+        final AtomicInteger mCalls = new AtomicInteger();
+
+        @Override
+        public GeoAddress decode(double lat, double lng) {
+            mCalls.incrementAndGet();
+            return new GeoAddress(null, null, null, (int) Math.floor(lat) * 1000 + (int) Math.floor(lng));
+        }
+    }
+
+    private static String toBase32(long hash, int precision) {
+        char[] chars = new char[precision];
+        for (int i = precision - 1; i >= 0; i --) {
+            chars[i] = BASE32.charAt((int) (hash & 31));
+            hash >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    @Test
+    public void geohash_matchesReference() {
+        assertEquals("ezs42", toBase32(CachingGeocoder.geohash(42.6, -5.6, 5), 5));
+        assertEquals("wtw3sjq6q", toBase32(CachingGeocoder.geohash(31.2304, 121.4737, 9), 9));
+        assertEquals(0, CachingGeocoder.geohash(-90, -180, 12));
+        assertEquals((1L << 60) - 1, CachingGeocoder.geohash(90, 180, 12));
+    }
+
+    @Test
+    public void sameCell_hitsCache() {
+        CountingGeocoder delegate = new CountingGeocoder();
+        CachingGeocoder cache = new CachingGeocoder(delegate, 7, 16, 0);
+        GeoAddress first = cache.decode(31.23040, 121.47370, 0);
+        // 同一个 7 位 geohash 网格内（约 150 米）
+        assertSame(first, cache.decode(31.23045, 121.47375, 1));
+        assertEquals(1, delegate.mCalls.get());
+        cache.decode(31.25, 121.47370, 2);
+        assertEquals(2, delegate.mCalls.get());
+
+        CachingGeocoder.Stats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getSize());
+        assertEquals(1.0 / 3, stats.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void lru_evictsLeastRecentlyUsed() {
+        CountingGeocoder delegate = new CountingGeocoder();
+        CachingGeocoder cache = new CachingGeocoder(delegate, 5, 3, 0);
+        cache.decode(10, 10, 0);
+        cache.decode(20, 20, 0);
+        cache.decode(30, 30, 0);
+        // 访问 10 后，20 成为最久未使用
+        cache.decode(10, 10, 0);
+        cache.decode(40, 40, 0);
+        assertEquals(3, cache.getSize());
+        assertEquals(1, cache.getStats().getEvictions());
+        int calls = delegate.mCalls.get();
+        cache.decode(10, 10, 0);
+        cache.decode(30, 30, 0);
+        cache.decode(40, 40, 0);
+        assertEquals(calls, delegate.mCalls.get());
+        cache.decode(20, 20, 0);
+        assertEquals(calls + 1, delegate.mCalls.get());
+    }
+
+    @Test
+    public void manyCells_tableStaysConsistent() {
+        CountingGeocoder delegate = new CountingGeocoder();
+        CachingGeocoder cache = new CachingGeocoder(delegate, 6, 64, 0);
+        // 反复淘汰，检验删除后的探测链
+        for (int round = 0; round < 3; round ++) {
+            for (int i = 0; i < 1000; i ++) {
+                GeoAddress address = cache.decode(i % 170 - 85 + 0.5, i % 350 - 175 + 0.5, 0);
+                assertEquals((i % 170 - 85) * 1000 + i % 350 - 175, address.getAdminCode());
+            }
+        }
+        assertEquals(64, cache.getSize());
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void ttl_reloadsExpiredEntry() {
+        CountingGeocoder delegate = new CountingGeocoder();
+        CachingGeocoder cache = new CachingGeocoder(delegate, 7, 16, 1000);
+        cache.decode(31.2304, 121.4737, 0);
+        cache.decode(31.2304, 121.4737, 999);
+        assertEquals(1, delegate.mCalls.get());
+        cache.decode(31.2304, 121.4737, 1000);
+        assertEquals(2, delegate.mCalls.get());
+        assertEquals(1, cache.getStats().getExpirations());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void delegateFailure_isNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingGeocoder cache = new CachingGeocoder((lat, lng) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return null;
+        }, 7, 16, 0);
+        try {
+            cache.decode(1, 1, 0);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(0, cache.getSize());
+        assertNull(cache.decode(1, 1, 0));
+        // null 结果同样缓存
+        assertNull(cache.decode(1, 1, 0));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void concurrentMisses_loadOnce() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        CachingGeocoder cache = new CachingGeocoder((lat, lng) -> {
+            calls.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return new GeoAddress("P", null, null, 1);
+        }, 7, 16, 0);
+
+        int threads = 8;
+        GeoAddress[] results = new GeoAddress[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t ++) {
+            int index = t;
+            workers[t] = new Thread(() -> results[index] = cache.decode(31.2304, 121.4737));
+        }
+        workers[0].start();
+        loading.await();
+        for (int t = 1; t < threads; t ++) {
+            workers[t].start();
+        }
+        // 等其它线程都进入等待
+        while (cache.getStats().getWaits() < threads - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(1, calls.get());
+        for (GeoAddress result : results) {
+            assertSame(results[0], result);
+        }
+        CachingGeocoder.Stats stats = cache.getStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(threads - 1, stats.getHits());
+    }
+}
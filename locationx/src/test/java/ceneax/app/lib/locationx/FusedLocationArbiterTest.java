@@ -0,0 +1,51 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FusedLocationArbiterTest {
+    private static final String GPS = "gps";
+    private static final String NETWORK = "network";
+
+    @Test
+    public void firstFix_isAccepted() {
+        FusedLocationArbiter arbiter = new FusedLocationArbiter();
+        assertFalse(arbiter.hasBest());
+        assertTrue(arbiter.offer(31.23, 121.47, 1000, 40, NETWORK));
+        assertTrue(arbiter.hasBest());
+        assertEquals(NETWORK, arbiter.getBestProvider());
+    }
+
+    @Test
+    public void duplicateFromPassive_isDropped() {
+        FusedLocationArbiter arbiter = new FusedLocationArbiter();
+        assertTrue(arbiter.offer(31.23, 121.47, 1000, 5, GPS));
+        // passive 转发的同一个 GPS 定位
+        assertFalse(arbiter.offer(31.23, 121.47, 1000, 5, "passive"));
+    }
+
+    @Test
+    public void moreAccurateGps_replacesNetwork_butNotViceVersa() {
+        FusedLocationArbiter arbiter = new FusedLocationArbiter();
+        assertTrue(arbiter.offer(31.23, 121.47, 1000, 40, NETWORK));
+        assertTrue(arbiter.offer(31.2301, 121.4701, 2000, 5, GPS));
+        assertEquals(GPS, arbiter.getBestProvider());
+        // 稍新但精度差很多的 Network 定位不替换 GPS
+        assertFalse(arbiter.offer(31.2302, 121.4702, 2500, 300, NETWORK));
+        assertEquals(GPS, arbiter.getBestProvider());
+        // 同一 Provider 的新定位
+        assertTrue(arbiter.offer(31.2303, 121.4703, 3000, 6, GPS));
+    }
+
+    @Test
+    public void significantlyNewer_alwaysWins_andResetClears() {
+        FusedLocationArbiter arbiter = new FusedLocationArbiter();
+        assertTrue(arbiter.offer(31.23, 121.47, 0, 5, GPS));
+        assertFalse(arbiter.offer(31.24, 121.48, 1000, 500, NETWORK));
+        assertTrue(arbiter.offer(31.24, 121.48, 3 * 60 * 1000, 500, NETWORK));
+        arbiter.reset();
+        assertFalse(arbiter.hasBest());
+        assertTrue(arbiter.offer(31.24, 121.48, 0, 500, NETWORK));
+    }
+}
@@ -0,0 +1,98 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class GcjOffsetGridTest {
+
+    @Test
+    public void defaultResolution_errorWithinDocumentedBound() {
+        assertMaxError(GcjOffsetGrid.getDefault(), 0.1);
+    }
+
+    @Test
+    public void coarseResolution_errorWithinDocumentedBound() {
+        assertMaxError(new GcjOffsetGrid(0.05), 2.3);
+    }
+
+    @Test
+    public void outOfChina_isUnchanged() {
+        double[] latLng = GcjOffsetGrid.getDefault().wgs84ToGcj02(35.6895, 139.6917);
+        assertEquals(35.6895, latLng[0], 0);
+        assertEquals(139.6917, latLng[1], 0);
+    }
+
+    @Test
+    public void batchConvert_partialOverlap_matchesConvertingACopy() {
+        GcjOffsetGrid grid = GcjOffsetGrid.getDefault();
+        Random random = new Random(7);
+        double[] latLngs = new double[64];
+        for (int i = 0; i < latLngs.length; i ++) {
+            latLngs[i] = i % 2 == 0 ? 20 + random.nextDouble() * 20 : 100 + random.nextDouble() * 20;
+        }
+        // 输出在输入之后与之前，含错开奇数个元素的情况
+        for (int shift : new int[] {1, 2, 6, -1, -2, -6}) {
+            int offset = shift > 0 ? 0 : -shift;
+            int count = (latLngs.length - Math.abs(shift)) / 2;
+            double[] expected = new double[latLngs.length];
+            grid.gcj02ToWgs84(latLngs.clone(), offset, count, expected, offset + shift);
+            double[] actual = latLngs.clone();
+            grid.gcj02ToWgs84(actual, offset, count, actual, offset + shift);
+            for (int i = 0; i < count * 2; i ++) {
+                assertEquals("shift " + shift, expected[offset + shift + i], actual[offset + shift + i], 0);
+            }
+        }
+
+        double[] lats = new double[32];
+        double[] lngs = new double[32];
+        for (int i = 0; i < lats.length; i ++) {
+            lats[i] = latLngs[i * 2];
+            lngs[i] = latLngs[i * 2 + 1];
+        }
+        for (int shift : new int[] {1, 3, -3}) {
+            int offset = shift > 0 ? 0 : -shift;
+            int length = lats.length - Math.abs(shift);
+            double[] expectedLats = new double[lats.length];
+            double[] expectedLngs = new double[lngs.length];
+            grid.wgs84ToGcj02(lats.clone(), lngs.clone(), offset, length, expectedLats, expectedLngs, offset + shift);
+            double[] actualLats = lats.clone();
+            double[] actualLngs = lngs.clone();
+            grid.wgs84ToGcj02(actualLats, actualLngs, offset, length, actualLats, actualLngs, offset + shift);
+            for (int i = 0; i < length; i ++) {
+                assertEquals(expectedLats[offset + shift + i], actualLats[offset + shift + i], 0);
+                assertEquals(expectedLngs[offset + shift + i], actualLngs[offset + shift + i], 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidResolution_isRejected() {
+        new GcjOffsetGrid(0);
+    }
+
+    private static void assertMaxError(GcjOffsetGrid grid, double maxErrorM) {
+        double maxForward = 0;
+        double maxInverse = 0;
+        // 纬度方向与经度方向分别加密采样，步长均不是分辨率的整数倍
+        for (double lat = 0.83; lat < 55.82; lat += 0.0373) {
+            for (double lng = 72.01; lng < 137.83; lng += 0.0531) {
+                maxForward = Math.max(maxForward, errorM(LocationUtil.wgs84ToGcj02(lat, lng), grid.wgs84ToGcj02(lat, lng)));
+                maxInverse = Math.max(maxInverse, errorM(LocationUtil.gcj02ToWgs84Fuzzy(lat, lng), grid.gcj02ToWgs84(lat, lng)));
+            }
+        }
+        for (double lat = 0.83; lat < 55.82; lat += 0.1131) {
+            for (double lng = 72.01; lng < 137.83; lng += 0.00731) {
+                maxForward = Math.max(maxForward, errorM(LocationUtil.wgs84ToGcj02(lat, lng), grid.wgs84ToGcj02(lat, lng)));
+            }
+        }
+        assertTrue("forward error " + maxForward + "m", maxForward < maxErrorM);
+        assertTrue("inverse error " + maxInverse + "m", maxInverse < maxErrorM);
+    }
+
+    private static double errorM(double[] expected, double[] actual) {
+        return LocationUtil.getDistance(expected[0], expected[1], actual[0], actual[1]) * 1000;
+    }
+}
@@ -0,0 +1,117 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class GeofenceEngineTest {
+    private final List<String> mEvents = new ArrayList<>();
+    private GeofenceEngine mEngine;
+
+    @Before
+    public void setUp() {
+        mEngine = new GeofenceEngine((geofence, event, lat, lng, timeMs) -> mEvents.add(geofence.getId() + ":" + event));
+    }
+
+    @Test
+    public void circle_enterDwellExit() {
+        mEngine.addGeofence(Geofence.circle("store", 39.9088, 116.3975, 200, 60_000));
+
+        mEngine.update(39.9200, 116.3975, 0);
+        assertTrue(mEvents.isEmpty());
+
+        mEngine.update(39.9090, 116.3976, 1_000);
+        mEngine.update(39.9089, 116.3974, 30_000);
+        mEngine.update(39.9088, 116.3975, 61_000);
+        mEngine.update(39.9088, 116.3975, 90_000);
+        // 远离到其它网格，围栏不再是候选，也要正确触发离开
+        mEngine.update(40.5000, 117.0000, 100_000);
+
+        assertEquals("[store:1, store:4, store:2]", mEvents.toString());
+    }
+
+    @Test
+    public void polygon_containsAndRemove() {
+        mEngine.addGeofence(Geofence.polygon("zone", new double[]{
+                31.00, 121.00,
+                31.00, 121.02,
+                31.02, 121.02,
+                31.02, 121.00
+        }));
+
+        mEngine.update(31.01, 121.01, 0);
+        mEngine.update(31.01, 121.03, 1_000);
+        mEngine.update(31.01, 121.01, 2_000);
+        assertNotNull(mEngine.removeGeofence("zone"));
+        mEngine.update(31.01, 121.03, 3_000);
+
+        assertEquals("[zone:1, zone:2, zone:1]", mEvents.toString());
+        assertEquals(0, mEngine.size());
+    }
+
+    @Test
+    public void largeFence_isEvaluatedWithoutCellIndex() {
+        mEngine.addGeofence(Geofence.circle("city", 30.0, 120.0, 50_000));
+        mEngine.addGeofence(Geofence.circle("shop", 30.0, 120.0, 100));
+
+        mEngine.update(30.0, 120.0, 0);
+        mEngine.update(30.2, 120.2, 1_000);
+        mEngine.update(31.0, 121.0, 2_000);
+
+        assertEquals("[shop:1, city:1, shop:2, city:2]", mEvents.toString());
+    }
+
+    @Test
+    public void manyFences_onlyNearbyTriggered() {
+        for (int i = 0; i < 5000; i ++) {
+            mEngine.addGeofence(Geofence.circle("f" + i, 20 + (i / 100) * 0.05, 100 + (i % 100) * 0.05, 300));
+        }
+        mEngine.update(20 + 7 * 0.05, 100 + 42 * 0.05, 0);
+
+        assertEquals("[f742:1]", mEvents.toString());
+    }
+
+    @Test
+    public void addRemoveChurn_matchesBruteForce() {
+        // 随机增删围栏，反复触发网格表扩容与删除回移，结果与逐个判断一致
+        Random random = new Random(20221019);
+        List<Geofence> fences = new ArrayList<>();
+        for (int n = 0; n < 20_000; n ++) {
+            if (fences.isEmpty() || random.nextInt(3) > 0) {
+                Geofence fence = Geofence.circle("f" + n, 30 + random.nextDouble() * 0.5, 120 + random.nextDouble() * 0.5, 500);
+                mEngine.addGeofence(fence);
+                fences.add(fence);
+            } else {
+                Geofence fence = fences.remove(random.nextInt(fences.size()));
+                assertSame(fence, mEngine.removeGeofence(fence.getId()));
+            }
+        }
+        assertEquals(fences.size(), mEngine.size());
+
+        for (int n = 0; n < 200; n ++) {
+            double lat = 30 + random.nextDouble() * 0.5, lng = 120 + random.nextDouble() * 0.5;
+            mEvents.clear();
+            mEngine.update(lat, lng, n * 2);
+            // 离开上一个位置的围栏之后，再从外部进入
+            mEngine.update(0, 0, n * 2 + 1);
+            int expected = 0;
+            for (Geofence fence : fences) {
+                if (fence.contains(lat, lng)) {
+                    expected ++;
+                }
+            }
+            int entered = 0;
+            for (String event : mEvents) {
+                if (event.endsWith(":1")) {
+                    entered ++;
+                }
+            }
+            assertEquals(expected, entered);
+        }
+    }
+}
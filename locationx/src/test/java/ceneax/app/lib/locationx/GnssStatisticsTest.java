@@ -0,0 +1,93 @@
+package ceneax.app.lib.locationx;
+
+import android.location.GnssStatus;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GnssStatisticsTest {
+
+    private static void fill(GnssSnapshot snapshot, long timeMs, float... cn0s) {
+        snapshot.clear(timeMs);
+        for (int i = 0; i < cn0s.length; i ++) {
+            int constellation = i % 2 == 0 ? GnssStatus.CONSTELLATION_GPS : GnssStatus.CONSTELLATION_BEIDOU;
+            snapshot.add(i + 1, constellation, cn0s[i], cn0s[i] > 30);
+        }
+        snapshot.finish();
+    }
+
+    @Test
+    public void snapshot_aggregates() {
+        GnssSnapshot snapshot = new GnssSnapshot();
+        fill(snapshot, 1000, 20, 26, 31, 40, 10);
+        assertEquals(5, snapshot.getSatelliteCount());
+        assertEquals(3, snapshot.getConstellationCount(GnssStatus.CONSTELLATION_GPS));
+        assertEquals(2, snapshot.getConstellationCount(GnssStatus.CONSTELLATION_BEIDOU));
+        assertEquals(0, snapshot.getConstellationCount(GnssStatus.CONSTELLATION_GLONASS));
+        assertEquals(3, snapshot.getValidCount());
+        assertEquals(2, snapshot.getUsedInFixCount());
+        assertTrue(snapshot.isFixEligible());
+        assertEquals(25.4f, snapshot.getMeanCn0DbHz(), 1e-4);
+        assertEquals(40f, snapshot.getMaxCn0DbHz(), 0);
+    }
+
+    @Test
+    public void snapshot_growsAndCopies() {
+        GnssSnapshot snapshot = new GnssSnapshot();
+        float[] cn0s = new float[100];
+        for (int i = 0; i < cn0s.length; i ++) {
+            cn0s[i] = i;
+        }
+        fill(snapshot, 5, cn0s);
+
+        GnssSnapshot copy = new GnssSnapshot();
+        snapshot.copyTo(copy);
+        assertEquals(100, copy.getSatelliteCount());
+        assertEquals(5, copy.getTimeMs());
+        for (int i = 0; i < 100; i ++) {
+            assertEquals(i + 1, copy.getSvid(i));
+            assertEquals(i, copy.getCn0DbHz(i), 0);
+            assertEquals(i > 30, copy.usedInFix(i));
+        }
+        assertEquals(snapshot.getValidCount(), copy.getValidCount());
+    }
+
+    @Test
+    public void statistics_eligibleRatioAndGaps() {
+        GnssSnapshot snapshot = new GnssSnapshot();
+        GnssStatistics statistics = new GnssStatistics();
+        assertTrue(Float.isNaN(statistics.getMeanCn0DbHz()));
+
+        // 0 ~ 10s 满足定位条件，10 ~ 40s 不满足，每秒一次
+        for (int t = 0; t <= 40; t ++) {
+            if (t < 10) {
+                fill(snapshot, 1000 + t * 1000L, 30, 35, 40);
+            } else {
+                fill(snapshot, 1000 + t * 1000L, 10, 15);
+            }
+            statistics.update(snapshot);
+        }
+        assertEquals(41, statistics.getUpdateCount());
+        assertEquals(40_000, statistics.getTrackedTimeMs());
+        assertEquals(0.25f, statistics.getFixEligibleRatio(), 1e-6);
+        assertEquals(10f, statistics.getMinCn0DbHz(), 0);
+        assertEquals(40f, statistics.getMaxCn0DbHz(), 0);
+        assertEquals((10 * 105 + 31 * 25) / (10 * 3 + 31 * 2f), statistics.getMeanCn0DbHz(), 1e-4);
+        // 30 秒平滑后应接近最近的 12.5
+        assertEquals(12.5f, statistics.getSmoothedCn0DbHz(), 1.5f);
+
+        // 中断一分钟，不计入时长
+        fill(snapshot, 1000 + 100_000L, 30, 35, 40);
+        statistics.update(snapshot);
+        assertEquals(40_000, statistics.getTrackedTimeMs());
+        assertEquals(35f, statistics.getSmoothedCn0DbHz(), 1e-4);
+
+        GnssStatistics copy = new GnssStatistics();
+        statistics.copyTo(copy);
+        assertEquals(statistics.getFixEligibleRatio(), copy.getFixEligibleRatio(), 0);
+        statistics.reset();
+        assertEquals(0, statistics.getUpdateCount());
+        assertEquals(42, copy.getUpdateCount());
+    }
+}
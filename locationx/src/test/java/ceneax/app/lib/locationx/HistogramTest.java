@@ -0,0 +1,86 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HistogramTest {
+
+    @Test
+    public void bucketBoundaries() {
+        assertEquals(0, Histogram.bucketOf(-5));
+        assertEquals(0, Histogram.bucketOf(0));
+        assertEquals(1, Histogram.bucketOf(1));
+        assertEquals(2, Histogram.bucketOf(2));
+        assertEquals(2, Histogram.bucketOf(3));
+        assertEquals(3, Histogram.bucketOf(4));
+        assertEquals(10, Histogram.bucketOf(1023));
+        assertEquals(11, Histogram.bucketOf(1024));
+        assertEquals(63, Histogram.bucketOf(Long.MAX_VALUE));
+        for (int i = 1; i < Histogram.BUCKET_COUNT - 1; i ++) {
+            assertEquals(i, Histogram.bucketOf(Histogram.upperBoundOf(i)));
+            assertEquals(i + 1, Histogram.bucketOf(Histogram.upperBoundOf(i) + 1));
+        }
+    }
+
+    @Test
+    public void snapshot_statisticsAndPercentiles() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.snapshot().getPercentile(0.5));
+        for (int i = 1; i <= 1000; i ++) {
+            histogram.record(i);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500500, snapshot.getSum());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean(), 1e-9);
+        // 第 500 个值 500 落在 [256, 511]
+        assertEquals(511, snapshot.getPercentile(0.5));
+        // 上界不超过最大值
+        assertEquals(1000, snapshot.getPercentile(0.99));
+        assertEquals(1, snapshot.getPercentile(0));
+    }
+
+    @Test
+    public void snapshotAndReset_clears() {
+        Histogram histogram = new Histogram();
+        histogram.record(100);
+        histogram.record(200);
+        Histogram.Snapshot snapshot = histogram.snapshotAndReset();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(200, snapshot.getMax());
+        Histogram.Snapshot empty = histogram.snapshot();
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMax());
+        histogram.record(7);
+        assertEquals(7, histogram.snapshot().getMax());
+    }
+
+    @Test
+    public void concurrentRecords_noneLost() throws InterruptedException {
+        Histogram histogram = new Histogram();
+        int threads = 4, perThread = 100_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t ++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i ++) {
+                    histogram.record((i * 31L + seed) % 5000);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(threads * perThread, snapshot.getCount());
+        long bucketTotal = 0;
+        for (int i = 0; i < Histogram.BUCKET_COUNT; i ++) {
+            bucketTotal += snapshot.getBucketCount(i);
+        }
+        assertEquals(threads * perThread, bucketTotal);
+        assertEquals(4999, snapshot.getMax());
+    }
+}
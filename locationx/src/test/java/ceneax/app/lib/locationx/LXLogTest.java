@@ -0,0 +1,83 @@
+package ceneax.app.lib.locationx;
+
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LXLogTest {
+
+    @After
+    public void tearDown() {
+        LXLog.setLogPrinter(null);
+        LXLog.setLevel(Log.DEBUG);
+    }
+
+    @Test
+    public void format_replacesPlaceholdersInOrder() {
+        assertEquals("a 1 b 2.5 c", LXLog.format("a {} b {} c", 1, 2.5, 2));
+        assertEquals("only 1 {}", LXLog.format("only {} {}", 1, null, 1));
+        assertEquals("no placeholder", LXLog.format("no placeholder", 1, 2, 2));
+        assertEquals("x null", LXLog.format("x {}", null, null, 1));
+    }
+
+    @Test
+    public void belowLevel_supplierNotInvoked() {
+        LXLog.setLogPrinter(log -> {});
+        LXLog.setLevel(Log.ERROR);
+        boolean[] invoked = {false};
+        LXLog.d(() -> {
+            invoked[0] = true;
+            return "debug";
+        });
+        LXLog.i("{}", new Object() {
+            @Override
+            public String toString() {
+                invoked[0] = true;
+                return "info";
+            }
+        });
+        assertFalse(invoked[0]);
+        assertFalse(LXLog.isLoggable(Log.INFO));
+        assertTrue(LXLog.isLoggable(Log.ERROR));
+    }
+
+    @Test
+    public void printer_receivesBatchesInOrder() throws InterruptedException {
+        List<String> received = new ArrayList<>();
+        LXLog.setLogPrinter(new ILogPrinter() {
+            @Override
+            public void print(String log) {
+                fail("printBatch should be used");
+            }
+
+            @Override
+            public void printBatch(List<String> logs) {
+                synchronized (received) {
+                    received.addAll(logs);
+                    received.notifyAll();
+                }
+            }
+        });
+        int count = 500;
+        for (int i = 0; i < count; i ++) {
+            LXLog.i("msg {}", i);
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        synchronized (received) {
+            while (received.size() < count && System.currentTimeMillis() < deadline) {
+                received.wait(100);
+            }
+        }
+        assertEquals(count, received.size());
+        for (int i = 0; i < count; i ++) {
+            assertEquals("msg " + i, received.get(i));
+        }
+    }
+}
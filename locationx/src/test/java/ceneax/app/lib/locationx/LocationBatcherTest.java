@@ -0,0 +1,75 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LocationBatcherTest {
+
+    private static boolean add(LocationBatcher batcher, int i) {
+        return batcher.add(30 + i * 1e-4, 120 + i * 1e-4, 1000L * i, 5, Double.NaN, i, Float.NaN, "gps");
+    }
+
+    @Test
+    public void add_reportsFullAtMaxSize() {
+        LocationBatcher batcher = new LocationBatcher(3, CoordType.GCJ02);
+        assertTrue(batcher.isEmpty());
+        assertNull(batcher.take());
+        assertFalse(add(batcher, 0));
+        assertFalse(add(batcher, 1));
+        assertTrue(add(batcher, 2));
+
+        LocationBatch batch = batcher.take();
+        assertNotNull(batch);
+        assertTrue(batcher.isEmpty());
+        assertEquals(CoordType.GCJ02, batch.getCoordType());
+        assertEquals(3, batch.size());
+        assertEquals(30.0002, batch.getLatitude(2), 1e-12);
+        assertEquals(120.0001, batch.getLongitude(1), 1e-12);
+        assertEquals(2000, batch.getTime(2));
+        assertEquals(5, batch.getAccuracy(0), 0);
+        assertEquals(2, batch.getSpeed(2), 0);
+        assertTrue(Double.isNaN(batch.getAltitude(0)));
+        assertEquals("gps", batch.getProvider(0));
+    }
+
+    @Test
+    public void recycledBatch_isReusedAndCleared() {
+        LocationBatcher batcher = new LocationBatcher(2, CoordType.WGS84);
+        add(batcher, 0);
+        LocationBatch first = batcher.take();
+        batcher.recycle(first);
+
+        add(batcher, 5);
+        LocationBatch second = batcher.take();
+        assertSame(first, second);
+        assertEquals(1, second.size());
+        assertEquals(5000, second.getTime(0));
+
+        // 交付中的批次未归还时使用新的批次
+        add(batcher, 6);
+        assertNotSame(second, batcher.take());
+    }
+
+    @Test
+    public void largeMaxSize_growsBatch() {
+        LocationBatcher batcher = new LocationBatcher(10_000, CoordType.WGS84);
+        for (int i = 0; i < 9_999; i ++) {
+            assertFalse(add(batcher, i));
+        }
+        assertTrue(add(batcher, 9_999));
+        LocationBatch batch = batcher.take();
+        assertEquals(10_000, batch.size());
+        assertEquals(9_999_000, batch.getTime(9_999));
+
+        LocationBatch copy = new LocationBatch();
+        batch.copyTo(copy);
+        assertEquals(10_000, copy.size());
+        assertEquals(batch.getLatitude(1234), copy.getLatitude(1234), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxSize_throws() {
+        new LocationBatcher(0, CoordType.WGS84);
+    }
+}
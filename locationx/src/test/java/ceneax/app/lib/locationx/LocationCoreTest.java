@@ -0,0 +1,48 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class LocationCoreTest {
+    private File mFile;
+    private ReplayLocationSource mSource;
+    private LocationCore mCore;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("track", ".lxt");
+        mFile.delete();
+        mSource = new ReplayLocationSource(new File("unused.csv"), ReplayLocationSource.FORMAT_CSV, 0);
+        mCore = new LocationCore(mSource, CoordType.GCJ02);
+    }
+
+    @After
+    public void tearDown() {
+        mSource.close();
+        LocationHub.release(mSource);
+        mFile.delete();
+    }
+
+    @Test
+    public void setTrackRecorder_rejectsOtherCoordType() throws IOException {
+        try (TrackRecorder recorder = new TrackRecorder(mFile, CoordType.WGS84)) {
+            try {
+                mCore.setTrackRecorder(recorder);
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // 坐标系不一致会把 GCJ02 坐标写进标记为 WGS84 的文件
+            }
+        }
+        mFile.delete();
+        try (TrackRecorder recorder = new TrackRecorder(mFile, CoordType.GCJ02)) {
+            mCore.setTrackRecorder(recorder);
+            mCore.setTrackRecorder(null);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class LocationKalmanFilterTest {
+
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * LocationUtil.EARTH_RADIUS * 1000;
+
+    @Test
+    public void noisyStraightTrack_reducesError() {
+        Random random = new Random(11);
+        // 匀速直线运动，加速度噪声取小值
+        LocationKalmanFilter filter = new LocationKalmanFilter(0.3);
+        double lat0 = 39.9, lng0 = 116.4;
+        double metersPerLng = METERS_PER_DEGREE * Math.cos(Math.toRadians(lat0));
+        // 10 m/s 向东北方向匀速行驶，1Hz，定位噪声 10m，行驶约 21km 以覆盖原点迁移
+        double vx = 8, vy = 6, noiseM = 10;
+        double rawSquared = 0, filteredSquared = 0;
+        int count = 2000, warmUp = 20;
+        for (int i = 0; i < count; i ++) {
+            double x = vx * i, y = vy * i;
+            double lat = lat0 + (y + random.nextGaussian() * noiseM) / METERS_PER_DEGREE;
+            double lng = lng0 + (x + random.nextGaussian() * noiseM) / metersPerLng;
+            filter.update(lat, lng, (float) noiseM, 1_000_000L + i * 1000L);
+            if (i < warmUp) {
+                continue;
+            }
+            double trueLat = lat0 + y / METERS_PER_DEGREE, trueLng = lng0 + x / metersPerLng;
+            double raw = LocationUtil.getDistance(lat, lng, trueLat, trueLng) * 1000;
+            double filtered = LocationUtil.getDistance(filter.getLatitude(), filter.getLongitude(), trueLat, trueLng) * 1000;
+            rawSquared += raw * raw;
+            filteredSquared += filtered * filtered;
+        }
+
+        double rawRms = Math.sqrt(rawSquared / (count - warmUp));
+        double filteredRms = Math.sqrt(filteredSquared / (count - warmUp));
+        assertTrue("raw " + rawRms + "m, filtered " + filteredRms + "m", filteredRms < rawRms * 0.5);
+        assertEquals(10, filter.getSpeed(), 1);
+        assertEquals(Math.toDegrees(Math.atan2(vx, vy)), filter.getBearing(), 5);
+        assertTrue(filter.getAccuracy() < noiseM);
+    }
+
+    @Test
+    public void firstFix_passesThrough() {
+        LocationKalmanFilter filter = new LocationKalmanFilter();
+        filter.update(31.2, 121.5, 15, 1000);
+        assertEquals(31.2, filter.getLatitude(), 1e-12);
+        assertEquals(121.5, filter.getLongitude(), 1e-12);
+        assertEquals(15, filter.getAccuracy(), 1e-4);
+    }
+
+    @Test
+    public void longGap_reinitializes() {
+        LocationKalmanFilter filter = new LocationKalmanFilter();
+        for (int i = 0; i < 10; i ++) {
+            filter.update(31.2, 121.5 + i * 1e-4, 5, i * 1000L);
+        }
+        filter.update(30.0, 120.0, 20, 10 * 1000L + LocationKalmanFilter.DEFAULT_MAX_GAP_MS + 1);
+        assertEquals(30.0, filter.getLatitude(), 1e-12);
+        assertEquals(120.0, filter.getLongitude(), 1e-12);
+        assertEquals(0, filter.getSpeed(), 0);
+    }
+
+    @Test
+    public void accurateFix_outweighsInaccurate() {
+        LocationKalmanFilter filter = new LocationKalmanFilter();
+        filter.update(31.2, 121.5, 3, 0);
+        // 1 秒后一个精度 500m、偏离 1km 的定位点，应基本被忽略
+        filter.update(31.2 + 1000 / METERS_PER_DEGREE, 121.5, 500, 1000);
+        double shiftM = (filter.getLatitude() - 31.2) * METERS_PER_DEGREE;
+        assertTrue("shift " + shiftM + "m", shiftM < 50);
+    }
+}
@@ -0,0 +1,48 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LocationThrottleTest {
+
+    @Test
+    public void minTime_dropsFixesWithinInterval() {
+        LocationThrottle throttle = new LocationThrottle(5000, 0);
+        int accepted = 0;
+        for (int i = 0; i < 60; i ++) {
+            if (throttle.accept(31.2, 121.5, i * 1000L, 0)) {
+                accepted ++;
+            }
+        }
+        // 0, 5, 10 ... 55
+        assertEquals(12, accepted);
+    }
+
+    @Test
+    public void tolerance_absorbsJitter() {
+        LocationThrottle throttle = new LocationThrottle(1000, 0);
+        assertTrue(throttle.accept(31.2, 121.5, 0, 500));
+        assertTrue(throttle.accept(31.2, 121.5, 998, 500));
+        assertTrue(throttle.accept(31.2, 121.5, 2001, 500));
+        assertFalse(throttle.accept(31.2, 121.5, 2400, 500));
+
+        LocationThrottle strict = new LocationThrottle(1000, 0);
+        assertTrue(strict.accept(31.2, 121.5, 0, 0));
+        assertFalse(strict.accept(31.2, 121.5, 998, 0));
+    }
+
+    @Test
+    public void minDistance_measuredFromLastAccepted() {
+        LocationThrottle throttle = new LocationThrottle(0, 10);
+        // 纬度每步约 1.1m
+        int accepted = 0;
+        for (int i = 0; i <= 100; i ++) {
+            if (throttle.accept(31.2 + i * 1e-5, 121.5, i * 1000L, 0)) {
+                accepted ++;
+            }
+        }
+        // 约每 9 步通过一次
+        assertTrue("accepted " + accepted, accepted >= 10 && accepted <= 12);
+    }
+}
@@ -0,0 +1,181 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+public class LocationUtilTest {
+    private static final int POINT_COUNT = 2000;
+
+    @Test
+    public void batchConvert_matchesSinglePoint() {
+        Random random = new Random(20221018);
+        double[] lats = new double[POINT_COUNT];
+        double[] lngs = new double[POINT_COUNT];
+        double[] latLngs = new double[POINT_COUNT * 2];
+        for (int i = 0; i < POINT_COUNT; i ++) {
+            // 覆盖国内与国外的点
+            lats[i] = -5 + random.nextDouble() * 65;
+            lngs[i] = 65 + random.nextDouble() * 80;
+            latLngs[i * 2] = lats[i];
+            latLngs[i * 2 + 1] = lngs[i];
+        }
+
+        double[] outLats = new double[POINT_COUNT];
+        double[] outLngs = new double[POINT_COUNT];
+        double[] out = new double[POINT_COUNT * 2];
+
+        LocationUtil.wgs84ToGcj02(lats, lngs, 0, POINT_COUNT, outLats, outLngs, 0);
+        LocationUtil.wgs84ToGcj02(latLngs, 0, POINT_COUNT, out, 0);
+        for (int i = 0; i < POINT_COUNT; i ++) {
+            double[] expected = LocationUtil.wgs84ToGcj02(lats[i], lngs[i]);
+            assertEquals(expected[0], outLats[i], 0);
+            assertEquals(expected[1], outLngs[i], 0);
+            assertEquals(expected[0], out[i * 2], 0);
+            assertEquals(expected[1], out[i * 2 + 1], 0);
+        }
+
+        LocationUtil.bd09ToWgs84(latLngs, 0, POINT_COUNT, out, 0);
+        for (int i = 0; i < POINT_COUNT; i ++) {
+            double[] expected = LocationUtil.bd09ToWgs84(lats[i], lngs[i]);
+            assertEquals(expected[0], out[i * 2], 0);
+            assertEquals(expected[1], out[i * 2 + 1], 0);
+        }
+    }
+
+    @Test
+    public void batchConvert_inPlaceWithOffset() {
+        double[] latLngs = {0, 0, 39.908823, 116.397470, 31.239692, 121.499755};
+        double[] beijing = LocationUtil.wgs84ToBd09(39.908823, 116.397470);
+        double[] shanghai = LocationUtil.wgs84ToBd09(31.239692, 121.499755);
+
+        LocationUtil.wgs84ToBd09(latLngs, 2, 2, latLngs, 2);
+
+        assertEquals(0, latLngs[0], 0);
+        assertEquals(0, latLngs[1], 0);
+        assertEquals(beijing[0], latLngs[2], 0);
+        assertEquals(beijing[1], latLngs[3], 0);
+        assertEquals(shanghai[0], latLngs[4], 0);
+        assertEquals(shanghai[1], latLngs[5], 0);
+    }
+
+    @Test
+    public void batchConvert_partialOverlap_matchesConvertingACopy() {
+        Random random = new Random(7);
+        double[] latLngs = new double[64];
+        for (int i = 0; i < latLngs.length; i ++) {
+            latLngs[i] = i % 2 == 0 ? 20 + random.nextDouble() * 20 : 100 + random.nextDouble() * 20;
+        }
+        // 输出在输入之后与之前，含错开奇数个元素的情况
+        for (int shift : new int[] {1, 2, 6, -1, -2, -6}) {
+            int offset = shift > 0 ? 0 : -shift;
+            int count = (latLngs.length - Math.abs(shift)) / 2;
+            double[] expected = new double[latLngs.length];
+            LocationUtil.gcj02ToWgs84Precise(latLngs.clone(), offset, count, expected, offset + shift);
+            double[] actual = latLngs.clone();
+            LocationUtil.gcj02ToWgs84Precise(actual, offset, count, actual, offset + shift);
+            for (int i = 0; i < count * 2; i ++) {
+                assertEquals("shift " + shift, expected[offset + shift + i], actual[offset + shift + i], 0);
+            }
+        }
+
+        double[] lats = new double[32];
+        double[] lngs = new double[32];
+        for (int i = 0; i < lats.length; i ++) {
+            lats[i] = latLngs[i * 2];
+            lngs[i] = latLngs[i * 2 + 1];
+        }
+        for (int shift : new int[] {3, -3}) {
+            int offset = shift > 0 ? 0 : -shift;
+            int length = lats.length - Math.abs(shift);
+            double[] expectedLats = new double[lats.length];
+            double[] expectedLngs = new double[lngs.length];
+            LocationUtil.wgs84ToBd09(lats.clone(), lngs.clone(), offset, length, expectedLats, expectedLngs, offset + shift);
+            double[] actualLats = lats.clone();
+            double[] actualLngs = lngs.clone();
+            LocationUtil.wgs84ToBd09(actualLats, actualLngs, offset, length, actualLats, actualLngs, offset + shift);
+            for (int i = 0; i < length; i ++) {
+                assertEquals(expectedLats[offset + shift + i], actualLats[offset + shift + i], 0);
+                assertEquals(expectedLngs[offset + shift + i], actualLngs[offset + shift + i], 0);
+            }
+        }
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void batchConvert_rejectsOutOfRange() {
+        LocationUtil.gcj02ToBd09(new double[4], 2, 2, new double[4], 0);
+    }
+
+    @Test
+    public void gcj02ToWgs84Precise_matchesBisection() {
+        double maxDiff = 0;
+        double maxResidual = 0;
+        for (double lat = 0.9; lat < 55.8; lat += 0.137) {
+            for (double lng = 72.1; lng < 137.8; lng += 0.137) {
+                double[] wgs = LocationUtil.gcj02ToWgs84Precise(lat, lng);
+                double[] gcj = LocationUtil.wgs84ToGcj02(wgs[0], wgs[1]);
+                maxResidual = Math.max(maxResidual, Math.max(Math.abs(gcj[0] - lat), Math.abs(gcj[1] - lng)));
+
+                // 二分法在少数点上会耗尽迭代次数仍未收敛，只与其收敛的结果比较
+                double[] expected = gcj02ToWgs84Bisection(lat, lng);
+                double[] expectedGcj = LocationUtil.wgs84ToGcj02(expected[0], expected[1]);
+                if (Math.abs(expectedGcj[0] - lat) < 1e-9 && Math.abs(expectedGcj[1] - lng) < 1e-9) {
+                    maxDiff = Math.max(maxDiff, Math.max(Math.abs(wgs[0] - expected[0]), Math.abs(wgs[1] - expected[1])));
+                }
+            }
+        }
+        assertTrue("diff " + maxDiff, maxDiff < 2e-9);
+        assertTrue("residual " + maxResidual, maxResidual < 1e-9);
+    }
+
+    @Test
+    public void bd09ToWgs84Precise_roundTrips() {
+        double maxResidual = 0;
+        for (double lat = 0.9; lat < 55.8; lat += 0.291) {
+            for (double lng = 72.1; lng < 137.8; lng += 0.291) {
+                double[] wgs = LocationUtil.bd09ToWgs84Precise(lat, lng);
+                double[] bd09 = LocationUtil.wgs84ToBd09(wgs[0], wgs[1]);
+                maxResidual = Math.max(maxResidual, Math.max(Math.abs(bd09[0] - lat), Math.abs(bd09[1] - lng)));
+            }
+        }
+        assertTrue("residual " + maxResidual, maxResidual < 2e-9);
+    }
+
+    /**
+     * 原先的二分法实现，作为精确逆转换的参照
+     */
+    private static double[] gcj02ToWgs84Bisection(double lat, double lng) {
+        double initDelta = 0.01;
+        double threshold = 0.000000001;
+        double dLat = initDelta, dLon = initDelta;
+        double mLat = lat - dLat, mLon = lng - dLon;
+        double pLat = lat + dLat, pLon = lng + dLon;
+        double wgsLat, wgsLon, i = 0;
+        while (true) {
+            wgsLat = (mLat + pLat) / 2;
+            wgsLon = (mLon + pLon) / 2;
+            double[] tmp = LocationUtil.wgs84ToGcj02(wgsLat, wgsLon);
+            dLat = tmp[0] - lat;
+            dLon = tmp[1] - lng;
+            if ((Math.abs(dLat) < threshold) && (Math.abs(dLon) < threshold)) {
+                break;
+            }
+            if (dLat > 0) {
+                pLat = wgsLat;
+            } else {
+                mLat = wgsLat;
+            }
+            if (dLon > 0) {
+                pLon = wgsLon;
+            } else {
+                mLon = wgsLon;
+            }
+            if (++i > 10000) {
+                break;
+            }
+        }
+        return new double[]{wgsLat, wgsLon};
+    }
+}
@@ -0,0 +1,192 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class NmeaParserTest {
+    private static final String GGA = "$GPGGA,123519,4807.038,N,01131.000,E,1,08,0.9,545.4,M,46.9,M,,*47\r\n";
+    private static final String RMC = "$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A\r\n";
+    private static final String GSA = "$GPGSA,A,3,04,05,,09,12,,,24,,,,,2.5,1.3,2.1*39\r\n";
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("nmea", ".nmea");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    /**
+     * 补上校验和与换行
+     */
+    private static String sentence(String body) {
+        int checksum = 0;
+        for (int i = 0; i < body.length(); i ++) {
+            checksum ^= body.charAt(i);
+        }
+        return String.format("$%s*%02X\r\n", body, checksum);
+    }
+
+    @Test
+    public void ggaRmcGsa_fillFix() {
+        NmeaParser parser = new NmeaParser();
+        parser.parse(GGA + RMC + GSA);
+        NmeaFix fix = parser.getFix();
+        assertEquals(48.1173, fix.getLatitude(), 1e-9);
+        assertEquals(11.516666666666667, fix.getLongitude(), 1e-9);
+        assertEquals(NmeaFix.QUALITY_GPS, fix.getQuality());
+        assertEquals(8, fix.getSatellitesUsed());
+        assertEquals(545.4, fix.getAltitude(), 1e-9);
+        assertEquals(46.9, fix.getGeoidSeparation(), 1e-9);
+        assertTrue(fix.isStatusValid());
+        assertEquals(22.4f * 0.514444f, fix.getSpeed(), 1e-4);
+        assertEquals(84.4f, fix.getCourse(), 1e-4);
+        assertEquals(ReplayReader.toEpochMs(1994, 3, 23, 12, 35, 19, 0), fix.getTime());
+        assertEquals(NmeaFix.FIX_TYPE_3D, fix.getFixType());
+        assertEquals(2.5f, fix.getPdop(), 0);
+        assertEquals(1.3f, fix.getHdop(), 0);
+        assertEquals(2.1f, fix.getVdop(), 0);
+        assertEquals(5, fix.getUsedSvidCount());
+        assertEquals(24, fix.getUsedSvid(4));
+        assertEquals(1, fix.getUsedConstellationType());
+        assertEquals(3, parser.getSentenceCount());
+        assertEquals(0, parser.getChecksumErrorCount());
+    }
+
+    @Test
+    public void append_returnsSentenceAtLineEnd_acrossChunks() {
+        NmeaParser parser = new NmeaParser();
+        int[] sentences = new int[8];
+        int count = 0;
+        String input = "garbage" + GGA + RMC;
+        for (int i = 0; i < input.length(); i ++) {
+            int sentence = parser.append(input.charAt(i));
+            if (sentence != NmeaParser.SENTENCE_NONE) {
+                sentences[count ++] = sentence;
+            }
+        }
+        // \r\n 中的 \n 不会产生第二条语句
+        assertEquals(2, count);
+        assertEquals(NmeaParser.SENTENCE_GGA, sentences[0]);
+        assertEquals(NmeaParser.SENTENCE_RMC, sentences[1]);
+    }
+
+    @Test
+    public void badChecksum_isDropped() {
+        NmeaParser parser = new NmeaParser();
+        parser.parse(GGA.replace("*47", "*48"));
+        parser.parse("$GPGGA,123519,4807.038,N*4\r\n");
+        assertEquals(2, parser.getChecksumErrorCount());
+        assertEquals(0, parser.getSentenceCount());
+        assertFalse(parser.getFix().hasPosition());
+    }
+
+    @Test
+    public void numbers_matchParseDouble() {
+        NmeaParser parser = new NmeaParser();
+        String[] values = {"545.4", "-0.5", "+12", "7.", ".25", "123456789012345.6", "9007199254740993",
+                "12345678901234567890.123", "0.00000000000000000000001234", "-98765.43210987654321"};
+        for (String value : values) {
+            parser.parse(sentence("GPGGA,123519,4807.038,N,01131.000,E,1,08,0.9," + value + ",M,46.9,M,,"));
+            assertEquals(value, Double.parseDouble(value), parser.getFix().getAltitude(), 0);
+        }
+        parser.parse(sentence("GPGGA,123519,4807.038,N,01131.000,E,1,08,0.9,12345678901234567890e5,M,46.9,M,,"));
+        assertTrue(Double.isNaN(parser.getFix().getAltitude()));
+    }
+
+    @Test
+    public void flush_finishesSentenceWithoutNewline() {
+        NmeaParser parser = new NmeaParser();
+        parser.parse(RMC.trim());
+        assertEquals(0, parser.getSentenceCount());
+        assertEquals(NmeaParser.SENTENCE_RMC, parser.flush());
+        assertEquals(NmeaParser.SENTENCE_NONE, parser.flush());
+    }
+
+    @Test
+    public void gsv_accumulatesGroupsPerConstellation() {
+        NmeaParser parser = new NmeaParser();
+        parser.parse(sentence("GPGSV,2,1,05,01,40,083,46,02,17,308,41,12,07,344,39,14,22,228,"));
+        assertFalse(parser.getSatellites().isComplete());
+        parser.parse(sentence("GPGSV,2,2,05,40,30,120,35"));
+        parser.parse(sentence("GLGSV,1,1,01,65,50,100,30"));
+        NmeaSatellites satellites = parser.getSatellites();
+        assertTrue(satellites.isComplete());
+        assertEquals(6, satellites.getSatelliteCount());
+        assertEquals(1, satellites.getSvid(0));
+        assertEquals(40, satellites.getElevationDegrees(0), 0);
+        assertEquals(83, satellites.getAzimuthDegrees(0), 0);
+        assertEquals(46, satellites.getCn0DbHz(0), 0);
+        // 未跟踪的卫星载噪比为 0
+        assertEquals(0, satellites.getCn0DbHz(3), 0);
+        // SBAS
+        assertEquals(2, satellites.getConstellationType(4));
+        assertEquals(3, satellites.getConstellationType(5));
+
+        // 新一组 GPS 替换原有的 GPS 卫星，保留 GLONASS
+        parser.parse(sentence("GPGSV,1,1,01,07,10,010,20"));
+        assertEquals(2, satellites.getSatelliteCount());
+        assertEquals(65, satellites.getSvid(0));
+        assertEquals(7, satellites.getSvid(1));
+    }
+
+    @Test
+    public void listener_receivesParsedSentences() {
+        int[] counts = new int[6];
+        NmeaParser parser = new NmeaParser((sentence, p) -> counts[sentence] ++);
+        parser.parse(GGA + RMC + GSA + sentence("GPGSV,1,1,00") + sentence("GPVTG,084.4,T,,M,022.4,N,041.5,K,A")
+                + sentence("PGRME,15.0,M,45.0,M,25.0,M"));
+        assertEquals(1, counts[NmeaParser.SENTENCE_GGA]);
+        assertEquals(1, counts[NmeaParser.SENTENCE_RMC]);
+        assertEquals(1, counts[NmeaParser.SENTENCE_GSA]);
+        assertEquals(1, counts[NmeaParser.SENTENCE_GSV]);
+        assertEquals(0, counts[NmeaParser.SENTENCE_OTHER]);
+        assertEquals(6, parser.getSentenceCount());
+    }
+
+    @Test
+    public void byteBuffer_andFile() throws IOException {
+        byte[] bytes = (GGA + RMC + GSA + RMC.trim()).getBytes(StandardCharsets.US_ASCII);
+        int[] rmcCount = new int[1];
+        NmeaParser parser = new NmeaParser((sentence, p) -> {
+            if (sentence == NmeaParser.SENTENCE_RMC) {
+                rmcCount[0] ++;
+            }
+        });
+        // 语句跨越两次调用
+        parser.parse(ByteBuffer.wrap(bytes, 0, 30));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length - 30);
+        direct.put(bytes, 30, bytes.length - 30).flip();
+        parser.parse(direct);
+        assertFalse(direct.hasRemaining());
+        parser.flush();
+        assertEquals(2, rmcCount[0]);
+
+        try (OutputStream output = new FileOutputStream(mFile)) {
+            for (int i = 0; i < 10_000; i ++) {
+                output.write(bytes);
+                output.write('\n');
+            }
+        }
+        rmcCount[0] = 0;
+        parser.reset();
+        parser.parse(mFile);
+        assertEquals(20_000, rmcCount[0]);
+        assertEquals(40_000, parser.getSentenceCount());
+        assertEquals(0, parser.getMalformedCount());
+    }
+}
@@ -0,0 +1,127 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class OfflineGeocoderTest {
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("regions", ".lxgc");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    private OfflineGeocoder build() throws IOException {
+        OfflineGeocoderBuilder builder = new OfflineGeocoderBuilder(0.05);
+        // 10 x 10 个 0.1 度的方块，行政区划代码 100 + 行 * 10 + 列
+        for (int row = 0; row < 10; row ++) {
+            for (int col = 0; col < 10; col ++) {
+                double lat = 30 + row * 0.1, lng = 120 + col * 0.1;
+                builder.addRegion("省", "市" + row, "区" + col, 100 + row * 10 + col,
+                        new double[]{lat, lng, lat, lng + 0.1, lat + 0.1, lng + 0.1, lat + 0.1, lng});
+            }
+        }
+        // 凹多边形（U 形），缺口处不属于该区
+        builder.addRegion("省", "市", "U", 999, new double[]{
+                31.5, 121.5, 31.5, 121.8, 31.8, 121.8, 31.8, 121.7,
+                31.6, 121.7, 31.6, 121.6, 31.8, 121.6, 31.8, 121.5});
+        builder.write(mFile);
+        return new OfflineGeocoder(mFile);
+    }
+
+    @Test
+    public void decode_findsContainingSquare() throws IOException {
+        OfflineGeocoder geocoder = build();
+        assertEquals(101, geocoder.getRegionCount());
+        GeoAddress address = geocoder.decode(30.35, 120.72);
+        assertNotNull(address);
+        assertEquals(100 + 3 * 10 + 7, address.getAdminCode());
+        assertEquals("省", address.getProvince());
+        assertEquals("市3", address.getCity());
+        assertEquals("区7", address.getDistrict());
+        // 同一行政区返回同一实例
+        assertSame(address, geocoder.decode(30.31, 120.79));
+    }
+
+    @Test
+    public void decode_concavePolygon() throws IOException {
+        OfflineGeocoder geocoder = build();
+        GeoAddress address = geocoder.decode(31.55, 121.65);
+        assertNotNull(address);
+        assertEquals(999, address.getAdminCode());
+        assertEquals(999, geocoder.decode(31.7, 121.55).getAdminCode());
+        assertNull(geocoder.decode(31.7, 121.65));
+    }
+
+    @Test
+    public void decode_outside_returnsNull() throws IOException {
+        OfflineGeocoder geocoder = build();
+        assertNull(geocoder.decode(29.99, 120.5));
+        assertNull(geocoder.decode(30.5, 122.5));
+        assertNull(geocoder.decode(-30.5, -120.5));
+        assertNull(geocoder.decode(Double.NaN, 120.5));
+    }
+
+    @Test
+    public void byteBufferConstructor_matchesFile() throws IOException {
+        OfflineGeocoderBuilder builder = new OfflineGeocoderBuilder();
+        builder.addRegion("A", null, null, 1, new double[]{0, 0, 0, 1, 1, 0});
+        builder.write(mFile);
+        OfflineGeocoder geocoder = new OfflineGeocoder(ByteBuffer.wrap(Files.readAllBytes(mFile.toPath())));
+        GeoAddress address = geocoder.decode(0.2, 0.2);
+        assertEquals(new GeoAddress("A", null, null, 1), address);
+        assertNull(geocoder.decode(0.8, 0.8));
+    }
+
+    @Test
+    public void corruptedRecords_throwOnOpen() throws IOException {
+        build();
+        byte[] bytes = Files.readAllBytes(mFile.toPath());
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+        int regionPos = header.getInt(GeocoderFormat.OFFSET_REGION_POS);
+        int cellListPos = header.getInt(GeocoderFormat.OFFSET_CELL_LIST_POS);
+        // 第一个行政区的顶点不足、顶点越界，网格列表中的行政区序号越界
+        assertCorrupted(bytes, regionPos + GeocoderFormat.REGION_VERTEX_COUNT, 0);
+        assertCorrupted(bytes, regionPos + GeocoderFormat.REGION_VERTEX_COUNT, 2);
+        assertCorrupted(bytes, regionPos + GeocoderFormat.REGION_VERTEX_START, 1 << 28);
+        assertCorrupted(bytes, regionPos + GeocoderFormat.REGION_VERTEX_START, -1);
+        assertCorrupted(bytes, cellListPos, 101);
+        assertCorrupted(bytes, cellListPos, -1);
+        // 截断的文件
+        try {
+            new OfflineGeocoder(ByteBuffer.wrap(bytes, 0, bytes.length - 8).slice());
+            fail();
+        } catch (IOException expected) {
+            // 末尾的网格列表越界
+        }
+    }
+
+    private static void assertCorrupted(byte[] bytes, int pos, int value) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putInt(pos, value);
+        try {
+            new OfflineGeocoder(buffer);
+            fail("value " + value + " at " + pos);
+        } catch (IOException expected) {
+            // 打开时即发现
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidFile_throws() throws IOException {
+        new OfflineGeocoder(ByteBuffer.wrap(new byte[128]));
+    }
+}
@@ -0,0 +1,114 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelCoordConverterTest {
+    private static final int POINT_COUNT = 100_000;
+
+    private ForkJoinPool mPool;
+    private double[] mLats;
+    private double[] mLngs;
+    private double[] mLatLngs;
+
+    @Before
+    public void setUp() {
+        mPool = new ForkJoinPool(4);
+        Random random = new Random(20221018);
+        mLats = new double[POINT_COUNT];
+        mLngs = new double[POINT_COUNT];
+        mLatLngs = new double[POINT_COUNT * 2];
+        for (int i = 0; i < POINT_COUNT; i ++) {
+            // 覆盖国内与国外的点
+            mLats[i] = -5 + random.nextDouble() * 65;
+            mLngs[i] = 65 + random.nextDouble() * 80;
+            mLatLngs[i * 2] = mLats[i];
+            mLatLngs[i * 2 + 1] = mLngs[i];
+        }
+    }
+
+    @After
+    public void tearDown() {
+        mPool.shutdown();
+    }
+
+    private static double[] single(CoordType from, CoordType to, double lat, double lng) {
+        double[] latLng = {lat, lng};
+        LocationUtil.transCoord(from, to, latLng, 0, 1, latLng, 0);
+        return latLng;
+    }
+
+    @Test
+    public void everyPair_matchesSinglePointExactly() {
+        double[] outLats = new double[POINT_COUNT];
+        double[] outLngs = new double[POINT_COUNT];
+        double[] out = new double[POINT_COUNT * 2];
+        for (CoordType from : CoordType.values()) {
+            for (CoordType to : CoordType.values()) {
+                ParallelCoordConverter.transCoord(mPool, from, to, mLats, mLngs, 0, POINT_COUNT, outLats, outLngs, 0);
+                ParallelCoordConverter.transCoord(mPool, from, to, mLatLngs, 0, POINT_COUNT, out, 0);
+                for (int i = 0; i < POINT_COUNT; i ++) {
+                    double[] expected = single(from, to, mLats[i], mLngs[i]);
+                    assertEquals(expected[0], outLats[i], 0);
+                    assertEquals(expected[1], outLngs[i], 0);
+                    assertEquals(expected[0], out[i * 2], 0);
+                    assertEquals(expected[1], out[i * 2 + 1], 0);
+                }
+            }
+        }
+        // 与公开的单点函数一致
+        double[] expected = LocationUtil.bd09ToWgs84Precise(mLats[12345], mLngs[12345]);
+        ParallelCoordConverter.transCoord(mPool, CoordType.BD09, CoordType.WGS84, mLats, mLngs, 0, POINT_COUNT, outLats, outLngs, 0);
+        assertEquals(expected[0], outLats[12345], 0);
+        assertEquals(expected[1], outLngs[12345], 0);
+    }
+
+    @Test
+    public void inPlaceAndOverlapping_matchSequential() {
+        // 期望值由未被改动的输入副本转换得到
+        double[] expected = new double[POINT_COUNT * 2];
+        LocationUtil.transCoord(CoordType.WGS84, CoordType.BD09, mLatLngs.clone(), 0, POINT_COUNT, expected, 0);
+
+        // 部分重叠时退化为单线程，输出在输入之后与之前都等同于先复制输入再转换
+        double[] actual = new double[POINT_COUNT * 2 + 10];
+        System.arraycopy(mLatLngs, 0, actual, 0, POINT_COUNT * 2);
+        ParallelCoordConverter.transCoord(mPool, CoordType.WGS84, CoordType.BD09, actual, 0, POINT_COUNT, actual, 10);
+        for (int i = 0; i < POINT_COUNT * 2; i ++) {
+            assertEquals(expected[i], actual[10 + i], 0);
+        }
+        actual = new double[POINT_COUNT * 2 + 10];
+        System.arraycopy(mLatLngs, 0, actual, 10, POINT_COUNT * 2);
+        ParallelCoordConverter.transCoord(mPool, CoordType.WGS84, CoordType.BD09, actual, 10, POINT_COUNT, actual, 0);
+        for (int i = 0; i < POINT_COUNT * 2; i ++) {
+            assertEquals(expected[i], actual[i], 0);
+        }
+
+        PointList points = new PointList(CoordType.GCJ02, POINT_COUNT);
+        for (int i = 0; i < POINT_COUNT; i ++) {
+            points.add(mLats[i], mLngs[i], i, 0);
+        }
+        ParallelCoordConverter.transCoord(mPool, CoordType.WGS84, points);
+        assertEquals(CoordType.WGS84, points.getCoordType());
+        for (int i = 0; i < POINT_COUNT; i += 97) {
+            double[] latLng = LocationUtil.gcj02ToWgs84Precise(mLats[i], mLngs[i]);
+            assertEquals(latLng[0], points.getLatitude(i), 0);
+            assertEquals(latLng[1], points.getLongitude(i), 0);
+        }
+    }
+
+    @Test
+    public void outOfRange_throws() {
+        try {
+            ParallelCoordConverter.transCoord(mPool, CoordType.WGS84, CoordType.GCJ02, mLatLngs, 2, POINT_COUNT, new double[POINT_COUNT * 2], 0);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException expected) {
+            // 输入越界
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PointListTest {
+    @Test
+    public void pack_roundTripsAtE7() {
+        double[][] cases = {{39.9087123, 116.3974456}, {-33.8688197, 151.2092955}, {90, -180}, {-90, 180}, {0, -0.0000001}};
+        for (double[] c : cases) {
+            long packed = LatLng.pack(c[0], c[1]);
+            assertEquals(c[0], LatLng.unpackLatitude(packed), 1e-9);
+            assertEquals(c[1], LatLng.unpackLongitude(packed), 1e-9);
+        }
+        LatLng latLng = new LatLng(31.2304, 121.4737, CoordType.GCJ02);
+        assertEquals(latLng, LatLng.unpack(latLng.pack(), CoordType.GCJ02));
+        assertNotEquals(latLng, LatLng.unpack(latLng.pack(), CoordType.BD09));
+    }
+
+    @Test
+    public void latLng_to_matchesSinglePointFunctions() {
+        LatLng wgs = new LatLng(31.2304, 121.4737, CoordType.WGS84);
+        assertSame(wgs, wgs.to(CoordType.WGS84));
+        LatLng bd = wgs.to(CoordType.BD09);
+        double[] expected = LocationUtil.wgs84ToBd09(31.2304, 121.4737);
+        assertEquals(CoordType.BD09, bd.getCoordType());
+        assertEquals(expected[0], bd.getLatitude(), 0);
+        assertEquals(expected[1], bd.getLongitude(), 0);
+
+        expected = LocationUtil.bd09ToWgs84Precise(bd.getLatitude(), bd.getLongitude());
+        LatLng back = bd.to(CoordType.WGS84);
+        assertEquals(expected[0], back.getLatitude(), 0);
+        assertEquals(expected[1], back.getLongitude(), 0);
+        // 不同坐标系的同一个点距离接近 0
+        assertEquals(0, wgs.distanceTo(bd), 1e-6);
+    }
+
+    @Test
+    public void transCoordAndDistance_workInPlace() {
+        PointList points = new PointList(CoordType.WGS84, 0);
+        for (int i = 0; i < 1000; i ++) {
+            points.add(39.9 + i * 1e-4, 116.3, i * 1000L, 5);
+        }
+        assertEquals(1000, points.size());
+        // 999 段，每段纬度 1e-4 度
+        assertEquals(999 * Math.toRadians(1e-4) * LocationUtil.EARTH_RADIUS, LocationUtil.getDistance(points), 1e-9);
+
+        PointList copy = new PointList(CoordType.BD09);
+        points.copyTo(copy);
+        LocationUtil.transCoord(CoordType.GCJ02, points);
+        assertEquals(CoordType.GCJ02, points.getCoordType());
+        assertEquals(CoordType.WGS84, copy.getCoordType());
+        for (int i = 0; i < 1000; i ++) {
+            double[] expected = LocationUtil.wgs84ToGcj02(copy.getLatitude(i), copy.getLongitude(i));
+            assertEquals(expected[0], points.getLatitude(i), 0);
+            assertEquals(expected[1], points.getLongitude(i), 0);
+            assertEquals(i * 1000L, points.getTime(i));
+        }
+        assertEquals(LatLng.pack(points.getLatitude(7), points.getLongitude(7)), points.getPacked(7));
+
+        points.add(new LatLng(39.9, 116.3, CoordType.WGS84), 0, 0);
+        assertEquals(points.getLatLng(0), points.getLatLng(1000));
+    }
+
+    @Test
+    public void simplify_keepsEndpointsOfStraightLine() {
+        PointList points = new PointList(CoordType.WGS84);
+        for (int i = 0; i < 200; i ++) {
+            points.add(30 + i * 1e-5, 120 + i * 1e-5, i, 0);
+        }
+        PointList simplified = TrackSimplifier.simplify(points, 1);
+        assertEquals(2, simplified.size());
+        assertEquals(0, simplified.getTime(0));
+        assertEquals(199, simplified.getTime(1));
+    }
+}
@@ -0,0 +1,122 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ReplayLocationSourceTest {
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("replay", ".csv");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    private void writeCsv(int count, long intervalMs) throws IOException {
+        try (Writer writer = new FileWriter(mFile)) {
+            for (int i = 0; i < count; i ++) {
+                writer.write(i * intervalMs + "," + (31 + i * 1e-5) + ",121.47,5\n");
+            }
+        }
+    }
+
+    @Test
+    public void unthrottled_deliversAllFixesQuickly() throws Exception {
+        int count = 100_000;
+        writeCsv(count, 1000);
+        AtomicInteger received = new AtomicInteger();
+        ReplayLocationSource source = new ReplayLocationSource(mFile, ReplayLocationSource.FORMAT_CSV, 0);
+        long start = System.nanoTime();
+        source.requestLocationUpdates("gps", 0, 0, Runnable::run, location -> received.incrementAndGet());
+        assertTrue(source.awaitFinished(30_000));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(count, received.get());
+        assertEquals(count, source.getDeliveredCount());
+        // 10 万条记录表示 27 小时的轨迹，远快于实际时间
+        assertTrue("elapsed " + elapsedMs + "ms", elapsedMs < 20_000);
+        source.close();
+    }
+
+    @Test
+    public void speed_scalesPlaybackTime() throws Exception {
+        // 2 秒的轨迹以 20 倍速回放，约 100 毫秒
+        writeCsv(21, 100);
+        ReplayLocationSource source = new ReplayLocationSource(mFile, ReplayLocationSource.FORMAT_CSV, 20);
+        long start = System.nanoTime();
+        source.requestLocationUpdates("gps", 0, 0, Runnable::run, location -> {});
+        assertTrue(source.awaitFinished(10_000));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        assertTrue("elapsed " + elapsedMs + "ms", elapsedMs >= 95);
+        source.close();
+    }
+
+    @Test
+    public void singleUpdate_isDeliveredOnce() throws Exception {
+        writeCsv(100, 1);
+        AtomicInteger single = new AtomicInteger();
+        AtomicInteger continuous = new AtomicInteger();
+        ReplayLocationSource source = new ReplayLocationSource(mFile, ReplayLocationSource.FORMAT_CSV, 0);
+        source.requestSingleUpdate("gps", Runnable::run, location -> single.incrementAndGet());
+        source.requestLocationUpdates("gps", 0, 0, Runnable::run, location -> continuous.incrementAndGet());
+        assertTrue(source.awaitFinished(10_000));
+        assertEquals(1, single.get());
+        assertTrue(continuous.get() >= 99);
+        assertNotNull(source.getLastKnownLocation("gps"));
+        assertNull(source.getLastKnownLocation("network"));
+        source.close();
+    }
+
+    @Test
+    public void releasedHub_isRemovedAfterLastSubscriber() throws Exception {
+        writeCsv(10, 1000);
+        ReplayLocationSource source = new ReplayLocationSource(mFile, ReplayLocationSource.FORMAT_CSV, 0);
+        LocationHub hub = LocationHub.getInstance(source);
+        ILocationCallback callback = location -> {};
+        hub.subscribe(0, 0, callback);
+        source.close();
+        LocationHub.release(source);
+        // 仍有订阅者时保留
+        assertSame(hub, LocationHub.getInstance(source));
+        hub.unsubscribe(callback);
+        LocationHub other = LocationHub.getInstance(source);
+        assertNotSame(hub, other);
+        LocationHub.release(source);
+        assertNotSame(other, LocationHub.getInstance(source));
+        LocationHub.release(source);
+    }
+
+    @Test
+    public void badFile_reportsErrorFromAwaitFinished() throws Exception {
+        try (Writer writer = new FileWriter(mFile)) {
+            writer.write("<gpx><trk><trkseg><trkpt lat=\"31.23\" lon=\"121.47\"/><trkpt lat=\"abc\" lon=\"121.47\"/></trkseg></trk></gpx>");
+        }
+        ReplayLocationSource source = new ReplayLocationSource(mFile, ReplayLocationSource.FORMAT_GPX, 0);
+        source.requestLocationUpdates("gps", 0, 0, Runnable::run, location -> {});
+        try {
+            source.awaitFinished(10_000);
+            fail();
+        } catch (IOException expected) {
+            // 解析错误经 awaitFinished 抛出，而不是等到超时
+        }
+        source.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownProvider_throws() {
+        new ReplayLocationSource(mFile, ReplayLocationSource.FORMAT_CSV, 0)
+                .requestLocationUpdates("network", 0, 0, Runnable::run, location -> {});
+    }
+}
@@ -0,0 +1,107 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class ReplayReaderTest {
+
+    @Test
+    public void parseIsoTime_handlesFractionAndOffset() {
+        assertEquals(0, ReplayReader.parseIsoTime("1970-01-01T00:00:00Z"));
+        assertEquals(1792326896789L, ReplayReader.parseIsoTime("2026-10-18T12:34:56.789Z"));
+        assertEquals(1792326896000L, ReplayReader.parseIsoTime("2026-10-18T20:34:56+08:00"));
+        assertEquals(951782400000L, ReplayReader.parseIsoTime("2000-02-29T00:00:00Z"));
+        assertEquals(-1, ReplayReader.parseIsoTime("yesterday"));
+    }
+
+    @Test
+    public void gpx_readsTrackPoints() throws IOException {
+        String gpx = "<?xml version=\"1.0\"?>\n"
+                + "<gpx version=\"1.1\"><metadata><time>2000-01-01T00:00:00Z</time></metadata>\n"
+                + "<!-- <trkpt lat=\"9\" lon=\"9\"> -->\n"
+                + "<trk><trkseg>\n"
+                + "<trkpt lat=\"31.2304\" lon='121.4737'><ele>4.5</ele><time>2026-10-18T12:34:56Z</time><hdop>1.2</hdop>"
+                + "<extensions><gpxtpx:speed>1.5</gpxtpx:speed></extensions></trkpt>\n"
+                + "<trkpt lon=\"121.4740\" lat=\"31.2306\"/>\n"
+                + "</trkseg></trk></gpx>";
+        try (ReplayReader reader = ReplayReader.create(new StringReader(gpx), ReplayLocationSource.FORMAT_GPX)) {
+            assertTrue(reader.next());
+            assertEquals(31.2304, reader.mLatitude, 0);
+            assertEquals(121.4737, reader.mLongitude, 0);
+            assertEquals(4.5, reader.mAltitude, 0);
+            assertEquals(1792326896000L, reader.mTime);
+            assertEquals(1.2f * ReplayReader.UERE_M, reader.mAccuracy, 1e-6);
+            assertEquals(1.5f, reader.mSpeed, 0);
+            assertTrue(Float.isNaN(reader.mBearing));
+
+            assertTrue(reader.next());
+            assertEquals(31.2306, reader.mLatitude, 0);
+            assertEquals(121.4740, reader.mLongitude, 0);
+            assertEquals(0, reader.mTime);
+            assertTrue(Float.isNaN(reader.mAccuracy));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void csv_skipsHeaderAndComments() throws IOException {
+        String csv = "time,lat,lng,accuracy\n"
+                + "# comment\n"
+                + "1000,31.2304,121.4737,5\n"
+                + "\n"
+                + "2026-10-18T12:34:56Z,31.2305,121.4738,,10.5,1.2,90\n";
+        try (ReplayReader reader = ReplayReader.create(new StringReader(csv), ReplayLocationSource.FORMAT_CSV)) {
+            assertTrue(reader.next());
+            assertEquals(1000, reader.mTime);
+            assertEquals(5, reader.mAccuracy, 0);
+            assertTrue(Double.isNaN(reader.mAltitude));
+            assertTrue(reader.next());
+            assertEquals(1792326896000L, reader.mTime);
+            assertTrue(Float.isNaN(reader.mAccuracy));
+            assertEquals(10.5, reader.mAltitude, 0);
+            assertEquals(90, reader.mBearing, 0);
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void csv_badLine_throws() throws IOException {
+        try (ReplayReader reader = ReplayReader.create(new StringReader("1000,1,1\n2000,x,1\n"), ReplayLocationSource.FORMAT_CSV)) {
+            assertTrue(reader.next());
+            reader.next();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void gpx_badPointAttribute_throws() throws IOException {
+        String gpx = "<gpx><trk><trkseg><trkpt lat=\"abc\" lon=\"121.4737\"/></trkseg></trk></gpx>";
+        try (ReplayReader reader = ReplayReader.create(new StringReader(gpx), ReplayLocationSource.FORMAT_GPX)) {
+            reader.next();
+        }
+    }
+
+    @Test
+    public void nmea_mergesGgaIntoRmc() throws IOException {
+        String nmea = "$GPGGA,123519,4807.038,N,01131.000,E,1,08,0.9,545.4,M,46.9,M,,*47\n"
+                + "$GPRMC,123519,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*6A\n"
+                // 校验和错误
+                + "$GPRMC,123520,A,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*00\n"
+                // 无效定位
+                + "$GPRMC,123521,V,4807.038,N,01131.000,E,022.4,084.4,230394,003.1,W*7D\n";
+        try (ReplayReader reader = ReplayReader.create(new StringReader(nmea), ReplayLocationSource.FORMAT_NMEA)) {
+            assertTrue(reader.next());
+            assertEquals(48.1173, reader.mLatitude, 1e-9);
+            assertEquals(11.516666666666667, reader.mLongitude, 1e-9);
+            assertEquals(ReplayReader.toEpochMs(1994, 3, 23, 12, 35, 19, 0), reader.mTime);
+            assertEquals(0.9f * ReplayReader.UERE_M, reader.mAccuracy, 1e-6);
+            assertEquals(545.4, reader.mAltitude, 1e-9);
+            assertEquals(22.4f * 0.514444f, reader.mSpeed, 1e-4);
+            assertEquals(84.4f, reader.mBearing, 1e-4);
+            assertFalse(reader.next());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RouteCorridorTest {
+    // 纬度方向 1 米对应的度数
+    private static final double DEGREE_PER_M = 1 / (Math.toRadians(1) * LocationUtil.EARTH_RADIUS * 1000);
+
+    /**
+     * 随机游走的路线，相邻顶点约 30 米
+     */
+    private static PointList randomRoute(int count, long seed) {
+        Random random = new Random(seed);
+        PointList route = new PointList(CoordType.GCJ02, count);
+        double lat = 31.2304, lng = 121.4737, heading = 0;
+        for (int i = 0; i < count; i ++) {
+            route.add(lat, lng, 0, 0);
+            heading += random.nextGaussian() * 0.3;
+            lat += Math.cos(heading) * 30 * DEGREE_PER_M;
+            lng += Math.sin(heading) * 30 * DEGREE_PER_M / Math.cos(Math.toRadians(lat));
+        }
+        return route;
+    }
+
+    private static double bruteForceMeters(PointList route, double lat, double lng) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i + 1 < route.size(); i ++) {
+            best = Math.min(best, LocationUtil.getSegmentDistance(lat, lng, route.getLatitude(i), route.getLongitude(i),
+                    route.getLatitude(i + 1), route.getLongitude(i + 1)) * 1000);
+        }
+        return best;
+    }
+
+    @Test
+    public void crossTrackDistance_matchesBruteForceWithinSearchRadius() {
+        PointList route = randomRoute(3000, 7);
+        RouteCorridor corridor = new RouteCorridor(route, 50, (c, event, lat, lng, timeMs) -> { });
+        Random random = new Random(11);
+        int checked = 0;
+        for (int n = 0; n < 2000; n ++) {
+            int i = random.nextInt(route.size());
+            double lat = route.getLatitude(i) + random.nextGaussian() * 80 * DEGREE_PER_M;
+            double lng = route.getLongitude(i) + random.nextGaussian() * 80 * DEGREE_PER_M;
+            // 每次从头开始，只走网格检索
+            corridor.reset();
+            corridor.update(lat, lng, n);
+            double expected = bruteForceMeters(route, lat, lng);
+            if (expected <= 200) {
+                assertEquals(expected, corridor.getCrossTrackDistance(), 1e-6);
+                checked ++;
+            } else {
+                assertEquals(Double.POSITIVE_INFINITY, corridor.getCrossTrackDistance(), 0);
+            }
+        }
+        assertTrue("checked " + checked, checked > 1500);
+    }
+
+    @Test
+    public void followingRoute_progressAdvances_andOffRouteEventsFire() {
+        PointList route = new PointList(CoordType.WGS84);
+        // 向北 1000 米，再向东 1000 米
+        route.add(30, 120, 0, 0);
+        route.add(30 + 1000 * DEGREE_PER_M, 120, 0, 0);
+        route.add(30 + 1000 * DEGREE_PER_M, 120 + 1000 * DEGREE_PER_M / Math.cos(Math.toRadians(30)), 0, 0);
+        List<Integer> events = new ArrayList<>();
+        RouteCorridor corridor = new RouteCorridor(route, 30, (c, event, lat, lng, timeMs) -> {
+            assertEquals(event == RouteCorridor.EVENT_OFF_ROUTE, c.isOffRoute());
+            events.add(event);
+        });
+        assertEquals(2000, corridor.getRouteLength(), 1);
+
+        // 路线东侧 10 米处向北行进
+        double eastOffset = 10 * DEGREE_PER_M / Math.cos(Math.toRadians(30));
+        for (int m = 0; m <= 900; m += 100) {
+            assertTrue(corridor.update(30 + m * DEGREE_PER_M, 120 + eastOffset, m));
+            assertEquals(m, corridor.getProgress(), 0.5);
+            assertEquals(10, corridor.getCrossTrackDistance(), 0.01);
+            assertEquals(0, corridor.getMatchedSegment());
+        }
+
+        // 单次漂移不算偏航
+        assertTrue(corridor.update(30 + 950 * DEGREE_PER_M, 120 + eastOffset * 5, 950));
+        assertTrue(corridor.update(30 + 960 * DEGREE_PER_M, 120 + eastOffset, 960));
+        assertTrue(events.isEmpty());
+
+        // 连续两次在走廊外
+        assertTrue(corridor.update(30 + 500 * DEGREE_PER_M, 120 - eastOffset * 6, 1000));
+        assertFalse(corridor.update(30 + 500 * DEGREE_PER_M, 120 - eastOffset * 7, 1001));
+        assertEquals(70, corridor.getCrossTrackDistance(), 0.1);
+        // 回到 25 米不算回到路线，20 米以内才算
+        assertFalse(corridor.update(30 + 500 * DEGREE_PER_M, 120 - eastOffset * 2.5, 1002));
+        assertTrue(corridor.update(30 + 1000 * DEGREE_PER_M - 15 * DEGREE_PER_M, 120 + eastOffset * 30, 1003));
+        assertEquals(1, corridor.getMatchedSegment());
+        assertEquals(1300, corridor.getProgress(), 1);
+        assertEquals(2, events.size());
+        assertEquals(RouteCorridor.EVENT_OFF_ROUTE, (int) events.get(0));
+        assertEquals(RouteCorridor.EVENT_BACK_ON_ROUTE, (int) events.get(1));
+
+        // 远离检索半径
+        corridor.update(31, 121, 2000);
+        assertEquals(Double.POSITIVE_INFINITY, corridor.getCrossTrackDistance(), 0);
+        assertEquals(1300, corridor.getProgress(), 1);
+    }
+
+    @Test
+    public void longSegments_areIndexedAlongTheirLength() {
+        PointList route = new PointList(CoordType.WGS84);
+        // 一条 100 千米的斜线段
+        route.add(30, 120, 0, 0);
+        route.add(30.6, 120.7, 0, 0);
+        RouteCorridor corridor = new RouteCorridor(route, 20, (c, event, lat, lng, timeMs) -> { });
+        assertTrue(corridor.update(30.3, 120.35, 0));
+        assertEquals(bruteForceMeters(route, 30.3, 120.35), corridor.getCrossTrackDistance(), 1e-6);
+        assertEquals(corridor.getRouteLength() / 2, corridor.getProgress(), 100);
+    }
+}
@@ -0,0 +1,54 @@
+package ceneax.app.lib.locationx;
+
+import android.location.Location;
+import android.os.SystemClock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SingleLocationFetcherTest {
+    private SingleLocationFetcher mFetcher;
+    // 暂存投递到回调线程的任务，模拟切换线程
+    private final List<Runnable> mPending = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mFetcher = new SingleLocationFetcher(new ReplayLocationSource(new File("unused.csv")), new GnssMonitor(null));
+        Location location = new Location("gps");
+        location.setLatitude(31.2304);
+        location.setLongitude(121.4737);
+        location.setAccuracy(5);
+        location.setElapsedRealtimeNanos(SystemClock.elapsedRealtimeNanos());
+        mFetcher.updateCache(location);
+    }
+
+    @Test
+    public void cachedResult_deliveredOnExecutor() {
+        AtomicInteger results = new AtomicInteger();
+        ILocationRequest request = mFetcher.request(1000, 60_000, 0, CoordType.WGS84, mPending::add,
+                location -> results.incrementAndGet());
+        assertTrue(request.isDone());
+        assertEquals(1, mPending.size());
+        mPending.get(0).run();
+        assertEquals(1, results.get());
+    }
+
+    @Test
+    public void cancelAfterDeliverBeforeHop_suppressesCallback() {
+        AtomicInteger results = new AtomicInteger();
+        ILocationRequest request = mFetcher.request(1000, 60_000, 0, CoordType.WGS84, mPending::add,
+                location -> results.incrementAndGet());
+        assertEquals(1, mPending.size());
+        request.cancel();
+        mPending.get(0).run();
+        assertEquals(0, results.get());
+        assertTrue(request.isDone());
+    }
+}
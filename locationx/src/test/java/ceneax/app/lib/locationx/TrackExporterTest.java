@@ -0,0 +1,129 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.*;
+
+public class TrackExporterTest {
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("export", ".lxt");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    private static double lat(int i) {
+        return 39.9 + i * 1e-5;
+    }
+
+    private static double lng(int i) {
+        return 116.3 - i * 2e-5;
+    }
+
+    private static long time(int i) {
+        return 1_792_000_000_000L + i * 1000L + (i % 3) * 250;
+    }
+
+    @Test
+    public void gpx_roundTripThroughReplayReader() throws IOException {
+        int count = 5000;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TrackExporter exporter = TrackExporter.create(output, TrackExporter.FORMAT_GPX, CoordType.WGS84, CoordType.WGS84)) {
+            for (int i = 0; i < count; i ++) {
+                exporter.write(lat(i), lng(i), time(i), 5);
+            }
+            assertEquals(count, exporter.getPointCount());
+        }
+        String gpx = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(gpx, gpx.contains("<trkpt lat=\"39.9000000\" lon=\"116.3000000\"><time>2026-10-14T17:46:40Z</time></trkpt>"));
+
+        try (ReplayReader reader = ReplayReader.create(new StringReader(gpx), ReplayLocationSource.FORMAT_GPX)) {
+            int i = 0;
+            while (reader.next()) {
+                assertEquals(lat(i), reader.mLatitude, 1e-7);
+                assertEquals(lng(i), reader.mLongitude, 1e-7);
+                assertEquals(time(i), reader.mTime);
+                i ++;
+            }
+            assertEquals(count, i);
+        }
+    }
+
+    @Test
+    public void geoJson_lineStringInLngLatOrder() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TrackExporter exporter = TrackExporter.create(output, TrackExporter.FORMAT_GEOJSON, CoordType.GCJ02, CoordType.GCJ02)) {
+            exporter.write(-33.5, -70.25, 0, 0);
+            exporter.write(0.00000004, 1, 0, 0);
+        }
+        assertEquals("{\"type\":\"Feature\",\"properties\":{\"coordType\":\"GCJ02\"},"
+                + "\"geometry\":{\"type\":\"LineString\",\"coordinates\":[[-70.2500000,-33.5000000],[1.0000000,0.0000000]]}}\n",
+                new String(output.toByteArray(), StandardCharsets.UTF_8));
+
+        // 没有点时也是合法的文档
+        output.reset();
+        TrackExporter.create(output, TrackExporter.FORMAT_GEOJSON, CoordType.GCJ02, CoordType.BD09).close();
+        assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).endsWith("\"BD09\"},"
+                + "\"geometry\":{\"type\":\"LineString\",\"coordinates\":[]}}\n"));
+    }
+
+    @Test
+    public void binary_readableByTrackReader_withConversion() throws IOException {
+        int count = 20000;
+        try (FileChannel channel = FileChannel.open(mFile.toPath(), StandardOpenOption.WRITE);
+             TrackExporter exporter = TrackExporter.create(channel, TrackExporter.FORMAT_BINARY, CoordType.WGS84, CoordType.GCJ02)) {
+            for (int i = 0; i < count; i ++) {
+                exporter.write(lat(i), lng(i), time(i), i % 50);
+            }
+        }
+        try (TrackReader reader = new TrackReader(mFile)) {
+            assertEquals(CoordType.GCJ02, reader.getCoordType());
+            int i = 0;
+            while (reader.next()) {
+                double[] expected = LocationUtil.wgs84ToGcj02(lat(i), lng(i));
+                assertEquals(expected[0], reader.getLatitude(), 1e-7);
+                assertEquals(expected[1], reader.getLongitude(), 1e-7);
+                assertEquals(time(i), reader.getTime());
+                assertEquals(i % 50, reader.getAccuracy(), 0.05);
+                i ++;
+            }
+            assertEquals(count, i);
+        }
+    }
+
+    @Test
+    public void trackReader_exportedAsGpx() throws IOException {
+        assertTrue(mFile.delete());
+        try (TrackRecorder recorder = new TrackRecorder(mFile, CoordType.GCJ02)) {
+            recorder.append(39.9, 116.3, 1_792_000_000_789L, 3);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (TrackReader reader = new TrackReader(mFile);
+             TrackExporter exporter = TrackExporter.create(output, TrackExporter.FORMAT_GPX, CoordType.GCJ02, CoordType.GCJ02)) {
+            assertEquals(1, exporter.write(reader));
+        }
+        assertTrue(new String(output.toByteArray(), StandardCharsets.UTF_8).contains("<time>2026-10-14T17:46:40.789Z</time>"));
+
+        try (TrackReader reader = new TrackReader(mFile)) {
+            TrackExporter.create(output, TrackExporter.FORMAT_GPX, CoordType.WGS84, CoordType.WGS84).write(reader);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // 坐标系不一致
+        }
+    }
+}
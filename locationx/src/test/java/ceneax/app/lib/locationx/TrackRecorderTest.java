@@ -0,0 +1,101 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+public class TrackRecorderTest {
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("track", ".lxt");
+        assertTrue(mFile.delete());
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Test
+    public void appendAndRead_roundTrip() throws IOException {
+        int count = 20000;
+        try (TrackRecorder recorder = new TrackRecorder(mFile, CoordType.GCJ02)) {
+            for (int i = 0; i < count; i ++) {
+                recorder.append(lat(i), lng(i), time(i), i % 50);
+            }
+        }
+        // 1Hz 步行轨迹每个点应在 12 字节以内
+        assertTrue("file size " + mFile.length(), mFile.length() < count * 12L);
+
+        try (TrackReader reader = new TrackReader(mFile)) {
+            assertEquals(CoordType.GCJ02, reader.getCoordType());
+            int i = 0;
+            while (reader.next()) {
+                assertEquals(lat(i), reader.getLatitude(), 1e-7);
+                assertEquals(lng(i), reader.getLongitude(), 1e-7);
+                assertEquals(time(i), reader.getTime());
+                assertEquals(i % 50, reader.getAccuracy(), 0.05);
+                i ++;
+            }
+            assertEquals(count, i);
+        }
+    }
+
+    @Test
+    public void reopen_recoversLastCompleteRecord() throws IOException {
+        try (TrackRecorder recorder = new TrackRecorder(mFile, CoordType.WGS84)) {
+            for (int i = 0; i < 100; i ++) {
+                recorder.append(lat(i), lng(i), time(i), 5);
+            }
+        }
+        // 模拟进程在写入最后一条记录时被杀：截掉末尾两个字节并追加垃圾数据
+        try (RandomAccessFile raf = new RandomAccessFile(mFile, "rw")) {
+            raf.setLength(raf.length() - 2);
+            raf.seek(raf.length());
+            raf.write(new byte[]{0x13, 0x7F});
+        }
+
+        try (TrackRecorder recorder = new TrackRecorder(mFile, CoordType.WGS84)) {
+            assertEquals(99, recorder.getRecordCount());
+            for (int i = 99; i < 150; i ++) {
+                recorder.append(lat(i), lng(i), time(i), 5);
+            }
+        }
+
+        try (TrackReader reader = new TrackReader(mFile)) {
+            int i = 0;
+            while (reader.next()) {
+                assertEquals(lat(i), reader.getLatitude(), 1e-7);
+                assertEquals(time(i), reader.getTime());
+                i ++;
+            }
+            assertEquals(150, i);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void reopen_withOtherCoordType_fails() throws IOException {
+        new TrackRecorder(mFile, CoordType.WGS84).close();
+        new TrackRecorder(mFile, CoordType.BD09);
+    }
+
+    private static double lat(int i) {
+        return 39.9 + Math.sin(i / 300.0) * 0.01 + i * 1e-5;
+    }
+
+    private static double lng(int i) {
+        return 116.4 + Math.cos(i / 300.0) * 0.01;
+    }
+
+    private static long time(int i) {
+        return 1_660_000_000_000L + i * 1000L;
+    }
+}
@@ -0,0 +1,74 @@
+package ceneax.app.lib.locationx;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TrackSimplifierTest {
+
+    @Test
+    public void straightLine_keepsEndpoints() {
+        List<double[]> out = new ArrayList<>();
+        TrackSimplifier simplifier = new TrackSimplifier(1, 10_000, (lat, lng, timeMs, accuracy) -> out.add(new double[]{lat, lng, timeMs}));
+        for (int i = 0; i <= 1000; i ++) {
+            simplifier.add(30 + i * 1e-5, 120 + i * 1e-5, i, 0);
+        }
+        simplifier.finish();
+
+        assertEquals(2, out.size());
+        assertEquals(0, out.get(0)[2], 0);
+        assertEquals(1000, out.get(1)[2], 0);
+    }
+
+    @Test
+    public void droppedPoints_stayWithinTolerance() {
+        double toleranceM = 5;
+        int count = 20_000;
+        double[] lats = new double[count];
+        double[] lngs = new double[count];
+        Random random = new Random(7);
+        double lat = 31.2, lng = 121.5, heading = 0;
+        for (int i = 0; i < count; i ++) {
+            heading += random.nextGaussian() * 0.1;
+            lat += Math.cos(heading) * 1.5e-5;
+            lng += Math.sin(heading) * 1.5e-5;
+            lats[i] = lat + random.nextGaussian() * 1e-5;
+            lngs[i] = lng + random.nextGaussian() * 1e-5;
+        }
+
+        List<Integer> kept = new ArrayList<>();
+        TrackSimplifier simplifier = new TrackSimplifier(toleranceM, (pLat, pLng, timeMs, accuracy) -> kept.add((int) timeMs));
+        for (int i = 0; i < count; i ++) {
+            simplifier.add(lats[i], lngs[i], i, 0);
+        }
+        simplifier.finish();
+
+        assertEquals(0, (int) kept.get(0));
+        assertEquals(count - 1, (int) kept.get(kept.size() - 1));
+        assertTrue("kept " + kept.size(), kept.size() < count / 3);
+        assertEquals(kept.size(), simplifier.getOutputCount());
+
+        for (int k = 1; k < kept.size(); k ++) {
+            int a = kept.get(k - 1), b = kept.get(k);
+            assertTrue(b - a <= TrackSimplifier.DEFAULT_WINDOW_SIZE + 1);
+            for (int i = a + 1; i < b; i ++) {
+                double distanceM = LocationUtil.getSegmentDistance(lats[i], lngs[i], lats[a], lngs[a], lats[b], lngs[b]) * 1000;
+                assertTrue("point " + i + " is " + distanceM + "m away", distanceM <= toleranceM + 0.01);
+            }
+        }
+    }
+
+    @Test
+    public void getSegmentDistance_matchesGetDistance() {
+        // 垂足在线段内
+        double d = LocationUtil.getSegmentDistance(30.001, 120.0005, 30.0, 120.0, 30.0, 120.001);
+        assertEquals(LocationUtil.getDistance(30.001, 120.0005, 30.0, 120.0005), d, 1e-6);
+        // 垂足在线段外，取端点距离
+        d = LocationUtil.getSegmentDistance(30.0, 119.999, 30.0, 120.0, 30.0, 120.001);
+        assertEquals(LocationUtil.getDistance(30.0, 119.999, 30.0, 120.0), d, 1e-6);
+    }
+}